@@ -0,0 +1,68 @@
+package com.enterprise.workflow.common.web;
+
+/**
+ * Evaluates {@code If-None-Match} against a resource's entity tag.
+ *
+ * The header is {@code *} or a comma-separated list of quoted tags, each optionally
+ * prefixed with {@code W/}. If-None-Match uses the weak comparison of RFC 9110: two tags
+ * match when their quoted values are equal, whether or not either is weak. A tag is only
+ * matched as a whole, so one tag containing another is not a match.
+ *
+ * Usage: {@code if (EntityTags.noneMatch(ifNoneMatch, etag)) { ...200 with body... } else { ...304... }}
+ */
+public final class EntityTags {
+
+    private EntityTags() {
+    }
+
+    /**
+     * @param ifNoneMatch Header value, may be null
+     * @param etag Current entity tag, quoted and optionally weak
+     * @return Whether no tag in the header matches, i.e. whether the full response must be sent
+     */
+    public static boolean noneMatch(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return true;
+        }
+        String current = opaque(etag.trim());
+        int position = 0;
+        int length = ifNoneMatch.length();
+        while (position < length) {
+            char c = ifNoneMatch.charAt(position);
+            if (c == ',' || Character.isWhitespace(c)) {
+                position++;
+                continue;
+            }
+            if (c == '*') {
+                return false;
+            }
+            if (ifNoneMatch.startsWith("W/", position)) {
+                position += 2;
+            }
+            int end;
+            if (position < length && ifNoneMatch.charAt(position) == '"') {
+                end = ifNoneMatch.indexOf('"', position + 1);
+                end = end < 0 ? length : end + 1;
+            } else {
+                // Unquoted tags are not valid, but common enough to tolerate
+                end = ifNoneMatch.indexOf(',', position);
+                end = end < 0 ? length : end;
+            }
+            if (opaque(ifNoneMatch.substring(position, end).trim()).equals(current)) {
+                return false;
+            }
+            position = end;
+        }
+        return true;
+    }
+
+    private static String opaque(String tag) {
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        if (tag.length() >= 2 && tag.charAt(0) == '"' && tag.charAt(tag.length() - 1) == '"') {
+            return tag.substring(1, tag.length() - 1);
+        }
+        return tag;
+    }
+}
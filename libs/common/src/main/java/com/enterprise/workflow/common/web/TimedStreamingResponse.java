@@ -0,0 +1,37 @@
+package com.enterprise.workflow.common.web;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.OutputStream;
+import java.time.Duration;
+
+/**
+ * Streams a response body on the MVC async executor under its own timeout.
+ *
+ * A returned {@link StreamingResponseBody} is bound by {@code spring.mvc.async.request-timeout},
+ * which applies to every async endpoint of a service. Exports and batch streams that need
+ * minutes return the task built here instead, so only they get the long timeout.
+ *
+ * Usage: declare {@link HttpServletResponse} as a handler parameter (Spring MVC then treats
+ * the response as written by the handler), set any further headers on it, and return
+ * {@code TimedStreamingResponse.of(response, MediaType.APPLICATION_NDJSON, timeout, body)}.
+ */
+public final class TimedStreamingResponse {
+
+    private TimedStreamingResponse() {
+    }
+
+    public static WebAsyncTask<Void> of(HttpServletResponse response, MediaType contentType, Duration timeout,
+            StreamingResponseBody body) {
+        response.setContentType(contentType.toString());
+        return new WebAsyncTask<>(timeout.toMillis(), () -> {
+            OutputStream output = response.getOutputStream();
+            body.writeTo(output);
+            output.flush();
+            return null;
+        });
+    }
+}
@@ -84,7 +84,8 @@ public interface ProcessService {
     void setVariables(String processInstanceId, Map<String, Object> variables);
 
     /**
-     * Send a signal to a process instance.
+     * Send a signal to the executions of a process instance waiting for it. Other instances
+     * subscribed to the same signal are not affected.
      *
      * @param processInstanceId The process instance ID
      * @param signalName The signal name
@@ -12,11 +12,13 @@ import org.activiti.api.process.runtime.ProcessRuntime;
 import org.activiti.api.runtime.shared.query.Page;
 import org.activiti.api.runtime.shared.query.Pageable;
 import org.activiti.engine.RuntimeService;
+import org.activiti.engine.runtime.Execution;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -138,23 +140,42 @@ public class ProcessServiceImpl implements ProcessService {
     public void sendSignal(String processInstanceId, String signalName, Map<String, Object> variables) {
         log.info("Sending signal '{}' to process: {}", signalName, processInstanceId);
 
-        processRuntime.signal(
-                ProcessPayloadBuilder.signal()
-                        .withName(signalName)
-                        .withVariables(variables)
-                        .build());
+        // Only this instance's executions; ProcessRuntime.signal would broadcast to every subscriber
+        // in the caller's transaction. Broadcasts run as batch jobs in the workflow engine.
+        List<Execution> executions = runtimeService.createExecutionQuery()
+                .processInstanceId(processInstanceId)
+                .signalEventSubscriptionName(signalName)
+                .list();
+        if (executions.isEmpty()) {
+            throw new ResourceNotFoundException(String.format(
+                    "ProcessInstance '%s' has no subscription to signal '%s'", processInstanceId, signalName));
+        }
+        for (Execution execution : executions) {
+            if (variables != null) {
+                runtimeService.signalEventReceived(signalName, execution.getId(), variables);
+            } else {
+                runtimeService.signalEventReceived(signalName, execution.getId());
+            }
+        }
     }
 
     @Override
     public void sendMessage(String processInstanceId, String messageName, Map<String, Object> variables) {
         log.info("Sending message '{}' to process: {}", messageName, processInstanceId);
 
-        // runtimeService.createMessageCorrelation(messageName)
-        // .processInstanceId(processInstanceId)
-        // .setVariables(variables)
-        // .correlate();
-        throw new UnsupportedOperationException(
-                "Message correlation not supported in Activiti 8.0.0 without Cloud Streams");
+        List<Execution> executions = runtimeService.createExecutionQuery()
+                .processInstanceId(processInstanceId)
+                .messageEventSubscriptionName(messageName)
+                .listPage(0, 1);
+        if (executions.isEmpty()) {
+            throw new ResourceNotFoundException(String.format(
+                    "ProcessInstance '%s' has no subscription to message '%s'", processInstanceId, messageName));
+        }
+        if (variables != null) {
+            runtimeService.messageEventReceived(messageName, executions.get(0).getId(), variables);
+        } else {
+            runtimeService.messageEventReceived(messageName, executions.get(0).getId());
+        }
     }
 
     /**
@@ -0,0 +1,44 @@
+package com.enterprise.workflow.decision.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Batch evaluation settings for decision tables.
+ *
+ * Usage:
+ *   decision.batch.chunk-size=10000
+ *   decision.batch.parallel-threshold=4096
+ *   decision.batch.parallelism=0
+ *   decision.batch.stream-timeout=30m
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "decision.batch")
+public class DecisionBatchProperties {
+
+    /**
+     * Rows of a streamed batch read and evaluated together before their results are written.
+     */
+    private int chunkSize = 10_000;
+
+    /**
+     * Chunks with at least this many rows are split across the fork-join pool; smaller ones
+     * are evaluated on the request thread.
+     */
+    private int parallelThreshold = 4096;
+
+    /**
+     * Fork-join pool size for parallel evaluation; 0 uses the number of available processors.
+     */
+    private int parallelism = 0;
+
+    /**
+     * How long a streamed batch may run before the request times out. Applies only to the
+     * streaming endpoint; other async requests keep the default MVC timeout.
+     */
+    private Duration streamTimeout = Duration.ofMinutes(30);
+}
@@ -0,0 +1,37 @@
+package com.enterprise.workflow.decision.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * In-process cache settings for deployed decisions.
+ *
+ * Usage:
+ *   decision.cache.max-size=500
+ *   decision.cache.latest-version-ttl=30s
+ *   decision.cache.compiled-enabled=true
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "decision.cache")
+public class DecisionCacheProperties {
+
+    /**
+     * Maximum number of decision versions (definition plus compiled table) kept in memory.
+     */
+    private long maxSize = 500;
+
+    /**
+     * How long a decision key keeps resolving to the same latest version. Deployments through
+     * this node invalidate immediately; this bounds staleness for deployments made elsewhere.
+     */
+    private Duration latestVersionTtl = Duration.ofSeconds(30);
+
+    /**
+     * Evaluate compilable tables in-process instead of through the Flowable interpreter.
+     */
+    private boolean compiledEnabled = true;
+}
@@ -0,0 +1,59 @@
+package com.enterprise.workflow.decision.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Decision execution history settings.
+ *
+ * Usage:
+ *   decision.history.enabled=true
+ *   decision.history.buffer-size=16384
+ *   decision.history.overflow-policy=DROP
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "decision.history")
+public class DecisionHistoryProperties {
+
+    /**
+     * Record every decision execution in the history table.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Executions buffered in memory waiting for the writer; rounded up to a power of two.
+     */
+    private int bufferSize = 16_384;
+
+    /**
+     * Maximum rows per JDBC batch insert.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Longest time a buffered execution waits before it is written.
+     */
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    /**
+     * What an evaluation does when the buffer is full.
+     */
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+
+    /**
+     * With {@link OverflowPolicy#BLOCK}, how long an evaluation waits for space before
+     * dropping its record anyway.
+     */
+    private Duration blockTimeout = Duration.ofMillis(100);
+
+    public enum OverflowPolicy {
+        /** Discard the record and count it; evaluation latency is never affected. */
+        DROP,
+        /** Wait for the writer to make room, slowing callers down to the write rate. */
+        BLOCK
+    }
+}
@@ -0,0 +1,57 @@
+package com.enterprise.workflow.decision.config;
+
+import com.enterprise.workflow.decision.service.history.DecisionHistoryStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * Creates the decision execution history table and the indexes behind its
+ * decision key and process instance filters.
+ */
+@Configuration
+@Slf4j
+public class DecisionHistorySchemaConfig {
+
+    @Bean
+    public ApplicationRunner decisionHistorySchema(JdbcTemplate jdbcTemplate) {
+        return args -> {
+            String table = DecisionHistoryStore.TABLE;
+
+            List<String> statements = List.of(
+                    "create table if not exists " + table + " ("
+                            + "ID_ varchar(128) not null primary key, "
+                            + "DECISION_KEY_ varchar(255) not null, "
+                            + "DECISION_ID_ varchar(255), "
+                            + "DECISION_NAME_ varchar(255), "
+                            + "VERSION_ integer, "
+                            + "INPUTS_ text, "
+                            + "OUTPUTS_ text, "
+                            + "PROC_INST_ID_ varchar(64), "
+                            + "ACTIVITY_ID_ varchar(255), "
+                            + "EXECUTED_BY_ varchar(255), "
+                            + "EXECUTED_AT_ timestamp not null, "
+                            + "EXECUTION_TIME_MS_ bigint, "
+                            + "SUCCESSFUL_ boolean not null, "
+                            + "ERROR_MESSAGE_ varchar(4000))",
+                    "create index if not exists ewf_idx_dec_hist_key on " + table
+                            + " (DECISION_KEY_, EXECUTED_AT_, ID_)",
+                    "create index if not exists ewf_idx_dec_hist_proc on " + table
+                            + " (PROC_INST_ID_, EXECUTED_AT_, ID_)",
+                    "create index if not exists ewf_idx_dec_hist_time on " + table
+                            + " (EXECUTED_AT_, ID_)");
+
+            for (String statement : statements) {
+                try {
+                    jdbcTemplate.execute(statement);
+                } catch (Exception e) {
+                    log.warn("Could not create decision history schema: {}", e.getMessage());
+                }
+            }
+        };
+    }
+}
@@ -1,7 +1,11 @@
 package com.enterprise.workflow.decision.controller;
 
+import com.enterprise.workflow.common.web.TimedStreamingResponse;
+import com.enterprise.workflow.decision.config.DecisionBatchProperties;
 import com.enterprise.workflow.decision.dto.*;
+import com.enterprise.workflow.decision.service.DecisionBatchService;
 import com.enterprise.workflow.decision.service.DecisionService;
+import com.enterprise.workflow.decision.service.history.DecisionHistoryRecorder;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -9,10 +13,16 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 
@@ -28,6 +38,8 @@ import java.util.Map;
 public class DecisionController {
 
     private final DecisionService decisionService;
+    private final DecisionBatchService decisionBatchService;
+    private final DecisionBatchProperties batchProperties;
 
     // ==================== DECISION DEFINITIONS ====================
 
@@ -80,9 +92,11 @@ public class DecisionController {
     @Operation(summary = "Execute a decision by key")
     public ResponseEntity<DecisionExecutionResponse> executeDecision(
             @PathVariable String decisionKey,
+            @RequestParam(required = false) String processInstanceId,
+            @RequestParam(required = false) String activityId,
             @RequestBody Map<String, Object> variables) {
         log.info("Executing decision: {}", decisionKey);
-        return ResponseEntity.ok(decisionService.executeDecision(decisionKey, variables));
+        return ResponseEntity.ok(decisionService.executeDecision(decisionKey, variables, processInstanceId, activityId));
     }
 
     @PostMapping("/{decisionId}/execute")
@@ -103,6 +117,22 @@ public class DecisionController {
         return ResponseEntity.ok(decisionService.executeBatch(decisionKey, inputsList));
     }
 
+    @PostMapping(value = "/key/{decisionKey}/execute/batch",
+            consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Execute decision for an NDJSON stream of inputs, streaming one result line per input")
+    public WebAsyncTask<Void> executeBatchStream(
+            @PathVariable String decisionKey,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        log.info("Streaming batch execution of decision {}", decisionKey);
+        InputStream rows = request.getInputStream();
+        // The stream is written on an async worker thread, which has no security context
+        String executedBy = DecisionHistoryRecorder.currentUser();
+        return TimedStreamingResponse.of(response, MediaType.APPLICATION_NDJSON, batchProperties.getStreamTimeout(),
+                output -> decisionBatchService.executeBatch(decisionKey, rows, output, executedBy));
+    }
+
     // ==================== HISTORY ====================
 
     @GetMapping("/history/executions")
@@ -120,6 +150,14 @@ public class DecisionController {
         return ResponseEntity.ok(decisionService.getExecution(executionId));
     }
 
+    // ==================== METRICS ====================
+
+    @GetMapping("/metrics")
+    @Operation(summary = "Get decision cache hit rate and evaluation latency")
+    public ResponseEntity<DecisionMetricsResponse> getMetrics() {
+        return ResponseEntity.ok(decisionService.getMetrics());
+    }
+
     // ==================== VALIDATION ====================
 
     @PostMapping("/validate")
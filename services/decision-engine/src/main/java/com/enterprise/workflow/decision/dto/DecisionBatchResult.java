@@ -0,0 +1,24 @@
+package com.enterprise.workflow.decision.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One result line of a streamed batch evaluation, in input order.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DecisionBatchResult {
+    private long index;
+    private List<Map<String, Object>> outputs;
+    private String error;
+}
@@ -19,6 +19,7 @@ import java.util.Map;
 public class DecisionExecutionHistoryResponse {
     private String id;
     private String decisionKey;
+    private String decisionId;
     private String decisionName;
     private Integer version;
     private Map<String, Object> inputs;
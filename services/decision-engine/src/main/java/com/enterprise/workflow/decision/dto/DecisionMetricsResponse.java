@@ -0,0 +1,40 @@
+package com.enterprise.workflow.decision.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Decision cache effectiveness and per-decision evaluation latency.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DecisionMetricsResponse {
+    private long cacheSize;
+    private long cacheHits;
+    private long cacheMisses;
+    private double cacheHitRate;
+    private long compiledEvaluations;
+    private long engineEvaluations;
+    private double compiledRate;
+    private List<DecisionLatency> decisions;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DecisionLatency {
+        private String decisionKey;
+        private String path;
+        private long count;
+        private double meanMs;
+        private double maxMs;
+        private Double p50Ms;
+        private Double p99Ms;
+    }
+}
@@ -0,0 +1,30 @@
+package com.enterprise.workflow.decision.service;
+
+import com.enterprise.workflow.decision.dto.DecisionExecutionResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service interface for evaluating one decision against many input rows.
+ */
+public interface DecisionBatchService {
+
+    /**
+     * Evaluate every row against the latest version of the decision, resolved once.
+     */
+    List<DecisionExecutionResponse> executeBatch(String decisionKey, List<Map<String, Object>> inputsList);
+
+    /**
+     * Evaluate one NDJSON line of variables per row, writing one NDJSON
+     * {@link com.enterprise.workflow.decision.dto.DecisionBatchResult} line per row to {@code results}.
+     *
+     * @param executedBy user recorded in the execution history; streams run off the request
+     *                   thread, so the caller resolves it beforehand
+     */
+    void executeBatch(String decisionKey, InputStream rows, OutputStream results, String executedBy)
+            throws IOException;
+}
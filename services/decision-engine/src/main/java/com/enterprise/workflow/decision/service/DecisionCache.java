@@ -0,0 +1,96 @@
+package com.enterprise.workflow.decision.service;
+
+import com.enterprise.workflow.decision.config.DecisionCacheProperties;
+import com.enterprise.workflow.decision.service.compiled.CompiledDecision;
+import com.enterprise.workflow.decision.service.compiled.DecisionCompiler;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.flowable.dmn.api.DmnDecision;
+import org.flowable.dmn.api.DmnRepositoryService;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves decision keys to deployed versions and keeps their compiled tables.
+ *
+ * Versions are immutable once deployed, so compiled tables are cached by decision
+ * ID; only the key-to-latest-version mapping needs a TTL.
+ */
+@Component
+public class DecisionCache {
+
+    private final DmnRepositoryService repositoryService;
+    private final boolean compiledEnabled;
+    private final Cache<String, String> latestVersions;
+    private final Cache<String, ResolvedDecision> decisions;
+
+    public DecisionCache(DmnRepositoryService repositoryService,
+            DecisionCacheProperties properties,
+            MeterRegistry meterRegistry) {
+        this.repositoryService = repositoryService;
+        this.compiledEnabled = properties.isCompiledEnabled();
+        this.latestVersions = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfterWrite(properties.getLatestVersionTtl())
+                .build();
+        this.decisions = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, decisions, "decision.compiled");
+    }
+
+    /**
+     * Returns the latest deployed version of a decision.
+     *
+     * @throws RuntimeException if no decision is deployed under the key
+     */
+    public ResolvedDecision getLatest(String decisionKey) {
+        String decisionId = latestVersions.get(decisionKey, key -> {
+            DmnDecision definition = repositoryService.createDecisionQuery()
+                    .decisionKey(key)
+                    .latestVersion()
+                    .singleResult();
+            if (definition == null) {
+                throw new RuntimeException("Decision not found with key: " + key);
+            }
+            return definition.getId();
+        });
+        return decisions.get(decisionId, this::load);
+    }
+
+    /**
+     * Drops everything, e.g. after a deployment was added or removed.
+     */
+    public void invalidateAll() {
+        latestVersions.invalidateAll();
+        decisions.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return decisions.stats();
+    }
+
+    public long size() {
+        return decisions.estimatedSize();
+    }
+
+    private ResolvedDecision load(String decisionId) {
+        DmnDecision definition = repositoryService.getDecision(decisionId);
+        CompiledDecision compiled = compiledEnabled
+                ? DecisionCompiler.compile(definition, repositoryService.getDmnDefinition(definition.getId()))
+                        .orElse(null)
+                : null;
+        return new ResolvedDecision(definition.getId(), definition.getKey(), definition.getName(),
+                definition.getVersion(), compiled);
+    }
+
+    /**
+     * A deployed decision version; {@code compiled} is null when it must run on the interpreter.
+     */
+    public record ResolvedDecision(String decisionId, String decisionKey, String decisionName, int version,
+            CompiledDecision compiled) {
+    }
+}
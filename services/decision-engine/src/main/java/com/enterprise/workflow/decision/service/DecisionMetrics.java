@@ -0,0 +1,100 @@
+package com.enterprise.workflow.decision.service;
+
+import com.enterprise.workflow.decision.dto.DecisionMetricsResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValuePercentile;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-decision evaluation timers, tagged with the path that served the call.
+ */
+@Component
+@RequiredArgsConstructor
+public class DecisionMetrics {
+
+    public static final String COMPILED = "compiled";
+    public static final String ENGINE = "engine";
+
+    private static final String TIMER = "decision.evaluation";
+    private static final String BATCH_TIMER = "decision.batch";
+    private static final String BATCH_ROWS = "decision.batch.rows";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public void record(String decisionKey, String path, long nanos) {
+        timers.computeIfAbsent(decisionKey + '\u0000' + path, k -> Timer.builder(TIMER)
+                .tag("decisionKey", decisionKey)
+                .tag("path", path)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records one batch (or one chunk of a streamed batch) of {@code rows} evaluations.
+     */
+    public void recordBatch(String decisionKey, int rows, long nanos) {
+        meterRegistry.timer(BATCH_TIMER, "decisionKey", decisionKey).record(nanos, TimeUnit.NANOSECONDS);
+        meterRegistry.counter(BATCH_ROWS, "decisionKey", decisionKey).increment(rows);
+    }
+
+    public DecisionMetricsResponse snapshot(DecisionCache cache) {
+        List<DecisionMetricsResponse.DecisionLatency> decisions = new ArrayList<>();
+        long compiled = 0;
+        long engine = 0;
+
+        for (Timer timer : timers.values()) {
+            String path = timer.getId().getTag("path");
+            HistogramSnapshot snapshot = timer.takeSnapshot();
+            if (COMPILED.equals(path)) {
+                compiled += snapshot.count();
+            } else {
+                engine += snapshot.count();
+            }
+            decisions.add(DecisionMetricsResponse.DecisionLatency.builder()
+                    .decisionKey(timer.getId().getTag("decisionKey"))
+                    .path(path)
+                    .count(snapshot.count())
+                    .meanMs(snapshot.mean(TimeUnit.MILLISECONDS))
+                    .maxMs(snapshot.max(TimeUnit.MILLISECONDS))
+                    .p50Ms(percentile(snapshot, 0.5))
+                    .p99Ms(percentile(snapshot, 0.99))
+                    .build());
+        }
+        decisions.sort(Comparator.comparing(DecisionMetricsResponse.DecisionLatency::getDecisionKey)
+                .thenComparing(DecisionMetricsResponse.DecisionLatency::getPath));
+
+        var stats = cache.stats();
+        long evaluations = compiled + engine;
+        return DecisionMetricsResponse.builder()
+                .cacheSize(cache.size())
+                .cacheHits(stats.hitCount())
+                .cacheMisses(stats.missCount())
+                .cacheHitRate(stats.hitRate())
+                .compiledEvaluations(compiled)
+                .engineEvaluations(engine)
+                .compiledRate(evaluations == 0 ? 0 : (double) compiled / evaluations)
+                .decisions(decisions)
+                .build();
+    }
+
+    private Double percentile(HistogramSnapshot snapshot, double percentile) {
+        for (ValuePercentile value : snapshot.percentileValues()) {
+            if (value.percentile() == percentile) {
+                return value.value(TimeUnit.MILLISECONDS);
+            }
+        }
+        return null;
+    }
+}
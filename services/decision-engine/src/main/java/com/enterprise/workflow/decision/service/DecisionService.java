@@ -28,6 +28,9 @@ public interface DecisionService {
 
     // Execution
     DecisionExecutionResponse executeDecision(String decisionKey, Map<String, Object> variables);
+
+    DecisionExecutionResponse executeDecision(String decisionKey, Map<String, Object> variables,
+            String processInstanceId, String activityId);
     
     DecisionExecutionResponse executeDecisionById(String decisionId, Map<String, Object> variables);
     
@@ -38,6 +41,9 @@ public interface DecisionService {
     
     DecisionExecutionHistoryResponse getExecution(String executionId);
 
+    // Metrics
+    DecisionMetricsResponse getMetrics();
+
     // Validation
     DecisionValidationResponse validateDecision(String dmnXml);
 }
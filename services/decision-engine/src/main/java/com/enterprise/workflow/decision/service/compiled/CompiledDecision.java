@@ -0,0 +1,390 @@
+package com.enterprise.workflow.decision.service.compiled;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * An immutable, pre-parsed decision table.
+ *
+ * Input expressions are resolved once into variable paths, every input entry is
+ * compiled into a {@link Condition} and rules are indexed on their most selective
+ * column. Only UNIQUE, FIRST and ANY tables are compiled; for those, a UNIQUE
+ * table with several matching rules or an ANY table with conflicting outputs is
+ * reported as {@code null} so the caller can let the interpreter raise its error.
+ *
+ * Conditions coerce input values the way the interpreter's EL does. An input that EL
+ * could not coerce against some literal of its column (a non-numeric string against a
+ * number, a number against a boolean, and so on), or that does not have the declared
+ * type of a typed input column, is likewise reported as {@code null}, so the interpreter
+ * produces its own result or error for it.
+ */
+public final class CompiledDecision {
+
+    private static final Pattern PATH = Pattern.compile("[A-Za-z_][\\w]*(\\.[A-Za-z_][\\w]*)*");
+
+    /** Row result of {@link #evaluateColumns}: no rule matched. */
+    public static final int NO_MATCH = -1;
+
+    /**
+     * Row result of {@link #evaluateColumns}: the hit policy was violated or an input needs the
+     * interpreter's coercion, evaluate the row on the interpreter.
+     */
+    public static final int AMBIGUOUS = -2;
+
+    public enum HitPolicy {
+        UNIQUE, FIRST, ANY
+    }
+
+    private final String decisionId;
+    private final String decisionKey;
+    private final int version;
+    private final HitPolicy hitPolicy;
+    private final String[][] inputPaths;
+    /** Per input column, the type a value must have to be evaluated here, or null for any. */
+    private final Class<?>[] inputTypes;
+    private final Condition[][] rules;
+    private final List<Map<String, Object>> outputs;
+    private final RuleIndex index;
+    /** Per input column, the literals an input value must be coercible with, see {@link Literals#coercible}. */
+    private final Object[][] probes;
+
+    CompiledDecision(String decisionId, String decisionKey, int version, HitPolicy hitPolicy,
+            String[][] inputPaths, Class<?>[] inputTypes, Condition[][] rules, List<Map<String, Object>> outputs) {
+        this.decisionId = decisionId;
+        this.decisionKey = decisionKey;
+        this.version = version;
+        this.hitPolicy = hitPolicy;
+        this.inputPaths = inputPaths;
+        this.inputTypes = inputTypes;
+        this.rules = rules;
+        this.outputs = outputs;
+        this.index = RuleIndex.build(rules, inputPaths.length);
+        this.probes = new Object[inputPaths.length][];
+        for (int c = 0; c < inputPaths.length; c++) {
+            List<Object> literals = new ArrayList<>();
+            for (Condition[] rule : rules) {
+                rule[c].literals(literals);
+            }
+            probes[c] = probes(literals);
+        }
+    }
+
+    /**
+     * Reduces the literals of a column to one per coercion behaviour: the number types, a
+     * boolean, and the string least likely to parse as a number.
+     */
+    private static Object[] probes(List<Object> literals) {
+        Object longLiteral = null;
+        Object doubleLiteral = null;
+        Object booleanLiteral = null;
+        String stringLiteral = null;
+        for (Object literal : literals) {
+            if (literal instanceof Number) {
+                if (Literals.floating(literal)) {
+                    doubleLiteral = literal;
+                } else {
+                    longLiteral = literal;
+                }
+            } else if (literal instanceof Boolean) {
+                booleanLiteral = literal;
+            } else if (literal instanceof String text && (stringLiteral == null
+                    || stringStrictness(text) > stringStrictness(stringLiteral))) {
+                stringLiteral = text;
+            }
+        }
+        return Stream.of(longLiteral, doubleLiteral, booleanLiteral, stringLiteral)
+                .filter(Objects::nonNull)
+                .toArray();
+    }
+
+    private static int stringStrictness(String text) {
+        return Literals.parsesAsLong(text) ? 0 : Literals.parsesAsDouble(text) ? 1 : 2;
+    }
+
+    /**
+     * Turns an input expression such as {@code amount}, {@code ${amount}} or
+     * {@code applicant.score} into a variable path.
+     */
+    static String[] inputPath(String expression) {
+        String text = expression == null ? "" : expression.trim();
+        if (text.startsWith("${") && text.endsWith("}")) {
+            text = text.substring(2, text.length() - 1).trim();
+        }
+        if (!PATH.matcher(text).matches()) {
+            throw new NotCompilableException("Unsupported input expression: " + expression);
+        }
+        return text.split("\\.");
+    }
+
+    public String getDecisionId() {
+        return decisionId;
+    }
+
+    public String getDecisionKey() {
+        return decisionKey;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public HitPolicy getHitPolicy() {
+        return hitPolicy;
+    }
+
+    public int getRuleCount() {
+        return rules.length;
+    }
+
+    public int getInputCount() {
+        return inputPaths.length;
+    }
+
+    public boolean isIndexed() {
+        return index != null;
+    }
+
+    /**
+     * Evaluates the table for one set of variables.
+     *
+     * @return the matched outputs (empty when no rule matched), or null when the
+     *         hit policy was violated or an input needs the interpreter's coercion,
+     *         and the interpreter should handle the call
+     */
+    public List<Map<String, Object>> evaluate(Map<String, Object> variables) {
+        return evaluate(resolveInputs(variables));
+    }
+
+    /**
+     * Resolves every input column from the variables, in column order.
+     */
+    public Object[] resolveInputs(Map<String, Object> variables) {
+        Object[] values = new Object[inputPaths.length];
+        for (int c = 0; c < inputPaths.length; c++) {
+            values[c] = resolve(variables, inputPaths[c]);
+        }
+        return values;
+    }
+
+    /**
+     * Resolves the input columns of many rows at once, {@code columns[input][row]}.
+     */
+    public Object[][] resolveColumns(List<Map<String, Object>> rows) {
+        Object[][] columns = new Object[inputPaths.length][rows.size()];
+        for (int row = 0; row < rows.size(); row++) {
+            Map<String, Object> variables = rows.get(row);
+            for (int c = 0; c < inputPaths.length; c++) {
+                columns[c][row] = resolve(variables, inputPaths[c]);
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Evaluates the table for already resolved input values.
+     *
+     * @see #evaluate(Map)
+     */
+    public List<Map<String, Object>> evaluate(Object[] values) {
+        if (!coercible(values)) {
+            return null;
+        }
+        int[] candidates = index != null ? index.candidates(values[index.column]) : null;
+        int count = candidates != null ? candidates.length : rules.length;
+
+        Map<String, Object> matched = null;
+        for (int i = 0; i < count; i++) {
+            int rule = candidates != null ? candidates[i] : i;
+            if (!matches(rules[rule], values)) {
+                continue;
+            }
+            Map<String, Object> output = outputs.get(rule);
+            switch (hitPolicy) {
+                case FIRST:
+                    return List.of(output);
+                case UNIQUE:
+                    if (matched != null) {
+                        return null;
+                    }
+                    break;
+                case ANY:
+                    if (matched != null && !matched.equals(output)) {
+                        return null;
+                    }
+                    break;
+            }
+            matched = output;
+        }
+        return matched == null ? List.of() : List.of(matched);
+    }
+
+    /**
+     * Evaluates a block of rows column by column.
+     *
+     * Rows are grouped by the candidate rules of their indexed column; within a group,
+     * each rule's conditions are applied one column at a time to the rows still in play,
+     * so every inner loop runs a single condition over a contiguous set of values.
+     *
+     * @param columns resolved input values, {@code columns[input][row]}
+     * @param from    first row to evaluate, inclusive
+     * @param to      last row to evaluate, exclusive
+     * @param result  receives the matched rule index, {@link #NO_MATCH} or {@link #AMBIGUOUS} per row
+     */
+    public void evaluateColumns(Object[][] columns, int from, int to, int[] result) {
+        Arrays.fill(result, from, to, NO_MATCH);
+        Object[] values = new Object[columns.length];
+        if (index == null) {
+            int[] rows = new int[to - from];
+            int count = 0;
+            for (int row = from; row < to; row++) {
+                if (coercible(columns, row, values)) {
+                    rows[count++] = row;
+                } else {
+                    result[row] = AMBIGUOUS;
+                }
+            }
+            evaluateGroup(columns, rows, count, null, result);
+            return;
+        }
+
+        Object[] indexed = columns[index.column];
+        Map<int[], RowGroup> groups = new IdentityHashMap<>();
+        for (int row = from; row < to; row++) {
+            if (!coercible(columns, row, values)) {
+                result[row] = AMBIGUOUS;
+                continue;
+            }
+            groups.computeIfAbsent(index.candidates(indexed[row]), k -> new RowGroup()).add(row);
+        }
+        groups.forEach((candidates, group) -> evaluateGroup(columns, group.rows, group.size, candidates, result));
+    }
+
+    /**
+     * @param candidates rules to test in ascending order, or null for all rules
+     */
+    private void evaluateGroup(Object[][] columns, int[] rows, int rowCount, int[] candidates, int[] result) {
+        int[] open = Arrays.copyOf(rows, rowCount);
+        int openCount = rowCount;
+        int[] survivors = new int[rowCount];
+        int ruleCount = candidates != null ? candidates.length : rules.length;
+
+        for (int i = 0; i < ruleCount && openCount > 0; i++) {
+            int rule = candidates != null ? candidates[i] : i;
+            Condition[] conditions = rules[rule];
+
+            System.arraycopy(open, 0, survivors, 0, openCount);
+            int survivorCount = openCount;
+            for (int c = 0; c < conditions.length && survivorCount > 0; c++) {
+                Condition condition = conditions[c];
+                if (condition == Condition.ANY) {
+                    continue;
+                }
+                Object[] values = columns[c];
+                int kept = 0;
+                for (int s = 0; s < survivorCount; s++) {
+                    int row = survivors[s];
+                    if (condition.test(values[row])) {
+                        survivors[kept++] = row;
+                    }
+                }
+                survivorCount = kept;
+            }
+            if (survivorCount == 0) {
+                continue;
+            }
+
+            boolean closed = false;
+            for (int s = 0; s < survivorCount; s++) {
+                int row = survivors[s];
+                int previous = result[row];
+                if (hitPolicy == HitPolicy.FIRST || previous == NO_MATCH) {
+                    result[row] = rule;
+                    closed |= hitPolicy == HitPolicy.FIRST;
+                } else if (hitPolicy == HitPolicy.UNIQUE || !outputs.get(previous).equals(outputs.get(rule))) {
+                    result[row] = AMBIGUOUS;
+                    closed = true;
+                }
+            }
+            if (closed) {
+                int kept = 0;
+                for (int o = 0; o < openCount; o++) {
+                    int row = open[o];
+                    if (result[row] != AMBIGUOUS && (hitPolicy != HitPolicy.FIRST || result[row] == NO_MATCH)) {
+                        open[kept++] = row;
+                    }
+                }
+                openCount = kept;
+            }
+        }
+    }
+
+    /**
+     * Output of a rule, as reported by {@link #evaluateColumns}.
+     */
+    public Map<String, Object> output(int rule) {
+        return outputs.get(rule);
+    }
+
+    private boolean coercible(Object[][] columns, int row, Object[] values) {
+        for (int c = 0; c < columns.length; c++) {
+            values[c] = columns[c][row];
+        }
+        return coercible(values);
+    }
+
+    /**
+     * Whether every input value has its column's declared type and can be compared with every
+     * literal of its column without an EL coercion error.
+     */
+    private boolean coercible(Object[] values) {
+        for (int c = 0; c < probes.length; c++) {
+            if (inputTypes[c] != null && values[c] != null && !inputTypes[c].isInstance(values[c])) {
+                return false;
+            }
+            for (Object probe : probes[c]) {
+                if (!Literals.coercible(probe, values[c])) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean matches(Condition[] rule, Object[] values) {
+        for (int c = 0; c < rule.length; c++) {
+            if (!rule[c].test(values[c])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class RowGroup {
+        private int[] rows = new int[16];
+        private int size;
+
+        void add(int row) {
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+            }
+            rows[size++] = row;
+        }
+    }
+
+    private static Object resolve(Map<String, Object> variables, String[] path) {
+        Object current = variables;
+        for (String segment : path) {
+            if (!(current instanceof Map<?, ?> map)) {
+                return null;
+            }
+            current = map.get(segment);
+        }
+        return current;
+    }
+}
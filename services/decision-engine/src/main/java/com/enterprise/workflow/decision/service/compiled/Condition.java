@@ -0,0 +1,144 @@
+package com.enterprise.workflow.decision.service.compiled;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A compiled DMN input entry (unary test) evaluated against one input value.
+ *
+ * Supports the subset the interpreter reads as a plain EL comparison with the input:
+ * "-" or empty (any), literals, {@code == / !=} and numeric comparisons. Anything
+ * else, including {@code [a..b]} ranges and comma-separated lists (which the
+ * interpreter does not treat as such), is rejected at compile time so the decision
+ * falls back to the Flowable interpreter. Values are compared with the interpreter's
+ * EL coercion rules, see {@link Literals}.
+ */
+abstract class Condition {
+
+    private static final Pattern COMPARISON = Pattern.compile("^(==|!=|<=|>=|<|>)\\s*(.+)$");
+
+    static final Condition ANY = new Condition() {
+        @Override
+        boolean test(Object value) {
+            return true;
+        }
+    };
+
+    abstract boolean test(Object value);
+
+    /**
+     * Adds the literals this entry compares input values with.
+     */
+    void literals(List<Object> into) {
+    }
+
+    static Condition compile(String text) {
+        String entry = text == null ? "" : text.trim();
+        if (entry.isEmpty() || entry.equals("-")) {
+            return ANY;
+        }
+
+        Matcher comparison = COMPARISON.matcher(entry);
+        if (comparison.matches()) {
+            String operator = comparison.group(1);
+            String operand = comparison.group(2).trim();
+            return switch (operator) {
+                case "==" -> new Equals(Literals.value(operand));
+                case "!=" -> new NotEquals(Literals.value(operand));
+                case "<" -> new Range(null, false, Literals.number(operand), false);
+                case "<=" -> new Range(null, false, Literals.number(operand), true);
+                case ">" -> new Range(Literals.number(operand), false, null, false);
+                default -> new Range(Literals.number(operand), true, null, false);
+            };
+        }
+
+        if (entry.startsWith("-")) {
+            // Too close to the "-" wildcard to assume the interpreter reads it as a negative literal
+            throw new NotCompilableException("Unsupported input entry: " + entry);
+        }
+        return new Equals(Literals.value(entry));
+    }
+
+    /**
+     * Equality test; exposes its key so rules can be indexed by value.
+     */
+    static final class Equals extends Condition {
+        final Object expected;
+
+        Equals(Object expected) {
+            this.expected = expected;
+        }
+
+        @Override
+        boolean test(Object value) {
+            return Literals.equal(expected, value);
+        }
+
+        @Override
+        void literals(List<Object> into) {
+            into.add(expected);
+        }
+    }
+
+    static final class NotEquals extends Condition {
+        final Object unexpected;
+
+        NotEquals(Object unexpected) {
+            this.unexpected = unexpected;
+        }
+
+        @Override
+        boolean test(Object value) {
+            return !Literals.equal(unexpected, value);
+        }
+
+        @Override
+        void literals(List<Object> into) {
+            into.add(unexpected);
+        }
+    }
+
+    /**
+     * Numeric interval; a null bound is unbounded on that side.
+     */
+    static final class Range extends Condition {
+        final Double low;
+        final boolean lowInclusive;
+        final Double high;
+        final boolean highInclusive;
+        private final List<Number> bounds = new ArrayList<>(2);
+
+        Range(Number low, boolean lowInclusive, Number high, boolean highInclusive) {
+            this.low = low != null ? low.doubleValue() : null;
+            this.lowInclusive = lowInclusive;
+            this.high = high != null ? high.doubleValue() : null;
+            this.highInclusive = highInclusive;
+            if (low != null) {
+                bounds.add(low);
+            }
+            if (high != null) {
+                bounds.add(high);
+            }
+        }
+
+        @Override
+        boolean test(Object value) {
+            Double number = Literals.toDouble(value);
+            return number != null && contains(number);
+        }
+
+        boolean contains(double number) {
+            if (low != null && (lowInclusive ? number < low : number <= low)) {
+                return false;
+            }
+            return high == null || (highInclusive ? number <= high : number < high);
+        }
+
+        @Override
+        void literals(List<Object> into) {
+            into.addAll(bounds);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.enterprise.workflow.decision.service.compiled;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flowable.dmn.api.DmnDecision;
+import org.flowable.dmn.model.Decision;
+import org.flowable.dmn.model.DecisionRule;
+import org.flowable.dmn.model.DecisionTable;
+import org.flowable.dmn.model.DmnDefinition;
+import org.flowable.dmn.model.InputClause;
+import org.flowable.dmn.model.OutputClause;
+import org.flowable.dmn.model.RuleInputClauseContainer;
+import org.flowable.dmn.model.RuleOutputClauseContainer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Compiles a deployed Flowable decision table into a {@link CompiledDecision}.
+ */
+@Slf4j
+public final class DecisionCompiler {
+
+    private DecisionCompiler() {
+    }
+
+    /**
+     * @param definition the deployed decision
+     * @param model      the parsed DMN model of its deployment resource
+     * @return the compiled table, or empty if the decision uses anything outside the compiled subset
+     */
+    public static Optional<CompiledDecision> compile(DmnDecision definition, DmnDefinition model) {
+        try {
+            return Optional.of(doCompile(definition, model));
+        } catch (NotCompilableException e) {
+            log.debug("Decision {} is evaluated by the interpreter: {}", definition.getKey(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static CompiledDecision doCompile(DmnDecision definition, DmnDefinition model) {
+        Decision decision = model != null ? model.getDecisionById(definition.getKey()) : null;
+        if (decision == null || !(decision.getExpression() instanceof DecisionTable table)) {
+            throw new NotCompilableException("Not a decision table");
+        }
+
+        CompiledDecision.HitPolicy hitPolicy = switch (table.getHitPolicy()) {
+            case UNIQUE -> CompiledDecision.HitPolicy.UNIQUE;
+            case FIRST -> CompiledDecision.HitPolicy.FIRST;
+            case ANY -> CompiledDecision.HitPolicy.ANY;
+            default -> throw new NotCompilableException("Unsupported hit policy: " + table.getHitPolicy());
+        };
+
+        List<InputClause> inputs = table.getInputs();
+        List<OutputClause> outputs = table.getOutputs();
+        String[][] inputPaths = new String[inputs.size()][];
+        Class<?>[] inputTypes = new Class<?>[inputs.size()];
+        for (int c = 0; c < inputs.size(); c++) {
+            InputClause input = inputs.get(c);
+            inputPaths[c] = CompiledDecision.inputPath(
+                    input.getInputExpression() != null ? input.getInputExpression().getText() : null);
+            inputTypes[c] = inputType(input.getInputExpression() != null
+                    ? input.getInputExpression().getTypeRef() : null);
+        }
+
+        List<DecisionRule> decisionRules = table.getRules();
+        Condition[][] rules = new Condition[decisionRules.size()][];
+        List<Map<String, Object>> ruleOutputs = new ArrayList<>(decisionRules.size());
+        for (int r = 0; r < decisionRules.size(); r++) {
+            DecisionRule rule = decisionRules.get(r);
+
+            Condition[] conditions = new Condition[inputs.size()];
+            Arrays.fill(conditions, Condition.ANY);
+            List<RuleInputClauseContainer> entries = rule.getInputEntries();
+            for (int i = 0; i < entries.size(); i++) {
+                RuleInputClauseContainer entry = entries.get(i);
+                int column = entry.getInputClause() != null ? inputs.indexOf(entry.getInputClause()) : i;
+                if (column < 0 || column >= conditions.length) {
+                    throw new NotCompilableException("Input entry without matching input clause");
+                }
+                conditions[column] = Condition.compile(
+                        entry.getInputEntry() != null ? entry.getInputEntry().getText() : null);
+            }
+            rules[r] = conditions;
+
+            Map<String, Object> output = new LinkedHashMap<>();
+            List<RuleOutputClauseContainer> outputEntries = rule.getOutputEntries();
+            for (int o = 0; o < outputEntries.size(); o++) {
+                RuleOutputClauseContainer entry = outputEntries.get(o);
+                OutputClause clause = entry.getOutputClause() != null ? entry.getOutputClause() : outputs.get(o);
+                String text = entry.getOutputEntry() != null ? entry.getOutputEntry().getText() : null;
+                if (text == null || text.isBlank()) {
+                    continue;
+                }
+                output.put(clause.getName(), outputValue(text, clause.getTypeRef()));
+            }
+            ruleOutputs.add(Collections.unmodifiableMap(output));
+        }
+
+        return new CompiledDecision(definition.getId(), definition.getKey(), definition.getVersion(),
+                hitPolicy, inputPaths, inputTypes, rules, List.copyOf(ruleOutputs));
+    }
+
+    /**
+     * The Java type input values of a typed column must already have to be compiled; values
+     * of any other type are left to the interpreter, which may convert them first. Types the
+     * interpreter rewrites entries for, such as dates, are not compiled at all.
+     */
+    private static Class<?> inputType(String typeRef) {
+        if (typeRef == null || typeRef.isBlank()) {
+            return null;
+        }
+        return switch (typeRef) {
+            case "string" -> String.class;
+            case "number" -> Number.class;
+            case "boolean" -> Boolean.class;
+            default -> throw new NotCompilableException("Unsupported input type: " + typeRef);
+        };
+    }
+
+    /**
+     * Coerces an output literal the way the interpreter does for the declared type.
+     */
+    private static Object outputValue(String text, String typeRef) {
+        Object value = Literals.value(text);
+        if (value == null || typeRef == null || typeRef.isBlank()) {
+            return value;
+        }
+        return switch (typeRef) {
+            case "string" -> value.toString();
+            case "number", "double" -> {
+                Double number = Literals.toDouble(value);
+                if (number == null) {
+                    throw new NotCompilableException("Not a number: " + text);
+                }
+                yield number;
+            }
+            case "boolean" -> {
+                if (!(value instanceof Boolean)) {
+                    throw new NotCompilableException("Not a boolean: " + text);
+                }
+                yield value;
+            }
+            default -> throw new NotCompilableException("Unsupported output type: " + typeRef);
+        };
+    }
+}
@@ -0,0 +1,187 @@
+package com.enterprise.workflow.decision.service.compiled;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Parsing of DMN literal expressions and JUEL-compatible comparison of input values
+ * against them.
+ *
+ * The interpreter evaluates an entry such as {@code == 5} as the EL expression
+ * {@code input == 5}, so values are coerced the way JUEL does: a number literal turns a
+ * string input into a {@code Long} (or a {@code Double} for decimal literals), a boolean
+ * literal turns it into a {@code Boolean}, and {@code null} equals only {@code null}.
+ * Inputs JUEL would reject with an error are reported by {@link #coercible}, so those
+ * rows can be left to the interpreter.
+ */
+final class Literals {
+
+    /** An EL integer or floating point literal, optionally negated. */
+    private static final Pattern NUMBER = Pattern.compile(
+            "-?(\\d+|\\d+\\.\\d*(?:[eE][+-]?\\d+)?|\\.\\d+(?:[eE][+-]?\\d+)?|\\d+[eE][+-]?\\d+)");
+
+    private Literals() {
+    }
+
+    /**
+     * Parses a quoted string, number or boolean literal, accepting only what EL reads as
+     * that same single literal.
+     *
+     * @throws NotCompilableException for any other expression
+     */
+    static Object value(String text) {
+        String literal = text.trim();
+        if (literal.length() >= 2 && (literal.startsWith("\"") && literal.endsWith("\"")
+                || literal.startsWith("'") && literal.endsWith("'"))) {
+            String content = literal.substring(1, literal.length() - 1);
+            // An inner quote would end the literal early, and escapes are not unescaped here
+            if (content.indexOf(literal.charAt(0)) >= 0 || content.indexOf('\\') >= 0) {
+                throw new NotCompilableException("Not a literal: " + text);
+            }
+            return content;
+        }
+        if (literal.equals("true") || literal.equals("false")) {
+            return Boolean.valueOf(literal);
+        }
+        if (literal.equals("null")) {
+            return null;
+        }
+        return number(literal);
+    }
+
+    /**
+     * Parses a number literal as EL does: a {@code Long} for integers, a {@code Double} otherwise.
+     * Forms Java accepts but EL does not ({@code +5}, {@code 5d}, {@code NaN}, hex) and integers
+     * that overflow a {@code Long} are rejected.
+     */
+    static Number number(String text) {
+        String literal = text.trim();
+        if (!NUMBER.matcher(literal).matches()) {
+            throw new NotCompilableException("Not a literal: " + text);
+        }
+        boolean negative = literal.startsWith("-");
+        String digits = negative ? literal.substring(1) : literal;
+        try {
+            if (digits.chars().allMatch(Character::isDigit)) {
+                // EL negates the parsed literal, so the magnitude alone must fit
+                long magnitude = Long.parseLong(digits);
+                return negative ? -magnitude : magnitude;
+            }
+            double value = Double.parseDouble(literal);
+            if (Double.isInfinite(value)) {
+                throw new NotCompilableException("Not a literal: " + text);
+            }
+            return value;
+        } catch (NumberFormatException e) {
+            throw new NotCompilableException("Not a literal: " + text);
+        }
+    }
+
+    /**
+     * EL equality of a literal and an input value; only meaningful when {@link #coercible}.
+     */
+    static boolean equal(Object literal, Object value) {
+        if (literal == value) {
+            return true;
+        }
+        if (literal == null || value == null) {
+            return false;
+        }
+        if (literal instanceof Number || value instanceof Number) {
+            if (floating(literal) || floating(value)) {
+                return toDouble(literal).equals(toDouble(value));
+            }
+            return toLong(literal).equals(toLong(value));
+        }
+        if (literal instanceof Boolean || value instanceof Boolean) {
+            return toBoolean(literal) == toBoolean(value);
+        }
+        return literal.toString().equals(value.toString());
+    }
+
+    /**
+     * Whether EL can compare the value with the literal without raising a coercion error.
+     * {@code BigDecimal} and {@code BigInteger} inputs are never coercible here because EL
+     * compares them with scale-sensitive semantics this class does not reproduce.
+     */
+    static boolean coercible(Object literal, Object value) {
+        if (value instanceof BigDecimal || value instanceof BigInteger) {
+            return false;
+        }
+        if (literal == null || value == null) {
+            return true;
+        }
+        if (literal instanceof Number || value instanceof Number) {
+            Object other = literal instanceof Number ? value : literal;
+            if (other instanceof Number) {
+                return true;
+            }
+            if (!(other instanceof String text)) {
+                return false;
+            }
+            return floating(literal) || floating(value) ? parsesAsDouble(text) : parsesAsLong(text);
+        }
+        if (literal instanceof Boolean || value instanceof Boolean) {
+            Object other = literal instanceof Boolean ? value : literal;
+            return other instanceof Boolean || other instanceof String;
+        }
+        return true;
+    }
+
+    /**
+     * An input value as a number, the way EL coerces it for a numeric comparison, or null if it
+     * is not a number or numeric string.
+     */
+    static Double toDouble(Object value) {
+        if (value instanceof Number number) {
+            return number.doubleValue();
+        }
+        if (value instanceof String text) {
+            if (text.isEmpty()) {
+                return 0.0;
+            }
+            try {
+                return Double.valueOf(text);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Floating point values compare as {@code Double} in EL; everything else numeric as {@code Long}.
+     */
+    static boolean floating(Object value) {
+        return value instanceof Double || value instanceof Float;
+    }
+
+    static boolean parsesAsLong(String text) {
+        if (text.isEmpty()) {
+            return true;
+        }
+        try {
+            Long.parseLong(text);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    static boolean parsesAsDouble(String text) {
+        return toDouble(text) != null;
+    }
+
+    private static Long toLong(Object value) {
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        String text = (String) value;
+        return text.isEmpty() ? 0L : Long.valueOf(text);
+    }
+
+    private static boolean toBoolean(Object value) {
+        return value instanceof Boolean bool ? bool : Boolean.parseBoolean((String) value);
+    }
+}
@@ -0,0 +1,11 @@
+package com.enterprise.workflow.decision.service.compiled;
+
+/**
+ * Signals that a decision uses constructs outside the compiled subset.
+ */
+class NotCompilableException extends RuntimeException {
+
+    NotCompilableException(String message) {
+        super(message);
+    }
+}
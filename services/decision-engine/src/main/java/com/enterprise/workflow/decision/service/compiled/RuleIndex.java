@@ -0,0 +1,244 @@
+package com.enterprise.workflow.decision.service.compiled;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Narrows the rules to test for one input column.
+ *
+ * Candidate arrays are supersets of the matching rules, sorted by rule order,
+ * so FIRST semantics are preserved; every candidate is still fully evaluated.
+ */
+abstract class RuleIndex {
+
+    /** Upper bound on precomputed candidate entries, to keep wide tables from exploding. */
+    private static final long MAX_INDEX_ENTRIES = 1_000_000;
+
+    final int column;
+
+    RuleIndex(int column) {
+        this.column = column;
+    }
+
+    /**
+     * @return the candidate rules in ascending order, or null if every rule must be tested
+     */
+    abstract int[] candidates(Object value);
+
+    /**
+     * Picks the column with the most indexable entries and builds an index on it,
+     * or returns null if no column is selective enough to be worth it.
+     */
+    static RuleIndex build(Condition[][] rules, int columns) {
+        int bestEquality = -1;
+        int bestEqualityCount = 0;
+        int bestRange = -1;
+        int bestRangeCount = 0;
+
+        for (int c = 0; c < columns; c++) {
+            int equality = 0;
+            int range = 0;
+            for (Condition[] rule : rules) {
+                if (rule[c] instanceof Condition.Equals) {
+                    equality++;
+                } else if (rule[c] instanceof Condition.Range) {
+                    range++;
+                }
+            }
+            if (equality > bestEqualityCount) {
+                bestEquality = c;
+                bestEqualityCount = equality;
+            }
+            if (range > bestRangeCount) {
+                bestRange = c;
+                bestRangeCount = range;
+            }
+        }
+
+        if (bestEqualityCount >= 2 && bestEqualityCount >= bestRangeCount) {
+            RuleIndex index = EqualityIndex.build(rules, bestEquality);
+            if (index != null) {
+                return index;
+            }
+        }
+        if (bestRangeCount >= 2) {
+            return RangeIndex.build(rules, bestRange);
+        }
+        return null;
+    }
+
+    /**
+     * Hash index over equality entries; other entries are candidates for every value.
+     *
+     * Only columns whose literals are all numbers, all booleans or all strings are indexed,
+     * and input values are keyed the way EL coerces them for that type. Values whose
+     * coercion cannot be keyed (a number against string literals, which EL compares as
+     * numbers) test every rule.
+     */
+    static final class EqualityIndex extends RuleIndex {
+        private static final Object UNKEYED = new Object();
+
+        private enum Kind {
+            NUMBER, BOOLEAN, STRING
+        }
+
+        private final Kind kind;
+        private final Map<Object, int[]> byValue;
+        private final int[] fallback;
+
+        private EqualityIndex(int column, Kind kind, Map<Object, int[]> byValue, int[] fallback) {
+            super(column);
+            this.kind = kind;
+            this.byValue = byValue;
+            this.fallback = fallback;
+        }
+
+        static EqualityIndex build(Condition[][] rules, int column) {
+            Map<Object, List<Integer>> keyed = new HashMap<>();
+            List<Integer> others = new ArrayList<>();
+            Kind kind = null;
+            for (int r = 0; r < rules.length; r++) {
+                Condition condition = rules[r][column];
+                List<Object> literals = new ArrayList<>();
+                if (condition instanceof Condition.Equals) {
+                    condition.literals(literals);
+                } else {
+                    others.add(r);
+                }
+                for (Object literal : literals) {
+                    if (literal != null) {
+                        Kind literalKind = kindOf(literal);
+                        if (kind != null && kind != literalKind) {
+                            return null;
+                        }
+                        kind = literalKind;
+                    }
+                    keyed.computeIfAbsent(literalKey(literal), k -> new ArrayList<>()).add(r);
+                }
+            }
+            if (kind == null || keyed.size() < 2 || (long) keyed.size() * others.size() > MAX_INDEX_ENTRIES) {
+                return null;
+            }
+
+            Map<Object, int[]> byValue = new HashMap<>();
+            keyed.forEach((value, matching) -> {
+                TreeSet<Integer> merged = new TreeSet<>(matching);
+                merged.addAll(others);
+                byValue.put(value, merged.stream().mapToInt(Integer::intValue).toArray());
+            });
+            return new EqualityIndex(column, kind, byValue,
+                    others.stream().mapToInt(Integer::intValue).toArray());
+        }
+
+        private static Kind kindOf(Object literal) {
+            return literal instanceof Number ? Kind.NUMBER
+                    : literal instanceof Boolean ? Kind.BOOLEAN
+                    : Kind.STRING;
+        }
+
+        private static Object literalKey(Object literal) {
+            return literal instanceof Number number ? (Object) number.doubleValue() : literal;
+        }
+
+        @Override
+        int[] candidates(Object value) {
+            Object key = valueKey(value);
+            return key == UNKEYED ? null : byValue.getOrDefault(key, fallback);
+        }
+
+        private Object valueKey(Object value) {
+            if (value == null) {
+                return null;
+            }
+            return switch (kind) {
+                case NUMBER -> {
+                    Double number = Literals.toDouble(value);
+                    yield number != null ? number : UNKEYED;
+                }
+                case BOOLEAN -> value instanceof Boolean ? value
+                        : value instanceof String text ? (Object) Boolean.parseBoolean(text)
+                        : UNKEYED;
+                case STRING -> value instanceof Number || value instanceof Boolean ? UNKEYED : value.toString();
+            };
+        }
+    }
+
+    /**
+     * Interval index: the number line is cut at every range bound into points and gaps,
+     * each with its precomputed candidate rules; lookup is a binary search.
+     */
+    static final class RangeIndex extends RuleIndex {
+        private final double[] bounds;
+        private final int[][] atBound;
+        private final int[][] betweenBounds;
+        private final int[] nonNumeric;
+
+        private RangeIndex(int column, double[] bounds, int[][] atBound, int[][] betweenBounds, int[] nonNumeric) {
+            super(column);
+            this.bounds = bounds;
+            this.atBound = atBound;
+            this.betweenBounds = betweenBounds;
+            this.nonNumeric = nonNumeric;
+        }
+
+        static RangeIndex build(Condition[][] rules, int column) {
+            TreeSet<Double> points = new TreeSet<>();
+            List<Integer> others = new ArrayList<>();
+            for (int r = 0; r < rules.length; r++) {
+                if (rules[r][column] instanceof Condition.Range range) {
+                    if (range.low != null) {
+                        points.add(range.low);
+                    }
+                    if (range.high != null) {
+                        points.add(range.high);
+                    }
+                } else {
+                    others.add(r);
+                }
+            }
+            double[] bounds = points.stream().mapToDouble(Double::doubleValue).toArray();
+            if (bounds.length == 0 || (long) (2 * bounds.length + 1) * rules.length > MAX_INDEX_ENTRIES) {
+                return null;
+            }
+
+            int[][] atBound = new int[bounds.length][];
+            int[][] betweenBounds = new int[bounds.length + 1][];
+            for (int i = 0; i < bounds.length; i++) {
+                atBound[i] = matching(rules, column, bounds[i]);
+            }
+            betweenBounds[0] = matching(rules, column, bounds[0] - 1);
+            for (int i = 1; i < bounds.length; i++) {
+                betweenBounds[i] = matching(rules, column, (bounds[i - 1] + bounds[i]) / 2);
+            }
+            betweenBounds[bounds.length] = matching(rules, column, bounds[bounds.length - 1] + 1);
+
+            return new RangeIndex(column, bounds, atBound, betweenBounds,
+                    others.stream().mapToInt(Integer::intValue).toArray());
+        }
+
+        private static int[] matching(Condition[][] rules, int column, double representative) {
+            List<Integer> matching = new ArrayList<>();
+            for (int r = 0; r < rules.length; r++) {
+                Condition condition = rules[r][column];
+                if (!(condition instanceof Condition.Range range) || range.contains(representative)) {
+                    matching.add(r);
+                }
+            }
+            return matching.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        @Override
+        int[] candidates(Object value) {
+            Double number = Literals.toDouble(value);
+            if (number == null) {
+                return nonNumeric;
+            }
+            int position = Arrays.binarySearch(bounds, number);
+            return position >= 0 ? atBound[position] : betweenBounds[-position - 1];
+        }
+    }
+}
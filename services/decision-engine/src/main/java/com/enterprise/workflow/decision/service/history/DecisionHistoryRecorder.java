@@ -0,0 +1,177 @@
+package com.enterprise.workflow.decision.service.history;
+
+import com.enterprise.workflow.decision.config.DecisionHistoryProperties;
+import com.enterprise.workflow.decision.dto.DecisionExecutionHistoryResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Records decision executions off the evaluation path.
+ *
+ * Evaluations only publish into a lock-free ring buffer; a single background
+ * writer drains it every flush interval, or as soon as a full batch is waiting,
+ * and inserts the records with JDBC batch statements. When the buffer is full the
+ * configured overflow policy either drops the record or makes the caller wait for
+ * the writer to catch up.
+ *
+ * The recorder starts before and stops after the web server, so executions of
+ * requests that graceful shutdown lets finish are still written.
+ */
+@Component
+@Slf4j
+public class DecisionHistoryRecorder implements SmartLifecycle {
+
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final DecisionHistoryStore store;
+    private final DecisionHistoryProperties properties;
+    private final ExecutionRingBuffer<DecisionExecutionHistoryResponse> buffer;
+    private final int batchSize;
+    private final Counter dropped;
+    private final Counter written;
+    private final Counter failed;
+
+    private volatile Thread writer;
+    private volatile boolean running;
+
+    public DecisionHistoryRecorder(DecisionHistoryStore store,
+            DecisionHistoryProperties properties,
+            MeterRegistry meterRegistry) {
+        this.store = store;
+        this.properties = properties;
+        this.buffer = new ExecutionRingBuffer<>(properties.getBufferSize());
+        this.batchSize = Math.max(1, properties.getBatchSize());
+        this.dropped = meterRegistry.counter("decision.history.dropped");
+        this.written = meterRegistry.counter("decision.history.written");
+        this.failed = meterRegistry.counter("decision.history.failed");
+        Gauge.builder("decision.history.buffered", buffer, ExecutionRingBuffer::size)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues an execution for persistence. Never throws; records that cannot be
+     * queued are counted in {@code decision.history.dropped}.
+     */
+    public void record(DecisionExecutionHistoryResponse execution) {
+        if (!running) {
+            if (properties.isEnabled()) {
+                dropped.increment();
+            }
+            return;
+        }
+        if (buffer.offer(execution)) {
+            if (buffer.size() >= batchSize) {
+                wakeWriter();
+            }
+            return;
+        }
+        if (properties.getOverflowPolicy() == DecisionHistoryProperties.OverflowPolicy.BLOCK
+                && offerBlocking(execution)) {
+            return;
+        }
+        dropped.increment();
+    }
+
+    /**
+     * Name of the authenticated caller, if any, for {@code executedBy}.
+     */
+    public static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated()
+                && !"anonymousUser".equals(authentication.getName())
+                ? authentication.getName()
+                : null;
+    }
+
+    private boolean offerBlocking(DecisionExecutionHistoryResponse execution) {
+        long deadline = System.nanoTime() + properties.getBlockTimeout().toNanos();
+        wakeWriter();
+        while (System.nanoTime() < deadline) {
+            LockSupport.parkNanos(BLOCK_PARK_NANOS);
+            if (buffer.offer(execution)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void wakeWriter() {
+        Thread current = writer;
+        if (current != null) {
+            LockSupport.unpark(current);
+        }
+    }
+
+    private void runWriter() {
+        long intervalNanos = properties.getFlushInterval().toNanos();
+        while (running) {
+            LockSupport.parkNanos(this, intervalNanos);
+            flush();
+        }
+        flush();
+    }
+
+    private void flush() {
+        List<DecisionExecutionHistoryResponse> batch = new ArrayList<>(batchSize);
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            try {
+                store.insert(batch, batchSize);
+                written.increment(batch.size());
+            } catch (Exception e) {
+                failed.increment(batch.size());
+                log.warn("Failed to write {} decision history records: {}", batch.size(), e.getMessage());
+            }
+            batch.clear();
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isEnabled() || running) {
+            return;
+        }
+        running = true;
+        writer = Thread.ofPlatform()
+                .name("decision-history-writer")
+                .daemon()
+                .start(this::runWriter);
+    }
+
+    @Override
+    public void stop() {
+        Thread current = writer;
+        running = false;
+        if (current == null) {
+            return;
+        }
+        LockSupport.unpark(current);
+        try {
+            current.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writer = null;
+    }
+
+    @Override
+    public int getPhase() {
+        return WebServerApplicationContext.START_STOP_LIFECYCLE_PHASE - 1024;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
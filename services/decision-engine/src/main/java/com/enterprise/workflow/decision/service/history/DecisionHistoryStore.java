@@ -0,0 +1,153 @@
+package com.enterprise.workflow.decision.service.history;
+
+import com.enterprise.workflow.decision.dto.DecisionExecutionHistoryResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC access to the decision execution history table.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DecisionHistoryStore {
+
+    public static final String TABLE = "EWF_DECISION_EXECUTION";
+
+    private static final TypeReference<Map<String, Object>> INPUTS_TYPE = new TypeReference<>() {
+    };
+    private static final TypeReference<List<Map<String, Object>>> OUTPUTS_TYPE = new TypeReference<>() {
+    };
+    private static final int MAX_ERROR_LENGTH = 4000;
+
+    private static final String COLUMNS = "ID_, DECISION_KEY_, DECISION_ID_, DECISION_NAME_, VERSION_, INPUTS_, OUTPUTS_, "
+            + "PROC_INST_ID_, ACTIVITY_ID_, EXECUTED_BY_, EXECUTED_AT_, EXECUTION_TIME_MS_, SUCCESSFUL_, ERROR_MESSAGE_";
+
+    private static final String INSERT = "insert into " + TABLE + " (" + COLUMNS + ")"
+            + " values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Inserts executions using JDBC batches of at most {@code batchSize} rows.
+     */
+    public void insert(List<DecisionExecutionHistoryResponse> executions, int batchSize) {
+        jdbcTemplate.batchUpdate(INSERT, executions, batchSize, (ps, execution) -> {
+            ps.setString(1, execution.getId());
+            ps.setString(2, execution.getDecisionKey());
+            ps.setString(3, execution.getDecisionId());
+            ps.setString(4, execution.getDecisionName());
+            if (execution.getVersion() != null) {
+                ps.setInt(5, execution.getVersion());
+            } else {
+                ps.setNull(5, Types.INTEGER);
+            }
+            ps.setString(6, toJson(execution.getInputs()));
+            ps.setString(7, toJson(execution.getOutputs()));
+            ps.setString(8, execution.getProcessInstanceId());
+            ps.setString(9, execution.getActivityId());
+            ps.setString(10, execution.getExecutedBy());
+            ps.setTimestamp(11, Timestamp.valueOf(execution.getExecutedAt()));
+            ps.setLong(12, execution.getExecutionTimeMs());
+            ps.setBoolean(13, execution.isSuccessful());
+            ps.setString(14, truncate(execution.getErrorMessage()));
+        });
+    }
+
+    public Page<DecisionExecutionHistoryResponse> find(String decisionKey, String processInstanceId, Pageable pageable) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+        if (decisionKey != null) {
+            conditions.add("DECISION_KEY_ = ?");
+            params.add(decisionKey);
+        }
+        if (processInstanceId != null) {
+            conditions.add("PROC_INST_ID_ = ?");
+            params.add(processInstanceId);
+        }
+        String where = conditions.isEmpty() ? "" : " where " + String.join(" and ", conditions);
+
+        Long total = jdbcTemplate.queryForObject("select count(*) from " + TABLE + where, Long.class, params.toArray());
+
+        List<Object> pageParams = new ArrayList<>(params);
+        pageParams.add(pageable.getPageSize());
+        pageParams.add(pageable.getOffset());
+        List<DecisionExecutionHistoryResponse> content = jdbcTemplate.query(
+                "select " + COLUMNS + " from " + TABLE + where
+                        + " order by EXECUTED_AT_ desc, ID_ desc limit ? offset ?",
+                this::mapRow, pageParams.toArray());
+
+        return new PageImpl<>(content, pageable, total != null ? total : 0);
+    }
+
+    public DecisionExecutionHistoryResponse findById(String executionId) {
+        List<DecisionExecutionHistoryResponse> rows = jdbcTemplate.query(
+                "select " + COLUMNS + " from " + TABLE + " where ID_ = ?", this::mapRow, executionId);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    private DecisionExecutionHistoryResponse mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return DecisionExecutionHistoryResponse.builder()
+                .id(rs.getString("ID_"))
+                .decisionKey(rs.getString("DECISION_KEY_"))
+                .decisionId(rs.getString("DECISION_ID_"))
+                .decisionName(rs.getString("DECISION_NAME_"))
+                .version(rs.getObject("VERSION_", Integer.class))
+                .inputs(fromJson(rs.getString("INPUTS_"), INPUTS_TYPE))
+                .outputs(fromJson(rs.getString("OUTPUTS_"), OUTPUTS_TYPE))
+                .processInstanceId(rs.getString("PROC_INST_ID_"))
+                .activityId(rs.getString("ACTIVITY_ID_"))
+                .executedBy(rs.getString("EXECUTED_BY_"))
+                .executedAt(rs.getTimestamp("EXECUTED_AT_").toLocalDateTime())
+                .executionTimeMs(rs.getLong("EXECUTION_TIME_MS_"))
+                .successful(rs.getBoolean("SUCCESSFUL_"))
+                .errorMessage(rs.getString("ERROR_MESSAGE_"))
+                .build();
+    }
+
+    private String toJson(Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            log.debug("Could not serialize decision history value: {}", e.getMessage());
+            return String.valueOf(value);
+        }
+    }
+
+    private <T> T fromJson(String json, TypeReference<T> type) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            log.debug("Could not parse decision history value: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private String truncate(String message) {
+        return message != null && message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+}
@@ -0,0 +1,70 @@
+package com.enterprise.workflow.decision.service.history;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free multi-producer, single-consumer ring buffer.
+ *
+ * Producers claim a sequence with a CAS on the producer index and publish the
+ * element into its slot; the single consumer takes published slots in order and
+ * clears them before advancing, which is what frees the slot for reuse.
+ */
+final class ExecutionRingBuffer<E> {
+
+    private final AtomicReferenceArray<E> slots;
+    private final int mask;
+    private final AtomicLong producerIndex = new AtomicLong();
+    private final AtomicLong consumerIndex = new AtomicLong();
+
+    ExecutionRingBuffer(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity) - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * @return false if the buffer is full
+     */
+    boolean offer(E element) {
+        long index;
+        do {
+            index = producerIndex.get();
+            if (index - consumerIndex.get() > mask) {
+                return false;
+            }
+        } while (!producerIndex.compareAndSet(index, index + 1));
+        slots.setRelease((int) index & mask, element);
+        return true;
+    }
+
+    /**
+     * Moves up to {@code limit} published elements into {@code sink}. Only the
+     * consumer thread may call this.
+     *
+     * @return the number of elements drained
+     */
+    int drainTo(List<E> sink, int limit) {
+        long index = consumerIndex.get();
+        int drained = 0;
+        while (drained < limit) {
+            int slot = (int) index & mask;
+            E element = slots.getAcquire(slot);
+            if (element == null) {
+                // empty, or the next producer has claimed its slot but not published yet
+                break;
+            }
+            slots.setRelease(slot, null);
+            sink.add(element);
+            index++;
+            drained++;
+            consumerIndex.setRelease(index);
+        }
+        return drained;
+    }
+
+    int size() {
+        return (int) Math.max(0, producerIndex.get() - consumerIndex.get());
+    }
+}
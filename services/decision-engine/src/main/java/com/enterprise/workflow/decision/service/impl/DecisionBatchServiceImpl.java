@@ -0,0 +1,290 @@
+package com.enterprise.workflow.decision.service.impl;
+
+import com.enterprise.workflow.decision.config.DecisionBatchProperties;
+import com.enterprise.workflow.decision.dto.DecisionBatchResult;
+import com.enterprise.workflow.decision.dto.DecisionExecutionHistoryResponse;
+import com.enterprise.workflow.decision.dto.DecisionExecutionResponse;
+import com.enterprise.workflow.decision.service.DecisionBatchService;
+import com.enterprise.workflow.decision.service.DecisionCache;
+import com.enterprise.workflow.decision.service.DecisionMetrics;
+import com.enterprise.workflow.decision.service.compiled.CompiledDecision;
+import com.enterprise.workflow.decision.service.history.DecisionHistoryRecorder;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.flowable.dmn.api.DmnDecisionService;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementation of DecisionBatchService.
+ *
+ * The decision is resolved once per batch. Compiled tables evaluate each chunk of
+ * rows column by column, split across a fork-join pool when the chunk is large;
+ * rows the compiled table cannot answer fall back to the Flowable interpreter
+ * one at a time.
+ */
+@Service
+@Slf4j
+public class DecisionBatchServiceImpl implements DecisionBatchService {
+
+    private static final TypeReference<Map<String, Object>> VARIABLES_TYPE = new TypeReference<>() {
+    };
+
+    /** Smallest slice of rows a fork-join task evaluates without splitting further. */
+    private static final int MIN_SLICE = 1024;
+
+    private final DecisionCache decisionCache;
+    private final DecisionMetrics decisionMetrics;
+    private final DmnDecisionService ruleService;
+    private final ObjectMapper objectMapper;
+    private final DecisionBatchProperties batchProperties;
+    private final DecisionHistoryRecorder historyRecorder;
+    private final ForkJoinPool pool;
+
+    public DecisionBatchServiceImpl(DecisionCache decisionCache,
+            DecisionMetrics decisionMetrics,
+            DmnDecisionService ruleService,
+            ObjectMapper objectMapper,
+            DecisionBatchProperties batchProperties,
+            DecisionHistoryRecorder historyRecorder) {
+        this.decisionCache = decisionCache;
+        this.decisionMetrics = decisionMetrics;
+        this.ruleService = ruleService;
+        this.objectMapper = objectMapper;
+        this.batchProperties = batchProperties;
+        this.historyRecorder = historyRecorder;
+        this.pool = new ForkJoinPool(batchProperties.getParallelism() > 0
+                ? batchProperties.getParallelism()
+                : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    @Override
+    public List<DecisionExecutionResponse> executeBatch(String decisionKey, List<Map<String, Object>> inputsList) {
+        long startTime = System.nanoTime();
+        DecisionCache.ResolvedDecision decision = decisionCache.getLatest(decisionKey);
+
+        List<List<Map<String, Object>>> outputs = evaluate(decision, inputsList);
+
+        long elapsed = System.nanoTime() - startTime;
+        decisionMetrics.recordBatch(decisionKey, inputsList.size(), elapsed);
+
+        // One ID and timestamp for the whole batch; rows are told apart by their position
+        String batchId = UUID.randomUUID().toString();
+        LocalDateTime executedAt = LocalDateTime.now();
+        long executionTimeMs = TimeUnit.NANOSECONDS.toMillis(elapsed);
+        String executedBy = DecisionHistoryRecorder.currentUser();
+
+        List<DecisionExecutionResponse> responses = new ArrayList<>(inputsList.size());
+        for (int row = 0; row < inputsList.size(); row++) {
+            historyRecorder.record(historyRecord(decision, batchId + ":" + row, inputsList.get(row),
+                    outputs.get(row), executedAt, executionTimeMs, executedBy, null));
+            responses.add(DecisionExecutionResponse.builder()
+                    .executionId(batchId + ":" + row)
+                    .decisionKey(decisionKey)
+                    .decisionId(decision.decisionId())
+                    .version(decision.version())
+                    .inputs(inputsList.get(row))
+                    .outputs(outputs.get(row))
+                    .executedAt(executedAt)
+                    .executionTimeMs(executionTimeMs)
+                    .build());
+        }
+        return responses;
+    }
+
+    @Override
+    public void executeBatch(String decisionKey, InputStream rows, OutputStream results, String executedBy)
+            throws IOException {
+        DecisionCache.ResolvedDecision decision = decisionCache.getLatest(decisionKey);
+        String batchId = UUID.randomUUID().toString();
+        int chunkSize = Math.max(1, batchProperties.getChunkSize());
+        BufferedReader reader = new BufferedReader(new InputStreamReader(rows, StandardCharsets.UTF_8));
+        List<Long> indexes = new ArrayList<>(chunkSize);
+        List<Map<String, Object>> chunk = new ArrayList<>(chunkSize);
+        long index = 0;
+        String line;
+
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            long position = index++;
+            try {
+                chunk.add(objectMapper.readValue(line, VARIABLES_TYPE));
+                indexes.add(position);
+            } catch (JsonProcessingException e) {
+                write(results, DecisionBatchResult.builder()
+                        .index(position)
+                        .error("Invalid row JSON: " + e.getOriginalMessage())
+                        .build());
+                continue;
+            }
+            if (chunk.size() >= chunkSize) {
+                evaluateChunk(decision, batchId, executedBy, indexes, chunk, results);
+                indexes.clear();
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            evaluateChunk(decision, batchId, executedBy, indexes, chunk, results);
+        }
+
+        log.info("Batch evaluation of {} finished: {} rows", decisionKey, index);
+    }
+
+    private void evaluateChunk(DecisionCache.ResolvedDecision decision, String batchId, String executedBy,
+            List<Long> indexes, List<Map<String, Object>> chunk, OutputStream results) throws IOException {
+        long startTime = System.nanoTime();
+        LocalDateTime executedAt = LocalDateTime.now();
+        int[] matched = match(decision.compiled(), chunk);
+        List<DecisionBatchResult> chunkResults = new ArrayList<>(chunk.size());
+
+        for (int row = 0; row < chunk.size(); row++) {
+            DecisionBatchResult.DecisionBatchResultBuilder result = DecisionBatchResult.builder()
+                    .index(indexes.get(row));
+            if (matched != null && matched[row] != CompiledDecision.AMBIGUOUS) {
+                result.outputs(compiledOutputs(decision.compiled(), matched[row]));
+            } else {
+                try {
+                    result.outputs(executeWithEngine(decision.decisionKey(), chunk.get(row)));
+                } catch (Exception e) {
+                    result.error(e.getMessage());
+                }
+            }
+            chunkResults.add(result.build());
+        }
+
+        long elapsed = System.nanoTime() - startTime;
+        decisionMetrics.recordBatch(decision.decisionKey(), chunk.size(), elapsed);
+
+        long executionTimeMs = TimeUnit.NANOSECONDS.toMillis(elapsed);
+        for (int row = 0; row < chunk.size(); row++) {
+            DecisionBatchResult result = chunkResults.get(row);
+            historyRecorder.record(historyRecord(decision, batchId + ":" + result.getIndex(), chunk.get(row),
+                    result.getOutputs(), executedAt, executionTimeMs, executedBy, result.getError()));
+            write(results, result);
+        }
+        results.flush();
+    }
+
+    private List<List<Map<String, Object>>> evaluate(DecisionCache.ResolvedDecision decision,
+            List<Map<String, Object>> rows) {
+        int[] matched = match(decision.compiled(), rows);
+
+        List<List<Map<String, Object>>> outputs = new ArrayList<>(rows.size());
+        for (int row = 0; row < rows.size(); row++) {
+            outputs.add(matched != null && matched[row] != CompiledDecision.AMBIGUOUS
+                    ? compiledOutputs(decision.compiled(), matched[row])
+                    : executeWithEngine(decision.decisionKey(), rows.get(row)));
+        }
+        return outputs;
+    }
+
+    /**
+     * Matches all rows against a compiled table, or returns null if the decision is not compiled.
+     */
+    private int[] match(CompiledDecision compiled, List<Map<String, Object>> rows) {
+        if (compiled == null) {
+            return null;
+        }
+        Object[][] columns = compiled.resolveColumns(rows);
+        int[] matched = new int[rows.size()];
+        if (rows.size() >= Math.max(MIN_SLICE, batchProperties.getParallelThreshold())) {
+            int slice = Math.max(MIN_SLICE, rows.size() / (pool.getParallelism() * 4));
+            pool.invoke(new EvaluateSlice(compiled, columns, 0, rows.size(), slice, matched));
+        } else {
+            compiled.evaluateColumns(columns, 0, rows.size(), matched);
+        }
+        return matched;
+    }
+
+    private List<Map<String, Object>> compiledOutputs(CompiledDecision compiled, int rule) {
+        return rule == CompiledDecision.NO_MATCH ? List.of() : List.of(compiled.output(rule));
+    }
+
+    private List<Map<String, Object>> executeWithEngine(String decisionKey, Map<String, Object> variables) {
+        Map<String, Object> output = ruleService.createExecuteDecisionBuilder()
+                .decisionKey(decisionKey)
+                .variables(variables)
+                .executeWithSingleResult();
+        return output != null ? List.of(output) : List.of();
+    }
+
+    private DecisionExecutionHistoryResponse historyRecord(DecisionCache.ResolvedDecision decision, String executionId,
+            Map<String, Object> inputs, List<Map<String, Object>> outputs, LocalDateTime executedAt,
+            long executionTimeMs, String executedBy, String errorMessage) {
+        return DecisionExecutionHistoryResponse.builder()
+                .id(executionId)
+                .decisionKey(decision.decisionKey())
+                .decisionId(decision.decisionId())
+                .decisionName(decision.decisionName())
+                .version(decision.version())
+                .inputs(inputs)
+                .outputs(outputs)
+                .executedBy(executedBy)
+                .executedAt(executedAt)
+                .executionTimeMs(executionTimeMs)
+                .successful(errorMessage == null)
+                .errorMessage(errorMessage)
+                .build();
+    }
+
+    private void write(OutputStream results, DecisionBatchResult result) throws IOException {
+        results.write(objectMapper.writeValueAsBytes(result));
+        results.write('\n');
+    }
+
+    /**
+     * Splits a row range in halves until it is small enough to evaluate directly.
+     */
+    private static final class EvaluateSlice extends RecursiveAction {
+        private final CompiledDecision compiled;
+        private final Object[][] columns;
+        private final int from;
+        private final int to;
+        private final int slice;
+        private final int[] matched;
+
+        EvaluateSlice(CompiledDecision compiled, Object[][] columns, int from, int to, int slice, int[] matched) {
+            this.compiled = compiled;
+            this.columns = columns;
+            this.from = from;
+            this.to = to;
+            this.slice = slice;
+            this.matched = matched;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= slice) {
+                compiled.evaluateColumns(columns, from, to, matched);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new EvaluateSlice(compiled, columns, from, middle, slice, matched),
+                    new EvaluateSlice(compiled, columns, middle, to, slice, matched));
+        }
+    }
+}
@@ -1,7 +1,12 @@
 package com.enterprise.workflow.decision.service.impl;
 
 import com.enterprise.workflow.decision.dto.*;
+import com.enterprise.workflow.decision.service.DecisionBatchService;
+import com.enterprise.workflow.decision.service.DecisionCache;
+import com.enterprise.workflow.decision.service.DecisionMetrics;
 import com.enterprise.workflow.decision.service.DecisionService;
+import com.enterprise.workflow.decision.service.history.DecisionHistoryRecorder;
+import com.enterprise.workflow.decision.service.history.DecisionHistoryStore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.flowable.dmn.api.DmnDecision;
@@ -12,12 +17,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -32,6 +39,11 @@ public class DecisionServiceImpl implements DecisionService {
 
         private final DmnRepositoryService repositoryService;
         private final DmnDecisionService ruleService;
+        private final DecisionCache decisionCache;
+        private final DecisionMetrics decisionMetrics;
+        private final DecisionBatchService decisionBatchService;
+        private final DecisionHistoryRecorder historyRecorder;
+        private final DecisionHistoryStore historyStore;
 
         @Override
         @Transactional(readOnly = true)
@@ -108,6 +120,7 @@ public class DecisionServiceImpl implements DecisionService {
                                 .tenantId(request.getTenantId())
                                 .category(request.getCategory())
                                 .deploy();
+                decisionCache.invalidateAll();
 
                 return DeploymentResponse.builder()
                                 .deploymentId(deployment.getId())
@@ -124,35 +137,60 @@ public class DecisionServiceImpl implements DecisionService {
         public void deleteDeployment(String deploymentId) {
                 log.debug("Deleting deployment: {}", deploymentId);
                 repositoryService.deleteDeployment(deploymentId);
+                decisionCache.invalidateAll();
         }
 
         @Override
+        @Transactional(propagation = Propagation.SUPPORTS)
         public DecisionExecutionResponse executeDecision(String decisionKey, Map<String, Object> variables) {
-                log.debug("Executing decision: {} with variables: {}", decisionKey, variables);
-
-                long startTime = System.currentTimeMillis();
+                return executeDecision(decisionKey, variables, null, null);
+        }
 
-                // Execute decision using Flowable DMN engine
-                // Flowable executeDecisionByKey returns Map<String, Object> (single) or
-                // List<Map<String, Object>> (multiple)
-                Map<String, Object> output = ruleService.createExecuteDecisionBuilder()
-                                .decisionKey(decisionKey)
-                                .variables(variables)
-                                .executeWithSingleResult();
+        @Override
+        @Transactional(propagation = Propagation.SUPPORTS)
+        public DecisionExecutionResponse executeDecision(String decisionKey, Map<String, Object> variables,
+                        String processInstanceId, String activityId) {
+                log.debug("Executing decision: {} with variables: {}", decisionKey, variables);
 
-                List<Map<String, Object>> outputs = new ArrayList<>();
-                if (output != null) {
-                        outputs.add(output);
+                long startTime = System.nanoTime();
+                String executionId = UUID.randomUUID().toString();
+                LocalDateTime executedAt = LocalDateTime.now();
+                DecisionCache.ResolvedDecision decision = null;
+                List<Map<String, Object>> outputs;
+
+                try {
+                        decision = decisionCache.getLatest(decisionKey);
+
+                        // Compiled tables answer in-process; null means not compiled, a hit policy
+                        // violation or an input only EL can coerce, which the interpreter handles
+                        String path = DecisionMetrics.COMPILED;
+                        outputs = decision.compiled() != null
+                                        ? decision.compiled().evaluate(variables)
+                                        : null;
+                        if (outputs == null) {
+                                path = DecisionMetrics.ENGINE;
+                                outputs = executeWithEngine(decisionKey, variables);
+                        }
+                        decisionMetrics.record(decisionKey, path, System.nanoTime() - startTime);
+                } catch (RuntimeException e) {
+                        historyRecorder.record(historyRecord(executionId, decisionKey, decision, variables, null,
+                                        processInstanceId, activityId, executedAt,
+                                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime), e.getMessage()));
+                        throw e;
                 }
 
-                long executionTime = System.currentTimeMillis() - startTime;
+                long executionTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+                historyRecorder.record(historyRecord(executionId, decisionKey, decision, variables, outputs,
+                                processInstanceId, activityId, executedAt, executionTime, null));
 
                 return DecisionExecutionResponse.builder()
-                                .executionId(UUID.randomUUID().toString())
+                                .executionId(executionId)
                                 .decisionKey(decisionKey)
+                                .decisionId(decision.decisionId())
+                                .version(decision.version())
                                 .inputs(variables)
                                 .outputs(outputs)
-                                .executedAt(LocalDateTime.now())
+                                .executedAt(executedAt)
                                 .executionTimeMs(executionTime)
                                 .build();
         }
@@ -164,22 +202,33 @@ public class DecisionServiceImpl implements DecisionService {
         }
 
         @Override
+        @Transactional(propagation = Propagation.SUPPORTS)
         public List<DecisionExecutionResponse> executeBatch(String decisionKey, List<Map<String, Object>> inputsList) {
-                return inputsList.stream()
-                                .map(inputs -> executeDecision(decisionKey, inputs))
-                                .collect(Collectors.toList());
+                return decisionBatchService.executeBatch(decisionKey, inputsList);
         }
 
         @Override
+        @Transactional(readOnly = true)
         public Page<DecisionExecutionHistoryResponse> getExecutionHistory(
                         String decisionKey, String processInstanceId, Pageable pageable) {
-                // Placeholder for history
-                return new PageImpl<>(new ArrayList<>(), pageable, 0);
+                // Executions are written asynchronously; the latest ones appear within one flush interval
+                return historyStore.find(decisionKey, processInstanceId, pageable);
         }
 
         @Override
+        @Transactional(readOnly = true)
         public DecisionExecutionHistoryResponse getExecution(String executionId) {
-                throw new UnsupportedOperationException("History not implemented yet");
+                DecisionExecutionHistoryResponse execution = historyStore.findById(executionId);
+                if (execution == null) {
+                        throw new RuntimeException("Decision execution not found: " + executionId);
+                }
+                return execution;
+        }
+
+        @Override
+        @Transactional(propagation = Propagation.SUPPORTS)
+        public DecisionMetricsResponse getMetrics() {
+                return decisionMetrics.snapshot(decisionCache);
         }
 
         @Override
@@ -205,6 +254,41 @@ public class DecisionServiceImpl implements DecisionService {
                                 .build();
         }
 
+        private List<Map<String, Object>> executeWithEngine(String decisionKey, Map<String, Object> variables) {
+                Map<String, Object> output = ruleService.createExecuteDecisionBuilder()
+                                .decisionKey(decisionKey)
+                                .variables(variables)
+                                .executeWithSingleResult();
+
+                List<Map<String, Object>> outputs = new ArrayList<>();
+                if (output != null) {
+                        outputs.add(output);
+                }
+                return outputs;
+        }
+
+        private DecisionExecutionHistoryResponse historyRecord(String executionId, String decisionKey,
+                        DecisionCache.ResolvedDecision decision, Map<String, Object> inputs,
+                        List<Map<String, Object>> outputs, String processInstanceId, String activityId,
+                        LocalDateTime executedAt, long executionTimeMs, String errorMessage) {
+                return DecisionExecutionHistoryResponse.builder()
+                                .id(executionId)
+                                .decisionKey(decisionKey)
+                                .decisionId(decision != null ? decision.decisionId() : null)
+                                .decisionName(decision != null ? decision.decisionName() : null)
+                                .version(decision != null ? decision.version() : null)
+                                .inputs(inputs)
+                                .outputs(outputs)
+                                .processInstanceId(processInstanceId)
+                                .activityId(activityId)
+                                .executedBy(DecisionHistoryRecorder.currentUser())
+                                .executedAt(executedAt)
+                                .executionTimeMs(executionTimeMs)
+                                .successful(errorMessage == null)
+                                .errorMessage(errorMessage)
+                                .build();
+        }
+
         private DecisionDefinitionResponse mapToResponse(DmnDecision definition) {
                 return DecisionDefinitionResponse.builder()
                                 .id(definition.getId())
@@ -0,0 +1,265 @@
+package com.enterprise.workflow.decision.service.compiled;
+
+import org.flowable.dmn.api.DmnDecision;
+import org.flowable.dmn.api.DmnDeployment;
+import org.flowable.dmn.api.DmnRepositoryService;
+import org.flowable.dmn.engine.DmnEngine;
+import org.flowable.dmn.engine.DmnEngineConfiguration;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the compiled evaluator with the Flowable interpreter on the same tables.
+ */
+class CompiledDecisionTest {
+
+    private static final String[] ENTRIES = {
+            "== 5", "== 5.0", "!= 5", "== null", "!= null", "< 10", ">= 2.5",
+            "== \"5\"", "!= \"abc\"", "== true", "!= false", "5", "\"abc\"", "== -5", "<= .5e1",
+            "[1..10]", "(1..10)", "[2.5..5]", "]1..10[", "1, 5, 12", "\"5\", \"abc\"",
+            "== 5d", "== +5", "-5", "== \"a\" || x == \"b\"", "== 'it\\'s'"
+    };
+
+    /** Entries the interpreter does not read as a plain comparison, or reads differently. */
+    private static final Set<String> NOT_COMPILED = Set.of(
+            "[1..10]", "(1..10)", "[2.5..5]", "]1..10[", "1, 5, 12", "\"5\", \"abc\"",
+            "== 5d", "== +5", "-5", "== \"a\" || x == \"b\"", "== 'it\\'s'");
+
+    private static final String[] INPUT_TYPES = {null, "string", "number", "boolean"};
+
+    private static final Object[] VALUES = {
+            5, 5L, 5.0, 5.5, 12, "5", "5.0", "12", "abc", "", "true", "TRUE", true, false, null
+    };
+
+    private static DmnEngine dmnEngine;
+
+    @BeforeAll
+    static void startEngine() {
+        dmnEngine = DmnEngineConfiguration.createStandaloneInMemDmnEngineConfiguration().buildDmnEngine();
+    }
+
+    @AfterAll
+    static void stopEngine() {
+        dmnEngine.close();
+    }
+
+    @Test
+    void testCompiledMatchesInterpreter() {
+        int compared = 0;
+        int compiledTables = 0;
+        Set<String> interpreted = new TreeSet<>();
+        for (String type : INPUT_TYPES) {
+            for (int e = 0; e < ENTRIES.length; e++) {
+                String key = "entry" + e + (type != null ? type : "");
+                Optional<CompiledDecision> compiled = compile(key, type, "FIRST", ENTRIES[e]);
+                if (compiled.isEmpty()) {
+                    interpreted.add(ENTRIES[e]);
+                    continue;
+                }
+                compiledTables++;
+                for (Object value : VALUES) {
+                    Map<String, Object> variables = variables(value);
+                    List<Map<String, Object>> outputs = compiled.get().evaluate(variables);
+                    if (outputs == null) {
+                        continue;
+                    }
+                    assertEquals(interpret(key, variables), outputs,
+                            "Entry '" + ENTRIES[e] + "' on " + type + " input with " + describe(value));
+                    compared++;
+                }
+            }
+        }
+        assertEquals(new TreeSet<>(NOT_COMPILED), interpreted);
+        assertTrue(compared > compiledTables * 3, "Compared " + compared + " cases");
+    }
+
+    @Test
+    void testStringInputEqualsNumberLiteral() {
+        CompiledDecision compiled = deploy("stringNumber", "FIRST", "== 5");
+        Map<String, Object> variables = variables("5");
+
+        assertEquals(List.of(Map.of("result", "match")), compiled.evaluate(variables));
+        assertEquals(interpret("stringNumber", variables), compiled.evaluate(variables));
+    }
+
+    @Test
+    void testNullInputIsNotEqualToLiteral() {
+        CompiledDecision compiled = deploy("nullNotEquals", "FIRST", "!= 5");
+        Map<String, Object> variables = variables(null);
+
+        assertEquals(List.of(Map.of("result", "match")), compiled.evaluate(variables));
+        assertEquals(interpret("nullNotEquals", variables), compiled.evaluate(variables));
+    }
+
+    @Test
+    void testUncoercibleInputIsLeftToInterpreter() {
+        CompiledDecision compiled = deploy("uncoercible", "FIRST", "== 5");
+
+        assertNull(compiled.evaluate(variables("abc")));
+        assertNull(compiled.evaluate(variables("5.5")));
+        assertNull(compiled.evaluate(variables(true)));
+        assertNotNull(compiled.evaluate(variables(5.5)));
+    }
+
+    @Test
+    void testEvaluateColumnsAgreesWithEvaluate() {
+        CompiledDecision compiled = deploy("columns", "FIRST", "== 5", "== 7", "< 0", "-");
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Object value : VALUES) {
+            rows.add(variables(value));
+        }
+        rows.add(variables(7L));
+        rows.add(variables("-1"));
+
+        int[] matched = new int[rows.size()];
+        compiled.evaluateColumns(compiled.resolveColumns(rows), 0, rows.size(), matched);
+
+        for (int row = 0; row < rows.size(); row++) {
+            List<Map<String, Object>> expected = compiled.evaluate(rows.get(row));
+            if (expected == null) {
+                assertEquals(CompiledDecision.AMBIGUOUS, matched[row], "Row " + row);
+            } else if (expected.isEmpty()) {
+                assertEquals(CompiledDecision.NO_MATCH, matched[row], "Row " + row);
+            } else {
+                assertEquals(expected.get(0), compiled.output(matched[row]), "Row " + row);
+                assertEquals(interpret("columns", rows.get(row)), expected, "Row " + row);
+            }
+        }
+    }
+
+    @Test
+    void testIndexedStringColumnMatchesCoercedNumbers() {
+        CompiledDecision compiled = deploy("strings", "FIRST", "== \"1\"", "== \"2\"", "== \"3\"");
+        assertTrue(compiled.isIndexed());
+
+        assertEquals(List.of(Map.of("result", "r1")), compiled.evaluate(variables(2)));
+        assertEquals(List.of(Map.of("result", "r2")), compiled.evaluate(variables("3")));
+        assertEquals(List.of(), compiled.evaluate(variables("4")));
+    }
+
+    @Test
+    void testMixedLiteralColumnIsNotIndexed() {
+        CompiledDecision compiled = deploy("mixed", "FIRST", "== \"a\"", "== 1", "== 2");
+
+        assertFalse(compiled.isIndexed());
+    }
+
+    @Test
+    void testEntriesTheInterpreterReadsDifferentlyAreNotCompiled() {
+        for (String entry : NOT_COMPILED) {
+            assertThrows(NotCompilableException.class, () -> Condition.compile(entry), entry);
+        }
+        assertTrue(compile("range", null, "FIRST", "[1..10]").isEmpty());
+        assertTrue(compile("list", null, "FIRST", "1, 2, \"x\"").isEmpty());
+        assertTrue(compile("dated", "date", "FIRST", "== 5").isEmpty());
+    }
+
+    @Test
+    void testTypedInputOfOtherTypeIsLeftToInterpreter() {
+        CompiledDecision compiled = compile("typed", "number", "FIRST", "== 5").orElseThrow();
+
+        assertNull(compiled.evaluate(variables("5")));
+        assertEquals(List.of(Map.of("result", "match")), compiled.evaluate(variables(5)));
+        assertEquals(List.of(), compiled.evaluate(variables(null)));
+    }
+
+    @Test
+    void testNumberLiterals() {
+        assertEquals(5L, Literals.value("5"));
+        assertEquals(5.5, Literals.value("5.5"));
+        assertEquals("5", Literals.value("\"5\""));
+        assertNull(Literals.value("null"));
+        assertEquals(-5L, Literals.number("-5"));
+        assertEquals(0.5, Literals.number(".5"));
+        assertEquals(1000.0, Literals.number("1e3"));
+        for (String notEl : List.of("+5", "5d", "5f", "NaN", "Infinity", "0x10", "1e999", "9223372036854775808")) {
+            assertThrows(NotCompilableException.class, () -> Literals.number(notEl), notEl);
+        }
+    }
+
+    /**
+     * Deploys a table on input {@code x} with one rule per entry, rule {@code i} producing
+     * {@code "r" + i}, or {@code "match"} for a single rule.
+     */
+    private static CompiledDecision deploy(String key, String hitPolicy, String... entries) {
+        return compile(key, null, hitPolicy, entries)
+                .orElseThrow(() -> new AssertionError("Not compiled: " + Arrays.toString(entries)));
+    }
+
+    /**
+     * Deploys the same table on an input of the given type, or untyped, and compiles it.
+     */
+    private static Optional<CompiledDecision> compile(String key, String inputType, String hitPolicy,
+            String... entries) {
+        StringBuilder rules = new StringBuilder();
+        for (int i = 0; i < entries.length; i++) {
+            String output = entries.length == 1 ? "match" : "r" + i;
+            rules.append("""
+                    <rule id="rule%d">
+                      <inputEntry id="in%d"><text><![CDATA[%s]]></text></inputEntry>
+                      <outputEntry id="out%d"><text>"%s"</text></outputEntry>
+                    </rule>
+                    """.formatted(i, i, entries[i], i, output));
+        }
+        String typeRef = inputType != null ? " typeRef=\"" + inputType + "\"" : "";
+        String xml = """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <definitions xmlns="https://www.omg.org/spec/DMN/20191111/MODEL/"
+                             id="%1$sDefinitions" name="%1$s" namespace="http://flowable.org/dmn">
+                  <decision id="%1$s" name="%1$s">
+                    <decisionTable id="%1$sTable" hitPolicy="%2$s">
+                      <input id="x" label="x">
+                        <inputExpression id="xExpression"%4$s><text>x</text></inputExpression>
+                      </input>
+                      <output id="result" name="result" typeRef="string"/>
+                      %3$s
+                    </decisionTable>
+                  </decision>
+                </definitions>
+                """.formatted(key, hitPolicy, rules, typeRef);
+
+        DmnRepositoryService repositoryService = dmnEngine.getDmnRepositoryService();
+        DmnDeployment deployment = repositoryService.createDeployment()
+                .addString(key + ".dmn", xml)
+                .deploy();
+        DmnDecision decision = repositoryService.createDecisionQuery()
+                .deploymentId(deployment.getId())
+                .singleResult();
+        return DecisionCompiler.compile(decision, repositoryService.getDmnDefinition(decision.getId()));
+    }
+
+    private static List<Map<String, Object>> interpret(String key, Map<String, Object> variables) {
+        Map<String, Object> output = dmnEngine.getDmnDecisionService().createExecuteDecisionBuilder()
+                .decisionKey(key)
+                .variables(variables)
+                .executeWithSingleResult();
+        return output == null || output.isEmpty() ? List.of() : List.of(output);
+    }
+
+    private static Map<String, Object> variables(Object value) {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("x", value);
+        return variables;
+    }
+
+    private static String describe(Object value) {
+        return value == null ? "null" : value.getClass().getSimpleName() + " " + value;
+    }
+}
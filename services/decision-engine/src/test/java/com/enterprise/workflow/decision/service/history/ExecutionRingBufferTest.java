@@ -0,0 +1,114 @@
+package com.enterprise.workflow.decision.service.history;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExecutionRingBufferTest {
+
+    @Test
+    void testCapacityIsRoundedUpToPowerOfTwo() {
+        ExecutionRingBuffer<Integer> buffer = new ExecutionRingBuffer<>(5);
+
+        for (int i = 0; i < 8; i++) {
+            assertTrue(buffer.offer(i), "Offer " + i);
+        }
+        assertFalse(buffer.offer(8));
+        assertEquals(8, buffer.size());
+    }
+
+    @Test
+    void testDrainsInOrderUpToLimit() {
+        ExecutionRingBuffer<Integer> buffer = new ExecutionRingBuffer<>(8);
+        for (int i = 0; i < 5; i++) {
+            buffer.offer(i);
+        }
+
+        List<Integer> sink = new ArrayList<>();
+        assertEquals(3, buffer.drainTo(sink, 3));
+        assertEquals(List.of(0, 1, 2), sink);
+        assertEquals(2, buffer.size());
+
+        assertEquals(2, buffer.drainTo(sink, 10));
+        assertEquals(List.of(0, 1, 2, 3, 4), sink);
+        assertEquals(0, buffer.drainTo(sink, 10));
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    void testSlotsAreReusedAfterDrain() {
+        ExecutionRingBuffer<Integer> buffer = new ExecutionRingBuffer<>(4);
+        List<Integer> sink = new ArrayList<>();
+
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 4; i++) {
+                assertTrue(buffer.offer(round * 4 + i));
+            }
+            assertFalse(buffer.offer(-1));
+            assertEquals(4, buffer.drainTo(sink, 4));
+        }
+
+        assertEquals(40, sink.size());
+        for (int i = 0; i < sink.size(); i++) {
+            assertEquals(i, sink.get(i));
+        }
+    }
+
+    @Test
+    void testConcurrentProducersLoseNothing() throws Exception {
+        int producers = 4;
+        int perProducer = 50_000;
+        ExecutionRingBuffer<long[]> buffer = new ExecutionRingBuffer<>(1024);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int p = 0; p < producers; p++) {
+                long producer = p;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (long i = 0; i < perProducer; i++) {
+                        while (!buffer.offer(new long[] {producer, i})) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+
+            long[] next = new long[producers];
+            List<long[]> sink = new ArrayList<>();
+            long received = 0;
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (received < (long) producers * perProducer && System.nanoTime() < deadline) {
+                sink.clear();
+                buffer.drainTo(sink, 256);
+                for (long[] element : sink) {
+                    int producer = (int) element[0];
+                    assertEquals(next[producer], element[1], "Producer " + producer + " out of order");
+                    next[producer]++;
+                    received++;
+                }
+            }
+
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.SECONDS);
+            }
+            assertEquals((long) producers * perProducer, received);
+            assertEquals(0, buffer.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
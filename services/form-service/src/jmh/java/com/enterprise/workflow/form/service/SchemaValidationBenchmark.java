@@ -0,0 +1,133 @@
+package com.enterprise.workflow.form.service;
+
+import com.enterprise.workflow.form.config.FormCacheProperties;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.networknt.schema.JsonSchema;
+import com.networknt.schema.JsonSchemaFactory;
+import com.networknt.schema.SpecVersion;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold versus warm validation of one intake-form submission.
+ *
+ * {@code cold} is the path before the compiled-schema cache: parse the stored schema text,
+ * compile it and validate the submission converted from a map. {@code warm} validates the
+ * request tree against the cached compiled schema, as submissions do now.
+ *
+ * Run with: gradle :services:form-service:jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SchemaValidationBenchmark {
+
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JsonSchemaFactory schemaFactory = JsonSchemaFactory.getInstance(SpecVersion.VersionFlag.V7);
+    private JsonSchemaValidatorService validatorService;
+    private String schemaText;
+    private JsonNode data;
+    private Map<String, Object> dataMap;
+    private JsonSchema cachedSchema;
+
+    @Setup
+    public void setUp() throws Exception {
+        schemaText = """
+                {
+                  "type": "object",
+                  "required": ["firstName", "lastName", "email", "birthDate", "consent"],
+                  "properties": {
+                    "firstName": {"type": "string", "minLength": 1, "maxLength": 100},
+                    "lastName": {"type": "string", "minLength": 1, "maxLength": 100},
+                    "email": {"type": "string", "format": "email"},
+                    "phone": {"type": "string", "pattern": "^\\\\+?[0-9 ()-]{7,20}$"},
+                    "birthDate": {"type": "string", "format": "date"},
+                    "income": {"type": "number", "minimum": 0},
+                    "dependents": {"type": "integer", "minimum": 0, "maximum": 20},
+                    "employment": {"type": "string", "enum": ["employed", "self-employed", "unemployed", "retired"]},
+                    "consent": {"const": true},
+                    "address": {
+                      "type": "object",
+                      "required": ["street", "city", "postalCode", "country"],
+                      "properties": {
+                        "street": {"type": "string"},
+                        "city": {"type": "string"},
+                        "postalCode": {"type": "string", "pattern": "^[A-Z0-9 -]{3,10}$"},
+                        "country": {"type": "string", "minLength": 2, "maxLength": 2}
+                      }
+                    },
+                    "documents": {
+                      "type": "array",
+                      "maxItems": 10,
+                      "items": {
+                        "type": "object",
+                        "required": ["name", "size"],
+                        "properties": {
+                          "name": {"type": "string"},
+                          "size": {"type": "integer", "maximum": 10485760}
+                        }
+                      }
+                    }
+                  }
+                }
+                """;
+        data = objectMapper.readTree("""
+                {
+                  "firstName": "Ada", "lastName": "Lovelace", "email": "ada@example.org",
+                  "phone": "+44 20 7946 0000", "birthDate": "1815-12-10", "income": 42000.5,
+                  "dependents": 2, "employment": "self-employed", "consent": true,
+                  "address": {"street": "12 St James's Sq", "city": "London", "postalCode": "SW1Y 4JH", "country": "GB"},
+                  "documents": [{"name": "id.pdf", "size": 182044}, {"name": "payslip.pdf", "size": 90211}]
+                }
+                """);
+        dataMap = objectMapper.convertValue(data, MAP_TYPE);
+
+        FormCacheProperties properties = new FormCacheProperties();
+        validatorService = new JsonSchemaValidatorService(properties, new SimpleMeterRegistry());
+        JsonNode schemaTree = objectMapper.readTree(schemaText);
+        cachedSchema = validatorService.getSchema("intake", 1, schemaText, () -> schemaTree);
+        if (!validatorService.validate(cachedSchema, data).isEmpty()) {
+            throw new IllegalStateException("Benchmark submission must be valid");
+        }
+    }
+
+    @Benchmark
+    public List<?> cold() throws Exception {
+        Map<String, Object> schemaMap = objectMapper.readValue(schemaText, MAP_TYPE);
+        JsonSchema schema = schemaFactory.getSchema(objectMapper.<JsonNode>valueToTree(schemaMap));
+        return validatorService.validate(schema, objectMapper.valueToTree(dataMap));
+    }
+
+    @Benchmark
+    public List<?> warm() {
+        return validatorService.validate(cachedSchema, data);
+    }
+
+    @Benchmark
+    public List<?> warmLookup() {
+        JsonSchema schema = validatorService.getSchema("intake", 1, schemaText, () -> {
+            throw new IllegalStateException("Schema should be cached");
+        });
+        return validatorService.validate(schema, data);
+    }
+}
@@ -3,6 +3,7 @@ package com.enterprise.workflow.form;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Form Service Application
@@ -11,6 +12,7 @@ import org.springframework.cloud.openfeign.EnableFeignClients;
  * Provides form definition storage, rendering API, and submission handling.
  */
 @EnableFeignClients
+@EnableScheduling
 @SpringBootApplication(scanBasePackages = {
         "com.enterprise.workflow.form",
         "com.enterprise.workflow.common"
@@ -21,6 +21,14 @@ public interface WorkflowEngineClient {
             @RequestParam("deploymentName") String deploymentName,
             @RequestPart("file") MultipartFile file);
 
+    /**
+     * Deploy several resources together as one deployment
+     */
+    @PostMapping(value = "/api/v1/repository/deployments", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    Map<String, Object> createDeployment(
+            @RequestParam("deploymentName") String deploymentName,
+            @RequestPart("file") MultipartFile[] files);
+
     /**
      * Get process definition by key
      */
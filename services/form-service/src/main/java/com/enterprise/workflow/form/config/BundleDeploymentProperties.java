@@ -0,0 +1,36 @@
+package com.enterprise.workflow.form.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Bundle deployment pipeline settings.
+ *
+ * Usage:
+ *   bundles.deploy.max-concurrency=4
+ *   bundles.deploy.max-resources-per-deployment=25
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "bundles.deploy")
+public class BundleDeploymentProperties {
+
+    /**
+     * Engine deployment calls of one bundle that may run at the same time.
+     */
+    private int maxConcurrency = 4;
+
+    /**
+     * Artifacts grouped into one multi-resource engine deployment; larger groups are
+     * split so the parts can deploy concurrently.
+     */
+    private int maxResourcesPerDeployment = 25;
+
+    /**
+     * How long finished deployment progress stays queryable.
+     */
+    private Duration progressRetention = Duration.ofHours(1);
+}
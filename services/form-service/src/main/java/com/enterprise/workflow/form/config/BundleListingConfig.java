@@ -0,0 +1,47 @@
+package com.enterprise.workflow.form.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fills the denormalised artifact counts of bundles stored before the listing
+ * projection existed, so the listing never has to fall back to the manifest.
+ */
+@Configuration
+@Slf4j
+public class BundleListingConfig {
+
+    @Bean
+    public ApplicationRunner bundleArtifactCountBackfill(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        return args -> {
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                    "select id, manifest_json from app_bundles where artifact_count is null");
+
+            for (Map<String, Object> row : rows) {
+                Object id = row.get("id");
+                try {
+                    JsonNode artifacts = objectMapper.readTree((String) row.get("manifest_json")).path("artifacts");
+                    int processes = artifacts.path("processes").size();
+                    int forms = artifacts.path("forms").size();
+                    int decisions = artifacts.path("decisions").size();
+                    jdbcTemplate.update("update app_bundles set process_count = ?, form_count = ?, "
+                            + "decision_count = ?, artifact_count = ? where id = ?",
+                            processes, forms, decisions, processes + forms + decisions, id);
+                } catch (Exception e) {
+                    log.warn("Could not backfill artifact counts of bundle {}: {}", id, e.getMessage());
+                }
+            }
+            if (!rows.isEmpty()) {
+                log.info("Backfilled artifact counts of {} bundles", rows.size());
+            }
+        };
+    }
+}
@@ -0,0 +1,108 @@
+package com.enterprise.workflow.form.config;
+
+import com.enterprise.workflow.form.storage.BundleBlobStore;
+import com.enterprise.workflow.form.storage.FileSystemBundleBlobStore;
+import com.enterprise.workflow.form.storage.S3BundleBlobStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+import software.amazon.awssdk.services.s3.S3Configuration;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.sql.Blob;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Selects the {@link BundleBlobStore} implementation from {@code bundles.storage.type}.
+ */
+@Configuration
+@Slf4j
+public class BundleStorageConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "bundles.storage", name = "type", havingValue = "filesystem", matchIfMissing = true)
+    public BundleBlobStore fileSystemBundleBlobStore(BundleStorageProperties properties) throws IOException {
+        return new FileSystemBundleBlobStore(Path.of(properties.getFilesystem().getRoot()));
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "bundles.storage", name = "type", havingValue = "s3")
+    public BundleBlobStore s3BundleBlobStore(BundleStorageProperties properties) {
+        BundleStorageProperties.S3 s3 = properties.getS3();
+        S3ClientBuilder builder = S3Client.builder()
+                .region(Region.of(s3.getRegion()))
+                .serviceConfiguration(S3Configuration.builder()
+                        .pathStyleAccessEnabled(s3.isPathStyleAccess())
+                        .build());
+        if (s3.getEndpoint() != null && !s3.getEndpoint().isBlank()) {
+            builder.endpointOverride(URI.create(s3.getEndpoint()));
+        }
+        if (s3.getAccessKey() != null && !s3.getAccessKey().isBlank()) {
+            builder.credentialsProvider(StaticCredentialsProvider.create(
+                    AwsBasicCredentials.create(s3.getAccessKey(), s3.getSecretKey())));
+        } else {
+            builder.credentialsProvider(DefaultCredentialsProvider.create());
+        }
+        return new S3BundleBlobStore(builder.build(), s3.getBucket(), s3.getPrefix());
+    }
+
+    /**
+     * Moves archives still held in the legacy {@code app_bundles.bundle_data} column into the
+     * blob store, one row per transaction. Once no row is left the column can be dropped.
+     */
+    @Bean
+    public ApplicationRunner bundleBlobMigration(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+            BundleBlobStore blobStore) {
+        return args -> {
+            List<String> ids;
+            try {
+                ids = jdbcTemplate.queryForList(
+                        "select id from app_bundles where storage_key is null and bundle_data is not null",
+                        String.class);
+            } catch (Exception e) {
+                // No legacy column, nothing to migrate
+                return;
+            }
+
+            for (String id : ids) {
+                String storageKey = "bundles/" + UUID.randomUUID() + ".zip";
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        Long size = jdbcTemplate.query("select bundle_data from app_bundles where id = ?", rs -> {
+                            if (!rs.next()) {
+                                return null;
+                            }
+                            Blob blob = rs.getBlob(1);
+                            try (InputStream in = blob.getBinaryStream()) {
+                                return blobStore.write(storageKey, in);
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        }, id);
+                        jdbcTemplate.update(
+                                "update app_bundles set storage_key = ?, bundle_size = ?, bundle_data = null where id = ?",
+                                storageKey, size, id);
+                    });
+                    log.info("Moved archive of bundle {} to blob store", id);
+                } catch (Exception e) {
+                    log.warn("Could not move archive of bundle {} to blob store: {}", id, e.getMessage());
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,73 @@
+package com.enterprise.workflow.form.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Where bundle archives are stored.
+ *
+ * Usage:
+ *   bundles.storage.type=filesystem
+ *   bundles.storage.filesystem.root=/var/lib/workflow/bundles
+ *
+ *   bundles.storage.type=s3
+ *   bundles.storage.s3.endpoint=http://minio:9000
+ *   bundles.storage.s3.bucket=workflow-bundles
+ *
+ *   bundles.storage.gc-interval=PT6H
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "bundles.storage")
+public class BundleStorageProperties {
+
+    /**
+     * Store implementation: {@code filesystem} or {@code s3}.
+     */
+    private String type = "filesystem";
+
+    private FileSystem filesystem = new FileSystem();
+
+    private S3 s3 = new S3();
+
+    /**
+     * Time between garbage collections of unreferenced entry objects and archives. A blob
+     * is deleted by the second collection that finds it unreferenced, so this must exceed
+     * the longest bundle import.
+     */
+    private Duration gcInterval = Duration.ofHours(6);
+
+    @Data
+    public static class FileSystem {
+        /**
+         * Directory holding the blobs; shared storage when several nodes run.
+         */
+        private String root = "./data/bundles";
+    }
+
+    @Data
+    public static class S3 {
+        /**
+         * Endpoint of an S3-compatible store; empty for AWS S3.
+         */
+        private String endpoint;
+        private String region = "us-east-1";
+        private String bucket = "workflow-bundles";
+        /**
+         * Key prefix for all blobs in the bucket.
+         */
+        private String prefix = "";
+        /**
+         * Static credentials; when empty the default AWS credentials chain is used.
+         */
+        private String accessKey;
+        private String secretKey;
+        /**
+         * Path-style addressing, required by most self-hosted stores such as MinIO.
+         */
+        private boolean pathStyleAccess = true;
+    }
+}
@@ -0,0 +1,45 @@
+package com.enterprise.workflow.form.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Settings for the per-field submission statistics served to form analytics.
+ *
+ * Usage:
+ *   forms.statistics.top-k=20
+ *   forms.statistics.snapshot-interval=PT5M
+ *   forms.statistics.snapshot-directory=/data/form-statistics
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "forms.statistics")
+public class FieldStatisticsProperties {
+
+    /**
+     * Most frequent values tracked per field.
+     */
+    private int topK = 20;
+
+    /**
+     * Rows of each field's count-min sketch; more rows lower the chance of an overestimate.
+     */
+    private int sketchDepth = 4;
+
+    /**
+     * Counters per sketch row; estimates overcount by at most 2 / width of the field's responses.
+     */
+    private int sketchWidth = 1024;
+
+    private Duration snapshotInterval = Duration.ofMinutes(5);
+
+    private String snapshotDirectory = "./data/form-statistics";
+
+    /**
+     * Rebuild from form_submissions at startup when no snapshot exists.
+     */
+    private boolean rebuildOnStartup = true;
+}
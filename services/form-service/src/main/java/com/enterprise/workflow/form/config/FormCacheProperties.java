@@ -0,0 +1,43 @@
+package com.enterprise.workflow.form.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * In-process cache settings for form definitions.
+ *
+ * Usage:
+ *   forms.cache.schema-max-size=1000
+ *   forms.cache.schema-ttl=1h
+ *   forms.cache.model-max-size=1000
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "forms.cache")
+public class FormCacheProperties {
+
+    /**
+     * Maximum number of compiled JSON schemas (one per form version) kept in memory.
+     */
+    private long schemaMaxSize = 1000;
+
+    /**
+     * Compiled schemas are evicted this long after they were compiled. Entries are keyed
+     * by schema content, so this only bounds memory held by superseded schemas.
+     */
+    private Duration schemaTtl = Duration.ofHours(1);
+
+    /**
+     * Maximum number of parsed form models (schema tree, fields, serialized response) kept in memory.
+     */
+    private long modelMaxSize = 1000;
+
+    /**
+     * Parsed form models not used for this long are evicted. Models are checked against
+     * the row on every read, so this only bounds memory.
+     */
+    private Duration modelTtl = Duration.ofHours(1);
+}
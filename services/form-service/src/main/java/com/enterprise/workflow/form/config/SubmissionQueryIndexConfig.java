@@ -0,0 +1,53 @@
+package com.enterprise.workflow.form.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * Creates the GIN index that serves equality filters of submission data queries.
+ *
+ * {@code jsonb_path_ops} only supports containment ({@code @>}), which is what the
+ * query engine compiles equality and membership filters to, and is a fraction of the
+ * size of the default operator class. Range and text filters use per-field expression
+ * indexes maintained by {@link com.enterprise.workflow.form.service.SubmissionFieldIndexer}.
+ *
+ * The index is built with {@code create index concurrently} on a background thread, so
+ * neither startup nor submissions wait for it. A node that finds the index already valid
+ * does nothing; an invalid one left by an interrupted build is dropped and rebuilt.
+ */
+@Configuration
+@Slf4j
+public class SubmissionQueryIndexConfig {
+
+    private static final String INDEX_NAME = "idx_submission_data_gin";
+
+    @Bean
+    public ApplicationRunner submissionDataIndex(JdbcTemplate jdbcTemplate) {
+        return args -> Thread.ofVirtual().name("submission-data-index").start(() -> createIndex(jdbcTemplate));
+    }
+
+    private static void createIndex(JdbcTemplate jdbcTemplate) {
+        try {
+            // Runs outside a transaction; concurrent builds cannot be part of one
+            List<Boolean> valid = jdbcTemplate.queryForList("select i.indisvalid from pg_index i"
+                    + " join pg_class c on c.oid = i.indexrelid where c.relname = ?", Boolean.class, INDEX_NAME);
+            if (!valid.isEmpty() && Boolean.TRUE.equals(valid.get(0))) {
+                return;
+            }
+            if (!valid.isEmpty()) {
+                jdbcTemplate.execute("drop index concurrently if exists " + INDEX_NAME);
+            }
+            long start = System.nanoTime();
+            jdbcTemplate.execute("create index concurrently if not exists " + INDEX_NAME
+                    + " on form_submissions using gin (data jsonb_path_ops)");
+            log.info("Created submission data index in {} ms", (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            log.warn("Could not create submission data index: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.enterprise.workflow.form.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Settings for queries across form submission data.
+ *
+ * Usage:
+ *   forms.query.statement-timeout=5s
+ *   forms.query.index-threshold=50
+ *   forms.query.max-field-indexes=32
+ *   forms.query.stream-timeout=30m
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "forms.query")
+public class SubmissionQueryProperties {
+
+    /**
+     * Queries running longer than this are cancelled by the database.
+     */
+    private Duration statementTimeout = Duration.ofSeconds(5);
+
+    private int defaultPageSize = 50;
+
+    private int maxPageSize = 1000;
+
+    /**
+     * Matches are counted up to this many; beyond it the total is reported as capped.
+     */
+    private int countLimit = 100_000;
+
+    /**
+     * Maximum number of groups returned by a grouped aggregation, largest first.
+     */
+    private int maxGroups = 1000;
+
+    /**
+     * Range, text or aggregation uses of one field after which an expression index is built for it.
+     */
+    private int indexThreshold = 50;
+
+    /**
+     * Upper bound on automatically created field indexes; each one slows down submissions.
+     */
+    private int maxFieldIndexes = 32;
+
+    /**
+     * Time limit for streaming the submissions of a form as NDJSON.
+     */
+    private Duration streamTimeout = Duration.ofMinutes(30);
+}
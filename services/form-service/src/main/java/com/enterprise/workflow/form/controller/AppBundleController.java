@@ -1,6 +1,9 @@
 package com.enterprise.workflow.form.controller;
 
+import com.enterprise.workflow.common.web.EntityTags;
 import com.enterprise.workflow.form.dto.AppBundleResponse;
+import com.enterprise.workflow.form.dto.BundleDeploymentProgress;
+import com.enterprise.workflow.form.dto.BundleDiffResponse;
 import com.enterprise.workflow.form.dto.CreateBundleRequest;
 import com.enterprise.workflow.form.entity.AppBundle;
 import com.enterprise.workflow.form.service.AppBundleService;
@@ -8,13 +11,19 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.util.List;
+import java.net.URI;
 import java.util.Map;
 
 /**
@@ -30,9 +39,17 @@ public class AppBundleController {
     private final AppBundleService bundleService;
 
     @GetMapping
-    @Operation(summary = "List all application bundles")
-    public ResponseEntity<List<AppBundleResponse>> listBundles() {
-        return ResponseEntity.ok(bundleService.listBundles());
+    @Operation(summary = "List application bundles")
+    public ResponseEntity<Page<AppBundleResponse>> listBundles(
+            @PageableDefault(size = 50, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // Checked before the page is loaded, so unchanged polls cost one aggregate query
+        String etag = "\"" + bundleService.getBundleListVersion()
+                + "-" + Integer.toHexString(pageable.toString().hashCode()) + "\"";
+        if (!EntityTags.noneMatch(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(bundleService.listBundles(pageable));
     }
 
     @GetMapping("/{id}")
@@ -49,7 +66,7 @@ public class AppBundleController {
 
     @PostMapping("/export")
     @Operation(summary = "Create and export an application bundle")
-    public ResponseEntity<byte[]> exportBundle(@RequestBody CreateBundleRequest request) {
+    public ResponseEntity<Resource> exportBundle(@RequestBody CreateBundleRequest request) {
         log.info("Exporting bundle: {}", request.getBundleKey());
 
         AppBundle bundle = bundleService.createBundle(request);
@@ -58,7 +75,7 @@ public class AppBundleController {
                 .header(HttpHeaders.CONTENT_DISPOSITION,
                         "attachment; filename=\"" + bundle.getKey() + "-" + bundle.getVersion() + ".zip\"")
                 .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .body(bundle.getBundleData());
+                .body(bundleService.downloadBundle(bundle.getId()));
     }
 
     @PostMapping("/import")
@@ -75,7 +92,7 @@ public class AppBundleController {
 
     @PostMapping("/{id}/deploy")
     @Operation(summary = "Deploy an application bundle")
-    public ResponseEntity<Map<String, Object>> deployBundle(
+    public ResponseEntity<BundleDeploymentProgress> deployBundle(
             @PathVariable String id,
             @RequestBody(required = false) Map<String, String> deploymentRequest) {
 
@@ -84,18 +101,26 @@ public class AppBundleController {
                 : "Deployment of " + id;
 
         log.info("Deploying bundle: {} with name: {}", id, deploymentName);
-        Map<String, Object> result = bundleService.deployBundle(id, deploymentName);
+        BundleDeploymentProgress progress = bundleService.deployBundle(id, deploymentName);
 
-        return ResponseEntity.ok(result);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/app-bundles/deployments/" + progress.getJobId()))
+                .body(progress);
+    }
+
+    @GetMapping("/deployments/{jobId}")
+    @Operation(summary = "Get the progress of a bundle deployment")
+    public ResponseEntity<BundleDeploymentProgress> getDeploymentProgress(@PathVariable String jobId) {
+        return ResponseEntity.ok(bundleService.getDeploymentProgress(jobId));
     }
 
     @GetMapping("/{id}/download")
     @Operation(summary = "Download bundle as ZIP file")
-    public ResponseEntity<byte[]> downloadBundle(@PathVariable String id) {
+    public ResponseEntity<Resource> downloadBundle(@PathVariable String id) {
         log.info("Downloading bundle: {}", id);
 
         AppBundleResponse bundleInfo = bundleService.getBundleById(id);
-        byte[] zipData = bundleService.downloadBundle(id);
+        Resource zipData = bundleService.downloadBundle(id);
 
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION,
@@ -104,6 +129,15 @@ public class AppBundleController {
                 .body(zipData);
     }
 
+    @GetMapping("/{id}/diff")
+    @Operation(summary = "Compare the entries of two bundle versions")
+    public ResponseEntity<BundleDiffResponse> diffBundle(
+            @PathVariable String id,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to) {
+        return ResponseEntity.ok(bundleService.diffBundle(id, from, to));
+    }
+
     @GetMapping("/{id}/validate")
     @Operation(summary = "Validate bundle structure and contents")
     public ResponseEntity<Map<String, Object>> validateBundle(@PathVariable String id) {
@@ -1,19 +1,30 @@
 package com.enterprise.workflow.form.controller;
 
+import com.enterprise.workflow.common.web.TimedStreamingResponse;
+import com.enterprise.workflow.form.config.SubmissionQueryProperties;
 import com.enterprise.workflow.form.dto.*;
 import com.enterprise.workflow.form.service.FormDefinitionService;
+import com.enterprise.workflow.form.service.FormSubmissionExporter;
+import com.enterprise.workflow.form.service.SubmissionQueryEngine;
+import com.enterprise.workflow.form.service.statistics.FormFieldStatisticsService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 /**
  * REST API for Form Definition Management.
@@ -27,6 +38,10 @@ import java.util.List;
 public class FormController {
 
     private final FormDefinitionService formService;
+    private final FormSubmissionExporter submissionExporter;
+    private final SubmissionQueryEngine submissionQueryEngine;
+    private final FormFieldStatisticsService fieldStatistics;
+    private final SubmissionQueryProperties queryProperties;
 
     // ==================== FORM DEFINITIONS ====================
 
@@ -50,8 +65,10 @@ public class FormController {
 
     @GetMapping("/{formId}")
     @Operation(summary = "Get form definition by ID")
-    public ResponseEntity<FormDefinitionResponse> getForm(@PathVariable String formId) {
-        return ResponseEntity.ok(formService.getForm(formId));
+    public ResponseEntity<byte[]> getForm(@PathVariable String formId) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(formService.getFormJson(formId));
     }
 
     @GetMapping("/key/{formKey}")
@@ -118,6 +135,54 @@ public class FormController {
         return ResponseEntity.ok(formService.getSubmissions(formId, pageable));
     }
 
+    @PostMapping("/submissions/query")
+    @Operation(summary = "Query submission data across all instances of a form")
+    public ResponseEntity<SubmissionQueryResponse> querySubmissions(
+            @RequestBody SubmissionQueryRequest request) {
+        return ResponseEntity.ok(submissionQueryEngine.query(request));
+    }
+
+    @GetMapping("/statistics/{formKey}")
+    @Operation(summary = "Get value statistics of submitted fields for a form key")
+    public ResponseEntity<FormFieldStatisticsResponse> getFieldStatistics(
+            @PathVariable String formKey,
+            @RequestParam(required = false) List<String> fields) {
+        return ResponseEntity.ok(fieldStatistics.getStatistics(formKey, fields));
+    }
+
+    @PostMapping("/statistics/rebuild")
+    @Operation(summary = "Rebuild field statistics from all stored submissions")
+    public ResponseEntity<Map<String, Object>> rebuildFieldStatistics() {
+        return ResponseEntity.ok(Map.of("scannedSubmissions", fieldStatistics.rebuild()));
+    }
+
+    @GetMapping(value = "/{formId}/submissions/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream all form submissions as NDJSON")
+    public WebAsyncTask<Void> streamSubmissions(
+            @PathVariable String formId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            HttpServletResponse response) {
+        return streamSubmissions(formId, from, to, null, response);
+    }
+
+    @PostMapping(value = "/{formId}/submissions/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream the form submissions matching query filters as NDJSON")
+    public WebAsyncTask<Void> streamFilteredSubmissions(
+            @PathVariable String formId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestBody(required = false) List<SubmissionQueryRequest.Filter> filters,
+            HttpServletResponse response) {
+        return streamSubmissions(formId, from, to, filters, response);
+    }
+
+    private WebAsyncTask<Void> streamSubmissions(String formId, LocalDateTime from, LocalDateTime to,
+            List<SubmissionQueryRequest.Filter> filters, HttpServletResponse response) {
+        return TimedStreamingResponse.of(response, MediaType.APPLICATION_NDJSON, queryProperties.getStreamTimeout(),
+                output -> submissionExporter.writeNdjson(formId, from, to, filters, output));
+    }
+
     @GetMapping("/{formId}/submissions/{submissionId}")
     @Operation(summary = "Get a specific form submission")
     public ResponseEntity<FormSubmissionResponse> getSubmission(
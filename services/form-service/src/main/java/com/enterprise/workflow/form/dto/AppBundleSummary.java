@@ -0,0 +1,38 @@
+package com.enterprise.workflow.form.dto;
+
+import com.enterprise.workflow.form.entity.AppBundle;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Listing projection of an AppBundle.
+ * Selected column by column, so the manifest JSON is never loaded.
+ * Constructor argument order is used by the JPQL constructor expression in AppBundleRepository.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppBundleSummary {
+
+    private String id;
+    private String key;
+    private String name;
+    private String version;
+    private String description;
+    private String author;
+    private String category;
+    private AppBundle.BundleStatus status;
+    private Long bundleSize;
+    private Integer processCount;
+    private Integer formCount;
+    private Integer decisionCount;
+    private Integer artifactCount;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime deployedAt;
+    private String createdBy;
+    private String deploymentId;
+}
@@ -0,0 +1,48 @@
+package com.enterprise.workflow.form.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Progress of an asynchronous bundle deployment.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BundleDeploymentProgress {
+
+    private String jobId;
+    private String bundleId;
+    private String deploymentName;
+    private String status; // RUNNING, SUCCESS, FAILED
+    private int totalUnits;
+    private int completedUnits;
+    private int failedUnits;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+    private List<Unit> units;
+
+    /**
+     * One engine deployment call and the artifacts it carries.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Unit {
+        private String id;
+        private String engine; // workflow, decision, forms
+        private List<String> artifactKeys;
+        private List<String> dependsOn;
+        private String status; // PENDING, RUNNING, DEPLOYED, FAILED, SKIPPED
+        private String deploymentId;
+        private String error;
+    }
+}
@@ -0,0 +1,26 @@
+package com.enterprise.workflow.form.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Entry-level difference between two versions of a bundle
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BundleDiffResponse {
+
+    private String bundleId;
+    private String fromVersion;
+    private String toVersion;
+    private List<String> added;
+    private List<String> removed;
+    private List<String> changed;
+    private int unchanged;
+}
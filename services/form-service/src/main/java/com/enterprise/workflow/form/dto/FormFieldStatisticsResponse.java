@@ -0,0 +1,39 @@
+package com.enterprise.workflow.form.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Value statistics of every field submitted for a form key, across all versions.
+ * Distributions hold the most frequent values with estimated counts, most frequent first.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FormFieldStatisticsResponse {
+    private String formKey;
+    private long submissionCount;
+    private List<FieldStatistics> fields;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FieldStatistics {
+        private String fieldId;
+        private String label;
+        private String type;
+        private long responseCount;
+        private String mostCommonValue;
+        private Double avgNumericValue;
+        private Double minNumericValue;
+        private Double maxNumericValue;
+        private Map<String, Long> distribution;
+    }
+}
@@ -1,12 +1,11 @@
 package com.enterprise.workflow.form.dto;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.util.Map;
-
 /**
  * Request for form submission.
  */
@@ -15,7 +14,7 @@ import java.util.Map;
 @NoArgsConstructor
 @AllArgsConstructor
 public class FormSubmissionRequest {
-    private Map<String, Object> data;
+    private JsonNode data;
     private String processInstanceId;
     private String taskId;
 }
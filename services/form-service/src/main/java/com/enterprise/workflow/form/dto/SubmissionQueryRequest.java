@@ -0,0 +1,45 @@
+package com.enterprise.workflow.form.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Query over the data of all submissions of a form.
+ *
+ * Fields are dotted paths into the submission data ({@code address.city}, optionally
+ * prefixed with {@code data.}) or one of the columns {@code id}, {@code submittedAt},
+ * {@code submittedBy}, {@code processInstanceId}, {@code taskId}, {@code formVersion}.
+ * Aggregations are {@code count}, or {@code sum|avg|min|max(field)} over numeric values.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubmissionQueryRequest {
+
+    /**
+     * Queries every version of the form with this key; alternative to {@code formId}.
+     */
+    private String formKey;
+    private String formId;
+    private List<Filter> filters;
+    private List<String> selectFields;
+    private String groupBy;
+    private String aggregation;
+    private Integer page;
+    private Integer size;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Filter {
+        private String field;
+        private String operator;  // eq, ne, in, gt, gte, lt, lte, contains, exists
+        private Object value;
+    }
+}
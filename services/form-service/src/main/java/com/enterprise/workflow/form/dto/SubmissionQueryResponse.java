@@ -0,0 +1,26 @@
+package com.enterprise.workflow.form.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of submissions matching a {@link SubmissionQueryRequest}, plus its aggregation.
+ * When {@code totalCapped} is set, more than {@code totalMatches} submissions matched.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubmissionQueryResponse {
+    private long totalMatches;
+    private boolean totalCapped;
+    private int page;
+    private int size;
+    private List<Map<String, Object>> results;
+    private Map<String, Object> aggregations;
+}
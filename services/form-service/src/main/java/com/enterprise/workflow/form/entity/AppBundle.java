@@ -13,7 +13,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "app_bundles", indexes = {
         @Index(name = "idx_bundle_key", columnList = "bundle_key"),
-        @Index(name = "idx_bundle_status", columnList = "status")
+        @Index(name = "idx_bundle_status", columnList = "status"),
+        @Index(name = "idx_bundle_created", columnList = "created_at")
 })
 @Data
 @Builder
@@ -45,12 +46,20 @@ public class AppBundle {
     private String manifestJson;
 
     /**
-     * ZIP file content stored as BLOB
-     * For large bundles, consider storing in object storage (S3, MinIO)
+     * Key of the ZIP archive in the {@link com.enterprise.workflow.form.storage.BundleBlobStore}
+     * for bundles stored before content addressing; null otherwise.
+     * The archive itself never lives in this table.
      */
-    @Lob
-    @Column(name = "bundle_data")
-    private byte[] bundleData;
+    @Column(name = "storage_key")
+    private String storageKey;
+
+    /**
+     * Entry path to SHA-256 index of the current version in the
+     * {@link com.enterprise.workflow.form.storage.BundleContentStore}.
+     * Bundles stored before content addressing have only a {@link #storageKey}.
+     */
+    @Column(name = "entries_json", columnDefinition = "TEXT")
+    private String entriesJson;
 
     /**
      * Size of the bundle in bytes
@@ -58,6 +67,22 @@ public class AppBundle {
     @Column(name = "bundle_size")
     private Long bundleSize;
 
+    /**
+     * Artifact counts copied from the manifest at create/import time, so listings
+     * never have to read or parse {@link #manifestJson}
+     */
+    @Column(name = "process_count")
+    private Integer processCount;
+
+    @Column(name = "form_count")
+    private Integer formCount;
+
+    @Column(name = "decision_count")
+    private Integer decisionCount;
+
+    @Column(name = "artifact_count")
+    private Integer artifactCount;
+
     @Column(name = "status", nullable = false)
     @Enumerated(EnumType.STRING)
     private BundleStatus status;
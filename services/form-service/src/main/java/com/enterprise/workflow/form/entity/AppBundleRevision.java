@@ -0,0 +1,48 @@
+package com.enterprise.workflow.form.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One stored version of an application bundle, as an index of entry hashes.
+ * The entry content itself lives once per hash in the bundle content store.
+ */
+@Entity
+@Table(name = "app_bundle_revisions", indexes = {
+        @Index(name = "idx_bundle_rev_bundle", columnList = "bundle_id, created_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppBundleRevision {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String id;
+
+    @Column(name = "bundle_id", nullable = false)
+    private String bundleId;
+
+    @Column(nullable = false)
+    private String version;
+
+    @Column(name = "entries_json", columnDefinition = "TEXT", nullable = false)
+    private String entriesJson;
+
+    /**
+     * Entries of this revision that were not already stored by an earlier one
+     */
+    @Column(name = "new_entries")
+    private Integer newEntries;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -14,8 +14,10 @@ import java.util.Map;
 @Entity
 @Table(name = "form_submissions", indexes = {
     @Index(name = "idx_submission_form", columnList = "form_id"),
+    @Index(name = "idx_submission_form_time", columnList = "form_id, submitted_at"),
     @Index(name = "idx_submission_process", columnList = "process_instance_id"),
-    @Index(name = "idx_submission_task", columnList = "task_id")
+    @Index(name = "idx_submission_task", columnList = "task_id"),
+    @Index(name = "idx_submission_seq", columnList = "submission_seq")
 })
 @Data
 @Builder
@@ -49,6 +51,12 @@ public class FormSubmission {
     @Column(name = "task_id")
     private String taskId;
 
+    /**
+     * Insertion order assigned by the database; not read back into new entities.
+     */
+    @Column(name = "submission_seq", insertable = false, updatable = false, columnDefinition = "bigserial")
+    private Long sequence;
+
     @PrePersist
     protected void onSubmit() {
         submittedAt = LocalDateTime.now();
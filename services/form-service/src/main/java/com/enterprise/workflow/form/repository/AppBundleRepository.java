@@ -1,6 +1,9 @@
 package com.enterprise.workflow.form.repository;
 
+import com.enterprise.workflow.form.dto.AppBundleSummary;
 import com.enterprise.workflow.form.entity.AppBundle;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -46,6 +49,28 @@ public interface AppBundleRepository extends JpaRepository<AppBundle, String> {
     @Query("SELECT b FROM AppBundle b WHERE b.key LIKE ?1% ORDER BY b.createdAt DESC")
     List<AppBundle> findLatestByKeyPrefix(String keyPrefix);
 
+    /**
+     * Page through bundles without loading the manifest
+     */
+    @Query(value = "SELECT new com.enterprise.workflow.form.dto.AppBundleSummary("
+            + "b.id, b.key, b.name, b.version, b.description, b.author, b.category, b.status, b.bundleSize, "
+            + "b.processCount, b.formCount, b.decisionCount, b.artifactCount, "
+            + "b.createdAt, b.updatedAt, b.deployedAt, b.createdBy, b.deploymentId) FROM AppBundle b",
+            countQuery = "SELECT COUNT(b) FROM AppBundle b")
+    Page<AppBundleSummary> findSummaries(Pageable pageable);
+
+    /**
+     * Row count and latest modification time, used as a cheap version stamp for listings
+     */
+    @Query("SELECT COUNT(b), MAX(COALESCE(b.updatedAt, b.createdAt)) FROM AppBundle b")
+    List<Object[]> findListingStamp();
+
+    /**
+     * ID and entry index of every content-addressed bundle, for garbage collection of content objects
+     */
+    @Query("SELECT b.id, b.entriesJson FROM AppBundle b WHERE b.entriesJson IS NOT NULL")
+    List<Object[]> findEntryIndexes();
+
     /**
      * Find all deployed bundles
      */
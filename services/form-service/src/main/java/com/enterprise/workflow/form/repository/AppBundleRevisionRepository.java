@@ -0,0 +1,28 @@
+package com.enterprise.workflow.form.repository;
+
+import com.enterprise.workflow.form.entity.AppBundleRevision;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for AppBundleRevision entities
+ */
+@Repository
+public interface AppBundleRevisionRepository extends JpaRepository<AppBundleRevision, String> {
+
+    /**
+     * All revisions of a bundle, newest first
+     */
+    List<AppBundleRevision> findByBundleIdOrderByCreatedAtDesc(String bundleId);
+
+    /**
+     * Entry indexes of every stored revision, for garbage collection of content objects
+     */
+    @Query("SELECT r.entriesJson FROM AppBundleRevision r")
+    List<String> findAllEntriesJson();
+
+    void deleteByBundleId(String bundleId);
+}
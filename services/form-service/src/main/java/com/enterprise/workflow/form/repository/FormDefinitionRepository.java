@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -34,4 +35,17 @@ public interface FormDefinitionRepository extends JpaRepository<FormDefinition,
     
     @Query("SELECT f FROM FormDefinition f WHERE f.published = true AND f.key = :key ORDER BY f.version DESC LIMIT 1")
     Optional<FormDefinition> findLatestPublishedByKey(String key);
+
+    /**
+     * Version and update time of a form, for checking a cached model without loading the schema.
+     */
+    @Query("SELECT f.version AS version, f.updatedAt AS updatedAt FROM FormDefinition f WHERE f.id = :id")
+    Optional<FormRevision> findRevisionById(String id);
+
+    interface FormRevision {
+
+        Integer getVersion();
+
+        LocalDateTime getUpdatedAt();
+    }
 }
@@ -1,11 +1,15 @@
 package com.enterprise.workflow.form.service;
 
 import com.enterprise.workflow.form.dto.AppBundleResponse;
+import com.enterprise.workflow.form.dto.BundleDeploymentProgress;
+import com.enterprise.workflow.form.dto.BundleDiffResponse;
 import com.enterprise.workflow.form.dto.CreateBundleRequest;
 import com.enterprise.workflow.form.entity.AppBundle;
+import org.springframework.core.io.Resource;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.util.List;
 import java.util.Map;
 
 /**
@@ -14,9 +18,15 @@ import java.util.Map;
 public interface AppBundleService {
 
     /**
-     * List all application bundles
+     * List application bundles a page at a time
+     * Built from denormalised columns only; the manifest is not read
      */
-    List<AppBundleResponse> listBundles();
+    Page<AppBundleResponse> listBundles(Pageable pageable);
+
+    /**
+     * Version stamp of the bundle listing, changes whenever a bundle is added, changed or removed
+     */
+    String getBundleListVersion();
 
     /**
      * Get bundle details by ID
@@ -30,32 +40,45 @@ public interface AppBundleService {
 
     /**
      * Create and export an application bundle
-     * Returns the bundle entity with ZIP data
+     * The ZIP archive is written to the bundle blob store; fetch it with {@link #downloadBundle}
      */
     AppBundle createBundle(CreateBundleRequest request);
 
     /**
      * Import a bundle from uploaded ZIP file
-     * Validates structure and stores in database
+     * Entries are stored by content hash, so only entries changed since an earlier import are written.
+     * Importing a known bundle key adds a new revision to that bundle
      */
     AppBundle importBundle(MultipartFile zipFile);
 
     /**
      * Deploy an application bundle
-     * Deploys all artifacts (BPMN, DMN, forms) to the respective engines
+     * Starts an asynchronous deployment of all artifacts (BPMN, DMN, forms) to the respective engines
+     * and returns immediately; poll {@link #getDeploymentProgress} with the returned job ID
      */
-    Map<String, Object> deployBundle(String bundleId, String deploymentName);
+    BundleDeploymentProgress deployBundle(String bundleId, String deploymentName);
 
     /**
-     * Download bundle as ZIP file
+     * Get the progress of a bundle deployment job
      */
-    byte[] downloadBundle(String bundleId);
+    BundleDeploymentProgress getDeploymentProgress(String jobId);
+
+    /**
+     * Download bundle as ZIP file, streamed from the bundle blob store
+     */
+    Resource downloadBundle(String bundleId);
 
     /**
      * Delete a bundle
      */
     void deleteBundle(String bundleId);
 
+    /**
+     * Compare the entries of two stored versions of a bundle
+     * Defaults to the latest revision and the one before it
+     */
+    BundleDiffResponse diffBundle(String bundleId, String fromVersion, String toVersion);
+
     /**
      * Validate bundle structure and contents
      */
@@ -0,0 +1,57 @@
+package com.enterprise.workflow.form.service;
+
+import com.enterprise.workflow.form.repository.AppBundleRepository;
+import com.enterprise.workflow.form.repository.AppBundleRevisionRepository;
+import com.enterprise.workflow.form.storage.BundleContentStore;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Periodically removes bundle entry objects and archives that no bundle or revision
+ * references any more, e.g. after bundles were deleted or re-imported.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class BundleContentCollector {
+
+    private static final TypeReference<Map<String, String>> INDEX_TYPE = new TypeReference<>() {
+    };
+
+    private final AppBundleRepository bundleRepository;
+    private final AppBundleRevisionRepository revisionRepository;
+    private final BundleContentStore contentStore;
+    private final ObjectMapper objectMapper;
+
+    @Scheduled(fixedDelayString = "${bundles.storage.gc-interval:PT6H}",
+            initialDelayString = "${bundles.storage.gc-interval:PT6H}")
+    public void collect() {
+        try {
+            Set<String> liveHashes = new HashSet<>();
+            Set<String> liveArchives = new HashSet<>();
+            for (Object[] row : bundleRepository.findEntryIndexes()) {
+                Map<String, String> index = objectMapper.readValue((String) row[1], INDEX_TYPE);
+                liveHashes.addAll(index.values());
+                liveArchives.add(contentStore.archiveKey((String) row[0], index));
+            }
+            for (String entriesJson : revisionRepository.findAllEntriesJson()) {
+                liveHashes.addAll(objectMapper.readValue(entriesJson, INDEX_TYPE).values());
+            }
+
+            BundleContentStore.GarbageCollection result = contentStore.collectGarbage(liveHashes, liveArchives);
+            log.info("Bundle content collection: deleted {} objects and {} archives, {} pending",
+                    result.deletedObjects(), result.deletedArchives(), result.pending());
+        } catch (IOException e) {
+            log.warn("Bundle content collection failed: {}", e.getMessage());
+        }
+    }
+}
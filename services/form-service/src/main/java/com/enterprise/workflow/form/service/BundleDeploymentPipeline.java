@@ -0,0 +1,483 @@
+package com.enterprise.workflow.form.service;
+
+import com.enterprise.workflow.form.client.ArtifactMultipartFile;
+import com.enterprise.workflow.form.client.DecisionEngineClient;
+import com.enterprise.workflow.form.client.WorkflowEngineClient;
+import com.enterprise.workflow.form.config.BundleDeploymentProperties;
+import com.enterprise.workflow.form.dto.BundleDeploymentProgress;
+import com.enterprise.workflow.form.entity.AppBundle;
+import com.enterprise.workflow.form.repository.AppBundleRepository;
+import com.enterprise.workflow.form.storage.BundleBlobStore;
+import com.enterprise.workflow.form.storage.BundleContentStore;
+import com.enterprise.workflow.form.storage.BundleEntries;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.ZipFile;
+
+/**
+ * Deploys the artifacts of a bundle asynchronously, in dependency order.
+ *
+ * The manifest is turned into deployment units: decisions, processes that call
+ * one of the bundle's decisions, and all other processes, each grouped into
+ * multi-resource engine deployments of bounded size. A process unit waits only
+ * for the decision units it references; everything else deploys concurrently,
+ * with at most {@code bundles.deploy.max-concurrency} engine calls in flight.
+ * No database transaction is held while engines are called.
+ */
+@Component
+@Slf4j
+public class BundleDeploymentPipeline {
+
+    static final String WORKFLOW = "workflow";
+    static final String DECISION = "decision";
+    static final String FORMS = "forms";
+
+    /**
+     * Decision references in BPMN business rule tasks, as attributes or as field injections.
+     */
+    private static final Pattern DECISION_REF = Pattern.compile(
+            "(?:decisionRef|decisionTableReferenceKey|decisionKey)\\s*=\\s*\"([^\"$]+)\""
+                    + "|name=\"(?:decisionRef|decisionTableReferenceKey)\"[^>]*>\\s*<(?:\\w+:)?string>"
+                    + "\\s*(?:<!\\[CDATA\\[)?\\s*([^<\\]\\s]+)");
+
+    private static final TypeReference<Map<String, Object>> MANIFEST_TYPE = new TypeReference<>() {
+    };
+    private static final TypeReference<Map<String, String>> INDEX_TYPE = new TypeReference<>() {
+    };
+
+    private final AppBundleRepository bundleRepository;
+    private final BundleBlobStore blobStore;
+    private final BundleContentStore contentStore;
+    private final WorkflowEngineClient workflowEngineClient;
+    private final DecisionEngineClient decisionEngineClient;
+    private final FormDefinitionService formDefinitionService;
+    private final ObjectMapper objectMapper;
+    private final BundleDeploymentProperties properties;
+    private final Cache<String, Job> jobs;
+    private final ExecutorService executor;
+    private final Set<String> activeBundles = ConcurrentHashMap.newKeySet();
+
+    public BundleDeploymentPipeline(AppBundleRepository bundleRepository,
+            BundleBlobStore blobStore,
+            BundleContentStore contentStore,
+            WorkflowEngineClient workflowEngineClient,
+            DecisionEngineClient decisionEngineClient,
+            FormDefinitionService formDefinitionService,
+            ObjectMapper objectMapper,
+            BundleDeploymentProperties properties) {
+        this.bundleRepository = bundleRepository;
+        this.blobStore = blobStore;
+        this.contentStore = contentStore;
+        this.workflowEngineClient = workflowEngineClient;
+        this.decisionEngineClient = decisionEngineClient;
+        this.formDefinitionService = formDefinitionService;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.jobs = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getProgressRetention())
+                .build();
+        // The security context is captured at submit time so engine calls run as the requesting user
+        this.executor = new DelegatingSecurityContextExecutorService(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Marks the bundle as deploying and starts the pipeline in the background.
+     */
+    public BundleDeploymentProgress start(String bundleId, String deploymentName) {
+        AppBundle bundle = bundleRepository.findById(bundleId)
+                .orElseThrow(() -> new RuntimeException("Bundle not found: " + bundleId));
+        // Only a deployment running on this node blocks; see isDeploying
+        if (!activeBundles.add(bundleId)) {
+            throw new IllegalStateException("Bundle is already being deployed: " + bundleId);
+        }
+        bundle.setStatus(AppBundle.BundleStatus.DEPLOYING);
+        bundle.setDeploymentError(null);
+        try {
+            bundleRepository.save(bundle);
+        } catch (RuntimeException e) {
+            activeBundles.remove(bundleId);
+            throw e;
+        }
+
+        Job job = new Job(UUID.randomUUID().toString(), bundleId, deploymentName);
+        jobs.put(job.id, job);
+        try {
+            executor.execute(() -> run(job, bundle));
+        } catch (RejectedExecutionException e) {
+            // Shutting down: release the bundle instead of leaving it locked as DEPLOYING
+            jobs.invalidate(job.id);
+            activeBundles.remove(bundleId);
+            bundle.setStatus(AppBundle.BundleStatus.FAILED);
+            bundle.setDeploymentError("Deployment could not be started");
+            try {
+                bundleRepository.save(bundle);
+            } catch (RuntimeException saveFailure) {
+                e.addSuppressed(saveFailure);
+            }
+            throw e;
+        }
+        return job.snapshot();
+    }
+
+    /**
+     * Whether a deployment of the bundle is running. Progress is kept per node, so a DEPLOYING
+     * status left behind by a restart does not count and blocks neither redeploys nor imports.
+     */
+    public boolean isDeploying(String bundleId) {
+        return activeBundles.contains(bundleId);
+    }
+
+    /**
+     * @return the progress of a deployment job, or null if unknown or expired
+     */
+    public BundleDeploymentProgress getProgress(String jobId) {
+        Job job = jobs.getIfPresent(jobId);
+        return job != null ? job.snapshot() : null;
+    }
+
+    private void run(Job job, AppBundle bundle) {
+        log.info("Deployment {} of bundle {} started", job.id, bundle.getId());
+        try {
+            Map<String, Object> manifest = objectMapper.readValue(bundle.getManifestJson(), MANIFEST_TYPE);
+            if (bundle.getEntriesJson() != null) {
+                Map<String, String> index = objectMapper.readValue(bundle.getEntriesJson(), INDEX_TYPE);
+                BundleEntries entries = contentStore.entries(index);
+                plan(job, entries, manifest);
+                execute(job, entries);
+            } else {
+                // Bundles stored before content addressing keep a single archive
+                blobStore.withLocalFile(bundle.getStorageKey(), file -> {
+                    try (ZipFile zip = new ZipFile(file.toFile())) {
+                        BundleEntries entries = BundleEntries.of(zip);
+                        plan(job, entries, manifest);
+                        execute(job, entries);
+                    }
+                    return null;
+                });
+            }
+            job.finish(null);
+        } catch (Exception e) {
+            log.error("Deployment {} of bundle {} failed", job.id, bundle.getId(), e);
+            job.finish(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        }
+        jobs.put(job.id, job);
+
+        try {
+            AppBundle current = bundleRepository.findById(bundle.getId()).orElse(null);
+            if (current != null) {
+                boolean success = job.error == null;
+                current.setStatus(success ? AppBundle.BundleStatus.DEPLOYED : AppBundle.BundleStatus.FAILED);
+                current.setDeploymentId(job.id);
+                current.setDeploymentError(success ? null : truncate(job.error));
+                if (success) {
+                    current.setDeployedAt(LocalDateTime.now());
+                }
+                bundleRepository.save(current);
+            }
+        } catch (Exception e) {
+            log.error("Could not record outcome of deployment {} for bundle {}", job.id, bundle.getId(), e);
+        }
+        activeBundles.remove(bundle.getId());
+        log.info("Deployment {} of bundle {} finished: {}", job.id, bundle.getId(), job.status);
+    }
+
+    /**
+     * Builds the deployment units and their dependencies from the manifest.
+     */
+    @SuppressWarnings("unchecked")
+    private void plan(Job job, BundleEntries entries, Map<String, Object> manifest) throws IOException {
+        Map<String, Object> artifacts = manifest.get("artifacts") instanceof Map<?, ?> map
+                ? (Map<String, Object>) map
+                : Map.of();
+
+        List<Artifact> decisions = artifacts(entries, artifacts.get("decisions"), ".dmn");
+        List<Artifact> processes = artifacts(entries, artifacts.get("processes"), ".bpmn20.xml");
+        List<Artifact> forms = artifacts(entries, artifacts.get("forms"), ".json");
+
+        Set<String> decisionKeys = new HashSet<>();
+        decisions.forEach(decision -> decisionKeys.add(decision.key()));
+
+        // Split processes by whether they call a decision of this bundle
+        List<Artifact> independent = new ArrayList<>();
+        List<Artifact> dependent = new ArrayList<>();
+        Map<String, Set<String>> references = new LinkedHashMap<>();
+        for (Artifact process : processes) {
+            Set<String> called = decisionReferences(entries, process);
+            called.retainAll(decisionKeys);
+            if (called.isEmpty()) {
+                independent.add(process);
+            } else {
+                dependent.add(process);
+                references.put(process.key(), called);
+            }
+        }
+
+        List<Unit> decisionUnits = job.addUnits(DECISION, decisions, List.of());
+        job.addUnits(WORKFLOW, independent, List.of());
+        for (List<Artifact> group : chunk(dependent)) {
+            Set<String> called = new HashSet<>();
+            group.forEach(process -> called.addAll(references.get(process.key())));
+            List<String> dependsOn = decisionUnits.stream()
+                    .filter(unit -> unit.artifacts.stream().anyMatch(decision -> called.contains(decision.key())))
+                    .map(unit -> unit.id)
+                    .toList();
+            job.addUnit(WORKFLOW, group, dependsOn);
+        }
+        if (!forms.isEmpty()) {
+            job.addUnit(FORMS, forms, List.of());
+        }
+        log.info("Deployment {} planned: {} decisions, {} processes ({} dependent), {} forms in {} units",
+                job.id, decisions.size(), processes.size(), dependent.size(), forms.size(), job.units.size());
+    }
+
+    /**
+     * Runs every unit once its dependencies are done, skipping units whose dependencies failed.
+     */
+    private void execute(Job job, BundleEntries entries) {
+        Semaphore permits = new Semaphore(Math.max(1, properties.getMaxConcurrency()));
+        Map<String, CompletableFuture<Boolean>> futures = new LinkedHashMap<>();
+
+        // Units are planned in dependency order, so every dependency is already registered
+        for (Unit unit : job.units) {
+            List<CompletableFuture<Boolean>> dependencies = unit.dependsOn.stream().map(futures::get).toList();
+            CompletableFuture<Boolean> future = CompletableFuture
+                    .allOf(dependencies.toArray(CompletableFuture[]::new))
+                    .thenApplyAsync(ignored -> {
+                        if (!dependencies.stream().allMatch(CompletableFuture::join)) {
+                            job.update(unit, "SKIPPED", null, "A dependency failed to deploy");
+                            return false;
+                        }
+                        return deployWithPermit(job, entries, unit, permits);
+                    }, executor);
+            futures.put(unit.id, future);
+        }
+        CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new)).join();
+    }
+
+    private boolean deployWithPermit(Job job, BundleEntries entries, Unit unit, Semaphore permits) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.update(unit, "FAILED", null, "Interrupted");
+            return false;
+        }
+        try {
+            job.update(unit, "RUNNING", null, null);
+            String deploymentId = deploy(job, entries, unit);
+            job.update(unit, "DEPLOYED", deploymentId, null);
+            return true;
+        } catch (Exception e) {
+            log.error("Deployment {} unit {} failed", job.id, unit.id, e);
+            job.update(unit, "FAILED", null, e.getMessage());
+            return false;
+        } finally {
+            permits.release();
+        }
+    }
+
+    private String deploy(Job job, BundleEntries entries, Unit unit) throws IOException {
+        if (FORMS.equals(unit.engine)) {
+            // Forms already live in this service; just verify they exist
+            for (Artifact form : unit.artifacts) {
+                try {
+                    formDefinitionService.getLatestFormByKey(form.key());
+                } catch (Exception e) {
+                    log.warn("Form not found, will be skipped: {}", form.key());
+                }
+            }
+            return null;
+        }
+
+        MultipartFile[] files = new MultipartFile[unit.artifacts.size()];
+        for (int i = 0; i < files.length; i++) {
+            Artifact artifact = unit.artifacts.get(i);
+            files[i] = new ArtifactMultipartFile(artifact.key() + artifact.suffix(), "application/xml",
+                    entries.read(artifact.file()));
+        }
+        String name = job.unitsOf(unit.engine) > 1
+                ? job.deploymentName + " - " + unit.engine + " " + unit.id
+                : job.deploymentName;
+
+        Map<String, Object> response = WORKFLOW.equals(unit.engine)
+                ? workflowEngineClient.createDeployment(name, files)
+                : decisionEngineClient.createDeployment(name, files);
+        Object id = response != null ? response.get("id") : null;
+        return id != null ? id.toString() : null;
+    }
+
+    private List<Artifact> artifacts(BundleEntries entries, Object declared, String suffix) {
+        List<Artifact> artifacts = new ArrayList<>();
+        if (!(declared instanceof List<?> list)) {
+            return artifacts;
+        }
+        for (Object item : list) {
+            if (item instanceof Map<?, ?> artifact && artifact.get("key") != null && artifact.get("file") != null) {
+                String key = artifact.get("key").toString();
+                String file = artifact.get("file").toString();
+                if (entries.contains(file)) {
+                    artifacts.add(new Artifact(key, file, suffix));
+                } else {
+                    log.warn("Artifact {} listed in manifest but missing from archive: {}", key, file);
+                }
+            }
+        }
+        return artifacts;
+    }
+
+    private Set<String> decisionReferences(BundleEntries entries, Artifact process) throws IOException {
+        String xml = new String(entries.read(process.file()), StandardCharsets.UTF_8);
+        Set<String> references = new LinkedHashSet<>();
+        Matcher matcher = DECISION_REF.matcher(xml);
+        while (matcher.find()) {
+            references.add(matcher.group(1) != null ? matcher.group(1) : matcher.group(2));
+        }
+        return references;
+    }
+
+    private List<List<Artifact>> chunk(List<Artifact> artifacts) {
+        int size = Math.max(1, properties.getMaxResourcesPerDeployment());
+        List<List<Artifact>> chunks = new ArrayList<>();
+        for (int i = 0; i < artifacts.size(); i += size) {
+            chunks.add(artifacts.subList(i, Math.min(i + size, artifacts.size())));
+        }
+        return chunks;
+    }
+
+    private static String truncate(String message) {
+        return message != null && message.length() > 4000 ? message.substring(0, 4000) : message;
+    }
+
+    private record Artifact(String key, String file, String suffix) {
+    }
+
+    private static final class Unit {
+        private final String id;
+        private final String engine;
+        private final List<Artifact> artifacts;
+        private final List<String> dependsOn;
+        private String status = "PENDING";
+        private String deploymentId;
+        private String error;
+
+        private Unit(String id, String engine, List<Artifact> artifacts, List<String> dependsOn) {
+            this.id = id;
+            this.engine = engine;
+            this.artifacts = artifacts;
+            this.dependsOn = dependsOn;
+        }
+    }
+
+    /**
+     * Mutable state of one deployment; all access goes through its monitor.
+     */
+    private final class Job {
+        private final String id;
+        private final String bundleId;
+        private final String deploymentName;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final List<Unit> units = new ArrayList<>();
+        private String status = "RUNNING";
+        private String error;
+        private LocalDateTime finishedAt;
+
+        private Job(String id, String bundleId, String deploymentName) {
+            this.id = id;
+            this.bundleId = bundleId;
+            this.deploymentName = deploymentName;
+        }
+
+        synchronized List<Unit> addUnits(String engine, List<Artifact> artifacts, List<String> dependsOn) {
+            List<Unit> added = new ArrayList<>();
+            for (List<Artifact> group : chunk(artifacts)) {
+                added.add(addUnit(engine, group, dependsOn));
+            }
+            return added;
+        }
+
+        synchronized Unit addUnit(String engine, List<Artifact> artifacts, List<String> dependsOn) {
+            Unit unit = new Unit(String.valueOf(units.size() + 1), engine, List.copyOf(artifacts), dependsOn);
+            units.add(unit);
+            return unit;
+        }
+
+        synchronized long unitsOf(String engine) {
+            return units.stream().filter(unit -> unit.engine.equals(engine)).count();
+        }
+
+        synchronized void update(Unit unit, String status, String deploymentId, String error) {
+            unit.status = status;
+            unit.deploymentId = deploymentId;
+            unit.error = error;
+        }
+
+        synchronized void finish(String failure) {
+            long failed = units.stream().filter(unit -> !unit.status.equals("DEPLOYED")).count();
+            if (failure == null && failed > 0) {
+                failure = failed + " deployment unit(s) did not deploy";
+            }
+            error = failure;
+            status = failure == null ? "SUCCESS" : "FAILED";
+            finishedAt = LocalDateTime.now();
+        }
+
+        synchronized BundleDeploymentProgress snapshot() {
+            return BundleDeploymentProgress.builder()
+                    .jobId(id)
+                    .bundleId(bundleId)
+                    .deploymentName(deploymentName)
+                    .status(status)
+                    .totalUnits(units.size())
+                    .completedUnits((int) units.stream().filter(unit -> unit.status.equals("DEPLOYED")).count())
+                    .failedUnits((int) units.stream()
+                            .filter(unit -> unit.status.equals("FAILED") || unit.status.equals("SKIPPED")).count())
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .error(error)
+                    .units(units.stream()
+                            .map(unit -> BundleDeploymentProgress.Unit.builder()
+                                    .id(unit.id)
+                                    .engine(unit.engine)
+                                    .artifactKeys(unit.artifacts.stream().map(Artifact::key).toList())
+                                    .dependsOn(unit.dependsOn)
+                                    .status(unit.status)
+                                    .deploymentId(unit.deploymentId)
+                                    .error(unit.error)
+                                    .build())
+                            .toList())
+                    .build();
+        }
+    }
+}
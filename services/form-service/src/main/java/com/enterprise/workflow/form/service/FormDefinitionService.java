@@ -17,6 +17,11 @@ public interface FormDefinitionService {
     Page<FormDefinitionResponse> getForms(String name, String category, Pageable pageable);
     
     FormDefinitionResponse getForm(String formId);
+
+    /**
+     * The {@link #getForm} response, pre-serialized to JSON and shared between requests.
+     */
+    byte[] getFormJson(String formId);
     
     FormDefinitionResponse getFormByKey(String formKey);
     
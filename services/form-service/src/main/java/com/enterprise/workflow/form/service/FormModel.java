@@ -0,0 +1,69 @@
+package com.enterprise.workflow.form.service;
+
+import com.enterprise.workflow.form.dto.FormDefinitionResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.networknt.schema.JsonSchema;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parsed, immutable view of one form definition version.
+ *
+ * Built once per version by {@link FormModelCache} and shared by the submit,
+ * validate and read paths, so the stored schema text is parsed and compiled
+ * only once. Callers must not modify {@code schemaTree}.
+ */
+@Value
+@Builder
+public class FormModel {
+
+    String id;
+    String key;
+    String name;
+    String description;
+    String category;
+    Integer version;
+    boolean published;
+    LocalDateTime createdAt;
+    LocalDateTime updatedAt;
+    String createdBy;
+
+    JsonNode schemaTree;
+    Map<String, Object> schema;
+    List<Field> fields;
+    JsonSchema compiledSchema;
+
+    /** The {@link FormDefinitionResponse} for this version, already serialized to JSON. */
+    byte[] responseJson;
+
+    public FormDefinitionResponse toResponse() {
+        return FormDefinitionResponse.builder()
+                .id(id)
+                .key(key)
+                .name(name)
+                .description(description)
+                .category(category)
+                .version(version)
+                .schema(schema)
+                .published(published)
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                .createdBy(createdBy)
+                .build();
+    }
+
+    /**
+     * Input field declared by the form schema.
+     */
+    @Value
+    public static class Field {
+        String key;
+        String type;
+        String label;
+        boolean required;
+    }
+}
@@ -0,0 +1,187 @@
+package com.enterprise.workflow.form.service;
+
+import com.enterprise.workflow.form.config.FormCacheProperties;
+import com.enterprise.workflow.form.entity.FormDefinition;
+import com.enterprise.workflow.form.repository.FormDefinitionRepository;
+import com.enterprise.workflow.form.repository.FormDefinitionRepository.FormRevision;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Cache of parsed {@link FormModel}s keyed by form definition ID.
+ *
+ * A cached model is reused only while it matches the version and update time
+ * of the current row. Lookups by ID check them with a two-column query by
+ * primary key, and already loaded rows are compared directly, so a form edited
+ * in place on another node is rebuilt on the next read here. Invalidation
+ * only frees memory early; it is not needed for freshness.
+ */
+@Component
+@Slf4j
+public class FormModelCache {
+
+    private static final TypeReference<Map<String, Object>> SCHEMA_TYPE = new TypeReference<>() {};
+
+    private final FormDefinitionRepository formRepository;
+    private final JsonSchemaValidatorService validatorService;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, FormModel> models;
+
+    public FormModelCache(FormDefinitionRepository formRepository,
+            JsonSchemaValidatorService validatorService,
+            ObjectMapper objectMapper,
+            FormCacheProperties cacheProperties,
+            MeterRegistry meterRegistry) {
+        this.formRepository = formRepository;
+        this.validatorService = validatorService;
+        this.objectMapper = objectMapper;
+        this.models = Caffeine.newBuilder()
+                .maximumSize(cacheProperties.getModelMaxSize())
+                .expireAfterAccess(cacheProperties.getModelTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, models, "form.model");
+    }
+
+    /**
+     * Returns the model for a form ID, loading the full row only if the cached
+     * model is missing or out of date.
+     */
+    public FormModel get(String formId) {
+        FormModel model = models.getIfPresent(formId);
+        if (model != null) {
+            FormRevision revision = formRepository.findRevisionById(formId).orElse(null);
+            if (revision == null) {
+                models.invalidate(formId);
+                throw new RuntimeException("Form not found: " + formId);
+            }
+            if (Objects.equals(model.getVersion(), revision.getVersion())
+                    && Objects.equals(model.getUpdatedAt(), revision.getUpdatedAt())) {
+                return model;
+            }
+        }
+        FormDefinition form = formRepository.findById(formId)
+                .orElseThrow(() -> new RuntimeException("Form not found: " + formId));
+        return of(form);
+    }
+
+    /**
+     * Returns the model for an already loaded row, reusing the cached one if it is current.
+     */
+    public FormModel of(FormDefinition form) {
+        FormModel cached = models.getIfPresent(form.getId());
+        if (cached != null
+                && Objects.equals(cached.getVersion(), form.getVersion())
+                && Objects.equals(cached.getUpdatedAt(), form.getUpdatedAt())) {
+            return cached;
+        }
+        FormModel model = build(form);
+        models.put(form.getId(), model);
+        return model;
+    }
+
+    public void invalidate(String formId) {
+        models.invalidate(formId);
+        validatorService.invalidate(formId);
+    }
+
+    private FormModel build(FormDefinition form) {
+        JsonNode schemaTree = parseSchema(form);
+        Map<String, Object> schema = schemaTree.isObject()
+                ? Collections.unmodifiableMap(objectMapper.convertValue(schemaTree, SCHEMA_TYPE))
+                : null;
+
+        FormModel.FormModelBuilder builder = FormModel.builder()
+                .id(form.getId())
+                .key(form.getKey())
+                .name(form.getName())
+                .description(form.getDescription())
+                .category(form.getCategory())
+                .version(form.getVersion())
+                .published(form.isPublished())
+                .createdAt(form.getCreatedAt())
+                .updatedAt(form.getUpdatedAt())
+                .createdBy(form.getCreatedBy())
+                .schemaTree(schemaTree)
+                .schema(schema)
+                .fields(extractFields(schemaTree))
+                .compiledSchema(schemaTree.isObject()
+                        ? validatorService.getSchema(form.getId(), form.getVersion(), form.getSchema(),
+                                () -> schemaTree)
+                        : null);
+
+        FormModel model = builder.build();
+        try {
+            return builder.responseJson(objectMapper.writeValueAsBytes(model.toResponse())).build();
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to serialize form " + form.getId(), e);
+        }
+    }
+
+    private JsonNode parseSchema(FormDefinition form) {
+        if (form.getSchema() == null) {
+            return NullNode.getInstance();
+        }
+        try {
+            return objectMapper.readTree(form.getSchema());
+        } catch (Exception e) {
+            log.error("Failed to parse form schema JSON for form {}", form.getId(), e);
+            return NullNode.getInstance();
+        }
+    }
+
+    /**
+     * Collects input fields from form.io {@code components} (including nested layout
+     * components) or, for plain JSON schemas, from {@code properties}.
+     */
+    private List<FormModel.Field> extractFields(JsonNode schemaTree) {
+        List<FormModel.Field> fields = new ArrayList<>();
+        if (schemaTree.has("components")) {
+            collectComponents(schemaTree.get("components"), fields);
+        } else if (schemaTree.has("properties")) {
+            Set<String> required = new HashSet<>();
+            schemaTree.path("required").forEach(name -> required.add(name.asText()));
+            schemaTree.get("properties").fields().forEachRemaining(property -> fields.add(new FormModel.Field(
+                    property.getKey(),
+                    property.getValue().path("type").asText(null),
+                    property.getValue().path("title").asText(null),
+                    required.contains(property.getKey()))));
+        }
+        return List.copyOf(fields);
+    }
+
+    private void collectComponents(JsonNode components, List<FormModel.Field> fields) {
+        for (JsonNode component : components) {
+            boolean input = component.path("input").asBoolean(true);
+            if (component.hasNonNull("key") && input && !component.has("components")) {
+                fields.add(new FormModel.Field(
+                        component.get("key").asText(),
+                        component.path("type").asText(null),
+                        component.path("label").asText(null),
+                        component.path("validate").path("required").asBoolean(false)));
+            }
+            if (component.has("components")) {
+                collectComponents(component.get("components"), fields);
+            }
+            if (component.has("columns")) {
+                component.get("columns").forEach(column -> collectComponents(column.path("components"), fields));
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.enterprise.workflow.form.service;
+
+import com.enterprise.workflow.form.dto.SubmissionQueryRequest;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams all submissions of a form as NDJSON, one submission per line.
+ *
+ * Rows are read through a server-side cursor ({@code fetchSize}) inside a read-only
+ * transaction, which PostgreSQL needs to avoid materialising the whole result, and the
+ * stored JSONB document is copied into the output verbatim instead of being parsed.
+ * Memory use therefore stays flat regardless of how many submissions a form has.
+ * Filters are compiled by {@link SubmissionQueryEngine}, so only matching rows are read.
+ */
+@Component
+@Slf4j
+public class FormSubmissionExporter {
+
+    private static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final SubmissionQueryEngine queryEngine;
+    private final ObjectMapper objectMapper;
+
+    public FormSubmissionExporter(JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            SubmissionQueryEngine queryEngine,
+            ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.queryEngine = queryEngine;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Writes submissions of a form ordered by submission time.
+     *
+     * @param formId  The form definition ID
+     * @param from    Inclusive lower bound on submittedAt, or null
+     * @param to      Exclusive upper bound on submittedAt, or null
+     * @param filters Submission query filters the rows must match, or null
+     * @param output  Destination; flushed but not closed
+     * @return Number of submissions written
+     */
+    public long writeNdjson(String formId, LocalDateTime from, LocalDateTime to,
+            List<SubmissionQueryRequest.Filter> filters, OutputStream output) {
+        SubmissionQueryEngine.Where where = queryEngine.compileWhere(SubmissionQueryRequest.builder()
+                .formId(formId)
+                .filters(filters)
+                .build());
+        StringBuilder sql = new StringBuilder("select id, form_id, form_version, submitted_by, submitted_at, "
+                + "process_instance_id, task_id, data from form_submissions where " + where.sql());
+        List<Object> params = new ArrayList<>(where.params());
+        if (from != null) {
+            sql.append(" and submitted_at >= ?");
+            params.add(Timestamp.valueOf(from));
+        }
+        if (to != null) {
+            sql.append(" and submitted_at < ?");
+            params.add(Timestamp.valueOf(to));
+        }
+        sql.append(" order by submitted_at, id");
+
+        long[] written = {0};
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+
+                jdbcTemplate.query(connection -> {
+                    PreparedStatement statement = connection.prepareStatement(sql.toString());
+                    statement.setFetchSize(FETCH_SIZE);
+                    for (int i = 0; i < params.size(); i++) {
+                        statement.setObject(i + 1, params.get(i));
+                    }
+                    return statement;
+                }, rs -> {
+                    try {
+                        Timestamp submittedAt = rs.getTimestamp("submitted_at");
+                        String data = rs.getString("data");
+                        generator.writeStartObject();
+                        generator.writeStringField("id", rs.getString("id"));
+                        generator.writeStringField("formId", rs.getString("form_id"));
+                        generator.writeNumberField("formVersion", rs.getInt("form_version"));
+                        generator.writeStringField("submittedBy", rs.getString("submitted_by"));
+                        generator.writeStringField("submittedAt",
+                                submittedAt != null ? submittedAt.toLocalDateTime().toString() : null);
+                        generator.writeStringField("processInstanceId", rs.getString("process_instance_id"));
+                        generator.writeStringField("taskId", rs.getString("task_id"));
+                        generator.writeFieldName("data");
+                        generator.writeRawValue(data != null ? data : "null");
+                        generator.writeEndObject();
+                        written[0]++;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+
+                generator.flush();
+                if (written[0] > 0) {
+                    output.write('\n');
+                }
+                output.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        log.debug("Streamed {} submissions of form {}", written[0], formId);
+        return written[0];
+    }
+}
@@ -1,52 +1,87 @@
 package com.enterprise.workflow.form.service;
 
+import com.enterprise.workflow.form.config.FormCacheProperties;
 import com.enterprise.workflow.form.dto.FormValidationResponse;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.networknt.schema.JsonSchema;
 import com.networknt.schema.JsonSchemaFactory;
 import com.networknt.schema.SpecVersion;
 import com.networknt.schema.ValidationMessage;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.HexFormat;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
+import java.util.function.Supplier;
 
+/**
+ * Validates form data against compiled JSON schemas.
+ *
+ * Compiled schemas are cached by form ID, version and a hash of the schema text, so a
+ * schema edited in place without a version bump compiles anew on every node instead of
+ * being served from a stale entry.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class JsonSchemaValidatorService {
 
-    private final ObjectMapper objectMapper;
+    private final JsonSchemaFactory schemaFactory = JsonSchemaFactory.getInstance(SpecVersion.VersionFlag.V7);
+    private final Cache<SchemaKey, JsonSchema> compiledSchemas;
+
+    public JsonSchemaValidatorService(FormCacheProperties cacheProperties, MeterRegistry meterRegistry) {
+        this.compiledSchemas = Caffeine.newBuilder()
+                .maximumSize(cacheProperties.getSchemaMaxSize())
+                .expireAfterWrite(cacheProperties.getSchemaTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, compiledSchemas, "form.schema.compiled");
+    }
 
     /**
-     * Validates data against the provided JSON schema.
+     * Returns the compiled schema for a form version, compiling it on first use.
      *
-     * @param schemaMap The form definition schema (map)
-     * @param dataMap   The data to validate (map)
+     * @param formId       The form definition ID
+     * @param version      The form definition version
+     * @param schemaText   The stored schema text the tree was parsed from
+     * @param schemaLoader Supplies the schema tree when this content is not cached yet
+     * @return The compiled schema, shared by all callers until evicted or invalidated
+     */
+    public JsonSchema getSchema(String formId, Integer version, String schemaText,
+            Supplier<JsonNode> schemaLoader) {
+        return compiledSchemas.get(new SchemaKey(formId, version, contentHash(schemaText)),
+                key -> schemaFactory.getSchema(schemaLoader.get()));
+    }
+
+    /**
+     * Drops every cached version of a form, e.g. after its schema was edited in place.
+     */
+    public void invalidate(String formId) {
+        compiledSchemas.asMap().keySet().removeIf(key -> key.formId().equals(formId));
+    }
+
+    /**
+     * Validates data against a compiled schema.
+     *
+     * @param schema The compiled form schema
+     * @param data   The submitted data tree
      * @return List of validation errors, empty if valid
      */
-    public List<FormValidationResponse.FieldError> validate(Map<String, Object> schemaMap,
-            Map<String, Object> dataMap) {
+    public List<FormValidationResponse.FieldError> validate(JsonSchema schema, JsonNode data) {
         List<FormValidationResponse.FieldError> errors = new ArrayList<>();
 
         try {
-            // Convert Maps to JsonNodes
-            JsonNode schemaNode = objectMapper.valueToTree(schemaMap);
-            JsonNode dataNode = objectMapper.valueToTree(dataMap);
-
-            // Create Schema
-            JsonSchemaFactory factory = JsonSchemaFactory.getInstance(SpecVersion.VersionFlag.V7);
-            JsonSchema schema = factory.getSchema(schemaNode);
-
-            // Validate
-            Set<ValidationMessage> validationMessages = schema.validate(dataNode);
+            Set<ValidationMessage> validationMessages = schema.validate(data != null ? data : NullNode.getInstance());
 
-            // Map errors
             for (ValidationMessage message : validationMessages) {
                 errors.add(FormValidationResponse.FieldError.builder()
                         .field(message.getPath())
@@ -64,4 +99,17 @@ public class JsonSchemaValidatorService {
 
         return errors;
     }
+
+    private static String contentHash(String schemaText) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(
+                    (schemaText != null ? schemaText : "").getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record SchemaKey(String formId, Integer version, String contentHash) {
+    }
 }
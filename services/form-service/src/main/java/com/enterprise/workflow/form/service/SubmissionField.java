@@ -0,0 +1,77 @@
+package com.enterprise.workflow.form.service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * A field referenced by a submission query: a submission column or a path into the JSONB data.
+ *
+ * Path segments are restricted to identifier characters, so the SQL fragments built here
+ * can embed them as literals; the same fragments are used for expression indexes, which
+ * PostgreSQL only matches against queries that repeat the indexed expression verbatim.
+ */
+record SubmissionField(String name, String column, List<String> path) {
+
+    private static final Pattern SEGMENT = Pattern.compile("[A-Za-z0-9_-]+");
+
+    private static final Map<String, String> COLUMNS = Map.of(
+            "id", "id",
+            "submittedAt", "submitted_at",
+            "submittedBy", "submitted_by",
+            "processInstanceId", "process_instance_id",
+            "taskId", "task_id",
+            "formVersion", "form_version");
+
+    static SubmissionField parse(String name) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Query field must not be empty");
+        }
+        String column = COLUMNS.get(name);
+        if (column != null) {
+            return new SubmissionField(name, column, List.of());
+        }
+        String dataPath = name.startsWith("data.") ? name.substring("data.".length()) : name;
+        List<String> path = Arrays.asList(dataPath.split("\\.", -1));
+        for (String segment : path) {
+            if (!SEGMENT.matcher(segment).matches()) {
+                throw new IllegalArgumentException("Invalid query field: " + name);
+            }
+        }
+        return new SubmissionField(name, null, path);
+    }
+
+    boolean isColumn() {
+        return column != null;
+    }
+
+    /**
+     * The value as text, e.g. {@code (data #>> '{address,city}')}.
+     */
+    String textExpression() {
+        return isColumn() ? column : "(data #>> '" + pathLiteral() + "')";
+    }
+
+    /**
+     * The value as numeric, or null when it is not a JSON number.
+     */
+    String numericExpression() {
+        if (isColumn()) {
+            return column;
+        }
+        return "(case when jsonb_typeof(data #> '" + pathLiteral() + "') = 'number'"
+                + " then (data #>> '" + pathLiteral() + "')::numeric end)";
+    }
+
+    /**
+     * The raw JSONB value.
+     */
+    String jsonExpression() {
+        return isColumn() ? "to_jsonb(" + column + ")" : "(data #> '" + pathLiteral() + "')";
+    }
+
+    private String pathLiteral() {
+        return "{" + String.join(",", path) + "}";
+    }
+}
@@ -0,0 +1,118 @@
+package com.enterprise.workflow.form.service;
+
+import com.enterprise.workflow.form.config.SubmissionQueryProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Builds expression indexes for submission data fields that queries use often.
+ *
+ * Equality filters are served by the GIN index on {@code data}; range, text and
+ * aggregation uses of a field are counted here, and once a field crosses
+ * {@code forms.query.index-threshold} a {@code (form_id, <expression>)} B-tree index
+ * is built for it with {@code create index concurrently}, one at a time in the
+ * background so submissions are not blocked. Index names are derived from the
+ * expression, so every node converges on the same indexes.
+ */
+@Component
+@Slf4j
+public class SubmissionFieldIndexer {
+
+    static final String INDEX_PREFIX = "fsq_";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SubmissionQueryProperties properties;
+    private final ExecutorService builder = Executors.newSingleThreadExecutor(Thread.ofVirtual().factory());
+    private final Map<String, LongAdder> usage = new ConcurrentHashMap<>();
+    private final Set<String> indexes = ConcurrentHashMap.newKeySet();
+
+    public SubmissionFieldIndexer(JdbcTemplate jdbcTemplate, SubmissionQueryProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadExistingIndexes() {
+        try {
+            indexes.addAll(jdbcTemplate.queryForList(
+                    "select indexname from pg_indexes where tablename = 'form_submissions' and indexname like ?",
+                    String.class, INDEX_PREFIX + "%"));
+            log.info("Found {} submission field indexes", indexes.size());
+        } catch (Exception e) {
+            log.warn("Could not load submission field indexes: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Records a query use of a field expression, scheduling an index build when it becomes hot.
+     */
+    public void recordUse(String expression) {
+        String name = indexName(expression);
+        if (indexes.contains(name)) {
+            return;
+        }
+        LongAdder count = usage.computeIfAbsent(name, key -> new LongAdder());
+        count.increment();
+        if (count.sum() == properties.getIndexThreshold()) {
+            builder.submit(() -> build(name, expression));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        builder.shutdownNow();
+    }
+
+    private void build(String name, String expression) {
+        if (indexes.contains(name)) {
+            return;
+        }
+        if (indexes.size() >= properties.getMaxFieldIndexes()) {
+            log.warn("Not indexing hot submission field {}: limit of {} field indexes reached",
+                    expression, properties.getMaxFieldIndexes());
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            // Runs outside a transaction; concurrent builds cannot be part of one
+            jdbcTemplate.execute("create index concurrently if not exists " + name
+                    + " on form_submissions (form_id, " + expression + ")");
+            indexes.add(name);
+            usage.remove(name);
+            log.info("Created submission field index {} on {} in {} ms",
+                    name, expression, (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            log.warn("Could not create submission field index on {}: {}", expression, e.getMessage());
+            // A failed concurrent build leaves an invalid index behind that would never be used
+            try {
+                jdbcTemplate.execute("drop index concurrently if exists " + name);
+            } catch (Exception dropError) {
+                log.warn("Could not drop invalid index {}: {}", name, dropError.getMessage());
+            }
+        }
+    }
+
+    private static String indexName(String expression) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(expression.getBytes(StandardCharsets.UTF_8));
+            return INDEX_PREFIX + HexFormat.of().formatHex(digest, 0, 12);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
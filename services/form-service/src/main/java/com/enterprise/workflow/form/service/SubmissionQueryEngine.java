@@ -0,0 +1,316 @@
+package com.enterprise.workflow.form.service;
+
+import com.enterprise.workflow.form.config.SubmissionQueryProperties;
+import com.enterprise.workflow.form.dto.SubmissionQueryRequest;
+import com.enterprise.workflow.form.dto.SubmissionQueryResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compiles submission data queries into SQL over the {@code form_submissions.data} JSONB column.
+ *
+ * Equality and membership filters become containment tests ({@code data @> '{"a":{"b":1}}'})
+ * answered by the GIN index; range and text filters compare the extracted value, typed as
+ * numeric or text, through expressions that {@link SubmissionFieldIndexer} indexes once they
+ * are used often. Grouping and aggregation run in the database, so only the page of rows and
+ * the aggregate values cross the wire. Matches are counted only up to
+ * {@code forms.query.count-limit}, and every query runs read-only under a statement timeout.
+ */
+@Component
+@Slf4j
+public class SubmissionQueryEngine {
+
+    private static final Pattern AGGREGATION = Pattern.compile("(count|sum|avg|min|max)(?:\\((.+)\\))?",
+            Pattern.CASE_INSENSITIVE);
+
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final SubmissionFieldIndexer fieldIndexer;
+    private final SubmissionQueryProperties properties;
+    private final ObjectMapper objectMapper;
+
+    public SubmissionQueryEngine(JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            SubmissionFieldIndexer fieldIndexer,
+            SubmissionQueryProperties properties,
+            ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.fieldIndexer = fieldIndexer;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    public SubmissionQueryResponse query(SubmissionQueryRequest request) {
+        Where where = compileWhere(request);
+        int size = Math.min(request.getSize() != null && request.getSize() > 0
+                ? request.getSize() : properties.getDefaultPageSize(), properties.getMaxPageSize());
+        int page = request.getPage() != null ? Math.max(0, request.getPage()) : 0;
+        String select = compileSelect(request.getSelectFields());
+
+        long start = System.nanoTime();
+        SubmissionQueryResponse response = readOnlyTransaction.execute(status -> {
+            jdbcTemplate.execute("set local statement_timeout = " + properties.getStatementTimeout().toMillis());
+
+            List<Object> countParams = new ArrayList<>(where.params());
+            countParams.add(properties.getCountLimit() + 1);
+            Long matches = jdbcTemplate.queryForObject(
+                    "select count(*) from (select 1 from form_submissions where " + where.sql()
+                            + " limit ?) matched",
+                    Long.class, countParams.toArray());
+            long total = matches != null ? matches : 0;
+
+            List<Object> pageParams = new ArrayList<>(where.params());
+            pageParams.add(size);
+            pageParams.add((long) page * size);
+            List<Map<String, Object>> results = total == 0 ? List.of() : jdbcTemplate.query(
+                    "select id, form_id, form_version, submitted_by, submitted_at, process_instance_id, task_id, "
+                            + select + " as fields from form_submissions where " + where.sql()
+                            + " order by submitted_at desc, id desc limit ? offset ?",
+                    (rs, rowNum) -> {
+                        Map<String, Object> row = new LinkedHashMap<>();
+                        Timestamp submittedAt = rs.getTimestamp("submitted_at");
+                        row.put("id", rs.getString("id"));
+                        row.put("formId", rs.getString("form_id"));
+                        row.put("formVersion", rs.getInt("form_version"));
+                        row.put("submittedBy", rs.getString("submitted_by"));
+                        row.put("submittedAt", submittedAt != null ? submittedAt.toLocalDateTime() : null);
+                        row.put("processInstanceId", rs.getString("process_instance_id"));
+                        row.put("taskId", rs.getString("task_id"));
+                        row.put("data", readJson(rs.getString("fields")));
+                        return row;
+                    },
+                    pageParams.toArray());
+
+            return SubmissionQueryResponse.builder()
+                    .totalMatches(Math.min(total, properties.getCountLimit()))
+                    .totalCapped(total > properties.getCountLimit())
+                    .page(page)
+                    .size(size)
+                    .results(results)
+                    .aggregations(total == 0 ? null : aggregate(request, where))
+                    .build();
+        });
+
+        log.debug("Submission query over form {} matched {} in {} ms",
+                request.getFormKey() != null ? request.getFormKey() : request.getFormId(),
+                response.getTotalMatches(), (System.nanoTime() - start) / 1_000_000);
+        return response;
+    }
+
+    private Map<String, Object> aggregate(SubmissionQueryRequest request, Where where) {
+        if (request.getAggregation() == null && request.getGroupBy() == null) {
+            return null;
+        }
+        String aggregation = request.getAggregation() != null ? request.getAggregation().replace(" ", "") : "count";
+        Matcher matcher = AGGREGATION.matcher(aggregation);
+        String function = matcher.matches() ? matcher.group(1).toLowerCase() : null;
+        if (function == null || (!"count".equals(function) && matcher.group(2) == null)) {
+            throw new IllegalArgumentException("Unsupported aggregation: " + request.getAggregation()
+                    + " (use count, sum(field), avg(field), min(field) or max(field))");
+        }
+        String valueExpression = "count(*)";
+        if (matcher.group(2) != null) {
+            SubmissionField field = SubmissionField.parse(matcher.group(2));
+            valueExpression = function + "(" + indexed(field.numericExpression(), field) + ")";
+        }
+
+        Map<String, Object> aggregations = new LinkedHashMap<>();
+        aggregations.put("aggregation", aggregation);
+        if (request.getGroupBy() == null) {
+            aggregations.put("value", jdbcTemplate.queryForObject(
+                    "select " + valueExpression + " from form_submissions where " + where.sql(),
+                    Object.class, where.params().toArray()));
+            return aggregations;
+        }
+
+        SubmissionField groupField = SubmissionField.parse(request.getGroupBy());
+        List<Object> params = new ArrayList<>(where.params());
+        params.add(properties.getMaxGroups());
+        Map<String, Object> groups = new LinkedHashMap<>();
+        jdbcTemplate.query("select " + indexed(groupField.textExpression(), groupField) + " as group_key, "
+                        + valueExpression + " as value from form_submissions where " + where.sql()
+                        + " group by 1 order by 2 desc nulls last limit ?",
+                rs -> {
+                    String key = rs.getString("group_key");
+                    groups.put(key != null ? key : "null", rs.getObject("value"));
+                },
+                params.toArray());
+        aggregations.put("groupBy", request.getGroupBy());
+        aggregations.put("groups", groups);
+        return aggregations;
+    }
+
+    /**
+     * Compiles the form and filter conditions of a request; also used by {@link FormSubmissionExporter}.
+     */
+    Where compileWhere(SubmissionQueryRequest request) {
+        StringBuilder sql = new StringBuilder();
+        List<Object> params = new ArrayList<>();
+        if (request.getFormId() != null) {
+            sql.append("form_id = ?");
+            params.add(request.getFormId());
+        } else if (request.getFormKey() != null) {
+            sql.append("form_id in (select id from form_definitions where form_key = ?)");
+            params.add(request.getFormKey());
+        } else {
+            throw new IllegalArgumentException("Submission query requires a formKey or formId");
+        }
+
+        if (request.getFilters() != null) {
+            for (SubmissionQueryRequest.Filter filter : request.getFilters()) {
+                sql.append(" and ").append(compileFilter(filter, params));
+            }
+        }
+        return new Where(sql.toString(), params);
+    }
+
+    private String compileFilter(SubmissionQueryRequest.Filter filter, List<Object> params) {
+        SubmissionField field = SubmissionField.parse(filter.getField());
+        String operator = filter.getOperator() != null ? filter.getOperator().toLowerCase() : "eq";
+        Object value = filter.getValue();
+
+        switch (operator) {
+            case "exists":
+                return field.isColumn() ? field.column() + " is not null" : field.jsonExpression() + " is not null";
+            case "eq":
+            case "ne":
+                requireValue(filter, value);
+                String equals;
+                if (field.isColumn()) {
+                    params.add(columnValue(field, value));
+                    equals = field.column() + " = ?";
+                } else {
+                    params.add(containment(field, value));
+                    equals = "data @> ?::jsonb";
+                }
+                return "eq".equals(operator) ? equals : "not (" + equals + ")";
+            case "in":
+                if (!(value instanceof Collection<?> values) || values.isEmpty()) {
+                    throw new IllegalArgumentException("Filter 'in' on " + filter.getField() + " requires a list");
+                }
+                List<String> alternatives = new ArrayList<>(values.size());
+                for (Object alternative : values) {
+                    if (field.isColumn()) {
+                        params.add(columnValue(field, alternative));
+                        alternatives.add(field.column() + " = ?");
+                    } else {
+                        params.add(containment(field, alternative));
+                        alternatives.add("data @> ?::jsonb");
+                    }
+                }
+                return "(" + String.join(" or ", alternatives) + ")";
+            case "gt":
+            case "gte":
+            case "lt":
+            case "lte":
+                requireValue(filter, value);
+                String comparison = switch (operator) {
+                    case "gt" -> " > ?";
+                    case "gte" -> " >= ?";
+                    case "lt" -> " < ?";
+                    default -> " <= ?";
+                };
+                if (field.isColumn()) {
+                    params.add(columnValue(field, value));
+                    return field.column() + comparison;
+                }
+                params.add(value instanceof Number ? value : value.toString());
+                return (value instanceof Number
+                        ? indexed(field.numericExpression(), field)
+                        : indexed(field.textExpression(), field)) + comparison;
+            case "contains":
+                requireValue(filter, value);
+                params.add("%" + value.toString().replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%");
+                return indexed(field.textExpression(), field) + " ilike ?";
+            default:
+                throw new IllegalArgumentException("Unsupported filter operator: " + filter.getOperator());
+        }
+    }
+
+    /**
+     * Returns the expression unchanged, counting the use so hot data fields get indexed.
+     */
+    private String indexed(String expression, SubmissionField field) {
+        if (!field.isColumn()) {
+            fieldIndexer.recordUse(expression);
+        }
+        return expression;
+    }
+
+    private String compileSelect(List<String> selectFields) {
+        if (selectFields == null || selectFields.isEmpty()) {
+            return "data";
+        }
+        List<String> pairs = new ArrayList<>(selectFields.size());
+        for (String name : selectFields) {
+            SubmissionField field = SubmissionField.parse(name);
+            pairs.add("'" + name + "', " + field.jsonExpression());
+        }
+        return "jsonb_build_object(" + String.join(", ", pairs) + ")";
+    }
+
+    /**
+     * Builds {@code {"a":{"b":value}}} for a containment test on the path {@code a.b}.
+     */
+    private String containment(SubmissionField field, Object value) {
+        Object nested = value;
+        List<String> path = field.path();
+        for (int i = path.size() - 1; i >= 0; i--) {
+            ObjectNode node = objectMapper.createObjectNode();
+            node.set(path.get(i), objectMapper.valueToTree(nested));
+            nested = node;
+        }
+        return nested.toString();
+    }
+
+    private static Object columnValue(SubmissionField field, Object value) {
+        return switch (field.column()) {
+            case "submitted_at" -> Timestamp.valueOf(LocalDateTime.parse(value.toString()));
+            case "form_version" -> Integer.valueOf(value.toString());
+            default -> value.toString();
+        };
+    }
+
+    private static void requireValue(SubmissionQueryRequest.Filter filter, Object value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Filter '" + filter.getOperator() + "' on "
+                    + filter.getField() + " requires a value");
+        }
+    }
+
+    private Map<String, Object> readJson(String json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, MAP_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Unreadable submission data", e);
+        }
+    }
+
+    record Where(String sql, List<Object> params) {
+    }
+}
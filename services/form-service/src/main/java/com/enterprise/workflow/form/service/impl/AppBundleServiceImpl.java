@@ -1,27 +1,37 @@
 package com.enterprise.workflow.form.service.impl;
 
-import com.enterprise.workflow.form.client.DecisionEngineClient;
-import com.enterprise.workflow.form.client.WorkflowEngineClient;
 import com.enterprise.workflow.form.dto.AppBundleResponse;
+import com.enterprise.workflow.form.dto.AppBundleSummary;
+import com.enterprise.workflow.form.dto.BundleDeploymentProgress;
+import com.enterprise.workflow.form.dto.BundleDiffResponse;
 import com.enterprise.workflow.form.dto.CreateBundleRequest;
 import com.enterprise.workflow.form.entity.AppBundle;
+import com.enterprise.workflow.form.entity.AppBundleRevision;
 import com.enterprise.workflow.form.repository.AppBundleRepository;
+import com.enterprise.workflow.form.repository.AppBundleRevisionRepository;
 import com.enterprise.workflow.form.service.AppBundleService;
+import com.enterprise.workflow.form.service.BundleDeploymentPipeline;
 import com.enterprise.workflow.form.service.FormDefinitionService;
+import com.enterprise.workflow.form.storage.BundleBlobStore;
+import com.enterprise.workflow.form.storage.BundleContentStore;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.core.io.Resource;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipInputStream;
-import java.util.zip.ZipOutputStream;
 
 /**
  * Implementation of AppBundleService
@@ -31,20 +41,31 @@ import java.util.zip.ZipOutputStream;
 @RequiredArgsConstructor
 public class AppBundleServiceImpl implements AppBundleService {
 
+    private static final String MANIFEST_ENTRY = "manifest.json";
+    private static final TypeReference<Map<String, String>> INDEX_TYPE = new TypeReference<>() {
+    };
+
     private final AppBundleRepository bundleRepository;
     private final FormDefinitionService formDefinitionService;
-    private final WorkflowEngineClient workflowEngineClient;
-    private final DecisionEngineClient decisionEngineClient;
     private final ObjectMapper objectMapper;
+    private final BundleBlobStore blobStore;
+    private final BundleDeploymentPipeline deploymentPipeline;
+    private final BundleContentStore contentStore;
+    private final AppBundleRevisionRepository revisionRepository;
 
     @Override
     @Transactional(readOnly = true)
-    public List<AppBundleResponse> listBundles() {
-        log.debug("Listing all application bundles");
-        List<AppBundle> bundles = bundleRepository.findAll();
-        return bundles.stream()
-                .map(this::mapToResponse)
-                .toList();
+    public Page<AppBundleResponse> listBundles(Pageable pageable) {
+        log.debug("Listing application bundles: {}", pageable);
+        return bundleRepository.findSummaries(pageable).map(this::mapSummaryToResponse);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getBundleListVersion() {
+        List<Object[]> stamp = bundleRepository.findListingStamp();
+        Object[] row = stamp.isEmpty() ? new Object[] { 0L, null } : stamp.get(0);
+        return row[0] + "-" + (row[1] != null ? row[1].toString() : "0");
     }
 
     @Override
@@ -80,8 +101,17 @@ public class AppBundleServiceImpl implements AppBundleService {
             Map<String, Object> manifest = buildManifest(request);
             String manifestJson = objectMapper.writeValueAsString(manifest);
 
-            // Create ZIP archive
-            byte[] zipData = createZipArchive(request, manifest);
+            // Store each entry once by content; the archive is assembled on download
+            Map<String, byte[]> entries = buildEntries(request, manifest);
+            Map<String, String> index = new TreeMap<>();
+            long bundleSize = 0;
+            int newEntries = 0;
+            for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+                BundleContentStore.Stored stored = contentStore.put(entry.getValue());
+                index.put(entry.getKey(), stored.hash());
+                bundleSize += entry.getValue().length;
+                newEntries += stored.created() ? 1 : 0;
+            }
 
             // Create bundle entity
             AppBundle bundle = AppBundle.builder()
@@ -92,12 +122,15 @@ public class AppBundleServiceImpl implements AppBundleService {
                     .author(request.getAuthor())
                     .category(request.getCategory())
                     .manifestJson(manifestJson)
-                    .bundleData(zipData)
-                    .bundleSize((long) zipData.length)
+                    .entriesJson(objectMapper.writeValueAsString(index))
+                    .bundleSize(bundleSize)
                     .status(AppBundle.BundleStatus.CREATED)
                     .build();
+            applyArtifactCounts(bundle, manifest);
 
-            return bundleRepository.save(bundle);
+            AppBundle saved = bundleRepository.save(bundle);
+            saveRevision(saved, newEntries);
+            return saved;
 
         } catch (Exception e) {
             log.error("Error creating bundle", e);
@@ -111,34 +144,61 @@ public class AppBundleServiceImpl implements AppBundleService {
         log.info("Importing bundle from file: {}", zipFile.getOriginalFilename());
 
         try {
+            // Hash every entry in one pass; only entries not stored before are written
+            BundleContentStore.ImportResult imported;
+            try (InputStream in = zipFile.getInputStream()) {
+                imported = contentStore.importArchive(in);
+            }
+            Map<String, String> index = imported.index();
+            if (!index.containsKey(MANIFEST_ENTRY)) {
+                throw new RuntimeException("manifest.json not found in bundle");
+            }
+
             // Extract and parse manifest
-            Map<String, Object> manifest = extractManifest(zipFile.getBytes());
+            Map<String, Object> manifest;
+            try (InputStream in = contentStore.entries(index).open(MANIFEST_ENTRY)) {
+                manifest = objectMapper.readValue(in, Map.class);
+            }
             String manifestJson = objectMapper.writeValueAsString(manifest);
 
             String bundleKey = (String) manifest.get("id");
             String bundleName = (String) manifest.get("name");
             String version = (String) manifest.get("version");
 
-            // Check for conflicts
-            if (bundleRepository.existsByKey(bundleKey)) {
-                log.warn("Bundle with key '{}' already exists, creating new version", bundleKey);
-                // Could implement versioning logic here
+            // A known key becomes a new revision of the existing bundle
+            AppBundle bundle = bundleRepository.findByKey(bundleKey).orElse(null);
+            String replacedArchive = null;
+            if (bundle != null) {
+                if (deploymentPipeline.isDeploying(bundle.getId())) {
+                    throw new RuntimeException("Bundle '" + bundleKey + "' is being deployed");
+                }
+                log.info("Bundle with key '{}' already exists, storing v{} as a new revision", bundleKey, version);
+                replacedArchive = bundle.getEntriesJson() != null
+                        ? contentStore.archiveKey(bundle.getId(), readIndex(bundle))
+                        : bundle.getStorageKey();
+                bundle.setStorageKey(null);
+                bundle.setDeploymentError(null);
+            } else {
+                bundle = AppBundle.builder().key(bundleKey).build();
             }
 
-            // Create bundle entity
-            AppBundle bundle = AppBundle.builder()
-                    .key(bundleKey)
-                    .name(bundleName)
-                    .version(version)
-                    .description((String) manifest.getOrDefault("description", ""))
-                    .author((String) manifest.getOrDefault("author", ""))
-                    .manifestJson(manifestJson)
-                    .bundleData(zipFile.getBytes())
-                    .bundleSize(zipFile.getSize())
-                    .status(AppBundle.BundleStatus.VALID)
-                    .build();
-
-            return bundleRepository.save(bundle);
+            bundle.setName(bundleName);
+            bundle.setVersion(version);
+            bundle.setDescription((String) manifest.getOrDefault("description", ""));
+            bundle.setAuthor((String) manifest.getOrDefault("author", ""));
+            bundle.setCategory((String) manifest.get("category"));
+            bundle.setManifestJson(manifestJson);
+            bundle.setEntriesJson(objectMapper.writeValueAsString(index));
+            bundle.setBundleSize(zipFile.getSize());
+            bundle.setStatus(AppBundle.BundleStatus.VALID);
+            applyArtifactCounts(bundle, manifest);
+
+            AppBundle saved = bundleRepository.save(bundle);
+            saveRevision(saved, imported.storedObjects());
+            if (replacedArchive != null && !replacedArchive.equals(contentStore.archiveKey(saved.getId(), index))) {
+                deleteBlobAfterCommit(replacedArchive);
+            }
+            return saved;
 
         } catch (Exception e) {
             log.error("Error importing bundle", e);
@@ -147,168 +207,84 @@ public class AppBundleServiceImpl implements AppBundleService {
     }
 
     @Override
-    @Transactional
-    public Map<String, Object> deployBundle(String bundleId, String deploymentName) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BundleDeploymentProgress deployBundle(String bundleId, String deploymentName) {
         log.info("Deploying bundle: {}", bundleId);
+        return deploymentPipeline.start(bundleId, deploymentName);
+    }
 
-        AppBundle bundle = bundleRepository.findById(bundleId)
-                .orElseThrow(() -> new RuntimeException("Bundle not found: " + bundleId));
-
-        try {
-            bundle.setStatus(AppBundle.BundleStatus.DEPLOYING);
-            bundleRepository.save(bundle);
-
-            Map<String, Object> result = new HashMap<>();
-            Map<String, List<String>> deployedArtifacts = new HashMap<>();
-            deployedArtifacts.put("processes", new ArrayList<>());
-            deployedArtifacts.put("forms", new ArrayList<>());
-            deployedArtifacts.put("decisions", new ArrayList<>());
-
-            // Extract manifest
-            Map<String, Object> manifest = objectMapper.readValue(bundle.getManifestJson(), Map.class);
-            Map<String, Object> artifacts = (Map<String, Object>) manifest.get("artifacts");
-
-            // Extract ZIP and deploy artifacts
-            try (ZipInputStream zis = new ZipInputStream(new java.io.ByteArrayInputStream(bundle.getBundleData()))) {
-                ZipEntry entry;
-                Map<String, byte[]> artifactFiles = new HashMap<>();
-
-                // First pass: Extract all files
-                while ((entry = zis.getNextEntry()) != null) {
-                    if (!entry.isDirectory()) {
-                        byte[] fileData = zis.readAllBytes();
-                        artifactFiles.put(entry.getName(), fileData);
-                        log.debug("Extracted: {}", entry.getName());
-                    }
-                }
-
-                // Deploy BPMN processes
-                List<Map<String, Object>> processes = (List<Map<String, Object>>) artifacts.get("processes");
-                if (processes != null) {
-                    for (Map<String, Object> process : processes) {
-                        String filePath = (String) process.get("file");
-                        String processKey = (String) process.get("key");
-
-                        if (artifactFiles.containsKey(filePath)) {
-                            try {
-                                // Create MultipartFile from bytes
-                                byte[] bpmnXml = artifactFiles.get(filePath);
-                                MockMultipartFile bpmnFile = new MockMultipartFile(
-                                        "file",
-                                        processKey + ".bpmn20.xml",
-                                        "application/xml",
-                                        bpmnXml);
-
-                                // Deploy to workflow engine
-                                workflowEngineClient.createDeployment(
-                                        deploymentName + " - " + processKey,
-                                        bpmnFile);
-
-                                deployedArtifacts.get("processes").add(processKey);
-                                log.info("Deployed process: {}", processKey);
-                            } catch (Exception e) {
-                                log.error("Failed to deploy process: {}", processKey, e);
-                                throw new RuntimeException("Process deployment failed: " + processKey, e);
-                            }
-                        }
-                    }
-                }
-
-                // Deploy DMN decisions
-                List<Map<String, Object>> decisions = (List<Map<String, Object>>) artifacts.get("decisions");
-                if (decisions != null) {
-                    for (Map<String, Object> decision : decisions) {
-                        String filePath = (String) decision.get("file");
-                        String decisionKey = (String) decision.get("key");
-
-                        if (artifactFiles.containsKey(filePath)) {
-                            try {
-                                byte[] dmnXml = artifactFiles.get(filePath);
-                                MockMultipartFile dmnFile = new MockMultipartFile(
-                                        "file",
-                                        decisionKey + ".dmn",
-                                        "application/xml",
-                                        dmnXml);
-
-                                // Deploy to decision engine
-                                decisionEngineClient.createDeployment(
-                                        deploymentName + " - " + decisionKey,
-                                        dmnFile);
-
-                                deployedArtifacts.get("decisions").add(decisionKey);
-                                log.info("Deployed decision: {}", decisionKey);
-                            } catch (Exception e) {
-                                log.error("Failed to deploy decision: {}", decisionKey, e);
-                                throw new RuntimeException("Decision deployment failed: " + decisionKey, e);
-                            }
-                        }
-                    }
-                }
-
-                // Deploy forms
-                List<Map<String, Object>> forms = (List<Map<String, Object>>) artifacts.get("forms");
-                if (forms != null) {
-                    for (Map<String, Object> form : forms) {
-                        String filePath = (String) form.get("file");
-                        String formKey = (String) form.get("key");
-
-                        if (artifactFiles.containsKey(filePath)) {
-                            try {
-                                String formJson = new String(artifactFiles.get(filePath));
-                                // Forms are already deployed via FormDefinitionService during export
-                                // Just verify they exist
-                                formDefinitionService.getLatestFormByKey(formKey);
-                                deployedArtifacts.get("forms").add(formKey);
-                                log.info("Verified form: {}", formKey);
-                            } catch (Exception e) {
-                                log.warn("Form not found, will be skipped: {}", formKey);
-                            }
-                        }
-                    }
-                }
-            }
-
-            // Update bundle status
-            bundle.setStatus(AppBundle.BundleStatus.DEPLOYED);
-            bundle.setDeployedAt(LocalDateTime.now());
-            bundle.setDeploymentId(UUID.randomUUID().toString());
-            bundleRepository.save(bundle);
-
-            result.put("success", true);
-            result.put("deployedArtifacts", deployedArtifacts);
-            result.put("status", "SUCCESS");
-            result.put("deploymentId", bundle.getDeploymentId());
-            result.put("timestamp", LocalDateTime.now());
-
-            log.info("Bundle deployed successfully: {}", bundleId);
-            return result;
-
-        } catch (Exception e) {
-            log.error("Error deploying bundle", e);
-            bundle.setStatus(AppBundle.BundleStatus.FAILED);
-            bundle.setDeploymentError(e.getMessage());
-            bundleRepository.save(bundle);
-            throw new RuntimeException("Failed to deploy bundle: " + e.getMessage(), e);
+    @Override
+    public BundleDeploymentProgress getDeploymentProgress(String jobId) {
+        BundleDeploymentProgress progress = deploymentPipeline.getProgress(jobId);
+        if (progress == null) {
+            throw new RuntimeException("Deployment job not found: " + jobId);
         }
+        return progress;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public byte[] downloadBundle(String bundleId) {
+    public Resource downloadBundle(String bundleId) {
         log.debug("Downloading bundle: {}", bundleId);
         AppBundle bundle = bundleRepository.findById(bundleId)
                 .orElseThrow(() -> new RuntimeException("Bundle not found: " + bundleId));
-        return bundle.getBundleData();
+        try {
+            String archiveKey = bundle.getEntriesJson() != null
+                    ? contentStore.archive(bundle.getId(), readIndex(bundle))
+                    : bundle.getStorageKey();
+            return blobStore.resource(archiveKey);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read bundle archive: " + e.getMessage(), e);
+        }
     }
 
     @Override
     @Transactional
     public void deleteBundle(String bundleId) {
         log.info("Deleting bundle: {}", bundleId);
-        if (!bundleRepository.existsById(bundleId)) {
-            throw new RuntimeException("Bundle not found: " + bundleId);
+        AppBundle bundle = bundleRepository.findById(bundleId)
+                .orElseThrow(() -> new RuntimeException("Bundle not found: " + bundleId));
+        revisionRepository.deleteByBundleId(bundleId);
+        bundleRepository.delete(bundle);
+
+        // Entry objects may be shared with other bundles; unreferenced ones are garbage collected
+        deleteBlobAfterCommit(bundle.getStorageKey());
+        if (bundle.getEntriesJson() != null) {
+            deleteBlobAfterCommit(contentStore.archiveKey(bundleId, readIndex(bundle)));
         }
-        bundleRepository.deleteById(bundleId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BundleDiffResponse diffBundle(String bundleId, String fromVersion, String toVersion) {
+        List<AppBundleRevision> revisions = revisionRepository.findByBundleIdOrderByCreatedAtDesc(bundleId);
+        if (revisions.isEmpty()) {
+            throw new RuntimeException("No revisions stored for bundle: " + bundleId);
+        }
+
+        AppBundleRevision to = toVersion != null ? revision(revisions, toVersion) : revisions.get(0);
+        AppBundleRevision from;
+        if (fromVersion != null) {
+            from = revision(revisions, fromVersion);
+        } else {
+            // Default to the revision stored just before the target one
+            int position = revisions.indexOf(to);
+            from = position + 1 < revisions.size() ? revisions.get(position + 1) : null;
+        }
+
+        Map<String, String> toIndex = readIndex(to.getEntriesJson());
+        Map<String, String> fromIndex = from != null ? readIndex(from.getEntriesJson()) : Map.of();
+        BundleContentStore.Diff diff = BundleContentStore.diff(fromIndex, toIndex);
+
+        return BundleDiffResponse.builder()
+                .bundleId(bundleId)
+                .fromVersion(from != null ? from.getVersion() : null)
+                .toVersion(to.getVersion())
+                .added(diff.added())
+                .removed(diff.removed())
+                .changed(diff.changed())
+                .unchanged(diff.unchanged().size())
+                .build();
     }
 
     @Override
@@ -394,49 +370,127 @@ public class AppBundleServiceImpl implements AppBundleService {
                 .toList();
     }
 
-    private byte[] createZipArchive(CreateBundleRequest request, Map<String, Object> manifest) throws Exception {
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        try (ZipOutputStream zos = new ZipOutputStream(baos)) {
-
-            // Add manifest.json
-            ZipEntry manifestEntry = new ZipEntry("manifest.json");
-            zos.putNextEntry(manifestEntry);
-            zos.write(objectMapper.writeValueAsBytes(manifest));
-            zos.closeEntry();
-
-            // Add forms
-            if (request.getFormKeys() != null) {
-                for (String formKey : request.getFormKeys()) {
-                    try {
-                        var form = formDefinitionService.getLatestFormByKey(formKey);
-                        ZipEntry formEntry = new ZipEntry("forms/" + formKey + ".json");
-                        zos.putNextEntry(formEntry);
-                        // Convert form schema Map to JSON bytes
-                        String schemaJson = objectMapper.writeValueAsString(form.getSchema());
-                        zos.write(schemaJson.getBytes());
-                        zos.closeEntry();
-                    } catch (Exception e) {
-                        log.warn("Could not add form: {}", formKey, e);
-                    }
+    private Map<String, byte[]> buildEntries(CreateBundleRequest request, Map<String, Object> manifest)
+            throws IOException {
+        Map<String, byte[]> entries = new TreeMap<>();
+
+        // Add manifest.json
+        entries.put(MANIFEST_ENTRY, objectMapper.writeValueAsBytes(manifest));
+
+        // Add forms
+        if (request.getFormKeys() != null) {
+            for (String formKey : request.getFormKeys()) {
+                try {
+                    var form = formDefinitionService.getLatestFormByKey(formKey);
+                    // Convert form schema Map to JSON bytes
+                    String schemaJson = objectMapper.writeValueAsString(form.getSchema());
+                    entries.put("forms/" + formKey + ".json", schemaJson.getBytes());
+                } catch (Exception e) {
+                    log.warn("Could not add form: {}", formKey, e);
                 }
             }
+        }
+
+        // TODO: Add BPMN processes, DMN decisions, etc.
 
-            // TODO: Add BPMN processes, DMN decisions, etc.
+        return entries;
+    }
+
+    private void saveRevision(AppBundle bundle, int newEntries) {
+        revisionRepository.save(AppBundleRevision.builder()
+                .bundleId(bundle.getId())
+                .version(bundle.getVersion())
+                .entriesJson(bundle.getEntriesJson())
+                .newEntries(newEntries)
+                .build());
+    }
+
+    private AppBundleRevision revision(List<AppBundleRevision> revisions, String version) {
+        return revisions.stream()
+                .filter(revision -> revision.getVersion().equals(version))
+                .findFirst()
+                .orElseThrow(() -> new RuntimeException("Bundle version not found: " + version));
+    }
+
+    private Map<String, String> readIndex(AppBundle bundle) {
+        return readIndex(bundle.getEntriesJson());
+    }
+
+    private Map<String, String> readIndex(String entriesJson) {
+        try {
+            return objectMapper.readValue(entriesJson, INDEX_TYPE);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read bundle entry index: " + e.getMessage(), e);
         }
-        return baos.toByteArray();
     }
 
-    private Map<String, Object> extractManifest(byte[] zipData) throws Exception {
-        try (ZipInputStream zis = new ZipInputStream(new java.io.ByteArrayInputStream(zipData))) {
-            ZipEntry entry;
-            while ((entry = zis.getNextEntry()) != null) {
-                if ("manifest.json".equals(entry.getName())) {
-                    byte[] manifestBytes = zis.readAllBytes();
-                    return objectMapper.readValue(manifestBytes, Map.class);
-                }
+    private void deleteBlobAfterCommit(String storageKey) {
+        if (storageKey == null) {
+            return;
+        }
+        // Only drop the blob once the row change is committed for good
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                deleteBlobQuietly(storageKey);
             }
+        });
+    }
+
+    private void deleteBlobQuietly(String storageKey) {
+        if (storageKey == null) {
+            return;
+        }
+        try {
+            blobStore.delete(storageKey);
+        } catch (Exception e) {
+            log.warn("Could not delete bundle archive {}: {}", storageKey, e.getMessage());
         }
-        throw new RuntimeException("manifest.json not found in bundle");
+    }
+
+    /**
+     * Copies artifact counts from the manifest onto the entity for the listing projection
+     */
+    @SuppressWarnings("unchecked")
+    private void applyArtifactCounts(AppBundle bundle, Map<String, Object> manifest) {
+        Map<String, Object> artifacts = manifest.get("artifacts") instanceof Map<?, ?> map
+                ? (Map<String, Object>) map
+                : Map.of();
+        int processes = artifacts.get("processes") instanceof List<?> list ? list.size() : 0;
+        int forms = artifacts.get("forms") instanceof List<?> list ? list.size() : 0;
+        int decisions = artifacts.get("decisions") instanceof List<?> list ? list.size() : 0;
+        bundle.setProcessCount(processes);
+        bundle.setFormCount(forms);
+        bundle.setDecisionCount(decisions);
+        bundle.setArtifactCount(processes + forms + decisions);
+    }
+
+    private AppBundleResponse mapSummaryToResponse(AppBundleSummary summary) {
+        Map<String, Integer> artifactCounts = new HashMap<>();
+        artifactCounts.put("processes", summary.getProcessCount() != null ? summary.getProcessCount() : 0);
+        artifactCounts.put("forms", summary.getFormCount() != null ? summary.getFormCount() : 0);
+        artifactCounts.put("decisions", summary.getDecisionCount() != null ? summary.getDecisionCount() : 0);
+
+        return AppBundleResponse.builder()
+                .id(summary.getId())
+                .key(summary.getKey())
+                .name(summary.getName())
+                .version(summary.getVersion())
+                .description(summary.getDescription())
+                .author(summary.getAuthor())
+                .category(summary.getCategory())
+                .status(summary.getStatus().name())
+                .bundleSize(summary.getBundleSize())
+                .artifactCount(summary.getArtifactCount())
+                .createdAt(summary.getCreatedAt())
+                .updatedAt(summary.getUpdatedAt())
+                .deployedAt(summary.getDeployedAt())
+                .createdBy(summary.getCreatedBy())
+                .deploymentId(summary.getDeploymentId())
+                .manifest(AppBundleResponse.ManifestSummary.builder()
+                        .artifactCounts(artifactCounts)
+                        .build())
+                .build();
     }
 
     private AppBundleResponse mapToResponse(AppBundle bundle) {
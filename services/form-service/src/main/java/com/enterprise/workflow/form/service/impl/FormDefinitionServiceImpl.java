@@ -6,6 +6,8 @@ import com.enterprise.workflow.form.entity.FormSubmission;
 import com.enterprise.workflow.form.repository.FormDefinitionRepository;
 import com.enterprise.workflow.form.repository.FormSubmissionRepository;
 import com.enterprise.workflow.form.service.FormDefinitionService;
+import com.enterprise.workflow.form.service.FormModel;
+import com.fasterxml.jackson.core.type.TypeReference;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -28,9 +30,13 @@ import java.util.stream.Collectors;
 @Transactional
 public class FormDefinitionServiceImpl implements FormDefinitionService {
 
+    private static final TypeReference<Map<String, Object>> SUBMISSION_DATA_TYPE = new TypeReference<>() {};
+
     private final FormDefinitionRepository formRepository;
     private final FormSubmissionRepository submissionRepository;
     private final com.enterprise.workflow.form.service.JsonSchemaValidatorService validatorService;
+    private final com.enterprise.workflow.form.service.FormModelCache formModels;
+    private final com.enterprise.workflow.form.service.statistics.FormFieldStatisticsService fieldStatistics;
     private final com.enterprise.workflow.form.client.TaskServiceClient taskClient;
     private final com.fasterxml.jackson.databind.ObjectMapper objectMapper;
 
@@ -81,9 +87,13 @@ public class FormDefinitionServiceImpl implements FormDefinitionService {
     @Override
     @Transactional(readOnly = true)
     public FormDefinitionResponse getForm(String formId) {
-        return formRepository.findById(formId)
-                .map(this::mapToResponse)
-                .orElseThrow(() -> new RuntimeException("Form not found: " + formId));
+        return formModels.get(formId).toResponse();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public byte[] getFormJson(String formId) {
+        return formModels.get(formId).getResponseJson();
     }
 
     @Override
@@ -123,7 +133,9 @@ public class FormDefinitionServiceImpl implements FormDefinitionService {
             }
         }
 
-        form = formRepository.save(form);
+        // Flush so @PreUpdate sets updatedAt before the model is cached with it
+        form = formRepository.saveAndFlush(form);
+        formModels.invalidate(formId);
         return mapToResponse(form);
     }
 
@@ -131,6 +143,7 @@ public class FormDefinitionServiceImpl implements FormDefinitionService {
     public void deleteForm(String formId) {
         log.debug("Deleting form: {}", formId);
         formRepository.deleteById(formId);
+        formModels.invalidate(formId);
     }
 
     @Override
@@ -140,24 +153,14 @@ public class FormDefinitionServiceImpl implements FormDefinitionService {
                 .orElseThrow(() -> new RuntimeException("Form not found: " + formId));
 
         return formRepository.findByKeyOrderByVersionDesc(form.getKey()).stream()
-                .map(f -> {
-                    Map<String, Object> schemaMap = null;
-                    try {
-                        if (f.getSchema() != null) {
-                            schemaMap = objectMapper.readValue(f.getSchema(), Map.class);
-                        }
-                    } catch (Exception e) {
-                        log.error("Failed to parse schema for version {}", f.getVersion(), e);
-                    }
-                    return FormVersionResponse.builder()
+                .map(f -> FormVersionResponse.builder()
                         .id(f.getId())
                         .formId(formId)
                         .version(f.getVersion())
-                        .schema(schemaMap)
+                        .schema(formModels.of(f).getSchema())
                         .createdAt(f.getCreatedAt())
                         .createdBy(f.getCreatedBy())
-                        .build();
-                })
+                        .build())
                 .collect(Collectors.toList());
     }
 
@@ -181,6 +184,7 @@ public class FormDefinitionServiceImpl implements FormDefinitionService {
                 .build();
 
         newVersion = formRepository.save(newVersion);
+        formModels.invalidate(formId);
         return mapToResponse(newVersion);
     }
 
@@ -188,25 +192,27 @@ public class FormDefinitionServiceImpl implements FormDefinitionService {
     public FormSubmissionResponse submitForm(String formId, FormSubmissionRequest request) {
         log.debug("Submitting form: {}", formId);
 
-        FormDefinition form = formRepository.findById(formId)
-                .orElseThrow(() -> new RuntimeException("Form not found: " + formId));
+        FormModel form = formModels.get(formId);
+
+        // Validate before submission
+        var validationResponse = validate(form, request);
+        if (!validationResponse.isValid()) {
+            throw new IllegalArgumentException("Form validation failed: " + validationResponse.getErrors());
+        }
 
         FormSubmission submission = FormSubmission.builder()
                 .formId(formId)
                 .formVersion(form.getVersion())
-                .data(request.getData())
+                .data(request.getData() != null
+                        ? objectMapper.convertValue(request.getData(), SUBMISSION_DATA_TYPE)
+                        : null)
                 .processInstanceId(request.getProcessInstanceId())
                 .taskId(request.getTaskId())
                 .submittedBy(getCurrentUser())
                 .build();
 
-        // Validate before submission
-        var validationResponse = validateForm(formId, request);
-        if (!validationResponse.isValid()) {
-            throw new IllegalArgumentException("Form validation failed: " + validationResponse.getErrors());
-        }
-
         submission = submissionRepository.save(submission);
+        fieldStatistics.recordAfterCommit(submission.getId(), form.getKey(), submission.getData());
         return mapSubmissionToResponse(submission);
     }
 
@@ -226,24 +232,9 @@ public class FormDefinitionServiceImpl implements FormDefinitionService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public FormValidationResponse validateForm(String formId, FormSubmissionRequest request) {
-        // Basic validation - can be extended with form.io validation logic
-        FormDefinition form = formRepository.findById(formId)
-                .orElseThrow(() -> new RuntimeException("Form not found: " + formId));
-
-        Map<String, Object> schemaMap;
-        try {
-            schemaMap = objectMapper.readValue(form.getSchema(), Map.class);
-        } catch (Exception e) {
-            throw new RuntimeException("Invalid stored schema JSON for form: " + formId, e);
-        }
-
-        List<FormValidationResponse.FieldError> errors = validatorService.validate(schemaMap, request.getData());
-
-        return FormValidationResponse.builder()
-                .valid(errors.isEmpty())
-                .errors(errors)
-                .build();
+        return validate(formModels.get(formId), request);
     }
 
     @Override
@@ -275,31 +266,25 @@ public class FormDefinitionServiceImpl implements FormDefinitionService {
         }
     }
 
-    private FormDefinitionResponse mapToResponse(FormDefinition form) {
-        Map<String, Object> schemaMap = null;
-        try {
-            if (form.getSchema() != null) {
-                schemaMap = objectMapper.readValue(form.getSchema(), Map.class);
-            }
-        } catch (Exception e) {
-            log.error("Failed to parse form schema JSON for form {}", form.getId(), e);
+    private FormValidationResponse validate(FormModel form, FormSubmissionRequest request) {
+        // Basic validation - can be extended with form.io validation logic
+        if (form.getCompiledSchema() == null) {
+            throw new RuntimeException("Invalid stored schema JSON for form: " + form.getId());
         }
 
-        return FormDefinitionResponse.builder()
-                .id(form.getId())
-                .key(form.getKey())
-                .name(form.getName())
-                .description(form.getDescription())
-                .category(form.getCategory())
-                .version(form.getVersion())
-                .schema(schemaMap)
-                .published(form.isPublished())
-                .createdAt(form.getCreatedAt())
-                .updatedAt(form.getUpdatedAt())
-                .createdBy(form.getCreatedBy())
+        List<FormValidationResponse.FieldError> errors =
+                validatorService.validate(form.getCompiledSchema(), request.getData());
+
+        return FormValidationResponse.builder()
+                .valid(errors.isEmpty())
+                .errors(errors)
                 .build();
     }
 
+    private FormDefinitionResponse mapToResponse(FormDefinition form) {
+        return formModels.of(form).toResponse();
+    }
+
     private FormSubmissionResponse mapSubmissionToResponse(FormSubmission submission) {
         return FormSubmissionResponse.builder()
                 .id(submission.getId())
@@ -0,0 +1,90 @@
+package com.enterprise.workflow.form.service.statistics;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Count-min sketch over string values.
+ *
+ * Estimates how often a value occurred in fixed memory ({@code depth * width} counters);
+ * estimates never undercount and overcount by at most {@code 2N / width} with probability
+ * {@code 1 - 2^-depth}, where N is the total count. Not thread-safe.
+ */
+class CountMinSketch {
+
+    private final int depth;
+    private final int width;
+    private final long[] counters;
+
+    CountMinSketch(int depth, int width) {
+        this(depth, width, new long[depth * width]);
+    }
+
+    private CountMinSketch(int depth, int width, long[] counters) {
+        if (depth < 1 || width < 1 || counters.length != depth * width) {
+            throw new IllegalArgumentException("Invalid count-min sketch dimensions " + depth + "x" + width);
+        }
+        this.depth = depth;
+        this.width = width;
+        this.counters = counters;
+    }
+
+    static CountMinSketch restore(int depth, int width, long[] counters) {
+        return new CountMinSketch(depth, width, counters.clone());
+    }
+
+    /**
+     * Adds one occurrence and returns the new estimate for the value.
+     */
+    long add(String value) {
+        long hash = hash(value);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int index = row * width + bucket(hash, row);
+            estimate = Math.min(estimate, ++counters[index]);
+        }
+        return estimate;
+    }
+
+    long estimate(String value) {
+        long hash = hash(value);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters[row * width + bucket(hash, row)]);
+        }
+        return estimate;
+    }
+
+    int getDepth() {
+        return depth;
+    }
+
+    int getWidth() {
+        return width;
+    }
+
+    long[] getCounters() {
+        return counters.clone();
+    }
+
+    private int bucket(long hash, int row) {
+        // Kirsch-Mitzenmacher: row hashes derived from the two halves of one 64-bit hash
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        return Math.floorMod(h1 + row * h2, width);
+    }
+
+    private static long hash(String value) {
+        // 64-bit FNV-1a followed by a murmur finalizer for better high-bit mixing
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
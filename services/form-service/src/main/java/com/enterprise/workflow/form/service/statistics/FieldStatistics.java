@@ -0,0 +1,152 @@
+package com.enterprise.workflow.form.service.statistics;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Running statistics of one form field: response count, numeric summary and frequent values.
+ *
+ * Frequent values are tracked as a top-K over count-min estimates: every value updates the
+ * sketch, and a value enters the top-K once its estimate exceeds the smallest tracked count.
+ * Memory per field is bounded by the sketch size plus K entries, however many distinct values
+ * the field has.
+ */
+class FieldStatistics {
+
+    private static final int MAX_VALUE_LENGTH = 200;
+
+    private final int topK;
+    private final CountMinSketch sketch;
+    private final Map<String, Long> topValues;
+    private long responseCount;
+    private long numericCount;
+    private double numericSum;
+    private double numericMin = Double.POSITIVE_INFINITY;
+    private double numericMax = Double.NEGATIVE_INFINITY;
+    private String valueType;
+
+    FieldStatistics(int topK, int sketchDepth, int sketchWidth) {
+        this(topK, new CountMinSketch(sketchDepth, sketchWidth), new HashMap<>());
+    }
+
+    private FieldStatistics(int topK, CountMinSketch sketch, Map<String, Long> topValues) {
+        this.topK = topK;
+        this.sketch = sketch;
+        this.topValues = topValues;
+    }
+
+    /**
+     * Records one response; arrays (multi-select fields) contribute each element as a value.
+     */
+    synchronized void record(Object value) {
+        if (value == null) {
+            return;
+        }
+        responseCount++;
+        if (value instanceof Iterable<?> values) {
+            valueType = "array";
+            for (Object element : values) {
+                if (element != null) {
+                    count(element.toString());
+                }
+            }
+            return;
+        }
+        if (value instanceof Number number) {
+            double numeric = number.doubleValue();
+            numericCount++;
+            numericSum += numeric;
+            numericMin = Math.min(numericMin, numeric);
+            numericMax = Math.max(numericMax, numeric);
+            valueType = valueType == null || "number".equals(valueType) ? "number" : "mixed";
+        } else {
+            String type = value instanceof Boolean ? "boolean" : "string";
+            valueType = valueType == null || type.equals(valueType) ? type : "mixed";
+        }
+        count(value.toString());
+    }
+
+    private void count(String raw) {
+        String value = raw.length() > MAX_VALUE_LENGTH ? raw.substring(0, MAX_VALUE_LENGTH) : raw;
+        long estimate = sketch.add(value);
+        if (topValues.containsKey(value) || topValues.size() < topK) {
+            topValues.put(value, estimate);
+            return;
+        }
+        Map.Entry<String, Long> smallest = null;
+        for (Map.Entry<String, Long> entry : topValues.entrySet()) {
+            if (smallest == null || entry.getValue() < smallest.getValue()) {
+                smallest = entry;
+            }
+        }
+        if (smallest != null && estimate > smallest.getValue()) {
+            topValues.remove(smallest.getKey());
+            topValues.put(value, estimate);
+        }
+    }
+
+    synchronized long getResponseCount() {
+        return responseCount;
+    }
+
+    synchronized String getValueType() {
+        return valueType;
+    }
+
+    synchronized Double averageNumericValue() {
+        return numericCount > 0 ? numericSum / numericCount : null;
+    }
+
+    synchronized Double minNumericValue() {
+        return numericCount > 0 ? numericMin : null;
+    }
+
+    synchronized Double maxNumericValue() {
+        return numericCount > 0 ? numericMax : null;
+    }
+
+    /**
+     * Frequent values with their estimated counts, most frequent first.
+     */
+    synchronized Map<String, Long> distribution() {
+        Map<String, Long> sorted = new LinkedHashMap<>();
+        topValues.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        return sorted;
+    }
+
+    synchronized long estimate(String value) {
+        return sketch.estimate(value);
+    }
+
+    synchronized Snapshot snapshot() {
+        return new Snapshot(responseCount, numericCount, numericSum,
+                numericCount > 0 ? numericMin : null, numericCount > 0 ? numericMax : null, valueType,
+                new HashMap<>(topValues), sketch.getDepth(), sketch.getWidth(), sketch.getCounters());
+    }
+
+    static FieldStatistics restore(int topK, Snapshot snapshot) {
+        FieldStatistics statistics = new FieldStatistics(topK,
+                CountMinSketch.restore(snapshot.sketchDepth(), snapshot.sketchWidth(), snapshot.sketch()),
+                new HashMap<>(snapshot.topValues()));
+        statistics.responseCount = snapshot.responseCount();
+        statistics.numericCount = snapshot.numericCount();
+        statistics.numericSum = snapshot.numericSum();
+        statistics.numericMin = snapshot.numericMin() != null ? snapshot.numericMin() : Double.POSITIVE_INFINITY;
+        statistics.numericMax = snapshot.numericMax() != null ? snapshot.numericMax() : Double.NEGATIVE_INFINITY;
+        statistics.valueType = snapshot.valueType();
+        return statistics;
+    }
+
+    /**
+     * Serialized form written to statistics snapshots.
+     */
+    record Snapshot(long responseCount, long numericCount, double numericSum, Double numericMin,
+            Double numericMax, String valueType, Map<String, Long> topValues,
+            int sketchDepth, int sketchWidth, long[] sketch) {
+    }
+}
@@ -0,0 +1,397 @@
+package com.enterprise.workflow.form.service.statistics;
+
+import com.enterprise.workflow.form.config.FieldStatisticsProperties;
+import com.enterprise.workflow.form.dto.FormFieldStatisticsResponse;
+import com.enterprise.workflow.form.repository.FormDefinitionRepository;
+import com.enterprise.workflow.form.service.FormModel;
+import com.enterprise.workflow.form.service.FormModelCache;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Maintains value statistics per form key and field, served to form analytics from memory.
+ *
+ * Every committed submission updates the statistics of its form in place, so reads never
+ * scan {@code form_submissions}. The state is written to a JSON snapshot every
+ * {@code forms.statistics.snapshot-interval}; at startup the snapshot is loaded and
+ * submissions newer than it are replayed, or, without a snapshot, everything is rebuilt
+ * from the table. Statistics are held per node: with several replicas each one counts
+ * its own submissions until the next rebuild.
+ *
+ * Submissions are ordered by the database-assigned {@code submission_seq}, not by clock.
+ * A snapshot records the highest sequence that was committed one snapshot earlier and the
+ * ids recorded since then; a restore replays newer sequences except those ids. This is
+ * exact as long as no submission transaction stays open for a whole snapshot interval.
+ * Rebuilds and replays scan in one repeatable-read transaction while submissions that
+ * commit meanwhile are buffered; once the scan is swapped in, the buffered submissions
+ * its snapshot did not see are applied to it, so none is lost or counted twice.
+ */
+@Component
+@Slf4j
+public class FormFieldStatisticsService {
+
+    private static final String SNAPSHOT_FILE = "form-field-statistics.json";
+    private static final int FETCH_SIZE = 1000;
+    private static final TypeReference<Map<String, Object>> DATA_TYPE = new TypeReference<>() {
+    };
+
+    private final FieldStatisticsProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final FormDefinitionRepository formRepository;
+    private final FormModelCache formModels;
+    private final ObjectMapper objectMapper;
+    private final Path snapshotFile;
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private volatile Map<String, FormStatistics> forms = new ConcurrentHashMap<>();
+
+    /** Submissions recorded while a scan runs, by id; null when no scan runs. */
+    private Map<String, Submission> scanBuffer;
+    /** Highest sequence committed when the previous snapshot was taken or the last scan started. */
+    private long watermark;
+    private Set<String> previousIds = ConcurrentHashMap.newKeySet();
+    private Set<String> recordedIds = ConcurrentHashMap.newKeySet();
+
+    public FormFieldStatisticsService(FieldStatisticsProperties properties,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            FormDefinitionRepository formRepository,
+            FormModelCache formModels,
+            ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.formRepository = formRepository;
+        this.formModels = formModels;
+        this.objectMapper = objectMapper;
+        this.snapshotFile = Path.of(properties.getSnapshotDirectory()).toAbsolutePath().normalize()
+                .resolve(SNAPSHOT_FILE);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void restore() {
+        try {
+            if (Files.exists(snapshotFile)) {
+                Snapshot snapshot = objectMapper.readValue(snapshotFile.toFile(), Snapshot.class);
+                if (snapshot.recordedIds() != null) {
+                    Map<String, FormStatistics> restored = new ConcurrentHashMap<>();
+                    snapshot.forms().forEach((key, form) ->
+                            restored.put(key, FormStatistics.restore(form, properties)));
+                    long replayed = load(restored, snapshot.watermark(), Set.copyOf(snapshot.recordedIds()));
+                    log.info("Restored field statistics of {} forms from snapshot at sequence {},"
+                            + " replayed {} newer submissions", restored.size(), snapshot.watermark(), replayed);
+                    return;
+                }
+                log.info("Ignoring field statistics snapshot {} without a sequence watermark", snapshotFile);
+            }
+        } catch (Exception e) {
+            log.warn("Could not restore field statistics snapshot {}: {}", snapshotFile, e.getMessage());
+        }
+        if (properties.isRebuildOnStartup()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Records a submission once the surrounding transaction commits.
+     */
+    public void recordAfterCommit(String submissionId, String formKey, Map<String, Object> data) {
+        Submission submission = new Submission(submissionId, formKey, data);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recordCommitted(submission);
+                }
+            });
+        } else {
+            recordCommitted(submission);
+        }
+    }
+
+    /**
+     * Recomputes all statistics from {@code form_submissions} and swaps them in.
+     *
+     * @return Number of submissions scanned
+     */
+    public synchronized long rebuild() {
+        long start = System.nanoTime();
+        Map<String, FormStatistics> rebuilt = new ConcurrentHashMap<>();
+        long scanned = load(rebuilt, null, Set.of());
+        log.info("Rebuilt field statistics of {} forms from {} submissions in {} ms",
+                rebuilt.size(), scanned, (System.nanoTime() - start) / 1_000_000);
+        return scanned;
+    }
+
+    public FormFieldStatisticsResponse getStatistics(String formKey, Collection<String> fieldIds) {
+        FormStatistics form = forms.get(formKey);
+        Map<String, FormModel.Field> declared = declaredFields(formKey);
+
+        List<FormFieldStatisticsResponse.FieldStatistics> fields = new ArrayList<>();
+        if (form != null) {
+            form.fields.forEach((fieldId, statistics) -> {
+                if (fieldIds != null && !fieldIds.isEmpty() && !fieldIds.contains(fieldId)) {
+                    return;
+                }
+                FormModel.Field field = declared.get(fieldId);
+                Map<String, Long> distribution = statistics.distribution();
+                fields.add(FormFieldStatisticsResponse.FieldStatistics.builder()
+                        .fieldId(fieldId)
+                        .label(field != null ? field.getLabel() : null)
+                        .type(field != null && field.getType() != null ? field.getType() : statistics.getValueType())
+                        .responseCount(statistics.getResponseCount())
+                        .mostCommonValue(distribution.isEmpty() ? null : distribution.keySet().iterator().next())
+                        .avgNumericValue(statistics.averageNumericValue())
+                        .minNumericValue(statistics.minNumericValue())
+                        .maxNumericValue(statistics.maxNumericValue())
+                        .distribution(distribution)
+                        .build());
+            });
+        }
+
+        return FormFieldStatisticsResponse.builder()
+                .formKey(formKey)
+                .submissionCount(form != null ? form.submissionCount.get() : 0)
+                .fields(fields)
+                .build();
+    }
+
+    @Scheduled(fixedDelayString = "${forms.statistics.snapshot-interval:PT5M}",
+            initialDelayString = "${forms.statistics.snapshot-interval:PT5M}")
+    public synchronized void writeSnapshot() {
+        if (!dirty.getAndSet(false)) {
+            return;
+        }
+        Long committed = jdbcTemplate.queryForObject(
+                "select coalesce(max(submission_seq), 0) from form_submissions", Long.class);
+        Snapshot snapshot;
+        swapLock.writeLock().lock();
+        try {
+            Map<String, FormSnapshot> snapshots = new HashMap<>();
+            forms.forEach((key, form) -> snapshots.put(key, form.snapshot()));
+            Set<String> ids = new HashSet<>(previousIds);
+            ids.addAll(recordedIds);
+            snapshot = new Snapshot(watermark, ids, snapshots);
+            previousIds = recordedIds;
+            recordedIds = ConcurrentHashMap.newKeySet();
+            watermark = committed != null ? committed : 0;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+        try {
+            Files.createDirectories(snapshotFile.getParent());
+            Path temp = snapshotFile.resolveSibling(SNAPSHOT_FILE + ".tmp");
+            objectMapper.writeValue(temp.toFile(), snapshot);
+            Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            dirty.set(true);
+            log.warn("Could not write field statistics snapshot {}: {}", snapshotFile, e.getMessage());
+        }
+    }
+
+    private void recordCommitted(Submission submission) {
+        swapLock.readLock().lock();
+        try {
+            if (scanBuffer != null) {
+                scanBuffer.put(submission.id(), submission);
+            }
+            record(forms, submission.formKey(), submission.data());
+            recordedIds.add(submission.id());
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Scans submissions after a sequence into {@code target} and swaps it in, then applies
+     * the submissions recorded during the scan that its snapshot did not include.
+     *
+     * @return Number of submissions scanned
+     */
+    private long load(Map<String, FormStatistics> target, Long after, Set<String> skip) {
+        swapLock.writeLock().lock();
+        try {
+            scanBuffer = new ConcurrentHashMap<>();
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+
+        AtomicLong scanned = new AtomicLong();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                // The first statement fixes the snapshot every later statement of the transaction reads
+                Long committed = jdbcTemplate.queryForObject(
+                        "select coalesce(max(submission_seq), 0) from form_submissions", Long.class);
+                scan(after, skip, target, scanned);
+
+                Map<String, Submission> buffered;
+                swapLock.writeLock().lock();
+                try {
+                    buffered = scanBuffer;
+                    scanBuffer = null;
+                    forms = target;
+                    watermark = committed != null ? committed : 0;
+                    previousIds = ConcurrentHashMap.newKeySet();
+                    recordedIds = ConcurrentHashMap.newKeySet();
+                } finally {
+                    swapLock.writeLock().unlock();
+                }
+                buffered.keySet().removeAll(visible(buffered.keySet()));
+                buffered.values().forEach(this::recordCommitted);
+                dirty.set(true);
+            });
+        } finally {
+            swapLock.writeLock().lock();
+            try {
+                scanBuffer = null;
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+        }
+        return scanned.get();
+    }
+
+    private void scan(Long after, Set<String> skip, Map<String, FormStatistics> target, AtomicLong scanned) {
+        String sql = "select s.id, d.form_key, s.data from form_submissions s"
+                + " join form_definitions d on d.id = s.form_id"
+                + (after != null ? " where s.submission_seq > ?" : "");
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setFetchSize(FETCH_SIZE);
+            if (after != null) {
+                statement.setLong(1, after);
+            }
+            return statement;
+        }, rs -> {
+            if (skip.contains(rs.getString("id"))) {
+                return;
+            }
+            String data = rs.getString("data");
+            record(target, rs.getString("form_key"), data != null ? parse(data) : null);
+            scanned.incrementAndGet();
+        });
+    }
+
+    /**
+     * The given submission ids that the current transaction's snapshot includes.
+     */
+    private Set<String> visible(Set<String> ids) {
+        Set<String> visible = new HashSet<>();
+        if (ids.isEmpty()) {
+            return visible;
+        }
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "select id from form_submissions where id = any(?)");
+            statement.setArray(1, connection.createArrayOf("varchar", ids.toArray()));
+            return statement;
+        }, rs -> {
+            visible.add(rs.getString("id"));
+        });
+        return visible;
+    }
+
+    private void record(Map<String, FormStatistics> target, String formKey, Map<String, Object> data) {
+        if (formKey == null) {
+            return;
+        }
+        FormStatistics form = target.computeIfAbsent(formKey, key -> new FormStatistics());
+        form.submissionCount.incrementAndGet();
+        if (data != null) {
+            flatten("", data, form);
+        }
+        dirty.set(true);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void flatten(String prefix, Map<String, Object> values, FormStatistics form) {
+        values.forEach((key, value) -> {
+            String fieldId = prefix + key;
+            if (value instanceof Map<?, ?> nested) {
+                flatten(fieldId + ".", (Map<String, Object>) nested, form);
+            } else {
+                form.fields.computeIfAbsent(fieldId, id -> new FieldStatistics(
+                        properties.getTopK(), properties.getSketchDepth(), properties.getSketchWidth()))
+                        .record(value);
+            }
+        });
+    }
+
+    private Map<String, FormModel.Field> declaredFields(String formKey) {
+        Map<String, FormModel.Field> fields = new LinkedHashMap<>();
+        formRepository.findLatestByKey(formKey).ifPresent(latest ->
+                formModels.of(latest).getFields().forEach(field -> fields.put(field.getKey(), field)));
+        return fields;
+    }
+
+    private Map<String, Object> parse(String json) {
+        try {
+            return objectMapper.readValue(json, DATA_TYPE);
+        } catch (JsonProcessingException e) {
+            log.warn("Skipping unreadable submission data: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static class FormStatistics {
+        private final AtomicLong submissionCount = new AtomicLong();
+        private final Map<String, FieldStatistics> fields = new ConcurrentHashMap<>();
+
+        FormSnapshot snapshot() {
+            Map<String, FieldStatistics.Snapshot> snapshots = new HashMap<>();
+            fields.forEach((fieldId, statistics) -> snapshots.put(fieldId, statistics.snapshot()));
+            return new FormSnapshot(submissionCount.get(), snapshots);
+        }
+
+        static FormStatistics restore(FormSnapshot snapshot, FieldStatisticsProperties properties) {
+            FormStatistics form = new FormStatistics();
+            form.submissionCount.set(snapshot.submissionCount());
+            snapshot.fields().forEach((fieldId, field) ->
+                    form.fields.put(fieldId, FieldStatistics.restore(properties.getTopK(), field)));
+            return form;
+        }
+    }
+
+    record Submission(String id, String formKey, Map<String, Object> data) {
+    }
+
+    record Snapshot(long watermark, Set<String> recordedIds, Map<String, FormSnapshot> forms) {
+    }
+
+    record FormSnapshot(long submissionCount, Map<String, FieldStatistics.Snapshot> fields) {
+    }
+}
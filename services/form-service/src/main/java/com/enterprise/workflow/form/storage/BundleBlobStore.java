@@ -0,0 +1,73 @@
+package com.enterprise.workflow.form.storage;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+
+/**
+ * Storage for bundle archives and other large binary content, kept outside the database.
+ *
+ * All access is streaming: callers write into and read from the store without
+ * ever materialising a whole blob on the heap.
+ */
+public interface BundleBlobStore {
+
+    /**
+     * Writes a blob under {@code key}, replacing any existing one. The blob only
+     * becomes visible once {@code writer} has returned successfully.
+     *
+     * @return the number of bytes stored
+     */
+    long write(String key, BlobWriter writer) throws IOException;
+
+    /**
+     * Copies a stream into the store.
+     *
+     * @return the number of bytes stored
+     */
+    default long write(String key, InputStream content) throws IOException {
+        return write(key, content::transferTo);
+    }
+
+    InputStream open(String key) throws IOException;
+
+    /**
+     * Returns the blob as a resource that web responses can stream directly from the store.
+     */
+    Resource resource(String key) throws IOException;
+
+    /**
+     * Runs {@code action} with the blob available as a local file, e.g. for random
+     * access through {@link java.util.zip.ZipFile}. Remote stores download to a
+     * temporary file that is removed afterwards.
+     */
+    <T> T withLocalFile(String key, LocalFileAction<T> action) throws IOException;
+
+    boolean exists(String key) throws IOException;
+
+    void delete(String key) throws IOException;
+
+    /**
+     * Calls {@code action} with the key of every blob starting with {@code prefix}, in no
+     * particular order. Blobs written or deleted meanwhile may or may not be seen.
+     */
+    void forEachKey(String prefix, KeyAction action) throws IOException;
+
+    @FunctionalInterface
+    interface BlobWriter {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    @FunctionalInterface
+    interface LocalFileAction<T> {
+        T apply(Path file) throws IOException;
+    }
+
+    @FunctionalInterface
+    interface KeyAction {
+        void accept(String key) throws IOException;
+    }
+}
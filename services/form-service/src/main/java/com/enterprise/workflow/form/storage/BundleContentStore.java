@@ -0,0 +1,276 @@
+package com.enterprise.workflow.form.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Content-addressed storage of bundle entries on top of the {@link BundleBlobStore}.
+ *
+ * Every entry is stored once under the SHA-256 of its bytes. A bundle version is
+ * just an index of entry path to hash, so importing a version that shares most
+ * entries with an earlier one only writes the changed entries, and two versions
+ * can be diffed by comparing their indexes. Archives are assembled from the
+ * objects on demand and cached per bundle under the hash of its index, so
+ * deleting one bundle's archive never affects another bundle with the same entries.
+ *
+ * Objects are shared between bundles and revisions and are never deleted with
+ * them; {@link #collectGarbage} removes the ones nothing references any more.
+ */
+@Component
+@Slf4j
+public class BundleContentStore {
+
+    private static final String OBJECTS = "objects/";
+    private static final String ARCHIVES = "archives/";
+
+    private final BundleBlobStore blobStore;
+    /** Guards {@link #condemned} and {@link #claimed}, and each check-and-delete of a condemned key. */
+    private final Object claimLock = new Object();
+    /** Keys found unreferenced by the previous collection; only these may be deleted by the next. */
+    private Set<String> condemned = new HashSet<>();
+    /** Keys written or reused since the running collection started. */
+    private final Set<String> claimed = new HashSet<>();
+
+    public BundleContentStore(BundleBlobStore blobStore) {
+        this.blobStore = blobStore;
+    }
+
+    /**
+     * Reads a ZIP archive once, storing every entry not already present.
+     */
+    public ImportResult importArchive(InputStream archive) throws IOException {
+        Map<String, String> index = new TreeMap<>();
+        int storedObjects = 0;
+        long storedBytes = 0;
+
+        try (ZipInputStream zis = new ZipInputStream(archive)) {
+            ZipEntry entry;
+            while ((entry = zis.getNextEntry()) != null) {
+                if (entry.isDirectory()) {
+                    continue;
+                }
+                // Spool while hashing: the key is only known once the entry has been read
+                Path spool = Files.createTempFile("bundle-entry-", ".tmp");
+                try {
+                    MessageDigest digest = sha256();
+                    try (OutputStream out = new DigestOutputStream(Files.newOutputStream(spool), digest)) {
+                        zis.transferTo(out);
+                    }
+                    String hash = HexFormat.of().formatHex(digest.digest());
+                    index.put(entry.getName(), hash);
+                    if (!claim(objectKey(hash))) {
+                        try (InputStream in = Files.newInputStream(spool)) {
+                            storedBytes += blobStore.write(objectKey(hash), in);
+                        }
+                        storedObjects++;
+                    }
+                } finally {
+                    Files.deleteIfExists(spool);
+                }
+            }
+        }
+        log.info("Imported {} bundle entries, {} new objects ({} bytes)", index.size(), storedObjects, storedBytes);
+        return new ImportResult(index, storedObjects, storedBytes);
+    }
+
+    /**
+     * Stores one entry unless identical content is already present.
+     */
+    public Stored put(byte[] content) throws IOException {
+        String hash = HexFormat.of().formatHex(sha256().digest(content));
+        if (claim(objectKey(hash))) {
+            return new Stored(hash, false);
+        }
+        blobStore.write(objectKey(hash), new ByteArrayInputStream(content));
+        return new Stored(hash, true);
+    }
+
+    public InputStream open(String hash) throws IOException {
+        return blobStore.open(objectKey(hash));
+    }
+
+    public BundleEntries entries(Map<String, String> index) {
+        return new BundleEntries() {
+            @Override
+            public boolean contains(String path) {
+                return index.containsKey(path);
+            }
+
+            @Override
+            public InputStream open(String path) throws IOException {
+                String hash = index.get(path);
+                if (hash == null) {
+                    throw new IOException("Entry not found in bundle: " + path);
+                }
+                return BundleContentStore.this.open(hash);
+            }
+        };
+    }
+
+    /**
+     * Returns the blob key of the ZIP archive of a bundle's index, assembling it on first use.
+     */
+    public String archive(String bundleId, Map<String, String> index) throws IOException {
+        String key = archiveKey(bundleId, index);
+        if (!claim(key)) {
+            blobStore.write(key, out -> writeArchive(index, out));
+        }
+        return key;
+    }
+
+    public String archiveKey(String bundleId, Map<String, String> index) {
+        StringBuilder canonical = new StringBuilder();
+        new TreeMap<>(index).forEach((path, hash) -> canonical.append(path).append('\0').append(hash).append('\n'));
+        String hash = HexFormat.of().formatHex(sha256().digest(canonical.toString().getBytes(StandardCharsets.UTF_8)));
+        return ARCHIVES + bundleId + "/" + hash + ".zip";
+    }
+
+    /**
+     * Deletes objects whose hash is not in {@code liveHashes} and archives whose key is not
+     * in {@code liveArchives}.
+     *
+     * A blob is only deleted once two consecutive collections found it unreferenced and
+     * nothing wrote or reused it in between: writing or reusing a blob takes it off the
+     * condemned set, so the earliest collection that may delete it is the second one to
+     * start afterwards. An import that commits within one collection interval of storing
+     * its entries therefore never loses them; collections must run further apart than
+     * the longest import.
+     */
+    public synchronized GarbageCollection collectGarbage(Set<String> liveHashes, Set<String> liveArchives)
+            throws IOException {
+        synchronized (claimLock) {
+            claimed.clear();
+        }
+        Set<String> unreferenced = new HashSet<>();
+        blobStore.forEachKey(OBJECTS, key -> {
+            if (!liveHashes.contains(key.substring(key.lastIndexOf('/') + 1))) {
+                unreferenced.add(key);
+            }
+        });
+        blobStore.forEachKey(ARCHIVES, key -> {
+            if (!liveArchives.contains(key)) {
+                unreferenced.add(key);
+            }
+        });
+
+        int deletedObjects = 0;
+        int deletedArchives = 0;
+        Set<String> pending = new HashSet<>();
+        for (String key : unreferenced) {
+            synchronized (claimLock) {
+                if (!condemned.contains(key)) {
+                    pending.add(key);
+                    continue;
+                }
+                blobStore.delete(key);
+            }
+            if (key.startsWith(OBJECTS)) {
+                deletedObjects++;
+            } else {
+                deletedArchives++;
+            }
+        }
+        synchronized (claimLock) {
+            pending.removeAll(claimed);
+            condemned = pending;
+        }
+        return new GarbageCollection(deletedObjects, deletedArchives, pending.size());
+    }
+
+    /**
+     * Compares two indexes by path and hash, without reading any content.
+     */
+    public static Diff diff(Map<String, String> from, Map<String, String> to) {
+        List<String> added = new ArrayList<>();
+        List<String> removed = new ArrayList<>();
+        List<String> changed = new ArrayList<>();
+        List<String> unchanged = new ArrayList<>();
+        new TreeMap<>(to).forEach((path, hash) -> {
+            String previous = from.get(path);
+            if (previous == null) {
+                added.add(path);
+            } else if (previous.equals(hash)) {
+                unchanged.add(path);
+            } else {
+                changed.add(path);
+            }
+        });
+        new TreeMap<>(from).keySet().stream().filter(path -> !to.containsKey(path)).forEach(removed::add);
+        return new Diff(added, removed, changed, unchanged);
+    }
+
+    /**
+     * Protects {@code key} from the next deletion before it is written or reused, and
+     * returns whether it already exists. Once a key is claimed no collection deletes it
+     * until a later one again finds it unreferenced twice; a delete already under way
+     * finishes first, so the existence check then sees the key gone and it is rewritten.
+     */
+    private boolean claim(String key) throws IOException {
+        synchronized (claimLock) {
+            condemned.remove(key);
+            claimed.add(key);
+        }
+        return blobStore.exists(key);
+    }
+
+    private void writeArchive(Map<String, String> index, OutputStream out) throws IOException {
+        // The blob store owns the target stream, so finish the archive without closing it
+        ZipOutputStream zos = new ZipOutputStream(out);
+        for (Map.Entry<String, String> entry : new TreeMap<>(index).entrySet()) {
+            zos.putNextEntry(new ZipEntry(entry.getKey()));
+            try (InputStream in = open(entry.getValue())) {
+                in.transferTo(zos);
+            }
+            zos.closeEntry();
+        }
+        zos.finish();
+    }
+
+    private static String objectKey(String hash) {
+        return OBJECTS + hash.substring(0, 2) + "/" + hash;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public record Stored(String hash, boolean created) {
+    }
+
+    public record ImportResult(Map<String, String> index, int storedObjects, long storedBytes) {
+    }
+
+    /**
+     * @param pending unreferenced blobs kept until the next collection confirms them
+     */
+    public record GarbageCollection(int deletedObjects, int deletedArchives, int pending) {
+    }
+
+    public record Diff(List<String> added, List<String> removed, List<String> changed, List<String> unchanged) {
+    }
+}
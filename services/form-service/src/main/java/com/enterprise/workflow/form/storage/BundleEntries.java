@@ -0,0 +1,41 @@
+package com.enterprise.workflow.form.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Read access to the entries of one bundle version by path, independent of
+ * whether they come from a ZIP archive or from content-addressed objects.
+ */
+public interface BundleEntries {
+
+    boolean contains(String path);
+
+    InputStream open(String path) throws IOException;
+
+    default byte[] read(String path) throws IOException {
+        try (InputStream in = open(path)) {
+            return in.readAllBytes();
+        }
+    }
+
+    static BundleEntries of(ZipFile zip) {
+        return new BundleEntries() {
+            @Override
+            public boolean contains(String path) {
+                return zip.getEntry(path) != null;
+            }
+
+            @Override
+            public InputStream open(String path) throws IOException {
+                ZipEntry entry = zip.getEntry(path);
+                if (entry == null) {
+                    throw new IOException("Entry not found in archive: " + path);
+                }
+                return zip.getInputStream(entry);
+            }
+        };
+    }
+}
@@ -0,0 +1,138 @@
+package com.enterprise.workflow.form.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.core.sync.ResponseTransformer;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.S3Object;
+import software.amazon.awssdk.services.s3.paginators.ListObjectsV2Iterable;
+
+import java.io.BufferedOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Blob store on an S3-compatible object store (AWS S3, MinIO, Ceph RGW).
+ *
+ * Uploads are spooled to a temporary file first so the object can be sent with a
+ * known length in a single PUT; downloads stream straight from the object.
+ */
+@Slf4j
+public class S3BundleBlobStore implements BundleBlobStore {
+
+    private final S3Client client;
+    private final String bucket;
+    private final String prefix;
+
+    public S3BundleBlobStore(S3Client client, String bucket, String prefix) {
+        this.client = client;
+        this.bucket = bucket;
+        this.prefix = prefix == null || prefix.isEmpty() || prefix.endsWith("/") ? nullToEmpty(prefix) : prefix + "/";
+        log.info("Bundle blob store at s3://{}/{}", bucket, this.prefix);
+    }
+
+    @Override
+    public long write(String key, BlobWriter writer) throws IOException {
+        Path temp = Files.createTempFile("bundle-blob-", ".tmp");
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                writer.writeTo(out);
+            }
+            client.putObject(builder -> builder.bucket(bucket).key(objectKey(key)), RequestBody.fromFile(temp));
+            return Files.size(temp);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        return get(key);
+    }
+
+    @Override
+    public Resource resource(String key) throws IOException {
+        ResponseInputStream<GetObjectResponse> stream = get(key);
+        long length = stream.response().contentLength();
+        return new InputStreamResource(stream) {
+            @Override
+            public long contentLength() {
+                return length;
+            }
+        };
+    }
+
+    @Override
+    public <T> T withLocalFile(String key, LocalFileAction<T> action) throws IOException {
+        Path directory = Files.createTempDirectory("bundle-blob-");
+        Path file = directory.resolve("blob");
+        try {
+            client.getObject(request(key), ResponseTransformer.toFile(file));
+            return action.apply(file);
+        } catch (NoSuchKeyException e) {
+            throw new FileNotFoundException("Blob not found: " + key);
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    @Override
+    public boolean exists(String key) {
+        try {
+            client.headObject(HeadObjectRequest.builder().bucket(bucket).key(objectKey(key)).build());
+            return true;
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void delete(String key) {
+        client.deleteObject(builder -> builder.bucket(bucket).key(objectKey(key)));
+    }
+
+    @Override
+    public void forEachKey(String prefix, KeyAction action) throws IOException {
+        ListObjectsV2Iterable pages = client.listObjectsV2Paginator(
+                builder -> builder.bucket(bucket).prefix(objectKey(prefix)));
+        for (S3Object object : pages.contents()) {
+            action.accept(object.key().substring(this.prefix.length()));
+        }
+    }
+
+    private ResponseInputStream<GetObjectResponse> get(String key) throws IOException {
+        try {
+            return client.getObject(request(key));
+        } catch (NoSuchKeyException e) {
+            throw new FileNotFoundException("Blob not found: " + key);
+        }
+    }
+
+    private GetObjectRequest request(String key) {
+        return GetObjectRequest.builder().bucket(bucket).key(objectKey(key)).build();
+    }
+
+    private String objectKey(String key) {
+        return prefix + key;
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
@@ -0,0 +1,83 @@
+package com.enterprise.workflow.form.controller;
+
+import com.enterprise.workflow.form.dto.AppBundleResponse;
+import com.enterprise.workflow.form.service.AppBundleService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AppBundleControllerTest {
+
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 50);
+
+    private AppBundleService bundleService;
+    private AppBundleController controller;
+
+    @BeforeEach
+    void setUp() {
+        bundleService = mock(AppBundleService.class);
+        controller = new AppBundleController(bundleService);
+        when(bundleService.getBundleListVersion()).thenReturn("3-2024-05-01T10:00");
+        when(bundleService.listBundles(any(Pageable.class))).thenAnswer(call -> new PageImpl<>(
+                List.of(AppBundleResponse.builder().id("bundle-1").build()), call.getArgument(0), 1));
+    }
+
+    @Test
+    void testIfNoneMatchIsComparedTagByTag() {
+        String etag = controller.listBundles(FIRST_PAGE, null).getHeaders().getETag();
+        String opaque = etag.substring(1, etag.length() - 1);
+
+        for (String matching : new String[] {etag, "W/" + etag, "\"other\", " + etag, "*"}) {
+            ResponseEntity<Page<AppBundleResponse>> response = controller.listBundles(FIRST_PAGE, matching);
+            assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode(), matching);
+            assertEquals(etag, response.getHeaders().getETag(), matching);
+            assertNull(response.getBody(), matching);
+        }
+
+        // A header merely containing the current tag does not match it
+        for (String other : new String[] {"\"" + etag + "\"", "\"" + opaque + "-gzip\", \"stale\""}) {
+            ResponseEntity<Page<AppBundleResponse>> response = controller.listBundles(FIRST_PAGE, other);
+            assertEquals(HttpStatus.OK, response.getStatusCode(), other);
+            assertEquals("bundle-1", response.getBody().getContent().get(0).getId(), other);
+        }
+    }
+
+    @Test
+    void testTagChangesWithTheListingAndThePage() {
+        String first = controller.listBundles(FIRST_PAGE, null).getHeaders().getETag();
+        String second = controller.listBundles(PageRequest.of(1, 50), null).getHeaders().getETag();
+        when(bundleService.getBundleListVersion()).thenReturn("4-2024-05-01T10:05");
+        String changed = controller.listBundles(FIRST_PAGE, null).getHeaders().getETag();
+
+        assertNotEquals(first, second);
+        assertNotEquals(first, changed);
+        assertEquals(HttpStatus.OK, controller.listBundles(FIRST_PAGE, first).getStatusCode());
+    }
+
+    @Test
+    void testNotModifiedSkipsThePageQuery() {
+        String etag = controller.listBundles(FIRST_PAGE, null).getHeaders().getETag();
+        bundleService = mock(AppBundleService.class);
+        controller = new AppBundleController(bundleService);
+        when(bundleService.getBundleListVersion()).thenReturn("3-2024-05-01T10:00");
+
+        assertEquals(HttpStatus.NOT_MODIFIED, controller.listBundles(FIRST_PAGE, etag).getStatusCode());
+        verify(bundleService, never()).listBundles(any(Pageable.class));
+    }
+}
@@ -0,0 +1,253 @@
+package com.enterprise.workflow.form.service;
+
+import com.enterprise.workflow.form.client.DecisionEngineClient;
+import com.enterprise.workflow.form.client.WorkflowEngineClient;
+import com.enterprise.workflow.form.config.BundleDeploymentProperties;
+import com.enterprise.workflow.form.dto.BundleDeploymentProgress;
+import com.enterprise.workflow.form.entity.AppBundle;
+import com.enterprise.workflow.form.repository.AppBundleRepository;
+import com.enterprise.workflow.form.storage.BundleContentStore;
+import com.enterprise.workflow.form.storage.FileSystemBundleBlobStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BundleDeploymentPipelineTest {
+
+    @TempDir
+    Path root;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<String> deployed = Collections.synchronizedList(new ArrayList<>());
+    private AppBundleRepository bundleRepository;
+    private WorkflowEngineClient workflowEngineClient;
+    private DecisionEngineClient decisionEngineClient;
+    private BundleContentStore contentStore;
+    private BundleDeploymentProperties properties;
+    private BundleDeploymentPipeline pipeline;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        bundleRepository = mock(AppBundleRepository.class);
+        workflowEngineClient = mock(WorkflowEngineClient.class);
+        decisionEngineClient = mock(DecisionEngineClient.class);
+        FileSystemBundleBlobStore blobStore = new FileSystemBundleBlobStore(root);
+        contentStore = new BundleContentStore(blobStore);
+        properties = new BundleDeploymentProperties();
+        properties.setMaxResourcesPerDeployment(1);
+        pipeline = new BundleDeploymentPipeline(bundleRepository, blobStore, contentStore, workflowEngineClient,
+                decisionEngineClient, mock(FormDefinitionService.class), objectMapper, properties);
+
+        when(decisionEngineClient.createDeployment(anyString(), any(MultipartFile[].class))).thenAnswer(call -> {
+            // Slow enough that a process not waiting for its decision would deploy first
+            Thread.sleep(50);
+            return record(call.getArgument(1));
+        });
+        when(workflowEngineClient.createDeployment(anyString(), any(MultipartFile[].class)))
+                .thenAnswer(call -> record(call.getArgument(1)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        pipeline.shutdown();
+    }
+
+    @Test
+    void testProcessesWaitOnlyForTheDecisionsTheyCall() throws IOException {
+        AppBundle bundle = bundle();
+
+        pipeline.start(bundle.getId(), "Loans");
+        BundleDeploymentProgress progress = awaitOutcome(bundle);
+
+        assertEquals("SUCCESS", progress.getStatus());
+        assertEquals(AppBundle.BundleStatus.DEPLOYED, bundle.getStatus());
+        assertEquals(List.of(
+                "1 decision [risk] []",
+                "2 decision [pricing] []",
+                "3 workflow [intake] []",
+                "4 workflow [audit] []",
+                "5 workflow [loan] [1]",
+                "6 workflow [quote] [2]",
+                "7 forms [application] []"), plan(progress));
+        assertTrue(deployed.indexOf("loan") > deployed.indexOf("risk"), deployed.toString());
+        assertTrue(deployed.indexOf("quote") > deployed.indexOf("pricing"), deployed.toString());
+    }
+
+    @Test
+    void testDependentsOfAFailedDecisionAreSkipped() throws IOException {
+        doAnswer(call -> {
+            MultipartFile[] files = call.getArgument(1);
+            if (files[0].getOriginalFilename().startsWith("risk")) {
+                throw new IllegalStateException("Invalid decision table");
+            }
+            return record(files);
+        }).when(decisionEngineClient).createDeployment(anyString(), any(MultipartFile[].class));
+        AppBundle bundle = bundle();
+
+        pipeline.start(bundle.getId(), "Loans");
+        BundleDeploymentProgress progress = awaitOutcome(bundle);
+
+        assertEquals("FAILED", progress.getStatus());
+        assertEquals("2 deployment unit(s) did not deploy", progress.getError());
+        assertEquals(AppBundle.BundleStatus.FAILED, bundle.getStatus());
+        assertEquals(5, progress.getCompletedUnits());
+        assertEquals(2, progress.getFailedUnits());
+        Map<String, BundleDeploymentProgress.Unit> units = new LinkedHashMap<>();
+        progress.getUnits().forEach(unit -> units.put(unit.getArtifactKeys().get(0), unit));
+        assertEquals("FAILED", units.get("risk").getStatus());
+        assertEquals("Invalid decision table", units.get("risk").getError());
+        assertEquals("SKIPPED", units.get("loan").getStatus());
+        assertEquals("A dependency failed to deploy", units.get("loan").getError());
+        assertEquals("DEPLOYED", units.get("quote").getStatus());
+        assertFalse(deployed.contains("loan"));
+    }
+
+    @Test
+    void testGroupsOfDependentProcessesWaitForEveryCalledDecision() throws IOException {
+        properties.setMaxResourcesPerDeployment(2);
+        AppBundle bundle = bundle();
+
+        pipeline.start(bundle.getId(), "Loans");
+        BundleDeploymentProgress progress = awaitOutcome(bundle);
+
+        assertEquals(List.of(
+                "1 decision [risk, pricing] []",
+                "2 workflow [intake, audit] []",
+                "3 workflow [loan, quote] [1]",
+                "4 forms [application] []"), plan(progress));
+    }
+
+    @Test
+    void testStaleDeployingStatusDoesNotBlockButARunningDeploymentDoes() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(call -> {
+            release.await(10, TimeUnit.SECONDS);
+            return record(call.getArgument(1));
+        }).when(workflowEngineClient).createDeployment(anyString(), any(MultipartFile[].class));
+        AppBundle bundle = bundle();
+        // Left behind by a node that restarted mid-deployment
+        bundle.setStatus(AppBundle.BundleStatus.DEPLOYING);
+        assertFalse(pipeline.isDeploying(bundle.getId()));
+
+        pipeline.start(bundle.getId(), "Loans");
+
+        assertTrue(pipeline.isDeploying(bundle.getId()));
+        assertThrows(IllegalStateException.class, () -> pipeline.start(bundle.getId(), "Loans"));
+        release.countDown();
+        assertEquals("SUCCESS", awaitOutcome(bundle).getStatus());
+        // Released right after the outcome is saved
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (pipeline.isDeploying(bundle.getId()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertFalse(pipeline.isDeploying(bundle.getId()));
+    }
+
+    /**
+     * Two decisions and four processes: loan calls risk by attribute, quote calls pricing by
+     * field injection, audit calls only an expression and a decision from elsewhere.
+     */
+    private AppBundle bundle() throws IOException {
+        Map<String, String> files = new LinkedHashMap<>();
+        files.put("manifest.json", """
+                {"id": "loans", "artifacts": {
+                  "decisions": [{"key": "risk", "file": "decisions/risk.dmn"},
+                                {"key": "pricing", "file": "decisions/pricing.dmn"}],
+                  "processes": [{"key": "loan", "file": "processes/loan.bpmn20.xml"},
+                                {"key": "intake", "file": "processes/intake.bpmn20.xml"},
+                                {"key": "quote", "file": "processes/quote.bpmn20.xml"},
+                                {"key": "audit", "file": "processes/audit.bpmn20.xml"},
+                                {"key": "missing", "file": "processes/missing.bpmn20.xml"}],
+                  "forms": [{"key": "application", "file": "forms/application.json"}]}}""");
+        files.put("decisions/risk.dmn", "<definitions/>");
+        files.put("decisions/pricing.dmn", "<definitions/>");
+        files.put("processes/loan.bpmn20.xml",
+                "<businessRuleTask id=\"check\" activiti:decisionRef = \"risk\"/>");
+        files.put("processes/intake.bpmn20.xml", "<userTask id=\"review\"/>");
+        files.put("processes/quote.bpmn20.xml", """
+                <serviceTask id="price">
+                  <activiti:field name="decisionTableReferenceKey">
+                    <activiti:string><![CDATA[ pricing ]]></activiti:string>
+                  </activiti:field>
+                </serviceTask>""");
+        files.put("processes/audit.bpmn20.xml",
+                "<businessRuleTask decisionRef=\"${auditDecision}\"/><callActivity decisionKey=\"external\"/>");
+        files.put("forms/application.json", "{}");
+        Map<String, String> index = contentStore.importArchive(zip(files)).index();
+
+        AppBundle bundle = AppBundle.builder()
+                .id("bundle-1")
+                .key("loans")
+                .manifestJson(files.get("manifest.json"))
+                .entriesJson(objectMapper.writeValueAsString(index))
+                .status(AppBundle.BundleStatus.VALID)
+                .build();
+        when(bundleRepository.findById(bundle.getId())).thenReturn(Optional.of(bundle));
+        return bundle;
+    }
+
+    private BundleDeploymentProgress awaitOutcome(AppBundle bundle) {
+        // Saved once when marked DEPLOYING and once with the outcome
+        verify(bundleRepository, timeout(10_000).times(2)).save(bundle);
+        return pipeline.getProgress(bundle.getDeploymentId());
+    }
+
+    private Map<String, Object> record(MultipartFile[] files) {
+        for (MultipartFile file : files) {
+            String name = file.getOriginalFilename();
+            deployed.add(name.substring(0, name.indexOf('.')));
+        }
+        return Map.of("id", "deployment-" + deployed.size());
+    }
+
+    private static List<String> plan(BundleDeploymentProgress progress) {
+        return progress.getUnits().stream()
+                .map(unit -> unit.getId() + " " + unit.getEngine() + " " + unit.getArtifactKeys()
+                        + " " + unit.getDependsOn())
+                .toList();
+    }
+
+    private static ByteArrayInputStream zip(Map<String, String> files) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            for (Map.Entry<String, String> file : files.entrySet()) {
+                zip.putNextEntry(new ZipEntry(file.getKey()));
+                zip.write(file.getValue().getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+        return new ByteArrayInputStream(bytes.toByteArray());
+    }
+}
@@ -0,0 +1,54 @@
+package com.enterprise.workflow.form.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SubmissionFieldTest {
+
+    @Test
+    void testColumnsMapToSubmissionColumns() {
+        SubmissionField field = SubmissionField.parse("submittedAt");
+
+        assertTrue(field.isColumn());
+        assertEquals("submitted_at", field.column());
+        assertEquals("submitted_at", field.textExpression());
+        assertEquals("submitted_at", field.numericExpression());
+        assertEquals("to_jsonb(submitted_at)", field.jsonExpression());
+    }
+
+    @Test
+    void testDataPrefixIsOptional() {
+        SubmissionField prefixed = SubmissionField.parse("data.address.city");
+        SubmissionField plain = SubmissionField.parse("address.city");
+
+        assertFalse(prefixed.isColumn());
+        assertEquals(List.of("address", "city"), prefixed.path());
+        assertEquals(prefixed.path(), plain.path());
+        assertEquals(prefixed.textExpression(), plain.textExpression());
+    }
+
+    @Test
+    void testDataExpressions() {
+        SubmissionField field = SubmissionField.parse("order.total");
+
+        assertEquals("(data #>> '{order,total}')", field.textExpression());
+        assertEquals("(data #> '{order,total}')", field.jsonExpression());
+        assertEquals("(case when jsonb_typeof(data #> '{order,total}') = 'number'"
+                + " then (data #>> '{order,total}')::numeric end)", field.numericExpression());
+    }
+
+    @Test
+    void testRejectsUnsafeSegments() {
+        assertThrows(IllegalArgumentException.class, () -> SubmissionField.parse("a'); drop table x; --"));
+        assertThrows(IllegalArgumentException.class, () -> SubmissionField.parse("a..b"));
+        assertThrows(IllegalArgumentException.class, () -> SubmissionField.parse("a.}"));
+        assertThrows(IllegalArgumentException.class, () -> SubmissionField.parse(" "));
+        assertThrows(IllegalArgumentException.class, () -> SubmissionField.parse(null));
+    }
+}
@@ -0,0 +1,123 @@
+package com.enterprise.workflow.form.service;
+
+import com.enterprise.workflow.form.config.SubmissionQueryProperties;
+import com.enterprise.workflow.form.dto.SubmissionQueryRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class SubmissionQueryEngineTest {
+
+    private SubmissionFieldIndexer fieldIndexer;
+    private SubmissionQueryEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        fieldIndexer = mock(SubmissionFieldIndexer.class);
+        engine = new SubmissionQueryEngine(mock(JdbcTemplate.class), mock(PlatformTransactionManager.class),
+                fieldIndexer, new SubmissionQueryProperties(), new ObjectMapper());
+    }
+
+    @Test
+    void testEqualityCompilesToContainment() {
+        SubmissionQueryEngine.Where where = compile(filter("address.city", "eq", "Berlin"));
+
+        assertEquals("form_id = ? and data @> ?::jsonb", where.sql());
+        assertEquals(List.of("form-1", "{\"address\":{\"city\":\"Berlin\"}}"), where.params());
+        verify(fieldIndexer, never()).recordUse(anyString());
+    }
+
+    @Test
+    void testNotEqualAndMembership() {
+        SubmissionQueryEngine.Where where = compile(
+                filter("status", "ne", "closed"),
+                filter("priority", "in", List.of(1, 2)));
+
+        assertEquals("form_id = ? and not (data @> ?::jsonb)"
+                + " and (data @> ?::jsonb or data @> ?::jsonb)", where.sql());
+        assertEquals(List.of("form-1", "{\"status\":\"closed\"}", "{\"priority\":1}", "{\"priority\":2}"),
+                where.params());
+    }
+
+    @Test
+    void testRangeOnNumberUsesNumericExpressionAndCountsUse() {
+        SubmissionQueryEngine.Where where = compile(filter("amount", "gte", 100));
+
+        String expression = SubmissionField.parse("amount").numericExpression();
+        assertEquals("form_id = ? and " + expression + " >= ?", where.sql());
+        assertEquals(List.of("form-1", 100), where.params());
+        verify(fieldIndexer).recordUse(expression);
+    }
+
+    @Test
+    void testRangeOnTextUsesTextExpression() {
+        SubmissionQueryEngine.Where where = compile(filter("code", "lt", "M"));
+
+        assertEquals("form_id = ? and (data #>> '{code}') < ?", where.sql());
+        assertEquals(List.of("form-1", "M"), where.params());
+    }
+
+    @Test
+    void testColumnFiltersBindTypedValues() {
+        SubmissionQueryEngine.Where where = compile(
+                filter("submittedAt", "gte", "2024-01-01T00:00:00"),
+                filter("formVersion", "eq", "3"),
+                filter("submittedBy", "exists", null));
+
+        assertEquals("form_id = ? and submitted_at >= ? and form_version = ? and submitted_by is not null",
+                where.sql());
+        assertEquals(List.of("form-1", Timestamp.valueOf(LocalDateTime.of(2024, 1, 1, 0, 0)), 3), where.params());
+        verify(fieldIndexer, never()).recordUse(anyString());
+    }
+
+    @Test
+    void testContainsEscapesLikeWildcards() {
+        SubmissionQueryEngine.Where where = compile(filter("note", "contains", "50%_off"));
+
+        assertEquals("form_id = ? and (data #>> '{note}') ilike ?", where.sql());
+        assertEquals("%50\\%\\_off%", where.params().get(1));
+    }
+
+    @Test
+    void testFormKeySelectsEveryVersion() {
+        SubmissionQueryEngine.Where where = engine.compileWhere(SubmissionQueryRequest.builder()
+                .formKey("intake")
+                .build());
+
+        assertEquals("form_id in (select id from form_definitions where form_key = ?)", where.sql());
+        assertEquals(List.of("intake"), where.params());
+    }
+
+    @Test
+    void testInvalidRequestsAreRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> engine.compileWhere(SubmissionQueryRequest.builder().build()));
+        assertThrows(IllegalArgumentException.class, () -> compile(filter("a", "regex", "x")));
+        assertThrows(IllegalArgumentException.class, () -> compile(filter("a", "eq", null)));
+        assertThrows(IllegalArgumentException.class, () -> compile(filter("a", "in", List.of())));
+    }
+
+    private SubmissionQueryEngine.Where compile(SubmissionQueryRequest.Filter... filters) {
+        return engine.compileWhere(SubmissionQueryRequest.builder()
+                .formId("form-1")
+                .filters(List.of(filters))
+                .build());
+    }
+
+    private static SubmissionQueryRequest.Filter filter(String field, String operator, Object value) {
+        return new SubmissionQueryRequest.Filter(field, operator, value);
+    }
+}
@@ -0,0 +1,152 @@
+package com.enterprise.workflow.form.service.impl;
+
+import com.enterprise.workflow.form.dto.AppBundleResponse;
+import com.enterprise.workflow.form.dto.AppBundleSummary;
+import com.enterprise.workflow.form.entity.AppBundle;
+import com.enterprise.workflow.form.repository.AppBundleRepository;
+import com.enterprise.workflow.form.repository.AppBundleRevisionRepository;
+import com.enterprise.workflow.form.service.BundleDeploymentPipeline;
+import com.enterprise.workflow.form.service.FormDefinitionService;
+import com.enterprise.workflow.form.storage.BundleContentStore;
+import com.enterprise.workflow.form.storage.FileSystemBundleBlobStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AppBundleServiceImplTest {
+
+    private static final String MANIFEST = "{\"id\":\"loans\",\"name\":\"Loans\",\"version\":\"2\","
+            + "\"artifacts\":{\"forms\":[{\"key\":\"application\",\"file\":\"forms/application.json\"}]}}";
+
+    @TempDir
+    Path root;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private AppBundleRepository bundleRepository;
+    private BundleDeploymentPipeline deploymentPipeline;
+    private BundleContentStore contentStore;
+    private AppBundleServiceImpl service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        bundleRepository = mock(AppBundleRepository.class);
+        deploymentPipeline = mock(BundleDeploymentPipeline.class);
+        FileSystemBundleBlobStore blobStore = new FileSystemBundleBlobStore(root);
+        contentStore = new BundleContentStore(blobStore);
+        service = new AppBundleServiceImpl(bundleRepository, mock(FormDefinitionService.class), objectMapper,
+                blobStore, deploymentPipeline, contentStore, mock(AppBundleRevisionRepository.class));
+        when(bundleRepository.save(any(AppBundle.class))).thenAnswer(call -> call.getArgument(0));
+    }
+
+    @Test
+    void testImportIgnoresAStaleDeployingStatus() throws IOException {
+        // Left behind by a node that restarted mid-deployment; nothing is deploying now
+        AppBundle existing = existingBundle(AppBundle.BundleStatus.DEPLOYING);
+
+        AppBundle imported = service.importBundle(archive());
+
+        assertSame(existing, imported);
+        assertEquals(AppBundle.BundleStatus.VALID, imported.getStatus());
+        assertEquals("2", imported.getVersion());
+        assertEquals(1, imported.getFormCount());
+    }
+
+    @Test
+    void testImportIsRejectedWhileTheBundleDeploys() throws IOException {
+        AppBundle existing = existingBundle(AppBundle.BundleStatus.DEPLOYING);
+        when(deploymentPipeline.isDeploying(existing.getId())).thenReturn(true);
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> service.importBundle(archive()));
+
+        assertTrue(e.getMessage().contains("Bundle 'loans' is being deployed"), e.getMessage());
+        verify(bundleRepository, never()).save(any(AppBundle.class));
+    }
+
+    @Test
+    void testListingMapsTheProjectionWithoutTheManifest() {
+        LocalDateTime created = LocalDateTime.of(2024, 5, 1, 10, 0);
+        AppBundleSummary summary = new AppBundleSummary("bundle-1", "loans", "Loans", "2", "Loan origination",
+                "ops", "finance", AppBundle.BundleStatus.DEPLOYED, 2048L, 2, null, 1, 3, created, null, created,
+                "alice", "deployment-1");
+        Pageable pageable = PageRequest.of(0, 50);
+        when(bundleRepository.findSummaries(pageable)).thenReturn(new PageImpl<>(List.of(summary), pageable, 1));
+
+        Page<AppBundleResponse> page = service.listBundles(pageable);
+
+        AppBundleResponse response = page.getContent().get(0);
+        assertEquals(1, page.getTotalElements());
+        assertEquals("loans", response.getKey());
+        assertEquals("DEPLOYED", response.getStatus());
+        assertEquals(2048L, response.getBundleSize());
+        assertEquals(3, response.getArtifactCount());
+        assertEquals("deployment-1", response.getDeploymentId());
+        assertEquals(Map.of("processes", 2, "forms", 0, "decisions", 1), response.getManifest().getArtifactCounts());
+        verify(bundleRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    void testListVersionCombinesCountAndLatestChange() {
+        when(bundleRepository.findListingStamp()).thenReturn(
+                List.<Object[]>of(new Object[] {3L, LocalDateTime.of(2024, 5, 1, 10, 0)}),
+                List.<Object[]>of(new Object[] {0L, null}),
+                List.of());
+
+        assertEquals("3-2024-05-01T10:00", service.getBundleListVersion());
+        assertEquals("0-0", service.getBundleListVersion());
+        assertEquals("0-0", service.getBundleListVersion());
+    }
+
+    private AppBundle existingBundle(AppBundle.BundleStatus status) throws IOException {
+        // Same content as the archive, so no replaced archive is scheduled for deletion
+        Map<String, String> index = contentStore.importArchive(archive().getInputStream()).index();
+        AppBundle bundle = AppBundle.builder()
+                .id("bundle-1")
+                .key("loans")
+                .version("1")
+                .entriesJson(objectMapper.writeValueAsString(index))
+                .status(status)
+                .build();
+        when(bundleRepository.findByKey("loans")).thenReturn(Optional.of(bundle));
+        return bundle;
+    }
+
+    private static MockMultipartFile archive() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            zip.putNextEntry(new ZipEntry("manifest.json"));
+            zip.write(MANIFEST.getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+            zip.putNextEntry(new ZipEntry("forms/application.json"));
+            zip.write("{}".getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+        return new MockMultipartFile("file", "loans.zip", "application/zip", bytes.toByteArray());
+    }
+}
@@ -0,0 +1,82 @@
+package com.enterprise.workflow.form.service.impl;
+
+import com.enterprise.workflow.form.client.TaskServiceClient;
+import com.enterprise.workflow.form.config.FormCacheProperties;
+import com.enterprise.workflow.form.dto.FormDefinitionResponse;
+import com.enterprise.workflow.form.dto.UpdateFormRequest;
+import com.enterprise.workflow.form.entity.FormDefinition;
+import com.enterprise.workflow.form.repository.FormDefinitionRepository;
+import com.enterprise.workflow.form.repository.FormSubmissionRepository;
+import com.enterprise.workflow.form.service.FormModelCache;
+import com.enterprise.workflow.form.service.JsonSchemaValidatorService;
+import com.enterprise.workflow.form.service.statistics.FormFieldStatisticsService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FormDefinitionServiceImplTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2024, 5, 1, 10, 0);
+    private static final LocalDateTime FLUSHED = LocalDateTime.of(2024, 5, 2, 9, 30);
+
+    private FormDefinitionRepository formRepository;
+    private FormDefinitionServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        formRepository = mock(FormDefinitionRepository.class);
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        FormModelCache formModels = new FormModelCache(formRepository, mock(JsonSchemaValidatorService.class),
+                objectMapper, new FormCacheProperties(), new SimpleMeterRegistry());
+        service = new FormDefinitionServiceImpl(formRepository, mock(FormSubmissionRepository.class),
+                mock(JsonSchemaValidatorService.class), formModels, mock(FormFieldStatisticsService.class),
+                mock(TaskServiceClient.class), objectMapper);
+    }
+
+    @Test
+    void testUpdateCachesTheModelWithTheFlushedUpdateTime() {
+        FormDefinition form = FormDefinition.builder()
+                .id("form-1")
+                .key("application")
+                .name("Application")
+                .schema("{\"components\":[]}")
+                .version(1)
+                .createdAt(CREATED)
+                .updatedAt(CREATED)
+                .build();
+        when(formRepository.findById("form-1")).thenReturn(Optional.of(form));
+        when(formRepository.saveAndFlush(any(FormDefinition.class))).thenAnswer(call -> {
+            // @PreUpdate runs when the change is flushed
+            FormDefinition saved = call.getArgument(0);
+            saved.setUpdatedAt(FLUSHED);
+            return saved;
+        });
+        FormDefinitionRepository.FormRevision revision = mock(FormDefinitionRepository.FormRevision.class);
+        when(revision.getVersion()).thenReturn(1);
+        when(revision.getUpdatedAt()).thenReturn(FLUSHED);
+        when(formRepository.findRevisionById("form-1")).thenReturn(Optional.of(revision));
+
+        FormDefinitionResponse updated = service.updateForm("form-1",
+                UpdateFormRequest.builder().name("Loan application").build());
+        FormDefinitionResponse read = service.getForm("form-1");
+
+        assertEquals(FLUSHED, updated.getUpdatedAt());
+        assertEquals("Loan application", read.getName());
+        assertEquals(FLUSHED, read.getUpdatedAt());
+        // The model cached by the update is current, so the read does not load the row again
+        verify(formRepository, times(1)).findById("form-1");
+        verify(formRepository, never()).save(any(FormDefinition.class));
+    }
+}
@@ -0,0 +1,83 @@
+package com.enterprise.workflow.form.service.statistics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CountMinSketchTest {
+
+    @Test
+    void testFewValuesAreCountedExactly() {
+        CountMinSketch sketch = new CountMinSketch(4, 1024);
+
+        assertEquals(1, sketch.add("Berlin"));
+        assertEquals(2, sketch.add("Berlin"));
+        assertEquals(1, sketch.add("Paris"));
+        assertEquals(1, sketch.add("Zürich"));
+
+        assertEquals(2, sketch.estimate("Berlin"));
+        assertEquals(1, sketch.estimate("Paris"));
+        assertEquals(1, sketch.estimate("Zürich"));
+        assertEquals(0, sketch.estimate("Rome"));
+    }
+
+    @Test
+    void testEstimatesNeverUndercountAndStayWithinTheErrorBound() {
+        CountMinSketch sketch = new CountMinSketch(4, 64);
+        Map<String, Long> actual = new HashMap<>();
+        long total = 0;
+        // Skewed like real answers: value i occurs 1000 / (i + 1) times
+        for (int i = 0; i < 500; i++) {
+            for (int n = 0; n < 1000 / (i + 1); n++) {
+                sketch.add("value-" + i);
+                actual.merge("value-" + i, 1L, Long::sum);
+                total++;
+            }
+        }
+
+        long bound = 2 * total / 64;
+        int withinBound = 0;
+        for (Map.Entry<String, Long> entry : actual.entrySet()) {
+            long estimate = sketch.estimate(entry.getKey());
+            assertTrue(estimate >= entry.getValue(), entry.getKey());
+            if (estimate <= entry.getValue() + bound) {
+                withinBound++;
+            }
+        }
+        // Each estimate is within the bound with probability 1 - 2^-4
+        assertTrue(withinBound >= actual.size() * 0.9, withinBound + " of " + actual.size());
+        assertTrue(sketch.estimate("value-0") <= 1000 + bound);
+    }
+
+    @Test
+    void testRestoreContinuesFromACopyOfTheCounters() {
+        CountMinSketch sketch = new CountMinSketch(2, 16);
+        sketch.add("a");
+        sketch.add("a");
+        long[] counters = sketch.getCounters();
+
+        CountMinSketch restored = CountMinSketch.restore(2, 16, counters);
+        counters[0] = 99;
+        sketch.getCounters()[0] = 99;
+
+        assertEquals(2, restored.getDepth());
+        assertEquals(16, restored.getWidth());
+        assertEquals(2, restored.estimate("a"));
+        assertEquals(3, restored.add("a"));
+        assertEquals(2, sketch.estimate("a"));
+        assertArrayEquals(new long[32], new CountMinSketch(2, 16).getCounters());
+    }
+
+    @Test
+    void testInvalidDimensionsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new CountMinSketch(0, 16));
+        assertThrows(IllegalArgumentException.class, () -> new CountMinSketch(4, 0));
+        assertThrows(IllegalArgumentException.class, () -> CountMinSketch.restore(4, 16, new long[16]));
+    }
+}
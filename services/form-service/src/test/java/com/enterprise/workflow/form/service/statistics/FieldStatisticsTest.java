@@ -0,0 +1,143 @@
+package com.enterprise.workflow.form.service.statistics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class FieldStatisticsTest {
+
+    @Test
+    void testNumericSummary() {
+        FieldStatistics statistics = new FieldStatistics(20, 4, 1024);
+        assertNull(statistics.averageNumericValue());
+        assertNull(statistics.minNumericValue());
+
+        statistics.record(1);
+        statistics.record(2.5);
+        statistics.record(null);
+        statistics.record(4L);
+
+        assertEquals(3, statistics.getResponseCount());
+        assertEquals("number", statistics.getValueType());
+        assertEquals(2.5, statistics.averageNumericValue(), 1e-9);
+        assertEquals(1.0, statistics.minNumericValue());
+        assertEquals(4.0, statistics.maxNumericValue());
+    }
+
+    @Test
+    void testValueTypes() {
+        FieldStatistics flags = new FieldStatistics(20, 4, 1024);
+        flags.record(true);
+        flags.record(false);
+        FieldStatistics mixed = new FieldStatistics(20, 4, 1024);
+        mixed.record(42);
+        mixed.record("n/a");
+
+        assertEquals("boolean", flags.getValueType());
+        assertEquals(Map.of("true", 1L, "false", 1L), flags.distribution());
+        assertEquals("mixed", mixed.getValueType());
+        assertEquals(42.0, mixed.averageNumericValue());
+    }
+
+    @Test
+    void testMultiSelectCountsEachElement() {
+        FieldStatistics statistics = new FieldStatistics(20, 4, 1024);
+
+        statistics.record(List.of("email", "phone"));
+        statistics.record(Arrays.asList("email", null));
+
+        assertEquals(2, statistics.getResponseCount());
+        assertEquals("array", statistics.getValueType());
+        assertEquals(List.of("email", "phone"), List.copyOf(statistics.distribution().keySet()));
+        assertEquals(2, statistics.estimate("email"));
+    }
+
+    @Test
+    void testTopValuesKeepTheMostFrequent() {
+        FieldStatistics statistics = new FieldStatistics(2, 4, 1024);
+        record(statistics, "a", 5);
+        record(statistics, "b", 3);
+        record(statistics, "c", 3);
+
+        assertEquals("{a=5, b=3}", statistics.distribution().toString());
+        assertEquals(3, statistics.estimate("c"));
+
+        // A value enters once its estimate exceeds the smallest tracked count
+        statistics.record("c");
+
+        assertEquals("{a=5, c=4}", statistics.distribution().toString());
+        assertEquals(3, statistics.estimate("b"));
+    }
+
+    @Test
+    void testDistributionBreaksTiesByValue() {
+        FieldStatistics statistics = new FieldStatistics(20, 4, 1024);
+        record(statistics, "pear", 2);
+        record(statistics, "apple", 2);
+        record(statistics, "fig", 3);
+
+        assertEquals(List.of("fig", "apple", "pear"), List.copyOf(statistics.distribution().keySet()));
+    }
+
+    @Test
+    void testLongValuesAreTruncated() {
+        FieldStatistics statistics = new FieldStatistics(20, 4, 1024);
+        String comment = "x".repeat(250);
+
+        statistics.record(comment);
+        statistics.record(comment + "y");
+
+        assertEquals(Map.of("x".repeat(200), 2L), statistics.distribution());
+    }
+
+    @Test
+    void testSnapshotRestoresAndKeepsCounting() {
+        FieldStatistics statistics = new FieldStatistics(2, 4, 256);
+        statistics.record(10);
+        statistics.record(30);
+        statistics.record(30);
+        record(statistics, "other", 1);
+
+        FieldStatistics restored = FieldStatistics.restore(2, statistics.snapshot());
+
+        assertEquals(4, restored.getResponseCount());
+        assertEquals("mixed", restored.getValueType());
+        assertEquals(statistics.distribution(), restored.distribution());
+        assertEquals(70.0 / 3, restored.averageNumericValue(), 1e-9);
+        assertEquals(10.0, restored.minNumericValue());
+        assertEquals(30.0, restored.maxNumericValue());
+
+        restored.record(5);
+        restored.record(10);
+
+        assertEquals(5.0, restored.minNumericValue());
+        assertEquals("{10=2, 30=2}", restored.distribution().toString());
+        assertEquals(2, statistics.estimate("30"));
+    }
+
+    @Test
+    void testSnapshotWithoutNumbersRestoresEmptyNumericSummary() {
+        FieldStatistics statistics = new FieldStatistics(20, 4, 1024);
+        statistics.record("text");
+
+        FieldStatistics.Snapshot snapshot = statistics.snapshot();
+        FieldStatistics restored = FieldStatistics.restore(20, snapshot);
+        restored.record(7);
+
+        assertNull(snapshot.numericMin());
+        assertNull(snapshot.numericMax());
+        assertEquals(7.0, restored.minNumericValue());
+        assertEquals(7.0, restored.maxNumericValue());
+    }
+
+    private static void record(FieldStatistics statistics, String value, int times) {
+        for (int i = 0; i < times; i++) {
+            statistics.record(value);
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.enterprise.workflow.form.service.statistics;
+
+import com.enterprise.workflow.form.config.FieldStatisticsProperties;
+import com.enterprise.workflow.form.dto.FormFieldStatisticsResponse;
+import com.enterprise.workflow.form.repository.FormDefinitionRepository;
+import com.enterprise.workflow.form.service.FormModelCache;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FormFieldStatisticsServiceTest {
+
+    private static final TypeReference<Map<String, Object>> DATA_TYPE = new TypeReference<>() {
+    };
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    /** Committed rows of form_submissions. */
+    private final List<Row> table = new CopyOnWriteArrayList<>();
+    /** Rows visible to the open repeatable-read transaction. */
+    private List<Row> visible = List.of();
+    private Runnable duringScan = () -> {
+    };
+    private JdbcTemplate jdbcTemplate;
+    private FieldStatisticsProperties properties;
+    private FormFieldStatisticsService service;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        properties = new FieldStatisticsProperties();
+        properties.setSnapshotDirectory(directory.toString());
+        service = newService();
+
+        // The first statement of a transaction fixes the snapshot the later ones read
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenAnswer(call -> {
+            visible = List.copyOf(table);
+            return visible.stream().mapToLong(Row::seq).max().orElse(0);
+        });
+        doAnswer(call -> {
+            query(call.getArgument(0), call.getArgument(1));
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    void testRebuildScansEverySubmission() {
+        insert("s1", "loan", Map.of("amount", 100, "address", Map.of("city", "Berlin")));
+        insert("s2", "loan", Map.of("amount", 300, "address", Map.of("city", "Paris"),
+                "channels", List.of("email", "phone")));
+        insert("s3", "survey", Map.of("rating", 5));
+
+        assertEquals(3, service.rebuild());
+
+        FormFieldStatisticsResponse loan = service.getStatistics("loan", null);
+        Map<String, FormFieldStatisticsResponse.FieldStatistics> fields = fields(loan);
+        assertEquals(2, loan.getSubmissionCount());
+        assertEquals(List.of("address.city", "amount", "channels"), List.copyOf(fields.keySet()));
+        assertEquals("number", fields.get("amount").getType());
+        assertEquals(200.0, fields.get("amount").getAvgNumericValue());
+        assertEquals(100.0, fields.get("amount").getMinNumericValue());
+        assertEquals(300.0, fields.get("amount").getMaxNumericValue());
+        assertEquals(2, fields.get("address.city").getResponseCount());
+        assertEquals("Berlin", fields.get("address.city").getMostCommonValue());
+        assertEquals(Map.of("email", 1L, "phone", 1L), fields.get("channels").getDistribution());
+
+        FormFieldStatisticsResponse amountOnly = service.getStatistics("loan", List.of("amount"));
+        assertEquals(List.of("amount"), List.copyOf(fields(amountOnly).keySet()));
+        assertEquals(1, service.getStatistics("survey", null).getSubmissionCount());
+        assertEquals(0, service.getStatistics("other", null).getSubmissionCount());
+        assertTrue(service.getStatistics("other", null).getFields().isEmpty());
+    }
+
+    @Test
+    void testSubmissionsCommittedDuringARebuildAreCountedOnce() {
+        insert("s1", "loan", Map.of("amount", 100));
+        Row early = insert("s2", "loan", Map.of("amount", 200));
+        duringScan = () -> {
+            // Committed before the scan's snapshot but reported after the scan started
+            record(early);
+            // Committed after the snapshot, so the scan does not see it
+            record(insert("s3", "loan", Map.of("amount", 300)));
+        };
+
+        assertEquals(2, service.rebuild());
+
+        FormFieldStatisticsResponse loan = service.getStatistics("loan", null);
+        assertEquals(3, loan.getSubmissionCount());
+        assertEquals(3, fields(loan).get("amount").getResponseCount());
+        assertEquals(200.0, fields(loan).get("amount").getAvgNumericValue());
+
+        // Later submissions update the swapped-in statistics
+        duringScan = () -> {
+        };
+        record(insert("s4", "loan", Map.of("amount", 400)));
+        assertEquals(4, service.getStatistics("loan", null).getSubmissionCount());
+    }
+
+    @Test
+    void testRestoreReplaysOnlySubmissionsTheSnapshotMissed() throws IOException {
+        insert("s1", "loan", Map.of("amount", 100));
+        insert("s2", "loan", Map.of("amount", 200));
+        service.rebuild();
+        record(insert("s3", "loan", Map.of("amount", 300)));
+        service.writeSnapshot();
+        // Committed after the snapshot; this node stopped before recording it
+        insert("s4", "loan", Map.of("amount", 400));
+        assertTrue(Files.exists(directory.resolve("form-field-statistics.json")));
+
+        properties.setRebuildOnStartup(false);
+        FormFieldStatisticsService restarted = newService();
+        restarted.restore();
+
+        FormFieldStatisticsResponse loan = restarted.getStatistics("loan", null);
+        assertEquals(4, loan.getSubmissionCount());
+        assertEquals(4, fields(loan).get("amount").getResponseCount());
+        assertEquals(250.0, fields(loan).get("amount").getAvgNumericValue());
+    }
+
+    @Test
+    void testRestoreWithoutSnapshotRebuildsUnlessDisabled() {
+        insert("s1", "loan", Map.of("amount", 100));
+
+        properties.setRebuildOnStartup(false);
+        service.restore();
+        assertEquals(0, service.getStatistics("loan", null).getSubmissionCount());
+
+        properties.setRebuildOnStartup(true);
+        service.restore();
+        assertEquals(1, service.getStatistics("loan", null).getSubmissionCount());
+    }
+
+    private FormFieldStatisticsService newService() {
+        return new FormFieldStatisticsService(properties, jdbcTemplate, mock(PlatformTransactionManager.class),
+                mock(FormDefinitionRepository.class), mock(FormModelCache.class), objectMapper);
+    }
+
+    private Row insert(String id, String formKey, Map<String, Object> data) {
+        try {
+            Row row = new Row(id, table.size() + 1, formKey, objectMapper.writeValueAsString(data));
+            table.add(row);
+            return row;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void record(Row row) {
+        try {
+            service.recordAfterCommit(row.id(), row.formKey(), objectMapper.readValue(row.data(), DATA_TYPE));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Runs the scan or the visibility check against the rows of the open transaction.
+     */
+    private void query(PreparedStatementCreator creator, RowCallbackHandler handler) throws SQLException {
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        AtomicReference<String> sql = new AtomicReference<>();
+        AtomicLong after = new AtomicLong();
+        when(connection.prepareStatement(anyString())).thenAnswer(call -> {
+            sql.set(call.getArgument(0));
+            return statement;
+        });
+        doAnswer(call -> {
+            after.set(call.getArgument(1));
+            return null;
+        }).when(statement).setLong(anyInt(), anyLong());
+        creator.createPreparedStatement(connection);
+
+        if (sql.get().contains("any(?)")) {
+            // Ids the caller did not ask about are ignored by it
+            for (Row row : visible) {
+                handler.processRow(resultSet(row));
+            }
+            return;
+        }
+        duringScan.run();
+        for (Row row : visible) {
+            if (row.seq() > after.get()) {
+                handler.processRow(resultSet(row));
+            }
+        }
+    }
+
+    private static ResultSet resultSet(Row row) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString("id")).thenReturn(row.id());
+        when(rs.getString("form_key")).thenReturn(row.formKey());
+        when(rs.getString("data")).thenReturn(row.data());
+        return rs;
+    }
+
+    private static Map<String, FormFieldStatisticsResponse.FieldStatistics> fields(
+            FormFieldStatisticsResponse response) {
+        Map<String, FormFieldStatisticsResponse.FieldStatistics> fields = new LinkedHashMap<>();
+        response.getFields().stream()
+                .sorted(Comparator.comparing(FormFieldStatisticsResponse.FieldStatistics::getFieldId))
+                .forEach(field -> fields.put(field.getFieldId(), field));
+        return fields;
+    }
+
+    private record Row(String id, long seq, String formKey, String data) {
+    }
+}
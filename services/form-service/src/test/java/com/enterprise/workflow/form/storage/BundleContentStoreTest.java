@@ -0,0 +1,212 @@
+package com.enterprise.workflow.form.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BundleContentStoreTest {
+
+    @TempDir
+    Path root;
+
+    private FileSystemBundleBlobStore blobStore;
+    private BundleContentStore contentStore;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        blobStore = new FileSystemBundleBlobStore(root);
+        contentStore = new BundleContentStore(blobStore);
+    }
+
+    @Test
+    void testImportStoresSharedEntriesOnce() throws IOException {
+        BundleContentStore.ImportResult first = contentStore.importArchive(zip(Map.of(
+                "manifest.json", "{\"id\":\"a\"}",
+                "forms/intake.json", "{}")));
+        BundleContentStore.ImportResult second = contentStore.importArchive(zip(Map.of(
+                "manifest.json", "{\"id\":\"a\",\"version\":\"2\"}",
+                "forms/intake.json", "{}")));
+
+        assertEquals(2, first.storedObjects());
+        assertEquals(1, second.storedObjects());
+        assertEquals(first.index().get("forms/intake.json"), second.index().get("forms/intake.json"));
+        assertEquals("{}", read(contentStore.entries(second.index()).open("forms/intake.json")));
+    }
+
+    @Test
+    void testPutReportsExistingContent() throws IOException {
+        BundleContentStore.Stored first = contentStore.put(bytes("same"));
+        BundleContentStore.Stored second = contentStore.put(bytes("same"));
+
+        assertTrue(first.created());
+        assertFalse(second.created());
+        assertEquals(first.hash(), second.hash());
+    }
+
+    @Test
+    void testDiffComparesPathsAndHashes() {
+        BundleContentStore.Diff diff = BundleContentStore.diff(
+                Map.of("a", "1", "b", "2", "c", "3"),
+                Map.of("b", "2", "c", "4", "d", "5"));
+
+        assertEquals(List.of("d"), diff.added());
+        assertEquals(List.of("a"), diff.removed());
+        assertEquals(List.of("c"), diff.changed());
+        assertEquals(List.of("b"), diff.unchanged());
+    }
+
+    @Test
+    void testArchiveKeysArePerBundle() throws IOException {
+        Map<String, String> index = Map.of("manifest.json", contentStore.put(bytes("{}")).hash());
+
+        String first = contentStore.archive("bundle-1", index);
+        String second = contentStore.archive("bundle-2", index);
+
+        assertNotEquals(first, second);
+        blobStore.delete(first);
+        assertTrue(blobStore.exists(second));
+        assertEquals(first, contentStore.archiveKey("bundle-1", Map.copyOf(index)));
+    }
+
+    @Test
+    void testCollectGarbageDeletesOnlyConfirmedUnreferencedBlobs() throws IOException {
+        String live = contentStore.put(bytes("live")).hash();
+        String dead = contentStore.put(bytes("dead")).hash();
+        Map<String, String> index = Map.of("live.txt", live);
+        String liveArchive = contentStore.archive("bundle-1", index);
+        String deadArchive = contentStore.archive("bundle-2", Map.of("dead.txt", dead));
+
+        BundleContentStore.GarbageCollection first = contentStore.collectGarbage(Set.of(live), Set.of(liveArchive));
+        assertEquals(0, first.deletedObjects());
+        assertEquals(2, first.pending());
+        assertTrue(blobStore.exists(deadArchive));
+
+        BundleContentStore.GarbageCollection second = contentStore.collectGarbage(Set.of(live), Set.of(liveArchive));
+        assertEquals(1, second.deletedObjects());
+        assertEquals(1, second.deletedArchives());
+        assertEquals(0, second.pending());
+        assertFalse(blobStore.exists(deadArchive));
+        assertTrue(blobStore.exists(liveArchive));
+        assertEquals("live", read(contentStore.open(live)));
+    }
+
+    @Test
+    void testCollectGarbageSparesBlobsReferencedAgain() throws IOException {
+        String hash = contentStore.put(bytes("reused")).hash();
+
+        contentStore.collectGarbage(Set.of(), Set.of());
+        // An import reused the object before the next collection
+        BundleContentStore.GarbageCollection result = contentStore.collectGarbage(Set.of(hash), Set.of());
+
+        assertEquals(0, result.deletedObjects());
+        assertEquals("reused", read(contentStore.open(hash)));
+    }
+
+    @Test
+    void testReuseAfterCondemnationSurvivesNextCollection() throws IOException {
+        String hash = contentStore.put(bytes("shared")).hash();
+        contentStore.collectGarbage(Set.of(), Set.of());
+
+        // An import reuses the condemned object but has not committed when the next collection reads
+        assertFalse(contentStore.put(bytes("shared")).created());
+        BundleContentStore.GarbageCollection second = contentStore.collectGarbage(Set.of(), Set.of());
+        assertEquals(0, second.deletedObjects());
+        assertEquals(1, second.pending());
+
+        BundleContentStore.GarbageCollection third = contentStore.collectGarbage(Set.of(hash), Set.of());
+        assertEquals(0, third.deletedObjects());
+        assertEquals("shared", read(contentStore.open(hash)));
+    }
+
+    @Test
+    void testReuseDuringCollectionSurvivesNextCollection() throws IOException {
+        List<Runnable> duringListing = new ArrayList<>();
+        blobStore = new FileSystemBundleBlobStore(root) {
+            @Override
+            public void forEachKey(String prefix, KeyAction action) throws IOException {
+                super.forEachKey(prefix, action);
+                duringListing.forEach(Runnable::run);
+                duringListing.clear();
+            }
+        };
+        contentStore = new BundleContentStore(blobStore);
+        String hash = contentStore.put(bytes("shared")).hash();
+        contentStore.collectGarbage(Set.of(), Set.of());
+
+        // Reused after the second collection has read the live sets
+        duringListing.add(() -> {
+            try {
+                contentStore.put(bytes("shared"));
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertEquals(0, contentStore.collectGarbage(Set.of(), Set.of()).deletedObjects());
+        // Never committed: the third collection condemns it again and the fourth deletes it
+        assertEquals(0, contentStore.collectGarbage(Set.of(), Set.of()).deletedObjects());
+        assertEquals(1, contentStore.collectGarbage(Set.of(), Set.of()).deletedObjects());
+        assertFalse(blobStore.exists("objects/" + hash.substring(0, 2) + "/" + hash));
+    }
+
+    @Test
+    void testReusedArchiveSurvivesNextCollection() throws IOException {
+        Map<String, String> index = Map.of("x", contentStore.put(bytes("x")).hash());
+        String archive = contentStore.archive("bundle-1", index);
+        contentStore.collectGarbage(Set.copyOf(index.values()), Set.of());
+
+        assertEquals(archive, contentStore.archive("bundle-1", index));
+        assertEquals(0, contentStore.collectGarbage(Set.copyOf(index.values()), Set.of()).deletedArchives());
+        assertTrue(blobStore.exists(archive));
+    }
+
+    @Test
+    void testForEachKeyListsByPrefix() throws IOException {
+        String hash = contentStore.put(bytes("x")).hash();
+        contentStore.archive("bundle-1", Map.of("x", hash));
+
+        List<String> objects = new ArrayList<>();
+        blobStore.forEachKey("objects/", objects::add);
+
+        assertEquals(List.of("objects/" + hash.substring(0, 2) + "/" + hash), objects);
+    }
+
+    private static InputStream zip(Map<String, String> entries) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zos = new ZipOutputStream(out)) {
+            for (Map.Entry<String, String> entry : entries.entrySet()) {
+                zos.putNextEntry(new ZipEntry(entry.getKey()));
+                zos.write(bytes(entry.getValue()));
+                zos.closeEntry();
+            }
+        }
+        return new ByteArrayInputStream(out.toByteArray());
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String read(InputStream in) throws IOException {
+        try (in) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.enterprise.workflow.form.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileSystemBundleBlobStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private Path root;
+    private FileSystemBundleBlobStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        root = directory.resolve("blobs");
+        store = new FileSystemBundleBlobStore(root);
+    }
+
+    @Test
+    void testWriteAndReadBack() throws IOException {
+        long size = store.write("archives/b1/a.zip", out -> out.write(bytes("hello")));
+        long replaced = store.write("archives/b1/a.zip", new ByteArrayInputStream(bytes("hello, world")));
+
+        assertEquals(5, size);
+        assertEquals(12, replaced);
+        assertEquals("hello, world", read(store.open("archives/b1/a.zip")));
+        assertEquals(12, store.resource("archives/b1/a.zip").contentLength());
+        assertEquals("hello, world", store.withLocalFile("archives/b1/a.zip", Files::readString));
+        assertEquals(List.of("archives/b1/a.zip"), files());
+    }
+
+    @Test
+    void testBlobIsOnlyVisibleOnceWritten() throws IOException {
+        store.write("objects/ab", out -> out.write(bytes("old")));
+
+        store.write("objects/ab", out -> {
+            out.write(bytes("new"));
+            out.flush();
+            // Readers still see the previous blob; the new content sits in a temporary file
+            assertEquals("old", read(store.open("objects/ab")));
+            assertEquals(2, files().size());
+        });
+        store.write("objects/cd", out -> assertFalse(store.exists("objects/cd")));
+
+        assertEquals("new", read(store.open("objects/ab")));
+        assertEquals(List.of("objects/ab", "objects/cd"), files());
+    }
+
+    @Test
+    void testFailedWriteKeepsPreviousBlobAndLeavesNoTemporaryFile() throws IOException {
+        store.write("objects/ab", out -> out.write(bytes("old")));
+
+        IOException failure = assertThrows(IOException.class, () -> store.write("objects/ab", out -> {
+            out.write(bytes("partial"));
+            throw new IOException("Client disconnected");
+        }));
+        assertThrows(IOException.class, () -> store.write("objects/ef", out -> {
+            throw new IOException("Client disconnected");
+        }));
+
+        assertEquals("Client disconnected", failure.getMessage());
+        assertEquals("old", read(store.open("objects/ab")));
+        assertFalse(store.exists("objects/ef"));
+        assertEquals(List.of("objects/ab"), files());
+    }
+
+    @Test
+    void testKeysOutsideTheRootAreRejected() throws IOException {
+        Path secret = Files.writeString(directory.resolve("secret.txt"), "secret");
+
+        for (String key : new String[] {"../secret.txt", "objects/../../secret.txt", secret.toString(),
+                "", ".", "objects/.."}) {
+            assertThrows(IllegalArgumentException.class, () -> store.open(key), key);
+            assertThrows(IllegalArgumentException.class, () -> store.exists(key), key);
+            assertThrows(IllegalArgumentException.class, () -> store.delete(key), key);
+            assertThrows(IllegalArgumentException.class, () -> store.write(key, out -> out.write(1)), key);
+        }
+        assertEquals("secret", Files.readString(secret));
+        // Normalising within the root is fine
+        store.write("objects/../archives/a.zip", out -> out.write(bytes("a")));
+        assertTrue(store.exists("archives/a.zip"));
+    }
+
+    @Test
+    void testMissingBlobIsNotFound() throws IOException {
+        assertThrows(FileNotFoundException.class, () -> store.open("objects/none"));
+        assertThrows(FileNotFoundException.class, () -> store.resource("objects/none"));
+        assertThrows(FileNotFoundException.class, () -> store.withLocalFile("objects/none", Files::size));
+        assertFalse(store.exists("objects/none"));
+        store.delete("objects/none");
+    }
+
+    @Test
+    void testForEachKeyFiltersOnPrefixAndSkipsUploadsInProgress() throws IOException {
+        store.write("objects/ab/1", out -> out.write(1));
+        store.write("objects/ac/2", out -> out.write(2));
+        store.write("objects/b/3", out -> out.write(3));
+        store.write("archives/x.zip", out -> out.write(4));
+        Files.createFile(root.resolve("objects/ab/.upload-123.tmp"));
+
+        assertEquals(List.of("objects/ab/1", "objects/ac/2", "objects/b/3"), keys("objects/"));
+        assertEquals(List.of("objects/ab/1", "objects/ac/2"), keys("objects/a"));
+        assertEquals(List.of("archives/x.zip", "objects/ab/1", "objects/ac/2", "objects/b/3"), keys(""));
+        assertEquals(List.of(), keys("missing/"));
+        assertEquals(List.of(), keys("../"));
+    }
+
+    private List<String> keys(String prefix) throws IOException {
+        List<String> keys = new ArrayList<>();
+        store.forEachKey(prefix, keys::add);
+        return keys.stream().sorted().toList();
+    }
+
+    /**
+     * Every file under the root, including temporary ones.
+     */
+    private List<String> files() throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            return paths.filter(Files::isRegularFile)
+                    .map(path -> root.relativize(path).toString().replace('\\', '/'))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static byte[] bytes(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String read(InputStream in) throws IOException {
+        try (in) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
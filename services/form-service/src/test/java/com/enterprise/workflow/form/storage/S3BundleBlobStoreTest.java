@@ -0,0 +1,194 @@
+package com.enterprise.workflow.form.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.Resource;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.core.sync.ResponseTransformer;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.S3Object;
+import software.amazon.awssdk.services.s3.paginators.ListObjectsV2Iterable;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class S3BundleBlobStoreTest {
+
+    private S3Client client;
+    private S3BundleBlobStore store;
+
+    @BeforeEach
+    void setUp() {
+        client = mock(S3Client.class);
+        store = new S3BundleBlobStore(client, "bundles", "prod");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testWriteUploadsTheSpooledFileOnceComplete() throws IOException {
+        AtomicReference<PutObjectRequest> request = new AtomicReference<>();
+        AtomicReference<String> uploaded = new AtomicReference<>();
+        doAnswer(call -> {
+            PutObjectRequest.Builder builder = PutObjectRequest.builder();
+            call.<Consumer<PutObjectRequest.Builder>>getArgument(0).accept(builder);
+            request.set(builder.build());
+            RequestBody body = call.getArgument(1);
+            assertEquals(11, body.optionalContentLength().orElseThrow());
+            try (InputStream in = body.contentStreamProvider().newStream()) {
+                uploaded.set(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            }
+            return null;
+        }).when(client).putObject(any(Consumer.class), any(RequestBody.class));
+
+        long size = store.write("archives/b1/a.zip", out -> {
+            out.write("hello ".getBytes(StandardCharsets.UTF_8));
+            // Nothing is sent while the writer runs
+            verify(client, never()).putObject(any(Consumer.class), any(RequestBody.class));
+            out.write("world".getBytes(StandardCharsets.UTF_8));
+        });
+
+        assertEquals(11, size);
+        assertEquals("bundles", request.get().bucket());
+        assertEquals("prod/archives/b1/a.zip", request.get().key());
+        assertEquals("hello world", uploaded.get());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFailedWriteUploadsNothing() {
+        assertThrows(IOException.class, () -> store.write("archives/b1/a.zip", out -> {
+            throw new IOException("Client disconnected");
+        }));
+
+        verify(client, never()).putObject(any(Consumer.class), any(RequestBody.class));
+    }
+
+    @Test
+    void testOpenAndResourceStreamTheObject() throws IOException {
+        when(client.getObject(argThat((GetObjectRequest request) -> request.key().equals("prod/objects/ab"))))
+                .thenAnswer(call -> object("content"));
+
+        try (InputStream in = store.open("objects/ab")) {
+            assertEquals("content", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        Resource resource = store.resource("objects/ab");
+        assertEquals(7, resource.contentLength());
+    }
+
+    @Test
+    void testMissingObjectIsNotFound() {
+        when(client.getObject(any(GetObjectRequest.class))).thenThrow(NoSuchKeyException.builder().build());
+        when(client.headObject(any(HeadObjectRequest.class)))
+                .thenThrow(S3Exception.builder().statusCode(404).build());
+
+        assertThrows(FileNotFoundException.class, () -> store.open("objects/none"));
+        assertThrows(FileNotFoundException.class, () -> store.resource("objects/none"));
+        assertFalse(store.exists("objects/none"));
+    }
+
+    @Test
+    void testExistsRethrowsOtherErrors() {
+        S3Exception denied = (S3Exception) S3Exception.builder().statusCode(403).build();
+        when(client.headObject(any(HeadObjectRequest.class))).thenThrow(denied);
+
+        assertSame(denied, assertThrows(S3Exception.class, () -> store.exists("objects/ab")));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testWithLocalFileDownloadsToATemporaryFileThatIsRemoved() throws IOException {
+        doAnswer(call -> {
+            ResponseTransformer<GetObjectResponse, ?> transformer = call.getArgument(1);
+            return transformer.transform(GetObjectResponse.builder().build(),
+                    AbortableInputStream.create(new ByteArrayInputStream("zip".getBytes(StandardCharsets.UTF_8))));
+        }).when(client).getObject(any(GetObjectRequest.class), any(ResponseTransformer.class));
+        List<Path> seen = new ArrayList<>();
+
+        String content = store.withLocalFile("archives/b1/a.zip", file -> {
+            seen.add(file);
+            return Files.readString(file);
+        });
+
+        assertEquals("zip", content);
+        assertFalse(Files.exists(seen.get(0)));
+        assertFalse(Files.exists(seen.get(0).getParent()));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testForEachKeyStripsTheStorePrefix() throws IOException {
+        ListObjectsV2Iterable pages = mock(ListObjectsV2Iterable.class);
+        when(pages.contents()).thenReturn(() -> List.of(
+                S3Object.builder().key("prod/objects/ab").build(),
+                S3Object.builder().key("prod/objects/cd").build()).iterator());
+        AtomicReference<ListObjectsV2Request> request = new AtomicReference<>();
+        when(client.listObjectsV2Paginator(any(Consumer.class))).thenAnswer(call -> {
+            ListObjectsV2Request.Builder builder = ListObjectsV2Request.builder();
+            call.<Consumer<ListObjectsV2Request.Builder>>getArgument(0).accept(builder);
+            request.set(builder.build());
+            return pages;
+        });
+        List<String> keys = new ArrayList<>();
+
+        store.forEachKey("objects/", keys::add);
+
+        assertEquals(List.of("objects/ab", "objects/cd"), keys);
+        assertEquals("prod/objects/", request.get().prefix());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testPrefixIsOptionalAndNormalised() {
+        List<String> deleted = new ArrayList<>();
+        doAnswer(call -> {
+            DeleteObjectRequest.Builder builder = DeleteObjectRequest.builder();
+            call.<Consumer<DeleteObjectRequest.Builder>>getArgument(0).accept(builder);
+            deleted.add(builder.build().key());
+            return null;
+        }).when(client).deleteObject(any(Consumer.class));
+
+        new S3BundleBlobStore(client, "bundles", null).delete("objects/ab");
+        new S3BundleBlobStore(client, "bundles", "").delete("objects/cd");
+        new S3BundleBlobStore(client, "bundles", "prod/").delete("objects/ef");
+        store.delete("objects/gh");
+
+        assertEquals(List.of("objects/ab", "objects/cd", "prod/objects/ef", "prod/objects/gh"), deleted);
+    }
+
+    private static ResponseInputStream<GetObjectResponse> object(String content) {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        return new ResponseInputStream<>(GetObjectResponse.builder().contentLength((long) bytes.length).build(),
+                AbortableInputStream.create(new ByteArrayInputStream(bytes)));
+    }
+}
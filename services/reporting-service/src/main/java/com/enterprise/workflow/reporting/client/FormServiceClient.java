@@ -0,0 +1,97 @@
+package com.enterprise.workflow.reporting.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Client for the form-service submission APIs used by reporting.
+ */
+@Component
+public class FormServiceClient {
+
+    private final RestClient restClient;
+
+    public FormServiceClient(RestClient.Builder restClientBuilder,
+            @Value("${application.services.form-url:http://localhost:8084}") String formServiceUrl) {
+        this.restClient = restClientBuilder.baseUrl(formServiceUrl).build();
+    }
+
+    /**
+     * The form definition, including its {@code schema}.
+     */
+    public JsonNode getForm(Object formId) {
+        return restClient.get()
+                .uri("/api/v1/forms/{formId}", formId)
+                .retrieve()
+                .body(JsonNode.class);
+    }
+
+    /**
+     * Reads the NDJSON submission stream of a form; the reader is closed once the handler returns.
+     *
+     * @param filters Submission query filters ({@code field}, {@code operator}, {@code value})
+     *                that form-service applies before streaming; may be empty
+     */
+    public <T> T streamSubmissions(Object formId, LocalDateTime from, LocalDateTime to,
+            List<Map<String, Object>> filters, SubmissionStreamHandler<T> handler) {
+        return restClient.post()
+                .uri(uri -> uri.path("/api/v1/forms/{formId}/submissions/stream")
+                        .queryParamIfPresent("from", Optional.ofNullable(from))
+                        .queryParamIfPresent("to", Optional.ofNullable(to))
+                        .build(formId))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(filters)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange((request, response) -> {
+                    if (response.getStatusCode().isError()) {
+                        throw new RuntimeException("Form service returned " + response.getStatusCode()
+                                + " for submissions of form " + formId);
+                    }
+                    try (BufferedReader lines = new BufferedReader(
+                            new InputStreamReader(response.getBody(), StandardCharsets.UTF_8))) {
+                        return handler.handle(lines);
+                    }
+                });
+    }
+
+    /**
+     * Runs a query over submission data; see form-service {@code SubmissionQueryRequest}.
+     */
+    public JsonNode querySubmissions(Map<String, Object> query) {
+        return restClient.post()
+                .uri("/api/v1/forms/submissions/query")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(query)
+                .retrieve()
+                .body(JsonNode.class);
+    }
+
+    /**
+     * Per-field value statistics of a form key; see form-service {@code FormFieldStatisticsResponse}.
+     */
+    public JsonNode getFieldStatistics(String formKey, List<String> fields) {
+        return restClient.get()
+                .uri(uri -> uri.path("/api/v1/forms/statistics/{formKey}")
+                        .queryParamIfPresent("fields", Optional.ofNullable(fields).filter(list -> !list.isEmpty()))
+                        .build(formKey))
+                .retrieve()
+                .body(JsonNode.class);
+    }
+
+    @FunctionalInterface
+    public interface SubmissionStreamHandler<T> {
+        T handle(BufferedReader lines) throws IOException;
+    }
+}
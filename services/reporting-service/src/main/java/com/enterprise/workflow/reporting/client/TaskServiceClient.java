@@ -0,0 +1,27 @@
+package com.enterprise.workflow.reporting.client;
+
+import com.enterprise.workflow.reporting.dto.ReportingDTOs.SlaMetricsDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+/**
+ * Client for the task-service APIs used by reporting.
+ */
+@Component
+public class TaskServiceClient {
+
+    private final RestClient restClient;
+
+    public TaskServiceClient(RestClient.Builder restClientBuilder,
+            @Value("${application.services.task-url:http://localhost:8083}") String taskServiceUrl) {
+        this.restClient = restClientBuilder.baseUrl(taskServiceUrl).build();
+    }
+
+    public SlaMetricsDTO getSlaMetrics(String processDefinitionKey) {
+        return restClient.get()
+                .uri("/api/v1/tasks/sla/{processDefinitionKey}", processDefinitionKey)
+                .retrieve()
+                .body(SlaMetricsDTO.class);
+    }
+}
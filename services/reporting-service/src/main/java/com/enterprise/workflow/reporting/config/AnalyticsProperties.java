@@ -0,0 +1,64 @@
+package com.enterprise.workflow.reporting.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Process analytics aggregation settings.
+ *
+ * Usage:
+ *   reporting.analytics.bucket-size=1h
+ *   reporting.analytics.retention=180d
+ *   reporting.analytics.event-log.directory=/data/analytics-events
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "reporting.analytics")
+public class AnalyticsProperties {
+
+    /**
+     * Width of one aggregation bucket; the finest interval trends can be reported at.
+     */
+    private Duration bucketSize = Duration.ofHours(1);
+
+    /**
+     * Buckets and event log segments older than this are dropped.
+     */
+    private Duration retention = Duration.ofDays(180);
+
+    /**
+     * Replay the event log into fresh aggregates when the service starts.
+     */
+    private boolean rebuildOnStartup = true;
+
+    /**
+     * Number of recent event IDs remembered to ignore redelivered events.
+     */
+    private int dedupeWindow = 100_000;
+
+    /**
+     * Relative error of reported duration percentiles; 0.01 means within 1% of the true value.
+     */
+    private double sketchRelativeAccuracy = 0.01;
+
+    /**
+     * Upper bound on bins per duration sketch (8 bytes each); beyond it the lowest durations lose accuracy.
+     */
+    private int sketchMaxBins = 2048;
+
+    private EventLog eventLog = new EventLog();
+
+    @Data
+    public static class EventLog {
+
+        private String directory = "./data/analytics-events";
+
+        /**
+         * Size on disk, in bytes, at which the current segment is closed and a new one started.
+         */
+        private long segmentBytes = 64L * 1024 * 1024;
+    }
+}
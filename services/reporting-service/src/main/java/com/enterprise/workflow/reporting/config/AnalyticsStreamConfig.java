@@ -0,0 +1,23 @@
+package com.enterprise.workflow.reporting.config;
+
+import com.enterprise.workflow.reporting.dto.ProcessLifecycleEvent;
+import com.enterprise.workflow.reporting.service.analytics.ProcessAnalyticsEngine;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.Consumer;
+
+/**
+ * Binds the workflow lifecycle event stream to the analytics engine.
+ *
+ * The binding has no consumer group, so every replica receives every event and
+ * keeps its own complete set of aggregates.
+ */
+@Configuration
+public class AnalyticsStreamConfig {
+
+    @Bean
+    public Consumer<ProcessLifecycleEvent> processLifecycleEvents(ProcessAnalyticsEngine analyticsEngine) {
+        return analyticsEngine::ingest;
+    }
+}
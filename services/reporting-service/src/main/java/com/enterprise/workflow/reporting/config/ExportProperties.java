@@ -0,0 +1,55 @@
+package com.enterprise.workflow.reporting.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Report export settings.
+ *
+ * Usage:
+ *   reporting.export.excel-row-window=100
+ *   reporting.export.stream-timeout=30m
+ *   reporting.export.jobs.directory=/data/exports
+ *   reporting.export.jobs.retention=24h
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "reporting.export")
+public class ExportProperties {
+
+    /**
+     * Rows the streaming Excel workbook keeps in memory; older rows are flushed to a temp file.
+     */
+    private int excelRowWindow = 100;
+
+    /**
+     * Rows buffered in a PDF table before they are laid out and flushed to the document.
+     */
+    private int pdfFlushRows = 200;
+
+    /**
+     * Time limit for an export streamed directly in the response; larger exports belong in a job.
+     */
+    private Duration streamTimeout = Duration.ofMinutes(30);
+
+    private Jobs jobs = new Jobs();
+
+    @Data
+    public static class Jobs {
+
+        private String directory = "./data/exports";
+
+        /**
+         * Background exports running at once; further jobs queue until a slot frees up.
+         */
+        private int maxConcurrency = 2;
+
+        /**
+         * Finished export files and their job status are deleted after this long.
+         */
+        private Duration retention = Duration.ofHours(24);
+    }
+}
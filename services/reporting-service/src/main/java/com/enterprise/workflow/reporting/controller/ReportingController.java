@@ -1,8 +1,14 @@
 package com.enterprise.workflow.reporting.controller;
 
 import static com.enterprise.workflow.reporting.dto.ReportingDTOs.*;
+import com.enterprise.workflow.common.web.TimedStreamingResponse;
+import com.enterprise.workflow.reporting.config.ExportProperties;
+import com.enterprise.workflow.reporting.dto.ProcessLifecycleEvent;
 import com.enterprise.workflow.reporting.service.DashboardService;
+import com.enterprise.workflow.reporting.service.ExportJobService;
 import com.enterprise.workflow.reporting.service.ReportExportService;
+import com.enterprise.workflow.reporting.service.analytics.ProcessAnalyticsEngine;
+import com.enterprise.workflow.reporting.service.export.ReportFormat;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -11,9 +17,13 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
+import jakarta.servlet.http.HttpServletResponse;
+import java.net.URI;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 /**
  * REST API for Reporting and Dashboards.
@@ -27,6 +37,9 @@ public class ReportingController {
 
     private final DashboardService dashboardService;
     private final ReportExportService exportService;
+    private final ExportJobService exportJobService;
+    private final ProcessAnalyticsEngine analyticsEngine;
+    private final ExportProperties exportProperties;
 
     // ==================== Dashboard APIs ====================
 
@@ -82,9 +95,24 @@ public class ReportingController {
     @GetMapping("/analytics/processes/{processDefinitionKey}/flow-analysis")
     @Operation(summary = "Get flow analysis showing path frequencies")
     public ResponseEntity<FlowAnalysisDTO> getFlowAnalysis(
-            @PathVariable String processDefinitionKey) {
+            @PathVariable String processDefinitionKey,
+            @RequestParam(required = false) Integer version) {
         
-        return ResponseEntity.ok(dashboardService.getFlowAnalysis(processDefinitionKey));
+        return ResponseEntity.ok(dashboardService.getFlowAnalysis(processDefinitionKey, version));
+    }
+
+    @PostMapping("/analytics/events")
+    @Operation(summary = "Ingest process lifecycle events into the analytics aggregates")
+    public ResponseEntity<Void> ingestEvents(@RequestBody List<ProcessLifecycleEvent> events) {
+        events.forEach(analyticsEngine::ingest);
+        return ResponseEntity.accepted().build();
+    }
+
+    @PostMapping("/analytics/rebuild")
+    @Operation(summary = "Rebuild all analytics aggregates from the event log")
+    public ResponseEntity<Map<String, Object>> rebuildAnalytics() {
+        long replayed = analyticsEngine.rebuild();
+        return ResponseEntity.ok(Map.of("replayedEvents", replayed));
     }
 
     // ==================== Task Analytics ====================
@@ -160,37 +188,61 @@ public class ReportingController {
 
     @PostMapping("/export/excel")
     @Operation(summary = "Export report data to Excel")
-    public ResponseEntity<Resource> exportToExcel(@RequestBody ExportRequestDTO request) {
-        Resource file = exportService.exportToExcel(request);
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, 
-                        "attachment; filename=\"report.xlsx\"")
-                .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .body(file);
+    public WebAsyncTask<Void> exportToExcel(@RequestBody ExportRequestDTO request,
+            HttpServletResponse response) {
+        return export(request, ReportFormat.EXCEL, response);
     }
 
     @PostMapping("/export/pdf")
     @Operation(summary = "Export report data to PDF")
-    public ResponseEntity<Resource> exportToPdf(@RequestBody ExportRequestDTO request) {
-        Resource file = exportService.exportToPdf(request);
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, 
-                        "attachment; filename=\"report.pdf\"")
-                .contentType(MediaType.APPLICATION_PDF)
-                .body(file);
+    public WebAsyncTask<Void> exportToPdf(@RequestBody ExportRequestDTO request,
+            HttpServletResponse response) {
+        return export(request, ReportFormat.PDF, response);
     }
 
     @PostMapping("/export/csv")
     @Operation(summary = "Export raw data to CSV")
-    public ResponseEntity<Resource> exportToCsv(@RequestBody ExportRequestDTO request) {
-        Resource file = exportService.exportToCsv(request);
+    public WebAsyncTask<Void> exportToCsv(@RequestBody ExportRequestDTO request,
+            HttpServletResponse response) {
+        return export(request, ReportFormat.CSV, response);
+    }
+
+    @PostMapping("/export/jobs")
+    @Operation(summary = "Run a large export in the background")
+    public ResponseEntity<ExportJobDTO> submitExportJob(
+            @RequestParam ReportFormat format,
+            @RequestBody ExportRequestDTO request) {
+        ExportJobDTO job = exportJobService.submit(request, format);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/reporting/export/jobs/" + job.getId()))
+                .body(job);
+    }
+
+    @GetMapping("/export/jobs/{jobId}")
+    @Operation(summary = "Get the status of a background export")
+    public ResponseEntity<ExportJobDTO> getExportJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(exportJobService.getJob(jobId));
+    }
+
+    @GetMapping("/export/jobs/{jobId}/download")
+    @Operation(summary = "Download the file of a completed background export")
+    public ResponseEntity<Resource> downloadExport(@PathVariable String jobId) {
+        Resource file = exportJobService.download(jobId);
         return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, 
-                        "attachment; filename=\"data.csv\"")
-                .contentType(MediaType.parseMediaType("text/csv"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + exportJobService.fileName(jobId) + "\"")
+                .contentType(exportJobService.format(jobId).getMediaType())
                 .body(file);
     }
 
+    private WebAsyncTask<Void> export(ExportRequestDTO request, ReportFormat format, HttpServletResponse response) {
+        exportService.validate(request);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"" + exportService.fileName(request, format) + "\"");
+        return TimedStreamingResponse.of(response, format.getMediaType(), exportProperties.getStreamTimeout(),
+                output -> exportService.export(request, format, output));
+    }
+
     // ==================== Custom Reports ====================
 
     @GetMapping("/reports")
@@ -0,0 +1,36 @@
+package com.enterprise.workflow.reporting.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Process, activity and task lifecycle event as published by the workflow engine.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ProcessLifecycleEvent {
+
+    private String eventId;
+    private String type; // PROCESS_STARTED, PROCESS_COMPLETED, PROCESS_CANCELLED, PROCESS_FAILED,
+                         // ACTIVITY_STARTED, ACTIVITY_COMPLETED, TASK_CREATED, TASK_ASSIGNED, TASK_COMPLETED
+    private long timestamp; // epoch millis
+    private String processDefinitionId;
+    private String processDefinitionKey;
+    private Integer processDefinitionVersion;
+    private String processInstanceId;
+    private String executionId;
+    private String activityId;
+    private String activityName;
+    private String activityType;
+    private String taskId;
+    private String assignee;
+    private Long durationMillis;
+}
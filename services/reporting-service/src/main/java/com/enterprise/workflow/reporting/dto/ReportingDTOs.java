@@ -115,6 +115,7 @@ public class ReportingDTOs {
     @AllArgsConstructor
     public static class FlowAnalysisDTO {
         private String processDefinitionKey;
+        private Integer version;
         private List<FlowNodeDTO> nodes;
         private List<FlowEdgeDTO> edges;
     }
@@ -185,6 +186,7 @@ public class ReportingDTOs {
     @NoArgsConstructor
     @AllArgsConstructor
     public static class SlaMetricsDTO {
+        private String processDefinitionKey;
         private Double overallCompliance;
         private Map<String, Double> complianceByTask;
         private List<SlaBreachDTO> recentBreaches;
@@ -197,8 +199,11 @@ public class ReportingDTOs {
     public static class SlaBreachDTO {
         private String taskId;
         private String taskName;
+        private String taskDefinitionKey;
         private String processInstanceId;
+        private LocalDateTime dueDate;
         private LocalDateTime breachTime;
+        private LocalDateTime completedAt;
         private Long overdueSeconds;
     }
 
@@ -248,6 +253,7 @@ public class ReportingDTOs {
         private List<String> selectFields;
         private String groupBy;
         private String aggregation;
+        private Integer page;
         private Integer limit;
     }
 
@@ -267,6 +273,7 @@ public class ReportingDTOs {
     @AllArgsConstructor
     public static class CrossInstanceQueryResultDTO {
         private Long totalMatches;
+        private Boolean totalCapped;
         private List<Map<String, Object>> results;
         private Map<String, Object> aggregations;
     }
@@ -304,6 +311,23 @@ public class ReportingDTOs {
         private Map<String, Object> filters;
     }
 
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ExportJobDTO {
+        private String id;
+        private String reportType;
+        private String format;
+        private String status;  // QUEUED, RUNNING, COMPLETED, FAILED
+        private Long rowCount;
+        private Long sizeBytes;
+        private String error;
+        private LocalDateTime createdAt;
+        private LocalDateTime completedAt;
+        private String downloadUrl;
+    }
+
     @Data
     @Builder
     @NoArgsConstructor
@@ -1,49 +1,234 @@
 package com.enterprise.workflow.reporting.service;
 
+import com.enterprise.workflow.reporting.client.FormServiceClient;
+import com.enterprise.workflow.reporting.client.TaskServiceClient;
 import com.enterprise.workflow.reporting.dto.ReportingDTOs.*;
+import com.enterprise.workflow.reporting.service.analytics.DefinitionAggregate;
+import com.enterprise.workflow.reporting.service.analytics.DurationSketch;
+import com.enterprise.workflow.reporting.service.analytics.ProcessAnalyticsEngine;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 @Service
+@RequiredArgsConstructor
 public class DashboardService {
+
+    private static final int TOP_BOTTLENECKS = 10;
+    private static final int[] REPORTED_PERCENTILES = { 50, 75, 90, 95, 99 };
+
+    private static final TypeReference<List<Map<String, Object>>> RESULT_ROWS = new TypeReference<>() {
+    };
+    private static final TypeReference<Map<String, Object>> AGGREGATIONS = new TypeReference<>() {
+    };
+
+    private final ProcessAnalyticsEngine analyticsEngine;
+    private final FormServiceClient formServiceClient;
+    private final TaskServiceClient taskServiceClient;
+    private final ObjectMapper objectMapper;
+
     public List<DashboardDTO> getAvailableDashboards() {
-        return Collections.emptyList();
+        return analyticsEngine.definitionKeys().stream()
+                .map(key -> DashboardDTO.builder()
+                        .id(key)
+                        .name(key)
+                        .processDefinitionKey(key)
+                        .build())
+                .toList();
     }
     public ProcessDashboardDTO getProcessDashboard(String key, LocalDateTime start, LocalDateTime end) {
-        return new ProcessDashboardDTO();
+        DefinitionAggregate aggregate = aggregate(key);
+        long from = from(start);
+        long to = to(end);
+        DefinitionAggregate.Bucket window = aggregate.window(from, to);
+
+        List<TaskMetricDTO> taskMetrics = window.getActivities().values().stream()
+                .filter(activity -> "userTask".equals(activity.getType()))
+                .map(activity -> TaskMetricDTO.builder()
+                        .taskDefinitionKey(activity.getId())
+                        .taskName(activity.getName())
+                        .count(activity.getCount())
+                        .avgDuration(seconds(activity.averageDurationMillis()))
+                        .build())
+                .toList();
+
+        return ProcessDashboardDTO.builder()
+                .processDefinitionKey(key)
+                .processDefinitionName(key)
+                .overview(overview(aggregate, window))
+                .instanceTrend(trend(aggregate, "started", Duration.ofDays(1).toMillis(), from, to))
+                .taskMetrics(taskMetrics)
+                .topBottlenecks(bottlenecks(window, 5))
+                .statusDistribution(statusDistribution(aggregate, window))
+                .build();
     }
     public ProcessOverviewDTO getProcessOverview(String key, LocalDateTime start, LocalDateTime end) {
-        return new ProcessOverviewDTO();
+        DefinitionAggregate aggregate = aggregate(key);
+        return overview(aggregate, aggregate.window(from(start), to(end)));
     }
     public InstanceStatisticsDTO getInstanceStatistics(String key, LocalDateTime start, LocalDateTime end) {
-        return new InstanceStatisticsDTO();
+        DefinitionAggregate aggregate = aggregate(key);
+        DefinitionAggregate.Bucket window = aggregate.window(from(start), to(end));
+
+        Map<String, Long> byVersion = new TreeMap<>();
+        Map<String, Double> avgDurationByVersion = new TreeMap<>();
+        window.getVersions().forEach((version, stats) -> {
+            byVersion.put(String.valueOf(version), stats.getStarted());
+            if (stats.averageDurationMillis() != null) {
+                avgDurationByVersion.put(String.valueOf(version), seconds(stats.averageDurationMillis()));
+            }
+        });
+
+        return InstanceStatisticsDTO.builder()
+                .total(window.getStarted())
+                .byStatus(statusDistribution(aggregate, window))
+                .byVersion(byVersion)
+                .avgDurationByVersion(avgDurationByVersion)
+                .durationPercentiles(percentiles(window.durations()))
+                .build();
     }
     public List<BottleneckDTO> identifyBottlenecks(String key) {
-        return Collections.emptyList();
+        return bottlenecks(aggregate(key).window(0, Long.MAX_VALUE), TOP_BOTTLENECKS);
     }
-    public FlowAnalysisDTO getFlowAnalysis(String key) {
-        return new FlowAnalysisDTO();
+    /**
+     * Node and edge frequencies of one version, the latest by default, read from the
+     * incrementally maintained transition matrix.
+     */
+    public FlowAnalysisDTO getFlowAnalysis(String key, Integer version) {
+        DefinitionAggregate aggregate = aggregate(key);
+        Integer resolved = version != null ? version : aggregate.latestVersion();
+        FlowAnalysisDTO flow = aggregate.readTransitions(resolved, matrix -> {
+            List<FlowNodeDTO> nodes = new ArrayList<>(matrix.activityCount());
+            for (int activity = 0; activity < matrix.activityCount(); activity++) {
+                nodes.add(FlowNodeDTO.builder()
+                        .id(matrix.activityId(activity))
+                        .name(matrix.activityName(activity))
+                        .type(matrix.activityType(activity))
+                        .executionCount(matrix.executionCount(activity))
+                        .avgDuration(seconds(matrix.averageDurationMillis(activity)))
+                        .build());
+            }
+            List<FlowEdgeDTO> edges = new ArrayList<>();
+            matrix.forEachTransition((from, to, count) -> edges.add(FlowEdgeDTO.builder()
+                    .sourceId(matrix.activityId(from))
+                    .targetId(matrix.activityId(to))
+                    .transitionCount(count)
+                    .percentage(100.0 * count / matrix.outgoingCount(from))
+                    .build()));
+            edges.sort(Comparator.comparing(FlowEdgeDTO::getTransitionCount).reversed());
+            return FlowAnalysisDTO.builder()
+                    .nodes(nodes)
+                    .edges(edges)
+                    .build();
+        });
+        if (flow == null) {
+            flow = FlowAnalysisDTO.builder()
+                    .nodes(Collections.emptyList())
+                    .edges(Collections.emptyList())
+                    .build();
+        }
+        flow.setProcessDefinitionKey(key);
+        flow.setVersion(resolved);
+        return flow;
     }
+
     public TaskAnalyticsDTO getTaskAnalytics(String key, String groupBy) {
         return new TaskAnalyticsDTO();
     }
+    /**
+     * Due date compliance and breaches as recorded by task-service's SLA monitor.
+     */
     public SlaMetricsDTO getSlaMetrics(String key) {
-        return new SlaMetricsDTO();
+        return taskServiceClient.getSlaMetrics(key);
     }
+    /**
+     * Field insights from the statistics form-service maintains per form key. Submissions carry
+     * no process definition key, so the form key alone selects the data.
+     */
     public FormDataInsightsDTO getFormDataInsights(String key, String formKey, List<String> fields) {
-        return new FormDataInsightsDTO();
+        if (formKey == null) {
+            throw new IllegalArgumentException("Form data insights require a formKey");
+        }
+        JsonNode statistics = formServiceClient.getFieldStatistics(formKey, fields);
+        Map<String, FieldInsightDTO> insights = new LinkedHashMap<>();
+        for (JsonNode field : statistics.path("fields")) {
+            insights.put(field.path("fieldId").asText(), FieldInsightDTO.builder()
+                    .fieldId(field.path("fieldId").asText())
+                    .fieldLabel(field.path("label").asText(null))
+                    .fieldType(field.path("type").asText(null))
+                    .responseCount(field.path("responseCount").asLong())
+                    .mostCommonValue(field.path("mostCommonValue").asText(null))
+                    .avgNumericValue(field.hasNonNull("avgNumericValue")
+                            ? field.get("avgNumericValue").asDouble() : null)
+                    .valueDistribution(distribution(field))
+                    .build());
+        }
+        return FormDataInsightsDTO.builder()
+                .processDefinitionKey(key)
+                .formKey(formKey)
+                .submissionCount(statistics.path("submissionCount").asLong())
+                .fieldInsights(insights)
+                .build();
     }
+
     public FieldDistributionDTO getFieldDistribution(String key, String formKey, String fieldId) {
-        return new FieldDistributionDTO();
+        JsonNode field = null;
+        for (JsonNode candidate : formServiceClient.getFieldStatistics(formKey, List.of(fieldId)).path("fields")) {
+            field = candidate;
+        }
+        return FieldDistributionDTO.builder()
+                .fieldId(fieldId)
+                .fieldLabel(field != null ? field.path("label").asText(null) : null)
+                .distribution(field != null ? distribution(field) : Map.of())
+                .totalResponses(field != null ? field.path("responseCount").asLong() : 0L)
+                .build();
     }
+
+    /**
+     * Runs the query in form-service, where filters, paging and aggregation are pushed down to
+     * the submission table. Submissions carry no process definition key, so the query is scoped
+     * by {@code formKey} alone.
+     */
     public CrossInstanceQueryResultDTO executeCrossInstanceQuery(String key, CrossInstanceQueryDTO query) {
-        return new CrossInstanceQueryResultDTO();
+        Map<String, Object> request = new LinkedHashMap<>();
+        request.put("formKey", query.getFormKey());
+        request.put("filters", query.getFilters());
+        request.put("selectFields", query.getSelectFields());
+        request.put("groupBy", query.getGroupBy());
+        request.put("aggregation", query.getAggregation());
+        request.put("page", query.getPage());
+        request.put("size", query.getLimit());
+
+        JsonNode result = formServiceClient.querySubmissions(request);
+        return CrossInstanceQueryResultDTO.builder()
+                .totalMatches(result.path("totalMatches").asLong())
+                .totalCapped(result.path("totalCapped").asBoolean())
+                .results(objectMapper.convertValue(result.path("results"), RESULT_ROWS))
+                .aggregations(result.hasNonNull("aggregations")
+                        ? objectMapper.convertValue(result.get("aggregations"), AGGREGATIONS) : null)
+                .build();
     }
     public TrendDataDTO getTrends(String key, String metric, String interval, LocalDateTime start, LocalDateTime end) {
-        return new TrendDataDTO();
+        return TrendDataDTO.builder()
+                .metric(metric)
+                .interval(interval)
+                .dataPoints(trend(aggregate(key), metric, intervalMillis(interval), from(start), to(end)))
+                .build();
     }
     public List<CustomReportDTO> getSavedReports() {
         return Collections.emptyList();
@@ -54,4 +239,134 @@ public class DashboardService {
     public void deleteReport(String reportId) {
         // stub
     }
+
+    private DefinitionAggregate aggregate(String key) {
+        // Unknown keys read as an empty aggregate rather than an error
+        return analyticsEngine.aggregate(key);
+    }
+
+    private ProcessOverviewDTO overview(DefinitionAggregate aggregate, DefinitionAggregate.Bucket window) {
+        long startOfToday = LocalDate.now().atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        DefinitionAggregate.Bucket today = aggregate.window(startOfToday, Long.MAX_VALUE);
+        return ProcessOverviewDTO.builder()
+                .totalInstances(window.getStarted())
+                .runningInstances((long) aggregate.runningInstances())
+                .completedInstances(window.getCompleted())
+                .failedInstances(window.getFailed())
+                .cancelledInstances(window.getCancelled())
+                .avgDurationSeconds(seconds(window.averageDurationMillis()))
+                .medianDurationSeconds(quantileSeconds(window.durations(), 0.5))
+                .instancesStartedToday(today.getStarted())
+                .instancesCompletedToday(today.getCompleted())
+                .completionRate(window.getStarted() > 0 ? (double) window.getCompleted() / window.getStarted() : null)
+                .build();
+    }
+
+    private List<PercentileDTO> percentiles(DurationSketch durations) {
+        List<PercentileDTO> percentiles = new ArrayList<>(REPORTED_PERCENTILES.length);
+        if (durations == null) {
+            return percentiles;
+        }
+        for (int percentile : REPORTED_PERCENTILES) {
+            percentiles.add(PercentileDTO.builder()
+                    .percentile(percentile)
+                    .value(quantileSeconds(durations, percentile / 100.0))
+                    .build());
+        }
+        return percentiles;
+    }
+
+    private static Double quantileSeconds(DurationSketch durations, double quantile) {
+        return durations != null ? seconds(durations.quantile(quantile)) : null;
+    }
+
+    private Map<String, Long> statusDistribution(DefinitionAggregate aggregate, DefinitionAggregate.Bucket window) {
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        byStatus.put("RUNNING", (long) aggregate.runningInstances());
+        byStatus.put("COMPLETED", window.getCompleted());
+        byStatus.put("CANCELLED", window.getCancelled());
+        byStatus.put("FAILED", window.getFailed());
+        return byStatus;
+    }
+
+    /**
+     * Ranks activities by their share of the total time spent in all activities.
+     */
+    private List<BottleneckDTO> bottlenecks(DefinitionAggregate.Bucket window, int limit) {
+        long totalDuration = window.getActivities().values().stream()
+                .mapToLong(DefinitionAggregate.ActivityStats::getDurationSum)
+                .sum();
+        List<DefinitionAggregate.ActivityStats> ranked = window.getActivities().values().stream()
+                .filter(activity -> activity.getDurationCount() > 0)
+                .sorted(Comparator.comparingLong(DefinitionAggregate.ActivityStats::getDurationSum).reversed())
+                .limit(limit)
+                .toList();
+
+        List<BottleneckDTO> bottlenecks = new ArrayList<>(ranked.size());
+        for (DefinitionAggregate.ActivityStats activity : ranked) {
+            bottlenecks.add(BottleneckDTO.builder()
+                    .activityId(activity.getId())
+                    .activityName(activity.getName())
+                    .activityType(activity.getType())
+                    .avgDurationSeconds(seconds(activity.averageDurationMillis()))
+                    .instanceCount(activity.getCount())
+                    .percentageOfTotal(totalDuration > 0 ? 100.0 * activity.getDurationSum() / totalDuration : null)
+                    .rank(bottlenecks.size() + 1)
+                    .build());
+        }
+        return bottlenecks;
+    }
+
+    private List<TrendPointDTO> trend(DefinitionAggregate aggregate, String metric, long intervalMillis,
+            long from, long to) {
+        List<TrendPointDTO> points = new ArrayList<>();
+        aggregate.rollup(from, to, intervalMillis).forEach((start, bucket) -> points.add(TrendPointDTO.builder()
+                .timestamp(LocalDateTime.ofInstant(Instant.ofEpochMilli(start), ZoneId.systemDefault()))
+                .value(metricValue(bucket, metric))
+                .label(metric)
+                .build()));
+        return points;
+    }
+
+    private Double metricValue(DefinitionAggregate.Bucket bucket, String metric) {
+        return switch (metric == null ? "started" : metric) {
+            case "started" -> (double) bucket.getStarted();
+            case "completed" -> (double) bucket.getCompleted();
+            case "cancelled" -> (double) bucket.getCancelled();
+            case "failed" -> (double) bucket.getFailed();
+            case "avgDuration" -> seconds(bucket.averageDurationMillis());
+            case "tasksCompleted" -> (double) bucket.getTasksCompleted();
+            case "avgTaskDuration" -> seconds(bucket.averageTaskDurationMillis());
+            default -> throw new IllegalArgumentException("Unknown trend metric: " + metric);
+        };
+    }
+
+    private long intervalMillis(String interval) {
+        return switch (interval == null ? "day" : interval.toLowerCase()) {
+            case "hour" -> Duration.ofHours(1).toMillis();
+            case "day" -> Duration.ofDays(1).toMillis();
+            case "week" -> Duration.ofDays(7).toMillis();
+            case "month" -> Duration.ofDays(30).toMillis();
+            default -> throw new IllegalArgumentException("Unknown trend interval: " + interval);
+        };
+    }
+
+    private static long from(LocalDateTime start) {
+        return start != null ? start.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : 0;
+    }
+
+    private static long to(LocalDateTime end) {
+        return end != null ? end.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : Long.MAX_VALUE;
+    }
+
+    private static Map<String, Long> distribution(JsonNode field) {
+        Map<String, Long> distribution = new LinkedHashMap<>();
+        field.path("distribution").fields()
+                .forEachRemaining(entry -> distribution.put(entry.getKey(), entry.getValue().asLong()));
+        return distribution;
+    }
+
+    private static Double seconds(Double millis) {
+        return millis != null ? millis / 1000.0 : null;
+    }
 }
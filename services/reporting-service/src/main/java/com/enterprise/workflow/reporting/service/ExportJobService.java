@@ -0,0 +1,211 @@
+package com.enterprise.workflow.reporting.service;
+
+import com.enterprise.workflow.reporting.config.ExportProperties;
+import com.enterprise.workflow.reporting.dto.ReportingDTOs.ExportJobDTO;
+import com.enterprise.workflow.reporting.dto.ReportingDTOs.ExportRequestDTO;
+import com.enterprise.workflow.reporting.service.export.ReportFormat;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+/**
+ * Runs very large exports in the background and keeps the result for download.
+ *
+ * Each job streams into a temp file on a virtual thread, with at most
+ * {@code reporting.export.jobs.max-concurrency} jobs writing at once, and is moved
+ * into place when complete so a download never sees a partial file. Job status is
+ * held in memory on the node that ran the export; files and status expire after
+ * {@code reporting.export.jobs.retention}.
+ */
+@Service
+@Slf4j
+public class ExportJobService {
+
+    private static final String DOWNLOAD_PATH = "/api/v1/reporting/export/jobs/%s/download";
+
+    private final ReportExportService exportService;
+    private final ExportProperties properties;
+    private final Path directory;
+    private final Semaphore permits;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    public ExportJobService(ReportExportService exportService, ExportProperties properties) {
+        this.exportService = exportService;
+        this.properties = properties;
+        this.directory = Path.of(properties.getJobs().getDirectory()).toAbsolutePath().normalize();
+        this.permits = new Semaphore(Math.max(1, properties.getJobs().getMaxConcurrency()));
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create export directory " + directory, e);
+        }
+    }
+
+    public ExportJobDTO submit(ExportRequestDTO request, ReportFormat format) {
+        exportService.validate(request);
+        Job job = new Job(UUID.randomUUID().toString(), request, format);
+        jobs.put(job.id, job);
+        executor.submit(() -> run(job));
+        log.info("Queued {} export job {} for {}", format, job.id, request.getReportType());
+        return job.toDto();
+    }
+
+    public ExportJobDTO getJob(String jobId) {
+        return job(jobId).toDto();
+    }
+
+    /**
+     * Returns the finished export file of a job.
+     */
+    public Resource download(String jobId) {
+        Job job = job(jobId);
+        if (!"COMPLETED".equals(job.status)) {
+            throw new IllegalStateException("Export job " + jobId + " is " + job.status);
+        }
+        return new FileSystemResource(job.file);
+    }
+
+    public String fileName(String jobId) {
+        Job job = job(jobId);
+        return exportService.fileName(job.request, job.format);
+    }
+
+    public ReportFormat format(String jobId) {
+        return job(jobId).format;
+    }
+
+    @Scheduled(fixedDelayString = "PT10M", initialDelayString = "PT1M")
+    public void purgeExpired() {
+        LocalDateTime jobCutoff = LocalDateTime.now().minus(properties.getJobs().getRetention());
+        jobs.values().removeIf(job -> {
+            if (job.completedAt == null || job.completedAt.isAfter(jobCutoff)) {
+                return false;
+            }
+            deleteQuietly(job.file);
+            return true;
+        });
+
+        // Files left behind by a previous run are no longer tracked, so expire them by age
+        Instant fileCutoff = Instant.now().minus(properties.getJobs().getRetention());
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(file -> {
+                try {
+                    return Files.getLastModifiedTime(file).toInstant().isBefore(fileCutoff);
+                } catch (IOException e) {
+                    return false;
+                }
+            }).forEach(this::deleteQuietly);
+        } catch (IOException e) {
+            log.warn("Could not sweep export directory {}: {}", directory, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(Job job) {
+        Path temp = directory.resolve(job.id + ".part");
+        try {
+            permits.acquire();
+            try {
+                job.status = "RUNNING";
+                try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                    job.rowCount = exportService.export(job.request, job.format, output);
+                }
+                Files.move(temp, job.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                job.sizeBytes = Files.size(job.file);
+                job.status = "COMPLETED";
+            } finally {
+                permits.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.fail("Interrupted");
+        } catch (Exception e) {
+            log.error("Export job {} failed", job.id, e);
+            job.fail(e.getMessage());
+        } finally {
+            deleteQuietly(temp);
+            job.completedAt = LocalDateTime.now();
+        }
+    }
+
+    private Job job(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            throw new RuntimeException("Export job not found: " + jobId);
+        }
+        return job;
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete export file {}: {}", file, e.getMessage());
+        }
+    }
+
+    private class Job {
+        private final String id;
+        private final ExportRequestDTO request;
+        private final ReportFormat format;
+        private final Path file;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private volatile String status = "QUEUED";
+        private volatile Long rowCount;
+        private volatile Long sizeBytes;
+        private volatile String error;
+        private volatile LocalDateTime completedAt;
+
+        Job(String id, ExportRequestDTO request, ReportFormat format) {
+            this.id = id;
+            this.request = request;
+            this.format = format;
+            this.file = directory.resolve(id + "." + format.getExtension());
+        }
+
+        void fail(String message) {
+            error = message;
+            status = "FAILED";
+        }
+
+        ExportJobDTO toDto() {
+            return ExportJobDTO.builder()
+                    .id(id)
+                    .reportType(request.getReportType())
+                    .format(format.name())
+                    .status(status)
+                    .rowCount(rowCount)
+                    .sizeBytes(sizeBytes)
+                    .error(error)
+                    .createdAt(createdAt)
+                    .completedAt(completedAt)
+                    .downloadUrl("COMPLETED".equals(status) ? DOWNLOAD_PATH.formatted(id) : null)
+                    .build();
+        }
+    }
+}
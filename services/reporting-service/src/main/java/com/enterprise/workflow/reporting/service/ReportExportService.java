@@ -1,18 +1,84 @@
 package com.enterprise.workflow.reporting.service;
 
+import com.enterprise.workflow.reporting.config.ExportProperties;
 import com.enterprise.workflow.reporting.dto.ReportingDTOs.ExportRequestDTO;
-import org.springframework.core.io.Resource;
+import com.enterprise.workflow.reporting.service.export.ReportFormat;
+import com.enterprise.workflow.reporting.service.export.ReportRowSource;
+import com.enterprise.workflow.reporting.service.export.ReportRowWriter;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Streams report data into CSV, Excel or PDF.
+ *
+ * Rows flow from a {@link ReportRowSource} straight into the format writer, which
+ * encodes them into the caller's stream as they arrive; no export is ever held in
+ * memory as a whole.
+ */
 @Service
+@Slf4j
 public class ReportExportService {
-    public Resource exportToExcel(ExportRequestDTO request) {
-        return null; // Stub
+
+    private final Map<String, ReportRowSource> sources;
+    private final ExportProperties properties;
+
+    public ReportExportService(List<ReportRowSource> sources, ExportProperties properties) {
+        this.sources = sources.stream()
+                .collect(Collectors.toMap(ReportRowSource::getReportType, Function.identity()));
+        this.properties = properties;
     }
-    public Resource exportToPdf(ExportRequestDTO request) {
-        return null; // Stub
+
+    /**
+     * Fails fast on requests that cannot be exported, before any output is committed.
+     */
+    public void validate(ExportRequestDTO request) {
+        source(request);
+    }
+
+    /**
+     * Writes the report to the stream, leaving the stream open.
+     *
+     * @return Number of data rows written
+     */
+    public long export(ExportRequestDTO request, ReportFormat format, OutputStream output) throws IOException {
+        ReportRowSource source = source(request);
+        long start = System.nanoTime();
+        long rows;
+        try (ReportRowWriter writer = format.newWriter(output, title(request), properties)) {
+            rows = source.writeRows(request, writer);
+            writer.finish();
+        }
+        log.info("Exported {} rows of {} as {} in {} ms", rows, request.getReportType(), format,
+                (System.nanoTime() - start) / 1_000_000);
+        return rows;
     }
-    public Resource exportToCsv(ExportRequestDTO request) {
-        return null; // Stub
+
+    public String fileName(ExportRequestDTO request, ReportFormat format) {
+        String base = request.getProcessDefinitionKey() != null
+                ? request.getReportType() + "-" + request.getProcessDefinitionKey()
+                : request.getReportType();
+        return base.replaceAll("[^A-Za-z0-9._-]", "_") + "." + format.getExtension();
+    }
+
+    private ReportRowSource source(ExportRequestDTO request) {
+        ReportRowSource source = request.getReportType() != null ? sources.get(request.getReportType()) : null;
+        if (source == null) {
+            throw new IllegalArgumentException("Unknown report type: " + request.getReportType()
+                    + " (supported: " + String.join(", ", sources.keySet()) + ")");
+        }
+        return source;
+    }
+
+    private static String title(ExportRequestDTO request) {
+        return request.getProcessDefinitionKey() != null
+                ? request.getReportType() + " - " + request.getProcessDefinitionKey()
+                : request.getReportType();
     }
 }
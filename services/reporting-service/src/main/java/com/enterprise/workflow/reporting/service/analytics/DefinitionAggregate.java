@@ -0,0 +1,333 @@
+package com.enterprise.workflow.reporting.service.analytics;
+
+import com.enterprise.workflow.reporting.dto.ProcessLifecycleEvent;
+import lombok.Getter;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Incrementally maintained analytics of one process definition key.
+ *
+ * Every event is folded into the time bucket it happened in, so reading any
+ * window costs one pass over its buckets regardless of how many instances ran.
+ * Instance durations are additionally kept as a {@link DurationSketch} per
+ * version and bucket, so percentiles of any window come from merging sketches.
+ * Instance and activity start times are kept only while they are in flight, to
+ * derive durations when the completion event arrives, and are dropped once they
+ * fall behind the retention cutoff, so instances whose end event never arrives
+ * do not accumulate. {@link #runningInstances()} therefore counts instances
+ * started within the retention window. Activity transitions are
+ * counted per version in a {@link TransitionMatrix}, linking each completed activity
+ * to the one completed before it on the same execution (or, right after a fork, in
+ * the same instance). All access is synchronized on the aggregate.
+ */
+public class DefinitionAggregate {
+
+    @Getter
+    private final String processDefinitionKey;
+    private final long bucketMillis;
+    private final double sketchAccuracy;
+    private final int sketchMaxBins;
+    private final TreeMap<Long, Bucket> buckets = new TreeMap<>();
+    private final Map<String, RunningInstance> running = new HashMap<>();
+    private final Map<String, Long> activityStarts = new HashMap<>();
+    private final Map<Integer, TransitionMatrix> transitions = new HashMap<>();
+    private final Map<String, InstanceTrail> trails = new HashMap<>();
+
+    public DefinitionAggregate(String processDefinitionKey, long bucketMillis, double sketchAccuracy,
+            int sketchMaxBins) {
+        this.processDefinitionKey = processDefinitionKey;
+        this.bucketMillis = bucketMillis;
+        this.sketchAccuracy = sketchAccuracy;
+        this.sketchMaxBins = sketchMaxBins;
+    }
+
+    synchronized void apply(ProcessLifecycleEvent event) {
+        long timestamp = event.getTimestamp();
+        Bucket bucket = buckets.computeIfAbsent(timestamp - Math.floorMod(timestamp, bucketMillis), start -> new Bucket());
+
+        switch (event.getType()) {
+            case "PROCESS_STARTED" -> {
+                bucket.started++;
+                bucket.version(event.getProcessDefinitionVersion()).started++;
+                running.put(event.getProcessInstanceId(),
+                        new RunningInstance(timestamp, event.getProcessDefinitionVersion()));
+            }
+            case "PROCESS_COMPLETED" -> {
+                RunningInstance instance = running.remove(event.getProcessInstanceId());
+                trails.remove(event.getProcessInstanceId());
+                bucket.completed++;
+                Long duration = event.getDurationMillis() != null ? event.getDurationMillis()
+                        : instance != null ? timestamp - instance.startedAt() : null;
+                if (duration != null) {
+                    Integer version = event.getProcessDefinitionVersion() != null
+                            ? event.getProcessDefinitionVersion()
+                            : instance != null ? instance.version() : null;
+                    bucket.durationSum += duration;
+                    bucket.durationCount++;
+                    VersionStats versionStats = bucket.version(version);
+                    versionStats.completed++;
+                    versionStats.durationSum += duration;
+                    if (versionStats.durations == null) {
+                        versionStats.durations = new DurationSketch(sketchAccuracy, sketchMaxBins);
+                    }
+                    versionStats.durations.add(duration);
+                }
+            }
+            case "PROCESS_CANCELLED" -> {
+                running.remove(event.getProcessInstanceId());
+                trails.remove(event.getProcessInstanceId());
+                bucket.cancelled++;
+            }
+            // The instance waits in an incident and stays running until retried or cancelled
+            case "PROCESS_FAILED" -> bucket.failed++;
+            case "ACTIVITY_STARTED" -> activityStarts.put(activityKey(event), timestamp);
+            case "ACTIVITY_COMPLETED" -> {
+                Long startedAt = activityStarts.remove(activityKey(event));
+                ActivityStats activity = bucket.activity(event.getActivityId(), event.getActivityName(),
+                        event.getActivityType());
+                activity.count++;
+                if (startedAt != null) {
+                    activity.durationSum += timestamp - startedAt;
+                    activity.durationCount++;
+                }
+                recordTransition(event, startedAt != null ? timestamp - startedAt : null);
+            }
+            case "TASK_CREATED" -> bucket.tasksCreated++;
+            case "TASK_COMPLETED" -> {
+                bucket.tasksCompleted++;
+                if (event.getDurationMillis() != null) {
+                    bucket.taskDurationSum += event.getDurationMillis();
+                    bucket.taskDurationCount++;
+                }
+            }
+            default -> {
+                // TASK_ASSIGNED and unknown types carry nothing aggregated yet
+            }
+        }
+    }
+
+    /**
+     * Merges the buckets in {@code [from, to)} into one.
+     */
+    public synchronized Bucket window(long from, long to) {
+        Bucket total = new Bucket();
+        range(from, to).values().forEach(total::merge);
+        return total;
+    }
+
+    /**
+     * Merges the buckets in {@code [from, to)} per {@code intervalMillis}, keyed by interval start.
+     */
+    public synchronized NavigableMap<Long, Bucket> rollup(long from, long to, long intervalMillis) {
+        long interval = Math.max(intervalMillis, bucketMillis);
+        NavigableMap<Long, Bucket> rolled = new TreeMap<>();
+        range(from, to).forEach((start, bucket) -> rolled
+                .computeIfAbsent(start - Math.floorMod(start, interval), key -> new Bucket())
+                .merge(bucket));
+        return rolled;
+    }
+
+    /**
+     * Highest version an activity was completed in, or null before the first activity completes.
+     */
+    public synchronized Integer latestVersion() {
+        return transitions.keySet().stream().max(Integer::compare).orElse(null);
+    }
+
+    /**
+     * Reads the transition matrix of a version under the aggregate's lock; the reader
+     * must not keep a reference to the matrix. Returns null for unknown versions.
+     */
+    public synchronized <T> T readTransitions(Integer version, Function<TransitionMatrix, T> reader) {
+        TransitionMatrix matrix = transitions.get(version);
+        return matrix != null ? reader.apply(matrix) : null;
+    }
+
+    public synchronized int runningInstances() {
+        return running.size();
+    }
+
+    synchronized void prune(long cutoffMillis) {
+        buckets.headMap(cutoffMillis).clear();
+        Iterator<Long> starts = activityStarts.values().iterator();
+        while (starts.hasNext()) {
+            if (starts.next() < cutoffMillis) {
+                starts.remove();
+            }
+        }
+        // Instances whose end event never arrived would otherwise keep their start and trail forever
+        running.values().removeIf(instance -> instance.startedAt() < cutoffMillis);
+        trails.values().removeIf(trail -> trail.lastSeen < cutoffMillis);
+    }
+
+    private void recordTransition(ProcessLifecycleEvent event, Long durationMillis) {
+        RunningInstance instance = running.get(event.getProcessInstanceId());
+        Integer version = event.getProcessDefinitionVersion() != null ? event.getProcessDefinitionVersion()
+                : instance != null && instance.version() != null ? instance.version() : 0;
+        TransitionMatrix matrix = transitions.computeIfAbsent(version, key -> new TransitionMatrix());
+        int activity = matrix.intern(event.getActivityId(), event.getActivityName(), event.getActivityType());
+        matrix.recordExecution(activity, durationMillis);
+
+        InstanceTrail trail = trails.computeIfAbsent(event.getProcessInstanceId(), key -> new InstanceTrail());
+        Integer previous = event.getExecutionId() != null ? trail.byExecution.get(event.getExecutionId()) : null;
+        if (previous == null && trail.last >= 0) {
+            previous = trail.last;
+        }
+        if (previous != null) {
+            matrix.recordTransition(previous, activity);
+        }
+        trail.last = activity;
+        if (event.getExecutionId() != null) {
+            trail.byExecution.put(event.getExecutionId(), activity);
+        }
+        trail.lastSeen = event.getTimestamp();
+    }
+
+    private NavigableMap<Long, Bucket> range(long from, long to) {
+        // A bucket belongs to the window if it starts inside it
+        return buckets.subMap(from - Math.floorMod(from, bucketMillis), true, to, false);
+    }
+
+    private static String activityKey(ProcessLifecycleEvent event) {
+        String scope = event.getExecutionId() != null ? event.getExecutionId() : event.getProcessInstanceId();
+        return scope + "|" + event.getActivityId();
+    }
+
+    private record RunningInstance(long startedAt, Integer version) {
+    }
+
+    /**
+     * Last completed activity of a running instance, overall and per execution.
+     */
+    private static class InstanceTrail {
+        private int last = -1;
+        private final Map<String, Integer> byExecution = new HashMap<>(4);
+        private long lastSeen;
+    }
+
+    /**
+     * Aggregates of one time bucket; also used for merged windows.
+     */
+    @Getter
+    public static class Bucket {
+        private long started;
+        private long completed;
+        private long cancelled;
+        private long failed;
+        private long durationSum;
+        private long durationCount;
+        private long tasksCreated;
+        private long tasksCompleted;
+        private long taskDurationSum;
+        private long taskDurationCount;
+        private final Map<Integer, VersionStats> versions = new HashMap<>();
+        private final Map<String, ActivityStats> activities = new LinkedHashMap<>();
+
+        public Double averageDurationMillis() {
+            return durationCount > 0 ? (double) durationSum / durationCount : null;
+        }
+
+        public Double averageTaskDurationMillis() {
+            return taskDurationCount > 0 ? (double) taskDurationSum / taskDurationCount : null;
+        }
+
+        /**
+         * Instance duration sketch across all versions, or null if no instance completed.
+         */
+        public DurationSketch durations() {
+            DurationSketch merged = null;
+            for (VersionStats stats : versions.values()) {
+                if (stats.durations != null) {
+                    if (merged == null) {
+                        merged = stats.durations.copy();
+                    } else {
+                        merged.merge(stats.durations);
+                    }
+                }
+            }
+            return merged;
+        }
+
+        VersionStats version(Integer version) {
+            return versions.computeIfAbsent(version != null ? version : 0, key -> new VersionStats());
+        }
+
+        ActivityStats activity(String id, String name, String type) {
+            ActivityStats activity = activities.computeIfAbsent(id, key -> new ActivityStats(id));
+            activity.name = name != null ? name : activity.name;
+            activity.type = type != null ? type : activity.type;
+            return activity;
+        }
+
+        void merge(Bucket other) {
+            started += other.started;
+            completed += other.completed;
+            cancelled += other.cancelled;
+            failed += other.failed;
+            durationSum += other.durationSum;
+            durationCount += other.durationCount;
+            tasksCreated += other.tasksCreated;
+            tasksCompleted += other.tasksCompleted;
+            taskDurationSum += other.taskDurationSum;
+            taskDurationCount += other.taskDurationCount;
+            other.versions.forEach((version, stats) -> version(version).merge(stats));
+            other.activities.forEach((id, stats) -> activity(id, stats.name, stats.type).merge(stats));
+        }
+    }
+
+    @Getter
+    public static class VersionStats {
+        private long started;
+        private long completed;
+        private long durationSum;
+        private DurationSketch durations;
+
+        public Double averageDurationMillis() {
+            return completed > 0 ? (double) durationSum / completed : null;
+        }
+
+        void merge(VersionStats other) {
+            started += other.started;
+            completed += other.completed;
+            durationSum += other.durationSum;
+            if (other.durations != null) {
+                if (durations == null) {
+                    durations = other.durations.copy();
+                } else {
+                    durations.merge(other.durations);
+                }
+            }
+        }
+    }
+
+    @Getter
+    public static class ActivityStats {
+        private final String id;
+        private String name;
+        private String type;
+        private long count;
+        private long durationSum;
+        private long durationCount;
+
+        ActivityStats(String id) {
+            this.id = id;
+        }
+
+        public Double averageDurationMillis() {
+            return durationCount > 0 ? (double) durationSum / durationCount : null;
+        }
+
+        void merge(ActivityStats other) {
+            count += other.count;
+            durationSum += other.durationSum;
+            durationCount += other.durationCount;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.enterprise.workflow.reporting.service.analytics;
+
+/**
+ * Mergeable quantile sketch for durations, after DDSketch (Masson et al., VLDB 2019).
+ *
+ * Values are counted in logarithmic bins of ratio {@code gamma = (1 + a) / (1 - a)},
+ * so every quantile is returned within a relative error of {@code a} of the true
+ * value (1% by default: a true p99 of 200 s is reported as 198–202 s). Two sketches
+ * with the same accuracy merge exactly by adding bin counts, which is what lets
+ * per-bucket sketches answer arbitrary date ranges.
+ *
+ * Bins are stored densely between the lowest and highest non-empty index. When
+ * more than {@code maxBins} would be needed the lowest bins are folded together,
+ * which only costs accuracy at the very bottom of the distribution; with the
+ * defaults 2048 bins cover 1 ms to over a year at 1% without collapsing, i.e. at
+ * most 16 KiB per sketch and typically far less.
+ *
+ * Not thread-safe; guarded by the owning {@link DefinitionAggregate}.
+ */
+public class DurationSketch {
+
+    private final double relativeAccuracy;
+    private final double logGamma;
+    private final int maxBins;
+
+    private long[] bins = new long[0];
+    private int offset;
+    private long zeroCount;
+    private long count;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public DurationSketch(double relativeAccuracy, int maxBins) {
+        if (relativeAccuracy <= 0 || relativeAccuracy >= 1) {
+            throw new IllegalArgumentException("Relative accuracy must be in (0, 1): " + relativeAccuracy);
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.logGamma = Math.log((1 + relativeAccuracy) / (1 - relativeAccuracy));
+        this.maxBins = Math.max(16, maxBins);
+    }
+
+    public void add(double value) {
+        count++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        if (value <= 0) {
+            zeroCount++;
+            return;
+        }
+        int index = (int) Math.ceil(Math.log(value) / logGamma);
+        ensureCapacity(index, index);
+        bins[Math.max(index, offset) - offset]++;
+    }
+
+    /**
+     * Adds all values of {@code other}, which must have the same relative accuracy.
+     */
+    public void merge(DurationSketch other) {
+        if (other.relativeAccuracy != relativeAccuracy) {
+            throw new IllegalArgumentException("Cannot merge sketches of different accuracy");
+        }
+        if (other.count == 0) {
+            return;
+        }
+        count += other.count;
+        zeroCount += other.zeroCount;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        if (other.bins.length == 0) {
+            return;
+        }
+        ensureCapacity(other.offset, other.offset + other.bins.length - 1);
+        for (int i = 0; i < other.bins.length; i++) {
+            bins[Math.max(other.offset + i, offset) - offset] += other.bins[i];
+        }
+    }
+
+    public DurationSketch copy() {
+        DurationSketch copy = new DurationSketch(relativeAccuracy, maxBins);
+        copy.merge(this);
+        return copy;
+    }
+
+    /**
+     * @param quantile in [0, 1]
+     * @return the estimated value, or null if the sketch is empty
+     */
+    public Double quantile(double quantile) {
+        if (count == 0) {
+            return null;
+        }
+        if (quantile <= 0) {
+            return min;
+        }
+        if (quantile >= 1) {
+            return max;
+        }
+        long rank = (long) (quantile * (count - 1));
+        if (rank < zeroCount) {
+            return Math.max(min, 0);
+        }
+        long seen = zeroCount;
+        for (int i = 0; i < bins.length; i++) {
+            seen += bins[i];
+            if (seen > rank) {
+                double estimate = 2 * Math.exp((offset + i) * logGamma) / (1 + Math.exp(logGamma));
+                return Math.min(Math.max(estimate, min), max);
+            }
+        }
+        return max;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getRelativeAccuracy() {
+        return relativeAccuracy;
+    }
+
+    private void ensureCapacity(int lowIndex, int highIndex) {
+        if (bins.length == 0) {
+            int low = Math.max(lowIndex, highIndex - maxBins + 1);
+            bins = new long[highIndex - low + 1];
+            offset = low;
+            return;
+        }
+        int low = Math.min(lowIndex, offset);
+        int high = Math.max(highIndex, offset + bins.length - 1);
+        if (low == offset && high == offset + bins.length - 1) {
+            return;
+        }
+        // Keep the highest bins; anything below the window is folded into its lowest bin
+        int newLow = Math.max(low, high - maxBins + 1);
+        long[] resized = new long[high - newLow + 1];
+        for (int i = 0; i < bins.length; i++) {
+            resized[Math.max(offset + i, newLow) - newLow] += bins[i];
+        }
+        bins = resized;
+        offset = newLow;
+    }
+
+}
@@ -0,0 +1,146 @@
+package com.enterprise.workflow.reporting.service.analytics;
+
+import com.enterprise.workflow.reporting.config.AnalyticsProperties;
+import com.enterprise.workflow.reporting.dto.ProcessLifecycleEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Materialised process analytics fed by workflow lifecycle events.
+ *
+ * Each event is appended to the {@link ProcessEventLog} and folded into the
+ * {@link DefinitionAggregate} of its process definition key. Writes are applied
+ * one at a time so start/complete pairs are seen in log order; dashboard reads
+ * only touch the aggregates. {@link #rebuild()} discards all aggregates and
+ * replays the log.
+ */
+@Component
+@Slf4j
+public class ProcessAnalyticsEngine {
+
+    private final AnalyticsProperties properties;
+    private final ProcessEventLog eventLog;
+    private final long bucketMillis;
+    private final Map<String, DefinitionAggregate> aggregates = new ConcurrentHashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final Map<String, Boolean> recentEventIds;
+
+    public ProcessAnalyticsEngine(AnalyticsProperties properties, ProcessEventLog eventLog) {
+        this.properties = properties;
+        this.eventLog = eventLog;
+        this.bucketMillis = Math.max(1, properties.getBucketSize().toMillis());
+        int window = Math.max(0, properties.getDedupeWindow());
+        this.recentEventIds = new LinkedHashMap<>(1024, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > window;
+            }
+        };
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (properties.isRebuildOnStartup()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Logs and applies one event. Events without a definition key or type, and
+     * events already seen recently, are ignored.
+     */
+    public void ingest(ProcessLifecycleEvent event) {
+        if (event == null || event.getProcessDefinitionKey() == null || event.getType() == null) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            if (event.getEventId() != null && recentEventIds.put(event.getEventId(), Boolean.TRUE) != null) {
+                return;
+            }
+            eventLog.append(event);
+            apply(event);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to log analytics event: " + e.getMessage(), e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Discards all aggregates and replays the event log into new ones.
+     *
+     * @return the number of events replayed
+     */
+    public long rebuild() {
+        writeLock.lock();
+        try {
+            long start = System.nanoTime();
+            aggregates.clear();
+            recentEventIds.clear();
+            long cutoff = cutoff();
+            long replayed = eventLog.replay(event -> {
+                if (event.getEventId() != null) {
+                    recentEventIds.put(event.getEventId(), Boolean.TRUE);
+                }
+                if (event.getTimestamp() >= cutoff && event.getProcessDefinitionKey() != null) {
+                    apply(event);
+                }
+            });
+            log.info("Rebuilt process analytics from {} events for {} definitions in {} ms",
+                    replayed, aggregates.size(), (System.nanoTime() - start) / 1_000_000);
+            return replayed;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to replay analytics event log: " + e.getMessage(), e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * @return the aggregate of a definition key, or an empty one if nothing was recorded for it
+     */
+    public DefinitionAggregate aggregate(String processDefinitionKey) {
+        DefinitionAggregate aggregate = aggregates.get(processDefinitionKey);
+        return aggregate != null ? aggregate : newAggregate(processDefinitionKey);
+    }
+
+    public Set<String> definitionKeys() {
+        return new TreeSet<>(aggregates.keySet());
+    }
+
+    @Scheduled(fixedDelayString = "PT1H", initialDelayString = "PT10M")
+    public void pruneExpired() {
+        long cutoff = cutoff();
+        aggregates.values().forEach(aggregate -> aggregate.prune(cutoff));
+        try {
+            eventLog.prune(cutoff);
+        } catch (IOException e) {
+            log.warn("Could not prune analytics event log: {}", e.getMessage());
+        }
+    }
+
+    private void apply(ProcessLifecycleEvent event) {
+        aggregates.computeIfAbsent(event.getProcessDefinitionKey(), this::newAggregate).apply(event);
+    }
+
+    private DefinitionAggregate newAggregate(String processDefinitionKey) {
+        return new DefinitionAggregate(processDefinitionKey, bucketMillis,
+                properties.getSketchRelativeAccuracy(), properties.getSketchMaxBins());
+    }
+
+    private long cutoff() {
+        return System.currentTimeMillis() - properties.getRetention().toMillis();
+    }
+}
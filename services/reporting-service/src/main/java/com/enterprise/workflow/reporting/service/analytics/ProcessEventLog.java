@@ -0,0 +1,139 @@
+package com.enterprise.workflow.reporting.service.analytics;
+
+import com.enterprise.workflow.reporting.config.AnalyticsProperties;
+import com.enterprise.workflow.reporting.dto.ProcessLifecycleEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Append-only log of every lifecycle event the analytics engine has applied.
+ *
+ * Events are written as UTF-8 NDJSON into numbered segment files, so aggregates can
+ * be rebuilt from scratch by replaying the segments in order, e.g. after the
+ * aggregation logic changed. A segment is closed once its size on disk reaches
+ * {@code segment-bytes}.
+ */
+@Component
+@Slf4j
+public class ProcessEventLog {
+
+    private static final String PREFIX = "events-";
+    private static final String SUFFIX = ".ndjson";
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final ObjectMapper objectMapper;
+
+    private OutputStream output;
+    private Path currentSegment;
+    private long currentSize;
+    private long nextSequence;
+
+    public ProcessEventLog(AnalyticsProperties properties, ObjectMapper objectMapper) throws IOException {
+        this.directory = Files.createDirectories(Path.of(properties.getEventLog().getDirectory()).toAbsolutePath());
+        this.segmentBytes = properties.getEventLog().getSegmentBytes();
+        this.objectMapper = objectMapper;
+        List<Path> segments = segments();
+        this.nextSequence = segments.isEmpty() ? 0 : sequenceOf(segments.get(segments.size() - 1)) + 1;
+        log.info("Analytics event log at {} ({} segments)", directory, segments.size());
+    }
+
+    public synchronized void append(ProcessLifecycleEvent event) throws IOException {
+        byte[] line = (objectMapper.writeValueAsString(event) + "\n").getBytes(StandardCharsets.UTF_8);
+        if (output == null || currentSize >= segmentBytes) {
+            roll();
+        }
+        output.write(line);
+        output.flush();
+        currentSize += line.length;
+    }
+
+    /**
+     * Feeds every logged event, oldest first, to {@code consumer}.
+     *
+     * @return the number of events replayed
+     */
+    public synchronized long replay(Consumer<ProcessLifecycleEvent> consumer) throws IOException {
+        if (output != null) {
+            output.flush();
+        }
+        long count = 0;
+        for (Path segment : segments()) {
+            try (BufferedReader reader = Files.newBufferedReader(segment, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    try {
+                        consumer.accept(objectMapper.readValue(line, ProcessLifecycleEvent.class));
+                        count++;
+                    } catch (IOException e) {
+                        // A torn last line after a crash must not stop the rebuild
+                        log.warn("Skipping unreadable event in {}: {}", segment.getFileName(), e.getMessage());
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Deletes closed segments last written before {@code cutoffMillis}.
+     */
+    public synchronized void prune(long cutoffMillis) throws IOException {
+        for (Path segment : segments()) {
+            if (!segment.equals(currentSegment) && Files.getLastModifiedTime(segment).toMillis() < cutoffMillis) {
+                Files.deleteIfExists(segment);
+                log.info("Deleted expired analytics event segment {}", segment.getFileName());
+            }
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (output != null) {
+            output.close();
+            output = null;
+        }
+    }
+
+    private void roll() throws IOException {
+        close();
+        currentSegment = directory.resolve(PREFIX + String.format("%012d", nextSequence++) + SUFFIX);
+        output = new BufferedOutputStream(Files.newOutputStream(currentSegment,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND));
+        currentSize = Files.size(currentSegment);
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> {
+                String name = file.getFileName().toString();
+                return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+            }).sorted().toList();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static long sequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+}
@@ -0,0 +1,174 @@
+package com.enterprise.workflow.reporting.service.analytics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Activity execution and transition counts of one process definition version.
+ *
+ * Activity IDs are interned to dense ints on first sight, per-activity counters live in
+ * primitive arrays indexed by that int, and transitions are counted in an open-addressing
+ * long-to-long table keyed by {@code (from << 32) | to}. Memory therefore depends on the
+ * size of the process model, not on how many instances ran through it: a 200-activity
+ * model with every transition observed needs well under a megabyte. Not thread-safe;
+ * guarded by the owning {@link DefinitionAggregate}.
+ */
+public class TransitionMatrix {
+
+    private final Map<String, Integer> index = new HashMap<>();
+    private final List<String> ids = new ArrayList<>();
+    private final List<String> names = new ArrayList<>();
+    private final List<String> types = new ArrayList<>();
+    private long[] executions = new long[16];
+    private long[] durationSums = new long[16];
+    private long[] durationCounts = new long[16];
+    private long[] outgoing = new long[16];
+    private final LongLongTable transitions = new LongLongTable();
+
+    int intern(String activityId, String name, String type) {
+        Integer existing = index.get(activityId);
+        if (existing != null) {
+            if (name != null) {
+                names.set(existing, name);
+            }
+            if (type != null) {
+                types.set(existing, type);
+            }
+            return existing;
+        }
+        int activity = ids.size();
+        index.put(activityId, activity);
+        ids.add(activityId);
+        names.add(name);
+        types.add(type);
+        if (activity == executions.length) {
+            int capacity = activity * 2;
+            executions = Arrays.copyOf(executions, capacity);
+            durationSums = Arrays.copyOf(durationSums, capacity);
+            durationCounts = Arrays.copyOf(durationCounts, capacity);
+            outgoing = Arrays.copyOf(outgoing, capacity);
+        }
+        return activity;
+    }
+
+    void recordExecution(int activity, Long durationMillis) {
+        executions[activity]++;
+        if (durationMillis != null) {
+            durationSums[activity] += durationMillis;
+            durationCounts[activity]++;
+        }
+    }
+
+    void recordTransition(int from, int to) {
+        transitions.increment(((long) from << 32) | to);
+        outgoing[from]++;
+    }
+
+    public int activityCount() {
+        return ids.size();
+    }
+
+    public String activityId(int activity) {
+        return ids.get(activity);
+    }
+
+    public String activityName(int activity) {
+        return names.get(activity);
+    }
+
+    public String activityType(int activity) {
+        return types.get(activity);
+    }
+
+    public long executionCount(int activity) {
+        return executions[activity];
+    }
+
+    public Double averageDurationMillis(int activity) {
+        return durationCounts[activity] > 0 ? (double) durationSums[activity] / durationCounts[activity] : null;
+    }
+
+    /**
+     * Transitions leaving an activity; the denominator of its outgoing transition percentages.
+     */
+    public long outgoingCount(int activity) {
+        return outgoing[activity];
+    }
+
+    public void forEachTransition(TransitionVisitor visitor) {
+        transitions.forEach((key, count) -> visitor.visit((int) (key >>> 32), (int) key, count));
+    }
+
+    @FunctionalInterface
+    public interface TransitionVisitor {
+        void visit(int from, int to, long count);
+    }
+
+    /**
+     * Open-addressing map from non-negative long keys to counts, with linear probing.
+     * Keys are stored plus one so that zero can mark an empty slot.
+     */
+    private static final class LongLongTable {
+
+        private long[] keys = new long[64];
+        private long[] values = new long[64];
+        private int size;
+
+        void increment(long key) {
+            long stored = key + 1;
+            int mask = keys.length - 1;
+            int slot = mix(stored) & mask;
+            while (keys[slot] != 0) {
+                if (keys[slot] == stored) {
+                    values[slot]++;
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = stored;
+            values[slot] = 1;
+            if (++size * 2 > keys.length) {
+                grow();
+            }
+        }
+
+        void forEach(EntryVisitor visitor) {
+            for (int slot = 0; slot < keys.length; slot++) {
+                if (keys[slot] != 0) {
+                    visitor.visit(keys[slot] - 1, values[slot]);
+                }
+            }
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            long[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new long[oldValues.length * 2];
+            int mask = keys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) {
+                    int slot = mix(oldKeys[i]) & mask;
+                    while (keys[slot] != 0) {
+                        slot = (slot + 1) & mask;
+                    }
+                    keys[slot] = oldKeys[i];
+                    values[slot] = oldValues[i];
+                }
+            }
+        }
+
+        private static int mix(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+
+        @FunctionalInterface
+        interface EntryVisitor {
+            void visit(long key, long value);
+        }
+    }
+}
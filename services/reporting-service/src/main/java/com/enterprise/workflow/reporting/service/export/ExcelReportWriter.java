@@ -0,0 +1,111 @@
+package com.enterprise.workflow.reporting.service.export;
+
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Writes an .xlsx workbook through POI's streaming SXSSF model.
+ *
+ * Only the last {@code rowWindow} rows stay in memory; older rows are flushed to a
+ * compressed temp file and assembled into the package on {@link #finish()}. Exports
+ * beyond the sheet row limit continue on additional sheets.
+ */
+class ExcelReportWriter implements ReportRowWriter {
+
+    private final OutputStream output;
+    private final SXSSFWorkbook workbook;
+    private final int maxRowsPerSheet;
+    private CellStyle headerStyle;
+    private CellStyle dateStyle;
+    private List<String> columns;
+    private SXSSFSheet sheet;
+    private int rowIndex;
+
+    ExcelReportWriter(OutputStream output, int rowWindow) {
+        this(output, rowWindow, SpreadsheetVersion.EXCEL2007.getMaxRows());
+    }
+
+    /**
+     * @param maxRowsPerSheet Rows per sheet including the header row
+     */
+    ExcelReportWriter(OutputStream output, int rowWindow, int maxRowsPerSheet) {
+        this.output = output;
+        this.maxRowsPerSheet = Math.max(2, maxRowsPerSheet);
+        this.workbook = new SXSSFWorkbook(Math.max(1, rowWindow));
+        this.workbook.setCompressTempFiles(true);
+    }
+
+    @Override
+    public void start(List<String> columns) {
+        this.columns = columns;
+
+        Font bold = workbook.createFont();
+        bold.setBold(true);
+        headerStyle = workbook.createCellStyle();
+        headerStyle.setFont(bold);
+        dateStyle = workbook.createCellStyle();
+        dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd hh:mm:ss"));
+
+        newSheet();
+    }
+
+    @Override
+    public void row(List<Object> values) {
+        if (rowIndex >= maxRowsPerSheet) {
+            newSheet();
+        }
+        Row row = sheet.createRow(rowIndex++);
+        for (int i = 0; i < values.size(); i++) {
+            Object value = values.get(i);
+            if (value == null) {
+                continue;
+            }
+            Cell cell = row.createCell(i);
+            if (value instanceof Number number) {
+                cell.setCellValue(number.doubleValue());
+            } else if (value instanceof Boolean bool) {
+                cell.setCellValue(bool);
+            } else if (value instanceof LocalDateTime dateTime) {
+                cell.setCellValue(dateTime);
+                cell.setCellStyle(dateStyle);
+            } else {
+                cell.setCellValue(value.toString());
+            }
+        }
+    }
+
+    @Override
+    public void finish() throws IOException {
+        workbook.write(output);
+        output.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        workbook.dispose();
+        workbook.close();
+    }
+
+    private void newSheet() {
+        sheet = workbook.createSheet("Report" + (workbook.getNumberOfSheets() > 0
+                ? " " + (workbook.getNumberOfSheets() + 1) : ""));
+        sheet.createFreezePane(0, 1);
+        Row header = sheet.createRow(0);
+        for (int i = 0; i < columns.size(); i++) {
+            Cell cell = header.createCell(i);
+            cell.setCellValue(columns.get(i));
+            cell.setCellStyle(headerStyle);
+        }
+        rowIndex = 1;
+    }
+}
@@ -0,0 +1,154 @@
+package com.enterprise.workflow.reporting.service.export;
+
+import com.enterprise.workflow.reporting.client.FormServiceClient;
+import com.enterprise.workflow.reporting.dto.ReportingDTOs.ExportRequestDTO;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Exports form submissions, one row per submission with the form data flattened into columns.
+ *
+ * Submissions are read from form-service's NDJSON stream line by line. A {@code data.a.b}
+ * column holds the value at that path of the submission data; objects and arrays are
+ * written as JSON. Without explicit columns the submission metadata plus one column per
+ * input field declared by the form schema are used, or the whole {@code data} document
+ * when the schema declares none. Filters other than {@code formId} are sent to form-service
+ * as submission query filters ({@code eq}, or {@code in} for a list value) on the named
+ * field, so only matching submissions are streamed.
+ */
+@Component
+@RequiredArgsConstructor
+public class FormDataRowSource implements ReportRowSource {
+
+    static final String FORM_ID_FILTER = "formId";
+
+    private static final List<String> METADATA_COLUMNS = List.of(
+            "id", "formVersion", "submittedBy", "submittedAt", "processInstanceId", "taskId");
+
+    private final FormServiceClient formServiceClient;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public String getReportType() {
+        return "form-data";
+    }
+
+    @Override
+    public long writeRows(ExportRequestDTO request, ReportRowWriter writer) throws IOException {
+        Object formId = request.getFilters() != null ? request.getFilters().get(FORM_ID_FILTER) : null;
+        if (formId == null) {
+            throw new IllegalArgumentException("Form data export requires a '" + FORM_ID_FILTER + "' filter");
+        }
+
+        List<String> columns = request.getColumns() != null && !request.getColumns().isEmpty()
+                ? request.getColumns() : schemaColumns(formServiceClient.getForm(formId).path("schema"));
+        writer.start(columns);
+
+        return formServiceClient.streamSubmissions(formId, request.getStartDate(), request.getEndDate(),
+                submissionFilters(request.getFilters()), lines -> copyRows(lines, columns, writer));
+    }
+
+    private long copyRows(BufferedReader lines, List<String> columns, ReportRowWriter writer) throws IOException {
+        long written = 0;
+        String line;
+        while ((line = lines.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            JsonNode submission = objectMapper.readTree(line);
+            List<Object> values = new ArrayList<>(columns.size());
+            for (String column : columns) {
+                values.add(value(submission, column));
+            }
+            writer.row(values);
+            written++;
+        }
+        return written;
+    }
+
+    /**
+     * Metadata columns plus {@code data.<key>} for every input field of a form.io
+     * ({@code components}) or JSON ({@code properties}) schema.
+     */
+    private static List<String> schemaColumns(JsonNode schema) {
+        Set<String> keys = new LinkedHashSet<>();
+        if (schema.has("components")) {
+            collectComponents(schema.get("components"), keys);
+        } else if (schema.has("properties")) {
+            schema.get("properties").fieldNames().forEachRemaining(keys::add);
+        }
+
+        List<String> columns = new ArrayList<>(METADATA_COLUMNS);
+        if (keys.isEmpty()) {
+            columns.add("data");
+        } else {
+            keys.forEach(key -> columns.add("data." + key));
+        }
+        return columns;
+    }
+
+    private static void collectComponents(JsonNode components, Set<String> keys) {
+        for (JsonNode component : components) {
+            boolean input = component.path("input").asBoolean(true);
+            if (component.hasNonNull("key") && input && !component.has("components")) {
+                keys.add(component.get("key").asText());
+            }
+            if (component.has("components")) {
+                collectComponents(component.get("components"), keys);
+            }
+            if (component.has("columns")) {
+                component.get("columns").forEach(column -> collectComponents(column.path("components"), keys));
+            }
+        }
+    }
+
+    private static List<Map<String, Object>> submissionFilters(Map<String, Object> filters) {
+        List<Map<String, Object>> submissionFilters = new ArrayList<>();
+        if (filters == null) {
+            return submissionFilters;
+        }
+        for (Map.Entry<String, Object> filter : filters.entrySet()) {
+            if (FORM_ID_FILTER.equals(filter.getKey())) {
+                continue;
+            }
+            Map<String, Object> submissionFilter = new LinkedHashMap<>();
+            submissionFilter.put("field", filter.getKey());
+            submissionFilter.put("operator", filter.getValue() instanceof Collection<?> ? "in" : "eq");
+            submissionFilter.put("value", filter.getValue());
+            submissionFilters.add(submissionFilter);
+        }
+        return submissionFilters;
+    }
+
+    private static Object value(JsonNode submission, String column) {
+        JsonNode node = submission;
+        for (String segment : column.split("\\.")) {
+            node = node.get(segment);
+            if (node == null) {
+                return null;
+            }
+        }
+        if (node.isNull()) {
+            return null;
+        } else if (node.isNumber()) {
+            return node.numberValue();
+        } else if (node.isBoolean()) {
+            return node.booleanValue();
+        } else if (node.isValueNode()) {
+            return node.asText();
+        }
+        return node.toString();
+    }
+}
@@ -0,0 +1,79 @@
+package com.enterprise.workflow.reporting.service.export;
+
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.element.Cell;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.element.Table;
+import com.itextpdf.layout.properties.UnitValue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Writes a landscape PDF table that is paginated while rows arrive.
+ *
+ * The table is an iText "large table": it is added to the document before it is
+ * filled and flushed every {@code flushRows} rows, so completed pages are written
+ * out and released instead of the whole table being laid out at the end.
+ */
+class PdfReportWriter implements ReportRowWriter {
+
+    private static final float FONT_SIZE = 8f;
+
+    private final OutputStream output;
+    private final String title;
+    private final int flushRows;
+    private Document document;
+    private Table table;
+    private int pendingRows;
+
+    PdfReportWriter(OutputStream output, String title, int flushRows) {
+        this.output = output;
+        this.title = title;
+        this.flushRows = Math.max(1, flushRows);
+    }
+
+    @Override
+    public void start(List<String> columns) throws IOException {
+        PdfFont bold = PdfFontFactory.createFont(StandardFonts.HELVETICA_BOLD);
+        PdfWriter writer = new PdfWriter(output);
+        writer.setCloseStream(false);
+        document = new Document(new PdfDocument(writer), PageSize.A4.rotate());
+        document.setFontSize(FONT_SIZE);
+        if (title != null) {
+            document.add(new Paragraph(title).setFont(bold).setFontSize(FONT_SIZE + 4));
+        }
+
+        table = new Table(UnitValue.createPercentArray(Math.max(1, columns.size())), true)
+                .useAllAvailableWidth();
+        for (String column : columns) {
+            table.addHeaderCell(new Cell().add(new Paragraph(column).setFont(bold)));
+        }
+        document.add(table);
+    }
+
+    @Override
+    public void row(List<Object> values) {
+        for (Object value : values) {
+            table.addCell(new Cell().add(new Paragraph(value != null ? value.toString() : "")));
+        }
+        if (++pendingRows >= flushRows) {
+            table.flush();
+            pendingRows = 0;
+        }
+    }
+
+    @Override
+    public void finish() throws IOException {
+        table.complete();
+        document.close();
+        output.flush();
+    }
+}
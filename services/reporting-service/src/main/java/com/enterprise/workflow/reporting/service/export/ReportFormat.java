@@ -0,0 +1,40 @@
+package com.enterprise.workflow.reporting.service.export;
+
+import com.enterprise.workflow.reporting.config.ExportProperties;
+import org.springframework.http.MediaType;
+
+import java.io.OutputStream;
+
+/**
+ * Output formats supported by report exports.
+ */
+public enum ReportFormat {
+
+    CSV("csv", MediaType.parseMediaType("text/csv")),
+    EXCEL("xlsx", MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet")),
+    PDF("pdf", MediaType.APPLICATION_PDF);
+
+    private final String extension;
+    private final MediaType mediaType;
+
+    ReportFormat(String extension, MediaType mediaType) {
+        this.extension = extension;
+        this.mediaType = mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public ReportRowWriter newWriter(OutputStream output, String title, ExportProperties properties) {
+        return switch (this) {
+            case CSV -> new CsvReportWriter(output);
+            case EXCEL -> new ExcelReportWriter(output, properties.getExcelRowWindow());
+            case PDF -> new PdfReportWriter(output, title, properties.getPdfFlushRows());
+        };
+    }
+}
@@ -0,0 +1,26 @@
+package com.enterprise.workflow.reporting.service.export;
+
+import com.enterprise.workflow.reporting.dto.ReportingDTOs.ExportRequestDTO;
+
+import java.io.IOException;
+
+/**
+ * Produces the rows of one report type.
+ *
+ * Sources push rows into the writer as they read them instead of returning a list,
+ * so nothing beyond the current row is held.
+ */
+public interface ReportRowSource {
+
+    /**
+     * Value of {@link ExportRequestDTO#getReportType()} this source serves.
+     */
+    String getReportType();
+
+    /**
+     * Streams the rows selected by the request into the writer, starting it first.
+     *
+     * @return Number of rows written
+     */
+    long writeRows(ExportRequestDTO request, ReportRowWriter writer) throws IOException;
+}
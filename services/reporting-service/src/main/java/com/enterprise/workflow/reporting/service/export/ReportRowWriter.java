@@ -0,0 +1,29 @@
+package com.enterprise.workflow.reporting.service.export;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Receives report rows one at a time and encodes them straight into an output stream.
+ *
+ * Implementations hold at most a bounded window of rows, so an export of any size
+ * runs in constant memory. {@link #start} is called exactly once before any row.
+ */
+public interface ReportRowWriter extends AutoCloseable {
+
+    void start(List<String> columns) throws IOException;
+
+    void row(List<Object> values) throws IOException;
+
+    /**
+     * Completes the document and flushes it; the underlying stream is left open.
+     */
+    void finish() throws IOException;
+
+    /**
+     * Releases temporary resources, also when the export was aborted half way.
+     */
+    @Override
+    default void close() throws IOException {
+    }
+}
@@ -0,0 +1,190 @@
+package com.enterprise.workflow.reporting.service.analytics;
+
+import com.enterprise.workflow.reporting.dto.ProcessLifecycleEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class DefinitionAggregateTest {
+
+    private static final long HOUR = 3_600_000;
+    private static final long DAY = 24 * HOUR;
+    private static final long T0 = 1_700_000_000_000L - Math.floorMod(1_700_000_000_000L, DAY);
+
+    private DefinitionAggregate aggregate;
+
+    @BeforeEach
+    void setUp() {
+        aggregate = new DefinitionAggregate("order", HOUR, 0.01, 2048);
+    }
+
+    @Test
+    void testEventsAreCountedInTheBucketTheyHappenedIn() {
+        aggregate.apply(process("PROCESS_STARTED", "pi-1", T0 + 10, 1));
+        aggregate.apply(process("PROCESS_STARTED", "pi-2", T0 + HOUR + 10, 1));
+        aggregate.apply(process("PROCESS_CANCELLED", "pi-2", T0 + HOUR + 20, 1));
+        aggregate.apply(process("PROCESS_FAILED", "pi-1", T0 + 2 * HOUR, 1));
+        aggregate.apply(task("TASK_CREATED", "pi-1", T0 + 2 * HOUR, null));
+        aggregate.apply(task("TASK_COMPLETED", "pi-1", T0 + 2 * HOUR + 5, 300L));
+        aggregate.apply(task("TASK_COMPLETED", "pi-1", T0 + 2 * HOUR + 6, null));
+
+        DefinitionAggregate.Bucket first = aggregate.window(T0, T0 + HOUR);
+        assertEquals(1, first.getStarted());
+        assertEquals(0, first.getCancelled());
+
+        // A window starting mid-bucket includes that bucket
+        DefinitionAggregate.Bucket rest = aggregate.window(T0 + HOUR + 30, T0 + 3 * HOUR);
+        assertEquals(1, rest.getStarted());
+        assertEquals(1, rest.getCancelled());
+        assertEquals(1, rest.getFailed());
+        assertEquals(1, rest.getTasksCreated());
+        assertEquals(2, rest.getTasksCompleted());
+        assertEquals(300.0, rest.averageTaskDurationMillis());
+        // Failed instances stay running until retried or cancelled
+        assertEquals(1, aggregate.runningInstances());
+    }
+
+    @Test
+    void testCompletionDurationFromEventOrStart() {
+        aggregate.apply(process("PROCESS_STARTED", "pi-1", T0, 2));
+        aggregate.apply(process("PROCESS_STARTED", "pi-2", T0, 3));
+        // Without a duration it is derived from the start, and the version from the running instance
+        aggregate.apply(process("PROCESS_COMPLETED", "pi-1", T0 + 1_000, null));
+        ProcessLifecycleEvent reported = process("PROCESS_COMPLETED", "pi-2", T0 + 2_000, 3);
+        reported.setDurationMillis(5_000L);
+        aggregate.apply(reported);
+        // Never seen starting: counted, but no duration
+        aggregate.apply(process("PROCESS_COMPLETED", "pi-3", T0 + 3_000, 3));
+
+        DefinitionAggregate.Bucket window = aggregate.window(T0, T0 + HOUR);
+        assertEquals(3, window.getCompleted());
+        assertEquals(2, window.getDurationCount());
+        assertEquals(3_000.0, window.averageDurationMillis());
+        assertEquals(1_000.0, window.getVersions().get(2).averageDurationMillis());
+        assertEquals(5_000.0, window.getVersions().get(3).averageDurationMillis());
+        assertEquals(2, window.durations().getCount());
+        assertEquals(5_000.0, window.durations().quantile(1));
+        assertEquals(0, aggregate.runningInstances());
+    }
+
+    @Test
+    void testWindowPercentilesMergeBucketSketches() {
+        for (int i = 0; i < 100; i++) {
+            long start = T0 + (i % 4) * HOUR;
+            aggregate.apply(process("PROCESS_STARTED", "pi-" + i, start, 1));
+            aggregate.apply(process("PROCESS_COMPLETED", "pi-" + i, start + (i + 1) * 1_000L, 1));
+        }
+
+        DurationSketch durations = aggregate.window(T0, T0 + DAY).durations();
+
+        assertEquals(100, durations.getCount());
+        double median = durations.quantile(0.5);
+        assertEquals(50_000, median, 50_000 * 0.01);
+        assertNull(aggregate.window(T0 + DAY, T0 + 2 * DAY).durations());
+    }
+
+    @Test
+    void testRollupMergesBucketsPerInterval() {
+        for (int hour = 0; hour < 48; hour++) {
+            aggregate.apply(process("PROCESS_STARTED", "pi-" + hour, T0 + hour * HOUR, 1));
+        }
+
+        NavigableMap<Long, DefinitionAggregate.Bucket> days = aggregate.rollup(T0, T0 + 2 * DAY, DAY);
+        NavigableMap<Long, DefinitionAggregate.Bucket> hours = aggregate.rollup(T0, T0 + 3 * HOUR, 1);
+
+        assertEquals(List.of(T0, T0 + DAY), List.copyOf(days.keySet()));
+        assertEquals(24, days.get(T0).getStarted());
+        assertEquals(24, days.get(T0 + DAY).getStarted());
+        // Never finer than a bucket
+        assertEquals(3, hours.size());
+    }
+
+    @Test
+    void testActivityDurationsAndTransitionsPerExecution() {
+        aggregate.apply(process("PROCESS_STARTED", "pi-1", T0, 1));
+        activity("pi-1", "pi-1", "start", T0, T0 + 10);
+        // After a fork a branch's first activity links to the last one completed in the instance,
+        // and from then on to the previous activity on its own execution
+        activity("pi-1", "exec-a", "review", T0 + 10, T0 + 60);
+        activity("pi-1", "exec-b", "check", T0 + 10, T0 + 80);
+        activity("pi-1", "exec-a", "approve", T0 + 60, T0 + 130);
+        activity("pi-1", "exec-b", "archive", T0 + 80, T0 + 140);
+
+        DefinitionAggregate.ActivityStats review = aggregate.window(T0, T0 + HOUR).getActivities().get("review");
+        assertEquals(1, review.getCount());
+        assertEquals(50.0, review.averageDurationMillis());
+        assertEquals("Review", review.getName());
+        assertEquals(1, aggregate.latestVersion());
+
+        List<String> transitions = aggregate.readTransitions(1, matrix -> {
+            List<String> edges = new ArrayList<>();
+            matrix.forEachTransition((from, to, count) ->
+                    edges.add(matrix.activityId(from) + "->" + matrix.activityId(to) + "x" + count));
+            return edges.stream().sorted().toList();
+        });
+        assertEquals(List.of("check->archivex1", "review->approvex1", "review->checkx1", "start->reviewx1"),
+                transitions);
+        assertNull(aggregate.readTransitions(2, TransitionMatrix::activityCount));
+    }
+
+    @Test
+    void testPruneDropsOldBucketsAndStaleInstances() {
+        aggregate.apply(process("PROCESS_STARTED", "old", T0, 1));
+        aggregate.apply(activityEvent("ACTIVITY_STARTED", "old", "old", "task", T0));
+        aggregate.apply(process("PROCESS_STARTED", "new", T0 + DAY, 1));
+
+        aggregate.prune(T0 + HOUR);
+
+        assertEquals(0, aggregate.window(T0, T0 + HOUR).getStarted());
+        assertEquals(1, aggregate.window(T0, T0 + 2 * DAY).getStarted());
+        assertEquals(1, aggregate.runningInstances());
+        // The dropped activity start no longer yields a duration
+        aggregate.apply(activityEvent("ACTIVITY_COMPLETED", "old", "old", "task", T0 + DAY));
+        assertNull(aggregate.window(T0 + DAY, T0 + 2 * DAY).getActivities().get("task").averageDurationMillis());
+    }
+
+    private void activity(String instance, String execution, String activityId, long startedAt, long completedAt) {
+        aggregate.apply(activityEvent("ACTIVITY_STARTED", instance, execution, activityId, startedAt));
+        aggregate.apply(activityEvent("ACTIVITY_COMPLETED", instance, execution, activityId, completedAt));
+    }
+
+    private static ProcessLifecycleEvent process(String type, String instance, long timestamp, Integer version) {
+        return ProcessLifecycleEvent.builder()
+                .type(type)
+                .timestamp(timestamp)
+                .processDefinitionKey("order")
+                .processDefinitionVersion(version)
+                .processInstanceId(instance)
+                .build();
+    }
+
+    private static ProcessLifecycleEvent task(String type, String instance, long timestamp, Long durationMillis) {
+        return ProcessLifecycleEvent.builder()
+                .type(type)
+                .timestamp(timestamp)
+                .processDefinitionKey("order")
+                .processInstanceId(instance)
+                .durationMillis(durationMillis)
+                .build();
+    }
+
+    private static ProcessLifecycleEvent activityEvent(String type, String instance, String execution,
+            String activityId, long timestamp) {
+        return ProcessLifecycleEvent.builder()
+                .type(type)
+                .timestamp(timestamp)
+                .processDefinitionKey("order")
+                .processInstanceId(instance)
+                .executionId(execution)
+                .activityId(activityId)
+                .activityName(Character.toUpperCase(activityId.charAt(0)) + activityId.substring(1))
+                .activityType("userTask")
+                .build();
+    }
+}
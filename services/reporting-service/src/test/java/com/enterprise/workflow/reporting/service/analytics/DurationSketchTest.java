@@ -0,0 +1,160 @@
+package com.enterprise.workflow.reporting.service.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.DoubleSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DurationSketchTest {
+
+    private static final double ACCURACY = 0.01;
+    private static final double[] QUANTILES = {0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.95, 0.99, 0.999};
+
+    @Test
+    void testQuantilesWithinRelativeErrorOnUniformDurations() {
+        Random random = new Random(1);
+        assertWithinRelativeError(100_000, () -> 1 + random.nextDouble() * 60_000, 2048);
+    }
+
+    @Test
+    void testQuantilesWithinRelativeErrorOnExponentialDurations() {
+        Random random = new Random(2);
+        assertWithinRelativeError(100_000, () -> -Math.log(1 - random.nextDouble()) * 30_000 + 1, 2048);
+    }
+
+    @Test
+    void testQuantilesWithinRelativeErrorOnHeavyTailedDurations() {
+        // Log-normal spanning milliseconds to weeks, like task waits
+        Random random = new Random(3);
+        assertWithinRelativeError(100_000, () -> Math.exp(10 + 3 * random.nextGaussian()), 2048);
+    }
+
+    @Test
+    void testCollapsingOnlyCostsAccuracyAtTheBottom() {
+        // 64 bins at 1% cover a range of about 3.6x; values span 1 to 1e6
+        Random random = new Random(4);
+        double[] values = new double[50_000];
+        DurationSketch sketch = new DurationSketch(ACCURACY, 64);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Math.pow(10, 6 * random.nextDouble());
+            sketch.add(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double quantile : new double[] {0.95, 0.99, 0.999}) {
+            assertRelativeError(exact(values, quantile), sketch.quantile(quantile), quantile);
+        }
+        double median = exact(values, 0.5);
+        assertTrue(sketch.quantile(0.5) > median * (1 + ACCURACY), "median is folded upwards");
+    }
+
+    @Test
+    void testMergeEqualsSketchOfAllValues() {
+        Random random = new Random(5);
+        DurationSketch all = new DurationSketch(ACCURACY, 2048);
+        DurationSketch merged = new DurationSketch(ACCURACY, 2048);
+        DurationSketch[] parts = new DurationSketch[4];
+        for (int part = 0; part < parts.length; part++) {
+            parts[part] = new DurationSketch(ACCURACY, 2048);
+        }
+        for (int i = 0; i < 40_000; i++) {
+            // Each part covers a different range, so merging has to grow the bins on both sides
+            double value = Math.exp(2 + 3 * (i % 4) + random.nextDouble() * 3);
+            parts[i % 4].add(value);
+            all.add(value);
+        }
+        for (int part : new int[] {2, 0, 3, 1}) {
+            merged.merge(parts[part]);
+        }
+
+        assertEquals(all.getCount(), merged.getCount());
+        for (double quantile : QUANTILES) {
+            assertEquals(all.quantile(quantile), merged.quantile(quantile), "q" + quantile);
+        }
+        assertEquals(all.quantile(0), merged.quantile(0));
+        assertEquals(all.quantile(1), merged.quantile(1));
+    }
+
+    @Test
+    void testMergeKeepsZerosAndEmptySketches() {
+        DurationSketch sketch = new DurationSketch(ACCURACY, 2048);
+        DurationSketch zeros = new DurationSketch(ACCURACY, 2048);
+        zeros.add(0);
+        zeros.add(0);
+        zeros.add(0);
+        sketch.add(1000);
+
+        sketch.merge(new DurationSketch(ACCURACY, 2048));
+        sketch.merge(zeros);
+
+        assertEquals(4, sketch.getCount());
+        assertEquals(0.0, sketch.quantile(0.5));
+        assertEquals(1000.0, sketch.quantile(1));
+        assertEquals(4, sketch.copy().getCount());
+        assertEquals(0.0, sketch.copy().quantile(0.5));
+    }
+
+    @Test
+    void testMergeOfDifferentAccuracyIsRejected() {
+        DurationSketch sketch = new DurationSketch(0.01, 2048);
+
+        assertThrows(IllegalArgumentException.class, () -> sketch.merge(new DurationSketch(0.02, 2048)));
+        assertThrows(IllegalArgumentException.class, () -> new DurationSketch(0, 2048));
+        assertThrows(IllegalArgumentException.class, () -> new DurationSketch(1, 2048));
+    }
+
+    @Test
+    void testEmptySketchHasNoQuantiles() {
+        DurationSketch sketch = new DurationSketch(ACCURACY, 2048);
+
+        assertNull(sketch.quantile(0.5));
+        assertEquals(0, sketch.getCount());
+    }
+
+    @Test
+    void testExtremesAreExact() {
+        DurationSketch sketch = new DurationSketch(ACCURACY, 2048);
+        sketch.add(123.4);
+        sketch.add(5678.9);
+
+        assertEquals(123.4, sketch.quantile(0));
+        assertEquals(5678.9, sketch.quantile(1));
+        // Estimates are clamped to the observed range
+        assertEquals(123.4, sketch.quantile(0.01));
+    }
+
+    private static void assertWithinRelativeError(int size, DoubleSupplier durations, int maxBins) {
+        double[] values = new double[size];
+        DurationSketch sketch = new DurationSketch(ACCURACY, maxBins);
+        for (int i = 0; i < size; i++) {
+            values[i] = durations.getAsDouble();
+            sketch.add(values[i]);
+        }
+        Arrays.sort(values);
+
+        assertEquals(size, sketch.getCount());
+        for (double quantile : QUANTILES) {
+            assertRelativeError(exact(values, quantile), sketch.quantile(quantile), quantile);
+        }
+    }
+
+    /**
+     * The value of the rank the sketch answers for, {@code floor(q * (n - 1))}.
+     */
+    private static double exact(double[] sorted, double quantile) {
+        return sorted[(int) (quantile * (sorted.length - 1))];
+    }
+
+    private static void assertRelativeError(double expected, double actual, double quantile) {
+        double error = Math.abs(actual - expected) / expected;
+        // A hair over the bound for the floating point in the bin index
+        assertTrue(error <= ACCURACY + 1e-9,
+                "q" + quantile + ": expected " + expected + ", got " + actual + " (error " + error + ")");
+    }
+}
@@ -0,0 +1,112 @@
+package com.enterprise.workflow.reporting.service.analytics;
+
+import com.enterprise.workflow.reporting.config.AnalyticsProperties;
+import com.enterprise.workflow.reporting.dto.ProcessLifecycleEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ProcessAnalyticsEngineTest {
+
+    private static final long DAY = Duration.ofDays(1).toMillis();
+
+    @TempDir
+    Path directory;
+
+    private AnalyticsProperties properties;
+    private ProcessEventLog eventLog;
+    private ProcessAnalyticsEngine engine;
+    private long now;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        properties = new AnalyticsProperties();
+        properties.setRetention(Duration.ofDays(30));
+        properties.getEventLog().setDirectory(directory.toString());
+        properties.getEventLog().setSegmentBytes(512);
+        eventLog = new ProcessEventLog(properties, new ObjectMapper());
+        engine = new ProcessAnalyticsEngine(properties, eventLog);
+        now = System.currentTimeMillis();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        eventLog.close();
+    }
+
+    @Test
+    void testIngestIgnoresRedeliveredEvents() {
+        engine.ingest(event("e-1", "PROCESS_STARTED", "pi-1", now - 2_000));
+        engine.ingest(event("e-2", "PROCESS_COMPLETED", "pi-1", now - 1_000));
+        engine.ingest(event("e-2", "PROCESS_COMPLETED", "pi-1", now - 1_000));
+        engine.ingest(event("e-3", null, "pi-1", now));
+
+        DefinitionAggregate.Bucket window = engine.aggregate("order").window(now - DAY, now + DAY);
+        assertEquals(1, window.getStarted());
+        assertEquals(1, window.getCompleted());
+        assertEquals(1_000.0, window.averageDurationMillis());
+    }
+
+    @Test
+    void testRebuildReplaysTheLogIntoFreshAggregates() throws IOException {
+        for (int i = 0; i < 20; i++) {
+            engine.ingest(event("s-" + i, "PROCESS_STARTED", "pi-" + i, now - DAY - i));
+            if (i % 2 == 0) {
+                engine.ingest(event("c-" + i, "PROCESS_COMPLETED", "pi-" + i, now - i));
+            }
+        }
+        DefinitionAggregate.Bucket before = engine.aggregate("order").window(now - 2 * DAY, now + DAY);
+
+        // A restarted service reads the segments written so far
+        eventLog.close();
+        eventLog = new ProcessEventLog(properties, new ObjectMapper());
+        engine = new ProcessAnalyticsEngine(properties, eventLog);
+        assertEquals(30, engine.rebuild());
+
+        DefinitionAggregate aggregate = engine.aggregate("order");
+        DefinitionAggregate.Bucket after = aggregate.window(now - 2 * DAY, now + DAY);
+        assertEquals(Set.of("order"), engine.definitionKeys());
+        assertEquals(before.getStarted(), after.getStarted());
+        assertEquals(before.getCompleted(), after.getCompleted());
+        assertEquals(before.averageDurationMillis(), after.averageDurationMillis());
+        assertEquals(before.durations().quantile(0.5), after.durations().quantile(0.5));
+        assertEquals(10, aggregate.runningInstances());
+
+        // Event IDs seen in the log are still deduplicated after the rebuild
+        engine.ingest(event("c-0", "PROCESS_COMPLETED", "pi-0", now));
+        assertEquals(10, engine.aggregate("order").window(now - 2 * DAY, now + DAY).getCompleted());
+    }
+
+    @Test
+    void testRebuildSkipsEventsOutsideRetention() {
+        engine.ingest(event("e-1", "PROCESS_STARTED", "pi-old", now - 40 * DAY));
+        engine.ingest(event("e-2", "PROCESS_STARTED", "pi-new", now - DAY));
+        assertEquals(2, engine.aggregate("order").runningInstances());
+
+        assertEquals(2, engine.rebuild());
+
+        DefinitionAggregate aggregate = engine.aggregate("order");
+        assertEquals(1, aggregate.runningInstances());
+        assertEquals(1, aggregate.window(now - 60 * DAY, now + DAY).getStarted());
+    }
+
+    private static ProcessLifecycleEvent event(String eventId, String type, String instance, long timestamp) {
+        return ProcessLifecycleEvent.builder()
+                .eventId(eventId)
+                .type(type)
+                .timestamp(timestamp)
+                .processDefinitionKey("order")
+                .processDefinitionVersion(1)
+                .processInstanceId(instance)
+                .build();
+    }
+}
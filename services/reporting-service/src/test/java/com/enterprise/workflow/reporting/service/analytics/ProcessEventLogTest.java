@@ -0,0 +1,127 @@
+package com.enterprise.workflow.reporting.service.analytics;
+
+import com.enterprise.workflow.reporting.config.AnalyticsProperties;
+import com.enterprise.workflow.reporting.dto.ProcessLifecycleEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProcessEventLogTest {
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private AnalyticsProperties properties;
+    private ProcessEventLog eventLog;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AnalyticsProperties();
+        properties.getEventLog().setDirectory(directory.toString());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (eventLog != null) {
+            eventLog.close();
+        }
+    }
+
+    @Test
+    void testSegmentsRollOnBytesWritten() throws IOException {
+        // Multibyte names make a line longer in bytes than in chars
+        String line = objectMapper.writeValueAsString(event("e-1")) + "\n";
+        int lineBytes = line.getBytes(StandardCharsets.UTF_8).length;
+        assertTrue(line.length() < lineBytes, "counting chars would fit a third line");
+        properties.getEventLog().setSegmentBytes(2L * lineBytes);
+        eventLog = new ProcessEventLog(properties, objectMapper);
+
+        for (int i = 1; i <= 6; i++) {
+            eventLog.append(event("e-" + i));
+        }
+        eventLog.close();
+
+        List<Path> segments = segments();
+        assertEquals(3, segments.size());
+        for (Path segment : segments) {
+            assertEquals(2L * lineBytes, Files.size(segment), segment.getFileName().toString());
+            assertEquals(2, Files.readAllLines(segment, StandardCharsets.UTF_8).size());
+        }
+    }
+
+    @Test
+    void testReplayIsInOrderAcrossRestartsAndSkipsTornLines() throws IOException {
+        eventLog = new ProcessEventLog(properties, objectMapper);
+        eventLog.append(event("e-1"));
+        eventLog.append(event("e-2"));
+        eventLog.close();
+        // A crash mid-write leaves a partial last line
+        Files.writeString(segments().get(0), "{\"eventId\":\"e-3\",\"ty", StandardOpenOption.APPEND);
+
+        eventLog = new ProcessEventLog(properties, objectMapper);
+        eventLog.append(event("e-4"));
+        List<String> replayed = new ArrayList<>();
+
+        long count = eventLog.replay(event -> replayed.add(event.getEventId()));
+
+        assertEquals(2, segments().size());
+        assertEquals(3, count);
+        assertEquals(List.of("e-1", "e-2", "e-4"), replayed);
+        assertEquals("Prüfung – Freigabe ✓", replayedActivityName());
+    }
+
+    @Test
+    void testPruneKeepsTheCurrentSegment() throws IOException {
+        eventLog = new ProcessEventLog(properties, objectMapper);
+        eventLog.append(event("e-1"));
+        eventLog.close();
+        eventLog = new ProcessEventLog(properties, objectMapper);
+        eventLog.append(event("e-2"));
+
+        eventLog.prune(Long.MAX_VALUE);
+
+        List<String> replayed = new ArrayList<>();
+        eventLog.replay(event -> replayed.add(event.getEventId()));
+        assertEquals(List.of("e-2"), replayed);
+        assertEquals(1, segments().size());
+    }
+
+    private String replayedActivityName() throws IOException {
+        List<String> names = new ArrayList<>();
+        eventLog.replay(event -> names.add(event.getActivityName()));
+        return names.get(0);
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+    private static ProcessLifecycleEvent event(String eventId) {
+        return ProcessLifecycleEvent.builder()
+                .eventId(eventId)
+                .type("ACTIVITY_COMPLETED")
+                .timestamp(1_700_000_000_000L)
+                .processDefinitionKey("order")
+                .processInstanceId("pi-1")
+                .activityId("approve")
+                .activityName("Prüfung – Freigabe ✓")
+                .build();
+    }
+}
@@ -0,0 +1,106 @@
+package com.enterprise.workflow.reporting.service.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TransitionMatrixTest {
+
+    @Test
+    void testInternReusesIndexAndKeepsLatestNames() {
+        TransitionMatrix matrix = new TransitionMatrix();
+
+        int start = matrix.intern("start", null, "startEvent");
+        int task = matrix.intern("task", "Review", "userTask");
+        assertEquals(start, matrix.intern("start", "Start", null));
+
+        assertEquals(2, matrix.activityCount());
+        assertEquals("start", matrix.activityId(start));
+        assertEquals("Start", matrix.activityName(start));
+        assertEquals("startEvent", matrix.activityType(start));
+        assertEquals("Review", matrix.activityName(task));
+    }
+
+    @Test
+    void testCountersGrowWithActivities() {
+        TransitionMatrix matrix = new TransitionMatrix();
+        for (int i = 0; i < 100; i++) {
+            int activity = matrix.intern("a" + i, null, null);
+            for (int run = 0; run <= i; run++) {
+                matrix.recordExecution(activity, (long) run);
+            }
+        }
+
+        assertEquals(100, matrix.activityCount());
+        assertEquals(1, matrix.executionCount(0));
+        assertEquals(100, matrix.executionCount(99));
+        assertEquals(49.5, matrix.averageDurationMillis(99));
+    }
+
+    @Test
+    void testAverageDurationIgnoresExecutionsWithoutDuration() {
+        TransitionMatrix matrix = new TransitionMatrix();
+        int activity = matrix.intern("task", null, null);
+
+        assertNull(matrix.averageDurationMillis(activity));
+        matrix.recordExecution(activity, null);
+        matrix.recordExecution(activity, 10L);
+        matrix.recordExecution(activity, 30L);
+
+        assertEquals(3, matrix.executionCount(activity));
+        assertEquals(20.0, matrix.averageDurationMillis(activity));
+    }
+
+    @Test
+    void testTransitionCountsMatchReferenceMap() {
+        TransitionMatrix matrix = new TransitionMatrix();
+        int activities = 200;
+        for (int i = 0; i < activities; i++) {
+            matrix.intern("a" + i, null, null);
+        }
+
+        Map<Long, Long> expected = new HashMap<>();
+        long[] outgoing = new long[activities];
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            int from = random.nextInt(activities);
+            int to = random.nextInt(activities);
+            matrix.recordTransition(from, to);
+            expected.merge(((long) from << 32) | to, 1L, Long::sum);
+            outgoing[from]++;
+        }
+
+        Map<Long, Long> actual = new HashMap<>();
+        matrix.forEachTransition((from, to, count) ->
+                assertNull(actual.put(((long) from << 32) | to, count), from + " -> " + to + " visited twice"));
+        assertEquals(expected, actual);
+        for (int activity = 0; activity < activities; activity++) {
+            assertEquals(outgoing[activity], matrix.outgoingCount(activity), "Activity " + activity);
+        }
+    }
+
+    @Test
+    void testTransitionKeysKeepBothEnds() {
+        TransitionMatrix matrix = new TransitionMatrix();
+        for (int i = 0; i < 3; i++) {
+            matrix.intern("a" + i, null, null);
+        }
+        matrix.recordTransition(0, 0);
+        matrix.recordTransition(0, 2);
+        matrix.recordTransition(2, 0);
+        matrix.recordTransition(2, 0);
+
+        Map<String, Long> transitions = new HashMap<>();
+        matrix.forEachTransition((from, to, count) -> transitions.put(from + "->" + to, count));
+
+        assertEquals(Map.of("0->0", 1L, "0->2", 1L, "2->0", 2L), transitions);
+        assertEquals(2, matrix.outgoingCount(0));
+        assertEquals(0, matrix.outgoingCount(1));
+        assertEquals(2, matrix.outgoingCount(2));
+    }
+}
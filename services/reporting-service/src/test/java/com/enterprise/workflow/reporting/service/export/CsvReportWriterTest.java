@@ -0,0 +1,63 @@
+package com.enterprise.workflow.reporting.service.export;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CsvReportWriterTest {
+
+    @Test
+    void testHeaderAndRowsAreUtf8WithBomAndCrlf() throws IOException {
+        String csv = write(List.of("Form", "Submitted"),
+                List.of("Anträge", LocalDateTime.of(2024, 5, 1, 10, 30)),
+                List.of(42, true));
+
+        assertEquals("\uFEFFForm,Submitted\r\nAnträge,2024-05-01T10:30\r\n42,true\r\n", csv);
+    }
+
+    @Test
+    void testValuesAreQuotedOnlyWhenNeeded() throws IOException {
+        String csv = write(List.of("value"),
+                List.of("plain"),
+                List.of("a,b"),
+                List.of("say \"hi\""),
+                List.of("two\nlines"),
+                List.of("carriage\rreturn"),
+                List.of("'single' and spaces "));
+
+        assertEquals("\uFEFFvalue\r\n"
+                + "plain\r\n"
+                + "\"a,b\"\r\n"
+                + "\"say \"\"hi\"\"\"\r\n"
+                + "\"two\nlines\"\r\n"
+                + "\"carriage\rreturn\"\r\n"
+                + "'single' and spaces \r\n", csv);
+    }
+
+    @Test
+    void testNullsAreEmptyFields() throws IOException {
+        String csv = write(List.of("a", "b", "c"), Arrays.asList(null, "x", null), Arrays.asList("\"", null, ""));
+
+        assertEquals("\uFEFFa,b,c\r\n,x,\r\n\"\"\"\",,\r\n", csv);
+    }
+
+    @SafeVarargs
+    private static String write(List<String> columns, List<Object>... rows) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (ReportRowWriter writer = new CsvReportWriter(output)) {
+            writer.start(columns);
+            for (List<Object> row : rows) {
+                writer.row(row);
+            }
+            writer.finish();
+        }
+        return output.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,100 @@
+package com.enterprise.workflow.reporting.service.export;
+
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExcelReportWriterTest {
+
+    @Test
+    void testCellsKeepTheirTypes() throws IOException {
+        LocalDateTime submitted = LocalDateTime.of(2024, 5, 1, 10, 30);
+
+        try (XSSFWorkbook workbook = write(SpreadsheetVersion.EXCEL2007.getMaxRows(),
+                List.of("Name", "Amount", "Approved", "Submitted", "Note"),
+                Arrays.asList("Loan", 1250.5, true, submitted, null))) {
+            Sheet sheet = workbook.getSheetAt(0);
+            Row header = sheet.getRow(0);
+            Row row = sheet.getRow(1);
+
+            assertEquals("Report", sheet.getSheetName());
+            assertEquals("Submitted", header.getCell(3).getStringCellValue());
+            assertTrue(workbook.getFontAt(header.getCell(0).getCellStyle().getFontIndex()).getBold());
+            assertEquals(1, sheet.getPaneInformation().getHorizontalSplitPosition());
+            assertEquals("Loan", row.getCell(0).getStringCellValue());
+            assertEquals(1250.5, row.getCell(1).getNumericCellValue());
+            assertEquals(CellType.BOOLEAN, row.getCell(2).getCellType());
+            assertEquals(submitted, row.getCell(3).getLocalDateTimeCellValue());
+            assertEquals("yyyy-mm-dd hh:mm:ss", row.getCell(3).getCellStyle().getDataFormatString());
+            assertNull(row.getCell(4));
+        }
+    }
+
+    @Test
+    void testRowsBeyondTheSheetLimitContinueOnNewSheets() throws IOException {
+        // Four data rows per sheet after the header
+        try (XSSFWorkbook workbook = write(5, List.of("Row"), rows(10))) {
+            assertEquals(3, workbook.getNumberOfSheets());
+            assertEquals(List.of("Report", "Report 2", "Report 3"),
+                    List.of(workbook.getSheetName(0), workbook.getSheetName(1), workbook.getSheetName(2)));
+            int expected = 0;
+            for (Sheet sheet : workbook) {
+                assertEquals("Row", sheet.getRow(0).getCell(0).getStringCellValue());
+                assertTrue(sheet.getLastRowNum() <= 4, sheet.getSheetName());
+                for (int i = 1; i <= sheet.getLastRowNum(); i++) {
+                    assertEquals(expected++, (int) sheet.getRow(i).getCell(0).getNumericCellValue());
+                }
+            }
+            assertEquals(10, expected);
+            assertEquals(2, workbook.getSheetAt(2).getLastRowNum());
+        }
+    }
+
+    @Test
+    void testFullSheetIsNotFollowedByAnEmptyOne() throws IOException {
+        try (XSSFWorkbook workbook = write(5, List.of("Row"), rows(8))) {
+            assertEquals(2, workbook.getNumberOfSheets());
+            assertEquals(4, workbook.getSheetAt(1).getLastRowNum());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Object>[] rows(int count) {
+        List<Object>[] rows = new List[count];
+        for (int i = 0; i < count; i++) {
+            rows[i] = List.of(i);
+        }
+        return rows;
+    }
+
+    /**
+     * Writes the rows through a writer with a window of two rows and reads the workbook back.
+     */
+    @SafeVarargs
+    private static XSSFWorkbook write(int maxRowsPerSheet, List<String> columns, List<Object>... rows)
+            throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (ReportRowWriter writer = new ExcelReportWriter(output, 2, maxRowsPerSheet)) {
+            writer.start(columns);
+            for (List<Object> row : rows) {
+                writer.row(row);
+            }
+            writer.finish();
+        }
+        return new XSSFWorkbook(new ByteArrayInputStream(output.toByteArray()));
+    }
+}
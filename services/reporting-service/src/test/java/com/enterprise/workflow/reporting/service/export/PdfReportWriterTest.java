@@ -0,0 +1,95 @@
+package com.enterprise.workflow.reporting.service.export;
+
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfTextExtractor;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PdfReportWriterTest {
+
+    @Test
+    void testTitleHeaderAndRowsAreRendered() throws IOException {
+        byte[] pdf = write("Loan applications", 10, List.of("Name", "Amount"),
+                List.of(Arrays.asList("Alice", 1250.5), Arrays.asList("Bob", null)));
+
+        try (PdfDocument document = read(pdf)) {
+            String text = PdfTextExtractor.getTextFromPage(document.getPage(1));
+            assertEquals(1, document.getNumberOfPages());
+            assertTrue(text.contains("Loan applications"), text);
+            assertTrue(text.contains("Name"), text);
+            assertTrue(text.contains("Alice"), text);
+            assertTrue(text.contains("1250.5"), text);
+            assertTrue(text.contains("Bob"), text);
+        }
+    }
+
+    @Test
+    void testLongTablesArePaginatedWithRepeatedHeaders() throws IOException {
+        List<List<Object>> rows = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            rows.add(List.of("row-" + i, i));
+        }
+
+        byte[] pdf = write(null, 7, List.of("Key", "Value"), rows);
+
+        try (PdfDocument document = read(pdf)) {
+            assertTrue(document.getNumberOfPages() > 1, "pages: " + document.getNumberOfPages());
+            StringBuilder all = new StringBuilder();
+            for (int page = 1; page <= document.getNumberOfPages(); page++) {
+                String text = PdfTextExtractor.getTextFromPage(document.getPage(page));
+                assertTrue(text.contains("Key"), "header on page " + page);
+                all.append(text).append('\n');
+            }
+            assertTrue(all.toString().contains("row-0"));
+            assertTrue(all.toString().contains("row-499"));
+        }
+    }
+
+    @Test
+    void testOutputStreamIsLeftOpen() throws IOException {
+        List<Boolean> closed = new ArrayList<>();
+        ByteArrayOutputStream output = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                closed.add(true);
+            }
+        };
+
+        try (ReportRowWriter writer = new PdfReportWriter(output, null, 1)) {
+            writer.start(List.of("Name"));
+            writer.row(List.of("Alice"));
+            writer.finish();
+        }
+
+        assertEquals(List.of(), closed);
+        assertEquals("%PDF-", new String(output.toByteArray(), 0, 5, StandardCharsets.US_ASCII));
+    }
+
+    private static byte[] write(String title, int flushRows, List<String> columns, List<List<Object>> rows)
+            throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (ReportRowWriter writer = new PdfReportWriter(output, title, flushRows)) {
+            writer.start(columns);
+            for (List<Object> row : rows) {
+                writer.row(row);
+            }
+            writer.finish();
+        }
+        return output.toByteArray();
+    }
+
+    private static PdfDocument read(byte[] pdf) throws IOException {
+        return new PdfDocument(new PdfReader(new ByteArrayInputStream(pdf)));
+    }
+}
@@ -0,0 +1,47 @@
+package com.enterprise.workflow.task.config;
+
+import com.enterprise.workflow.task.service.sla.SlaMonitor;
+import com.enterprise.workflow.task.service.sla.SlaTaskListener;
+import org.activiti.engine.ManagementService;
+import org.activiti.engine.delegate.event.ActivitiEventListener;
+import org.activiti.engine.delegate.event.ActivitiEventType;
+import org.activiti.engine.impl.persistence.entity.TaskEntity;
+import org.activiti.spring.boot.ProcessEngineConfigurationConfigurer;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Wires the task due date monitor into the engine and loads open tasks at startup.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "task.sla", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SlaMonitorConfig {
+
+    @Bean
+    public ProcessEngineConfigurationConfigurer slaListenerConfigurer(SlaMonitor slaMonitor) {
+        return configuration -> {
+            Map<String, List<ActivitiEventListener>> listeners = configuration.getTypedEventListeners() != null
+                    ? new HashMap<>(configuration.getTypedEventListeners())
+                    : new HashMap<>();
+            ActivitiEventListener listener = new SlaTaskListener(slaMonitor);
+            for (ActivitiEventType type : List.of(
+                    ActivitiEventType.TASK_CREATED, ActivitiEventType.TASK_COMPLETED,
+                    ActivitiEventType.ENTITY_UPDATED, ActivitiEventType.ENTITY_DELETED)) {
+                listeners.computeIfAbsent(type.name(), name -> new ArrayList<>()).add(listener);
+            }
+            configuration.setTypedEventListeners(listeners);
+        };
+    }
+
+    @Bean
+    public ApplicationRunner slaMonitorRecovery(SlaMonitor slaMonitor, ManagementService managementService) {
+        return args -> slaMonitor.recover(managementService.getTableName(TaskEntity.class));
+    }
+}
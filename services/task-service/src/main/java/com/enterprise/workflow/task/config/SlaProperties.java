@@ -0,0 +1,51 @@
+package com.enterprise.workflow.task.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Settings for task due date (SLA) monitoring.
+ *
+ * Usage:
+ *   task.sla.enabled=true
+ *   task.sla.tick=1s
+ *   task.sla.resync-interval=10m
+ *   task.sla.recent-breaches=50
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "task.sla")
+public class SlaProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Resolution of breach detection; a breach fires within one tick after the due date.
+     */
+    private Duration tick = Duration.ofSeconds(1);
+
+    /**
+     * How often open due dates are re-read from the task table, to pick up tasks created
+     * or rescheduled on other nodes.
+     */
+    private Duration resyncInterval = Duration.ofMinutes(10);
+
+    /**
+     * Slots per timer wheel level as a power of two (6 = 64 slots).
+     */
+    private int wheelSlotBits = 6;
+
+    /**
+     * Timer wheel levels; with 1s ticks and 64 slots, 4 levels span about 194 days
+     * before deadlines go to the overflow list.
+     */
+    private int wheelLevels = 4;
+
+    /**
+     * Number of most recent breaches returned with SLA metrics.
+     */
+    private int recentBreaches = 50;
+}
@@ -0,0 +1,28 @@
+package com.enterprise.workflow.task.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Settings for batch claim/complete execution.
+ *
+ * Usage:
+ *   task.batch.partition-size=100
+ *   task.batch.max-concurrency=4
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "task.batch")
+public class TaskBatchProperties {
+
+    /**
+     * Number of tasks committed together in one transaction.
+     */
+    private int partitionSize = 100;
+
+    /**
+     * Maximum partitions executing at once. Keep below the datasource pool size.
+     */
+    private int maxConcurrency = 4;
+}
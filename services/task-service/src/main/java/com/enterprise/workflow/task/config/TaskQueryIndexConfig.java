@@ -0,0 +1,48 @@
+package com.enterprise.workflow.task.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.activiti.engine.ManagementService;
+import org.activiti.engine.impl.persistence.entity.TaskEntity;
+import org.activiti.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * Creates the secondary indexes used by the task inbox queries.
+ *
+ * Activiti's schema indexes ACT_RU_TASK by creation time and on its foreign keys
+ * (execution, process instance, process definition), and ACT_RU_VARIABLE on its
+ * foreign keys. Assignee, owner and due-date filters and variable lookups by name
+ * issued by {@link com.enterprise.workflow.task.service.TaskQueryPlanner} would
+ * otherwise scan the whole table.
+ */
+@Configuration
+@Slf4j
+public class TaskQueryIndexConfig {
+
+    @Bean
+    public ApplicationRunner taskQueryIndexes(JdbcTemplate jdbcTemplate, ManagementService managementService) {
+        return args -> {
+            String taskTable = managementService.getTableName(TaskEntity.class);
+            String variableTable = managementService.getTableName(VariableInstanceEntity.class);
+
+            List<String> statements = List.of(
+                    "create index if not exists ewf_idx_task_assignee on " + taskTable + " (ASSIGNEE_, CREATE_TIME_)",
+                    "create index if not exists ewf_idx_task_owner on " + taskTable + " (OWNER_)",
+                    "create index if not exists ewf_idx_task_due on " + taskTable + " (DUE_DATE_)",
+                    "create index if not exists ewf_idx_var_proc_name on " + variableTable + " (PROC_INST_ID_, NAME_)");
+
+            for (String statement : statements) {
+                try {
+                    jdbcTemplate.execute(statement);
+                } catch (Exception e) {
+                    log.warn("Could not create task query index: {}", e.getMessage());
+                }
+            }
+        };
+    }
+}
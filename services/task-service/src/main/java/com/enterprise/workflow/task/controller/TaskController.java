@@ -1,9 +1,15 @@
 package com.enterprise.workflow.task.controller;
 
+import com.enterprise.workflow.task.dto.BatchCompleteRequest;
+import com.enterprise.workflow.task.dto.BatchOperationResponse;
+import com.enterprise.workflow.task.dto.SlaMetricsResponse;
+import com.enterprise.workflow.task.service.TaskManagementService;
+import com.enterprise.workflow.task.service.sla.SlaMonitor;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.activiti.engine.TaskService;
 import org.activiti.engine.task.Task;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -18,9 +24,15 @@ import java.util.stream.Collectors;
 public class TaskController {
 
     private final TaskService taskService;
+    private final TaskManagementService taskManagementService;
+    /** Absent when {@code task.sla.enabled=false}. */
+    private final ObjectProvider<SlaMonitor> slaMonitor;
 
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, TaskManagementService taskManagementService,
+            ObjectProvider<SlaMonitor> slaMonitor) {
         this.taskService = taskService;
+        this.taskManagementService = taskManagementService;
+        this.slaMonitor = slaMonitor;
     }
 
     @GetMapping
@@ -66,14 +78,24 @@ public class TaskController {
         return ResponseEntity.ok().build();
     }
 
-    // Endpoint for batch claim (simplified)
     @PostMapping("/batch/claim")
-    @Operation(summary = "Claim multiple tasks")
-    public ResponseEntity<Void> batchClaim(@RequestBody List<String> taskIds, @RequestParam String userId) {
-        for (String id : taskIds) {
-            taskService.claim(id, userId);
+    @Operation(summary = "Claim multiple tasks in parallel partitions")
+    public ResponseEntity<BatchOperationResponse> batchClaim(
+            @RequestBody List<String> taskIds,
+            @RequestParam String userId) {
+        if (taskIds == null || taskIds.isEmpty()) {
+            return ResponseEntity.badRequest().build();
         }
-        return ResponseEntity.ok().build();
+        return ResponseEntity.ok(taskManagementService.batchClaim(taskIds, userId));
+    }
+
+    @PostMapping("/batch/complete")
+    @Operation(summary = "Complete multiple tasks in parallel partitions")
+    public ResponseEntity<BatchOperationResponse> batchComplete(@RequestBody BatchCompleteRequest request) {
+        if (request.getTaskIds() == null || request.getTaskIds().isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(taskManagementService.batchComplete(request.getTaskIds(), request.getVariables()));
     }
 
     @GetMapping("/claimable")
@@ -84,6 +106,16 @@ public class TaskController {
         return ResponseEntity.ok(tasks.stream().map(this::toDto).collect(Collectors.toList()));
     }
 
+    @GetMapping("/sla/{processDefinitionKey}")
+    @Operation(summary = "Get due date compliance and recent breaches of a process")
+    public ResponseEntity<SlaMetricsResponse> getSlaMetrics(@PathVariable String processDefinitionKey) {
+        SlaMonitor monitor = slaMonitor.getIfAvailable();
+        if (monitor == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(monitor.getMetrics(processDefinitionKey));
+    }
+
     private Map<String, Object> toDto(Task task) {
         Map<String, Object> dto = new HashMap<>();
         dto.put("id", task.getId());
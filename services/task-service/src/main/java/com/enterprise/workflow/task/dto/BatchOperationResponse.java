@@ -0,0 +1,34 @@
+package com.enterprise.workflow.task.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a batch task operation, with one result per task.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchOperationResponse {
+    private String operation;
+    private int total;
+    private int succeeded;
+    private int failed;
+    private long durationMs;
+    private List<ItemResult> results;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ItemResult {
+        private String taskId;
+        private boolean success;
+        private String error;
+    }
+}
@@ -0,0 +1,26 @@
+package com.enterprise.workflow.task.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published once when an open task passes its due date.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlaBreachEvent {
+    private String taskId;
+    private String taskName;
+    private String taskDefinitionKey;
+    private String processDefinitionKey;
+    private String processInstanceId;
+    private String assignee;
+    private LocalDateTime dueDate;
+    private LocalDateTime breachTime;
+}
@@ -0,0 +1,40 @@
+package com.enterprise.workflow.task.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Due date compliance of a process definition's tasks.
+ * Compliance is the share of tasks with a due date that were completed on time, in percent.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlaMetricsResponse {
+    private String processDefinitionKey;
+    private Double overallCompliance;
+    private Map<String, Double> complianceByTask;
+    private List<Breach> recentBreaches;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Breach {
+        private String taskId;
+        private String taskName;
+        private String taskDefinitionKey;
+        private String processInstanceId;
+        private LocalDateTime dueDate;
+        private LocalDateTime breachTime;
+        private LocalDateTime completedAt;
+        private Long overdueSeconds;
+    }
+}
@@ -0,0 +1,55 @@
+package com.enterprise.workflow.task.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A task that was still open when its due date passed.
+ */
+@Entity
+@Table(name = "sla_breaches", indexes = {
+    @Index(name = "idx_sla_breach_definition_time", columnList = "process_definition_key, breach_time")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_sla_breach_task", columnNames = "task_id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlaBreach {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String id;
+
+    @Column(name = "task_id", nullable = false)
+    private String taskId;
+
+    @Column(name = "task_name")
+    private String taskName;
+
+    @Column(name = "task_definition_key")
+    private String taskDefinitionKey;
+
+    @Column(name = "process_definition_key")
+    private String processDefinitionKey;
+
+    @Column(name = "process_instance_id")
+    private String processInstanceId;
+
+    private String assignee;
+
+    @Column(name = "due_date", nullable = false)
+    private LocalDateTime dueDate;
+
+    @Column(name = "breach_time", nullable = false)
+    private LocalDateTime breachTime;
+
+    /**
+     * Set when the breached task is completed; null while it is still overdue.
+     */
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
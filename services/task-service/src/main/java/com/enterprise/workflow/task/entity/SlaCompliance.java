@@ -0,0 +1,41 @@
+package com.enterprise.workflow.task.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * Running count of tasks with a due date completed on time and late, per task definition.
+ * Rows are only ever incremented in place, see {@code SlaComplianceRepository#increment}.
+ */
+@Entity
+@Table(name = "sla_compliance")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlaCompliance {
+
+    @EmbeddedId
+    private Key key;
+
+    @Column(name = "on_time", nullable = false)
+    private long onTime;
+
+    @Column(nullable = false)
+    private long late;
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        @Column(name = "process_definition_key", nullable = false)
+        private String processDefinitionKey;
+
+        @Column(name = "task_definition_key", nullable = false)
+        private String taskDefinitionKey;
+    }
+}
@@ -0,0 +1,42 @@
+package com.enterprise.workflow.task.repository;
+
+import com.enterprise.workflow.task.entity.SlaBreach;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface SlaBreachRepository extends JpaRepository<SlaBreach, String> {
+
+    List<SlaBreach> findByProcessDefinitionKeyOrderByBreachTimeDesc(String processDefinitionKey, Pageable pageable);
+
+    /**
+     * Records a breach unless one exists for the task already, e.g. detected by another node.
+     *
+     * @return 1 if the breach was inserted, 0 if it was already recorded
+     */
+    @Modifying
+    @Query(value = "insert into sla_breaches (id, task_id, task_name, task_definition_key, process_definition_key, "
+            + "process_instance_id, assignee, due_date, breach_time) values (:id, :taskId, :taskName, "
+            + ":taskDefinitionKey, :processDefinitionKey, :processInstanceId, :assignee, :dueDate, :breachTime) "
+            + "on conflict (task_id) do nothing", nativeQuery = true)
+    int insertIfAbsent(@Param("id") String id,
+            @Param("taskId") String taskId,
+            @Param("taskName") String taskName,
+            @Param("taskDefinitionKey") String taskDefinitionKey,
+            @Param("processDefinitionKey") String processDefinitionKey,
+            @Param("processInstanceId") String processInstanceId,
+            @Param("assignee") String assignee,
+            @Param("dueDate") LocalDateTime dueDate,
+            @Param("breachTime") LocalDateTime breachTime);
+
+    @Modifying
+    @Query("update SlaBreach b set b.completedAt = :completedAt where b.taskId = :taskId and b.completedAt is null")
+    int markCompleted(@Param("taskId") String taskId, @Param("completedAt") LocalDateTime completedAt);
+}
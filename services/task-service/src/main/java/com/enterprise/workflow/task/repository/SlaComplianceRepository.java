@@ -0,0 +1,31 @@
+package com.enterprise.workflow.task.repository;
+
+import com.enterprise.workflow.task.entity.SlaCompliance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SlaComplianceRepository extends JpaRepository<SlaCompliance, SlaCompliance.Key> {
+
+    List<SlaCompliance> findByKeyProcessDefinitionKey(String processDefinitionKey);
+
+    /**
+     * Adds to the counters of a task definition in one atomic upsert, so concurrent
+     * completions on any node never lose an update.
+     */
+    @Modifying
+    @Query(value = "insert into sla_compliance (process_definition_key, task_definition_key, on_time, late) "
+            + "values (:processDefinitionKey, :taskDefinitionKey, :onTime, :late) "
+            + "on conflict (process_definition_key, task_definition_key) do update "
+            + "set on_time = sla_compliance.on_time + excluded.on_time, late = sla_compliance.late + excluded.late",
+            nativeQuery = true)
+    int increment(@Param("processDefinitionKey") String processDefinitionKey,
+            @Param("taskDefinitionKey") String taskDefinitionKey,
+            @Param("onTime") long onTime,
+            @Param("late") long late);
+}
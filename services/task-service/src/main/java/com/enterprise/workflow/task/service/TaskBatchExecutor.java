@@ -0,0 +1,172 @@
+package com.enterprise.workflow.task.service;
+
+import com.enterprise.workflow.task.config.TaskBatchProperties;
+import com.enterprise.workflow.task.dto.BatchOperationResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Runs a task operation over many task IDs in parallel partitions.
+ *
+ * Each partition commits in its own transaction on a virtual thread, with at most
+ * {@code task.batch.max-concurrency} partitions in flight. When a partition fails it
+ * is rolled back and replayed task by task, so one bad task only fails itself.
+ * Per-task latency and throughput are published as {@code task.batch.item} and
+ * {@code task.batch.partition} timers; each task is counted once, by the attempt
+ * that decided its outcome.
+ */
+@Component
+@Slf4j
+public class TaskBatchExecutor {
+
+    private final TransactionTemplate transactionTemplate;
+    private final TaskBatchProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public TaskBatchExecutor(PlatformTransactionManager transactionManager,
+            TaskBatchProperties properties,
+            MeterRegistry meterRegistry) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public BatchOperationResponse execute(String operation, List<String> taskIds, Consumer<String> action) {
+        long start = System.nanoTime();
+        List<List<String>> partitions = partition(taskIds);
+        Semaphore permits = new Semaphore(Math.max(1, properties.getMaxConcurrency()));
+        List<BatchOperationResponse.ItemResult> results = new ArrayList<>();
+
+        // The security context is captured here so engine calls run as the requesting user
+        try (ExecutorService virtualThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            ExecutorService executor = new DelegatingSecurityContextExecutorService(virtualThreads);
+            List<Future<List<BatchOperationResponse.ItemResult>>> futures = new ArrayList<>(partitions.size());
+            for (List<String> partition : partitions) {
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return runPartition(operation, partition, action);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                results.addAll(await(futures.get(i), partitions.get(i)));
+            }
+        }
+
+        int succeeded = (int) results.stream().filter(BatchOperationResponse.ItemResult::isSuccess).count();
+        long durationMs = (System.nanoTime() - start) / 1_000_000;
+        log.info("Batch {} finished: {} succeeded, {} failed in {} ms",
+                operation, succeeded, results.size() - succeeded, durationMs);
+
+        return BatchOperationResponse.builder()
+                .operation(operation)
+                .total(results.size())
+                .succeeded(succeeded)
+                .failed(results.size() - succeeded)
+                .durationMs(durationMs)
+                .results(results)
+                .build();
+    }
+
+    private List<BatchOperationResponse.ItemResult> runPartition(String operation, List<String> taskIds,
+            Consumer<String> action) {
+        Timer.Sample partitionSample = Timer.start(meterRegistry);
+        List<BatchOperationResponse.ItemResult> results = new ArrayList<>(taskIds.size());
+        try {
+            List<Long> itemNanos = new ArrayList<>(taskIds.size());
+            transactionTemplate.executeWithoutResult(status -> {
+                for (String taskId : taskIds) {
+                    long itemStart = System.nanoTime();
+                    action.accept(taskId);
+                    itemNanos.add(System.nanoTime() - itemStart);
+                    results.add(success(taskId));
+                }
+            });
+            // Recorded only once committed: a rolled back partition is timed by its replay instead
+            Timer itemTimer = itemTimer(operation, "success");
+            itemNanos.forEach(nanos -> itemTimer.record(nanos, TimeUnit.NANOSECONDS));
+        } catch (Exception e) {
+            log.warn("Batch {} partition of {} tasks rolled back, retrying individually: {}",
+                    operation, taskIds.size(), e.getMessage());
+            results.clear();
+            for (String taskId : taskIds) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> timed(operation, () -> action.accept(taskId)));
+                    results.add(success(taskId));
+                } catch (Exception itemError) {
+                    results.add(failure(taskId, itemError.getMessage()));
+                }
+            }
+        }
+        partitionSample.stop(meterRegistry.timer("task.batch.partition", "operation", operation));
+        return results;
+    }
+
+    private void timed(String operation, Runnable work) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            work.run();
+        } catch (RuntimeException e) {
+            outcome = "failure";
+            throw e;
+        } finally {
+            sample.stop(itemTimer(operation, outcome));
+        }
+    }
+
+    private Timer itemTimer(String operation, String outcome) {
+        return meterRegistry.timer("task.batch.item", "operation", operation, "outcome", outcome);
+    }
+
+    private List<BatchOperationResponse.ItemResult> await(Future<List<BatchOperationResponse.ItemResult>> future,
+            List<String> partition) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return partition.stream().map(id -> failure(id, "Interrupted")).toList();
+        } catch (ExecutionException e) {
+            return partition.stream().map(id -> failure(id, e.getCause().getMessage())).toList();
+        }
+    }
+
+    private List<List<String>> partition(List<String> taskIds) {
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(taskIds));
+        int size = Math.max(1, properties.getPartitionSize());
+        List<List<String>> partitions = new ArrayList<>();
+        for (int i = 0; i < distinct.size(); i += size) {
+            partitions.add(distinct.subList(i, Math.min(i + size, distinct.size())));
+        }
+        return partitions;
+    }
+
+    private BatchOperationResponse.ItemResult success(String taskId) {
+        return BatchOperationResponse.ItemResult.builder().taskId(taskId).success(true).build();
+    }
+
+    private BatchOperationResponse.ItemResult failure(String taskId, String error) {
+        return BatchOperationResponse.ItemResult.builder().taskId(taskId).success(false).error(error).build();
+    }
+}
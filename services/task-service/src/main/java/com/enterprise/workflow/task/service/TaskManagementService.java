@@ -58,7 +58,10 @@ public interface TaskManagementService {
 
     // ==================== BATCH OPERATIONS ====================
     
-    List<TaskResponse> batchClaim(List<String> taskIds);
+    /**
+     * Claims the tasks for {@code userId}, or for the current user when it is null.
+     */
+    BatchOperationResponse batchClaim(List<String> taskIds, String userId);
     
-    void batchComplete(List<String> taskIds, Map<String, Object> variables);
+    BatchOperationResponse batchComplete(List<String> taskIds, Map<String, Object> variables);
 }
@@ -0,0 +1,237 @@
+package com.enterprise.workflow.task.service;
+
+import com.enterprise.workflow.task.dto.TaskQueryRequest;
+import lombok.RequiredArgsConstructor;
+import org.activiti.engine.ManagementService;
+import org.activiti.engine.TaskService;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.impl.persistence.entity.IdentityLinkEntity;
+import org.activiti.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.activiti.engine.impl.persistence.entity.TaskEntity;
+import org.activiti.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.activiti.engine.task.NativeTaskQuery;
+import org.activiti.engine.task.Task;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Translates a {@link TaskQueryRequest} into a single native task query.
+ *
+ * Every filter is pushed into the WHERE clause so that the database returns
+ * exactly one page and can answer the total with a matching COUNT query,
+ * instead of the service filtering a fetched page in memory.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskQueryPlanner {
+
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "createTime", "RES.CREATE_TIME_",
+            "dueDate", "RES.DUE_DATE_",
+            "priority", "RES.PRIORITY_",
+            "name", "RES.NAME_",
+            "assignee", "RES.ASSIGNEE_");
+
+    private final ManagementService managementService;
+
+    /**
+     * Builds a plan for the given request.
+     *
+     * @param request     filters requested by the caller
+     * @param visibleTo   user the result must be visible to (assignee, owner or candidate), or null for no restriction
+     * @param groups      groups of {@code visibleTo}, used for candidate-group visibility
+     * @param sort        requested ordering; unknown properties are ignored
+     */
+    public Plan plan(TaskQueryRequest request, String visibleTo, List<String> groups, Sort sort) {
+        String taskTable = managementService.getTableName(TaskEntity.class);
+        String linkTable = managementService.getTableName(IdentityLinkEntity.class);
+        String executionTable = managementService.getTableName(ExecutionEntity.class);
+        String definitionTable = managementService.getTableName(ProcessDefinitionEntity.class);
+        String variableTable = managementService.getTableName(VariableInstanceEntity.class);
+
+        Plan plan = new Plan(taskTable);
+        TaskQueryRequest q = request != null ? request : new TaskQueryRequest();
+
+        if (visibleTo != null) {
+            String user = plan.param(visibleTo);
+            StringBuilder candidate = new StringBuilder()
+                    .append("L.TYPE_ = 'candidate' and (L.USER_ID_ = #{").append(user).append("}");
+            if (groups != null && !groups.isEmpty()) {
+                candidate.append(" or L.GROUP_ID_ in (").append(plan.params(groups)).append(")");
+            }
+            candidate.append(")");
+            plan.where("(RES.ASSIGNEE_ = #{" + user + "} or RES.OWNER_ = #{" + user + "}"
+                    + " or (RES.ASSIGNEE_ is null and exists (select 1 from " + linkTable
+                    + " L where L.TASK_ID_ = RES.ID_ and " + candidate + ")))");
+        }
+
+        if (q.getTaskIds() != null && !q.getTaskIds().isEmpty()) {
+            plan.where("RES.ID_ in (" + plan.params(q.getTaskIds()) + ")");
+        }
+        if (q.getProcessInstanceId() != null) {
+            plan.where("RES.PROC_INST_ID_ = #{" + plan.param(q.getProcessInstanceId()) + "}");
+        }
+        if (q.getAssignee() != null) {
+            plan.where("RES.ASSIGNEE_ = #{" + plan.param(q.getAssignee()) + "}");
+        }
+        if (Boolean.TRUE.equals(q.getUnassignedOnly())) {
+            plan.where("RES.ASSIGNEE_ is null");
+        }
+        if (q.getCandidateUser() != null) {
+            plan.where("exists (select 1 from " + linkTable + " L where L.TASK_ID_ = RES.ID_"
+                    + " and L.TYPE_ = 'candidate' and L.USER_ID_ = #{" + plan.param(q.getCandidateUser()) + "})");
+        }
+        if (q.getCandidateGroup() != null) {
+            plan.where("exists (select 1 from " + linkTable + " L where L.TASK_ID_ = RES.ID_"
+                    + " and L.TYPE_ = 'candidate' and L.GROUP_ID_ = #{" + plan.param(q.getCandidateGroup()) + "})");
+        }
+        if (q.getNameLike() != null) {
+            String pattern = q.getNameLike().contains("%") ? q.getNameLike() : "%" + q.getNameLike() + "%";
+            plan.where("RES.NAME_ like #{" + plan.param(pattern) + "}");
+        }
+        if (q.getPriority() != null) {
+            plan.where("RES.PRIORITY_ = #{" + plan.param(q.getPriority()) + "}");
+        }
+        if (q.getPriorityGreaterThan() != null) {
+            plan.where("RES.PRIORITY_ > #{" + plan.param(q.getPriorityGreaterThan()) + "}");
+        }
+        if (q.getPriorityLessThan() != null) {
+            plan.where("RES.PRIORITY_ < #{" + plan.param(q.getPriorityLessThan()) + "}");
+        }
+        if (q.getDueDateBefore() != null) {
+            plan.where("RES.DUE_DATE_ < #{" + plan.param(toDate(q.getDueDateBefore())) + "}");
+        }
+        if (q.getDueDateAfter() != null) {
+            plan.where("RES.DUE_DATE_ > #{" + plan.param(toDate(q.getDueDateAfter())) + "}");
+        }
+        if (q.getCreateDateBefore() != null) {
+            plan.where("RES.CREATE_TIME_ < #{" + plan.param(toDate(q.getCreateDateBefore())) + "}");
+        }
+        if (q.getCreateDateAfter() != null) {
+            plan.where("RES.CREATE_TIME_ > #{" + plan.param(toDate(q.getCreateDateAfter())) + "}");
+        }
+        if (q.getProcessDefinitionKey() != null) {
+            plan.where("exists (select 1 from " + definitionTable + " D where D.ID_ = RES.PROC_DEF_ID_"
+                    + " and D.KEY_ = #{" + plan.param(q.getProcessDefinitionKey()) + "})");
+        }
+        if (q.getBusinessKey() != null) {
+            plan.where("exists (select 1 from " + executionTable + " E where E.ID_ = RES.PROC_INST_ID_"
+                    + " and E.BUSINESS_KEY_ = #{" + plan.param(q.getBusinessKey()) + "})");
+        }
+        if (q.getVariableEquals() != null) {
+            q.getVariableEquals().forEach((name, value) -> plan.where("exists (select 1 from " + variableTable
+                    + " V where V.PROC_INST_ID_ = RES.PROC_INST_ID_ and (V.TASK_ID_ is null or V.TASK_ID_ = RES.ID_)"
+                    + " and V.NAME_ = #{" + plan.param(name) + "} and " + valueCondition(plan, value) + ")"));
+        }
+
+        plan.orderBy(sort);
+        return plan;
+    }
+
+    /**
+     * Matches a variable value against the column Activiti stores it in for its type.
+     */
+    private String valueCondition(Plan plan, Object value) {
+        if (value == null) {
+            return "V.TYPE_ = 'null'";
+        }
+        if (value instanceof Boolean bool) {
+            return "V.TYPE_ = 'boolean' and V.LONG_ = #{" + plan.param(bool ? 1L : 0L) + "}";
+        }
+        if (value instanceof Integer || value instanceof Long || value instanceof Short) {
+            return "V.TYPE_ in ('integer', 'long', 'short') and V.LONG_ = #{"
+                    + plan.param(((Number) value).longValue()) + "}";
+        }
+        if (value instanceof Number number) {
+            return "V.TYPE_ = 'double' and V.DOUBLE_ = #{" + plan.param(number.doubleValue()) + "}";
+        }
+        return "V.TEXT_ = #{" + plan.param(value.toString()) + "}";
+    }
+
+    private Date toDate(LocalDateTime value) {
+        return Date.from(value.atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    /**
+     * A compiled task query: one WHERE clause shared by the page and count statements.
+     */
+    public static class Plan {
+
+        private final String taskTable;
+        private final List<String> conditions = new ArrayList<>();
+        private final Map<String, Object> parameters = new LinkedHashMap<>();
+        private String orderBy = "RES.CREATE_TIME_ desc, RES.ID_ asc";
+
+        Plan(String taskTable) {
+            this.taskTable = taskTable;
+        }
+
+        public List<Task> listPage(TaskService taskService, int firstResult, int maxResults) {
+            return bind(taskService.createNativeTaskQuery()
+                    .sql("select RES.* from " + taskTable + " RES" + whereClause() + " order by " + orderBy))
+                    .listPage(firstResult, maxResults);
+        }
+
+        public long count(TaskService taskService) {
+            return bind(taskService.createNativeTaskQuery()
+                    .sql("select count(RES.ID_) from " + taskTable + " RES" + whereClause()))
+                    .count();
+        }
+
+        public String whereClause() {
+            return conditions.isEmpty() ? "" : " where " + String.join(" and ", conditions);
+        }
+
+        public Map<String, Object> getParameters() {
+            return parameters;
+        }
+
+        void where(String condition) {
+            conditions.add(condition);
+        }
+
+        String param(Object value) {
+            String name = "p" + parameters.size();
+            parameters.put(name, value);
+            return name;
+        }
+
+        String params(List<?> values) {
+            List<String> placeholders = new ArrayList<>(values.size());
+            for (Object value : values) {
+                placeholders.add("#{" + param(value) + "}");
+            }
+            return String.join(", ", placeholders);
+        }
+
+        void orderBy(Sort sort) {
+            if (sort == null || sort.isUnsorted()) {
+                return;
+            }
+            List<String> columns = new ArrayList<>();
+            for (Sort.Order order : sort) {
+                String column = SORT_COLUMNS.get(order.getProperty());
+                if (column != null) {
+                    columns.add(column + (order.isAscending() ? " asc" : " desc"));
+                }
+            }
+            if (!columns.isEmpty()) {
+                columns.add("RES.ID_ asc");
+                orderBy = String.join(", ", columns);
+            }
+        }
+
+        private NativeTaskQuery bind(NativeTaskQuery query) {
+            parameters.forEach(query::parameter);
+            return query;
+        }
+    }
+}
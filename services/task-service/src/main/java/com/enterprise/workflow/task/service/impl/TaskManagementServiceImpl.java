@@ -1,9 +1,12 @@
 package com.enterprise.workflow.task.service.impl;
 
 import com.enterprise.workflow.task.dto.*;
+import com.enterprise.workflow.task.service.TaskBatchExecutor;
 import com.enterprise.workflow.task.service.TaskManagementService;
+import com.enterprise.workflow.task.service.TaskQueryPlanner;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.activiti.api.runtime.shared.identity.UserGroupManager;
 import org.activiti.api.task.model.Task;
 import org.activiti.api.task.model.builders.TaskPayloadBuilder;
 import org.activiti.api.task.runtime.TaskRuntime;
@@ -13,6 +16,7 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
@@ -29,50 +33,58 @@ public class TaskManagementServiceImpl implements TaskManagementService {
 
     private final TaskRuntime taskRuntime;
     private final TaskService taskService; // Activiti Engine API
+    private final TaskQueryPlanner queryPlanner;
+    private final UserGroupManager userGroupManager;
+    private final TaskBatchExecutor batchExecutor;
 
     @Override
     @Transactional(readOnly = true)
     public Page<TaskResponse> getTasks(TaskQueryRequest query, Pageable pageable) {
-        var page = taskRuntime.tasks(
-                org.activiti.api.runtime.shared.query.Pageable.of(
-                        pageable.getPageNumber(), pageable.getPageSize()));
-        
-        List<TaskResponse> responses = page.getContent().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
-        
-        return new PageImpl<>(responses, pageable, page.getTotalItems());
+        String currentUser = getCurrentUserId();
+        return executeQuery(query, currentUser, userGroupManager.getUserGroups(currentUser), pageable);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<TaskResponse> getMyTasks(Pageable pageable) {
-        String currentUser = getCurrentUserId();
-        var page = taskRuntime.tasks(
-                org.activiti.api.runtime.shared.query.Pageable.of(
-                        pageable.getPageNumber(), pageable.getPageSize()));
-        
-        List<TaskResponse> myTasks = page.getContent().stream()
-                .filter(t -> currentUser.equals(t.getAssignee()))
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
-        
-        return new PageImpl<>(myTasks, pageable, myTasks.size());
+        TaskQueryRequest query = TaskQueryRequest.builder()
+                .assignee(getCurrentUserId())
+                .build();
+        return executeQuery(query, null, null, pageable);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<TaskResponse> getClaimableTasks(Pageable pageable) {
-        var page = taskRuntime.tasks(
-                org.activiti.api.runtime.shared.query.Pageable.of(
-                        pageable.getPageNumber(), pageable.getPageSize()));
-        
-        List<TaskResponse> claimable = page.getContent().stream()
-                .filter(t -> t.getAssignee() == null)
-                .map(this::mapToResponse)
+        String currentUser = getCurrentUserId();
+        TaskQueryRequest query = TaskQueryRequest.builder()
+                .unassignedOnly(true)
+                .build();
+        return executeQuery(query, currentUser, userGroupManager.getUserGroups(currentUser), pageable);
+    }
+
+    private Page<TaskResponse> executeQuery(TaskQueryRequest query, String visibleTo, List<String> groups,
+            Pageable pageable) {
+        TaskQueryPlanner.Plan plan = queryPlanner.plan(query, visibleTo, groups, pageable.getSort());
+        long total = plan.count(taskService);
+        if (total == 0 || pageable.getOffset() >= total) {
+            return new PageImpl<>(List.of(), pageable, total);
+        }
+
+        boolean includeVariables = query != null && Boolean.TRUE.equals(query.getIncludeVariables());
+        List<TaskResponse> responses = plan.listPage(taskService, (int) pageable.getOffset(), pageable.getPageSize())
+                .stream()
+                .map(task -> {
+                    TaskResponse response = mapToResponse(task);
+                    if (includeVariables) {
+                        response.setTaskVariables(taskService.getVariablesLocal(task.getId()));
+                        response.setProcessVariables(taskService.getVariables(task.getId()));
+                    }
+                    return response;
+                })
                 .collect(Collectors.toList());
-        
-        return new PageImpl<>(claimable, pageable, claimable.size());
+
+        return new PageImpl<>(responses, pageable, total);
     }
 
     @Override
@@ -222,17 +234,20 @@ public class TaskManagementServiceImpl implements TaskManagementService {
     }
 
     @Override
-    public List<TaskResponse> batchClaim(List<String> taskIds) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BatchOperationResponse batchClaim(List<String> taskIds, String userId) {
         log.info("Batch claiming {} tasks", taskIds.size());
-        return taskIds.stream()
-                .map(this::claimTask)
-                .collect(Collectors.toList());
+        if (userId == null) {
+            return batchExecutor.execute("claim", taskIds, this::claimTask);
+        }
+        return batchExecutor.execute("claim", taskIds, taskId -> taskService.claim(taskId, userId));
     }
 
     @Override
-    public void batchComplete(List<String> taskIds, Map<String, Object> variables) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BatchOperationResponse batchComplete(List<String> taskIds, Map<String, Object> variables) {
         log.info("Batch completing {} tasks", taskIds.size());
-        taskIds.forEach(taskId -> completeTask(taskId, variables));
+        return batchExecutor.execute("complete", taskIds, taskId -> completeTask(taskId, variables));
     }
 
     private TaskResponse mapToResponse(Task task) {
@@ -260,6 +275,35 @@ public class TaskManagementServiceImpl implements TaskManagementService {
                 .build();
     }
 
+    private TaskResponse mapToResponse(org.activiti.engine.task.Task task) {
+        String status = task.isSuspended() ? "SUSPENDED"
+                : (task.getAssignee() != null ? "ASSIGNED" : "CREATED");
+        return TaskResponse.builder()
+                .id(task.getId())
+                .name(task.getName())
+                .description(task.getDescription())
+                .assignee(task.getAssignee())
+                .owner(task.getOwner())
+                .priority(task.getPriority())
+                .status(status)
+                .processInstanceId(task.getProcessInstanceId())
+                .processDefinitionId(task.getProcessDefinitionId())
+                .formKey(task.getFormKey())
+                .createTime(task.getCreateTime() != null ?
+                        task.getCreateTime().toInstant()
+                                .atZone(java.time.ZoneId.systemDefault())
+                                .toLocalDateTime() : null)
+                .dueDate(task.getDueDate() != null ?
+                        task.getDueDate().toInstant()
+                                .atZone(java.time.ZoneId.systemDefault())
+                                .toLocalDateTime() : null)
+                .claimTime(task.getClaimTime() != null ?
+                        task.getClaimTime().toInstant()
+                                .atZone(java.time.ZoneId.systemDefault())
+                                .toLocalDateTime() : null)
+                .build();
+    }
+
     private String getCurrentUserId() {
         var auth = SecurityContextHolder.getContext().getAuthentication();
         return auth != null ? auth.getName() : "anonymous";
@@ -0,0 +1,173 @@
+package com.enterprise.workflow.task.service.sla;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hierarchical timing wheel keyed by timer ID.
+ *
+ * Level 0 has one slot per tick; each higher level has slots as wide as the whole level
+ * below. A timer sits in the lowest level whose span still contains its deadline and is
+ * cascaded down as the wheel turns, so scheduling, cancelling and each tick cost O(1)
+ * regardless of how many timers are pending, and a timer fires on the tick its deadline
+ * falls in, never earlier. Deadlines beyond the top level wait in an overflow list that
+ * is re-examined each time the top level wraps. All methods are synchronized.
+ *
+ * @param <T> Payload handed back when a timer expires
+ */
+class HierarchicalTimerWheel<T> {
+
+    private final long tickMillis;
+    private final int slotBits;
+    private final int levels;
+    private final long slotMask;
+    private final List<List<Map<String, Timer<T>>>> wheel;
+    private final Map<String, Timer<T>> overflow = new LinkedHashMap<>();
+    private final Map<String, Timer<T>> timers = new HashMap<>();
+    private final List<Timer<T>> due = new ArrayList<>();
+    private long currentTick;
+
+    HierarchicalTimerWheel(long tickMillis, int slotBits, int levels, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.slotBits = slotBits;
+        this.levels = levels;
+        this.slotMask = (1L << slotBits) - 1;
+        this.wheel = new ArrayList<>(levels);
+        for (int level = 0; level < levels; level++) {
+            List<Map<String, Timer<T>>> slots = new ArrayList<>(1 << slotBits);
+            for (int slot = 0; slot < 1 << slotBits; slot++) {
+                slots.add(new LinkedHashMap<>());
+            }
+            wheel.add(slots);
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Schedules or reschedules a timer; a deadline already passed fires on the next advance.
+     */
+    synchronized void schedule(String id, long deadlineMillis, T payload) {
+        cancel(id);
+        // Round up so the timer never fires before its deadline
+        long deadlineTick = Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis);
+        Timer<T> timer = new Timer<>(id, deadlineMillis, deadlineTick, payload);
+        timers.put(id, timer);
+        place(timer);
+    }
+
+    synchronized boolean cancel(String id) {
+        Timer<T> timer = timers.remove(id);
+        if (timer == null) {
+            return false;
+        }
+        if (timer.bucket != null) {
+            timer.bucket.remove(id);
+        } else {
+            due.remove(timer);
+        }
+        return true;
+    }
+
+    synchronized int size() {
+        return timers.size();
+    }
+
+    /**
+     * Turns the wheel up to {@code nowMillis} and returns the timers that expired, in deadline order.
+     */
+    synchronized List<Timer<T>> advance(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+            cascade();
+            Map<String, Timer<T>> slot = wheel.get(0).get((int) (currentTick & slotMask));
+            for (Timer<T> timer : slot.values()) {
+                timer.bucket = null;
+                due.add(timer);
+            }
+            slot.clear();
+        }
+        if (due.isEmpty()) {
+            return List.of();
+        }
+        List<Timer<T>> expired = new ArrayList<>(due);
+        due.clear();
+        expired.forEach(timer -> timers.remove(timer.id));
+        expired.sort((a, b) -> Long.compare(a.deadlineMillis, b.deadlineMillis));
+        return expired;
+    }
+
+    private void cascade() {
+        // Higher levels first, so their timers can land in a lower slot that is cascaded next
+        int topLevel = 0;
+        for (int level = 1; level <= levels; level++) {
+            if ((currentTick & ((1L << (slotBits * level)) - 1)) == 0) {
+                topLevel = level;
+            } else {
+                break;
+            }
+        }
+        if (topLevel == levels) {
+            List<Timer<T>> waiting = new ArrayList<>(overflow.values());
+            overflow.clear();
+            waiting.forEach(this::place);
+            topLevel = levels - 1;
+        }
+        for (int level = topLevel; level >= 1; level--) {
+            Map<String, Timer<T>> slot = wheel.get(level).get((int) ((currentTick >>> (slotBits * level)) & slotMask));
+            List<Timer<T>> cascading = new ArrayList<>(slot.values());
+            slot.clear();
+            cascading.forEach(this::place);
+        }
+    }
+
+    private void place(Timer<T> timer) {
+        if (timer.deadlineTick <= currentTick) {
+            timer.bucket = null;
+            due.add(timer);
+            return;
+        }
+        for (int level = 0; level < levels; level++) {
+            int span = slotBits * (level + 1);
+            if ((timer.deadlineTick >>> span) == (currentTick >>> span)) {
+                Map<String, Timer<T>> slot = wheel.get(level)
+                        .get((int) ((timer.deadlineTick >>> (slotBits * level)) & slotMask));
+                slot.put(timer.id, timer);
+                timer.bucket = slot;
+                return;
+            }
+        }
+        overflow.put(timer.id, timer);
+        timer.bucket = overflow;
+    }
+
+    static final class Timer<T> {
+        private final String id;
+        private final long deadlineMillis;
+        private final long deadlineTick;
+        private final T payload;
+        private Map<String, Timer<T>> bucket;
+
+        private Timer(String id, long deadlineMillis, long deadlineTick, T payload) {
+            this.id = id;
+            this.deadlineMillis = deadlineMillis;
+            this.deadlineTick = deadlineTick;
+            this.payload = payload;
+        }
+
+        String id() {
+            return id;
+        }
+
+        long deadlineMillis() {
+            return deadlineMillis;
+        }
+
+        T payload() {
+            return payload;
+        }
+    }
+}
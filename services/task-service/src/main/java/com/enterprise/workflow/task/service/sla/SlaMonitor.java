@@ -0,0 +1,322 @@
+package com.enterprise.workflow.task.service.sla;
+
+import com.enterprise.workflow.task.config.SlaProperties;
+import com.enterprise.workflow.task.dto.SlaBreachEvent;
+import com.enterprise.workflow.task.dto.SlaMetricsResponse;
+import com.enterprise.workflow.task.entity.SlaCompliance;
+import com.enterprise.workflow.task.repository.SlaBreachRepository;
+import com.enterprise.workflow.task.repository.SlaComplianceRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.activiti.engine.task.Task;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Watches the due dates of open tasks and records a breach the moment one passes.
+ *
+ * Every open task with a due date sits in a {@link HierarchicalTimerWheel}; the wheel is
+ * turned once per {@code task.sla.tick}, so detection costs nothing per pending task and
+ * the task table is not polled per tick. Engine events keep the wheel current (see
+ * {@link SlaTaskListener}), but only for tasks this node touches; tasks created or given a
+ * new due date on another node are picked up by a resync that streams the open-task table
+ * at startup and every {@code task.sla.resync-interval}, skipping tasks already recorded
+ * as breached. On a cluster a due date set elsewhere may therefore be detected up to one
+ * resync interval late. When a timer fires the task row is re-read by ID, since another
+ * node may have completed it or moved its due date; the breach is then stored once per
+ * task (a unique key makes concurrent detection on several nodes harmless) and published.
+ * Compliance counters are incremented in the transaction that completes the task.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(prefix = "task.sla", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SlaMonitor {
+
+    public static final String BINDING = "slaBreaches-out-0";
+
+    private static final int FETCH_SIZE = 1000;
+
+    private final SlaProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate breachTransaction;
+    private final SlaBreachRepository breachRepository;
+    private final SlaComplianceRepository complianceRepository;
+    private final StreamBridge streamBridge;
+    private final HierarchicalTimerWheel<TaskDeadline> wheel;
+    private final ScheduledExecutorService ticker;
+    private volatile String taskTable = "ACT_RU_TASK";
+
+    public SlaMonitor(SlaProperties properties,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            SlaBreachRepository breachRepository,
+            SlaComplianceRepository complianceRepository,
+            StreamBridge streamBridge) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.breachTransaction = new TransactionTemplate(transactionManager);
+        this.breachTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.breachRepository = breachRepository;
+        this.complianceRepository = complianceRepository;
+        this.streamBridge = streamBridge;
+        this.wheel = new HierarchicalTimerWheel<>(properties.getTick().toMillis(), properties.getWheelSlotBits(),
+                properties.getWheelLevels(), System.currentTimeMillis());
+        this.ticker = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("sla-monitor").daemon().factory());
+    }
+
+    /**
+     * Loads every open task with a due date into the wheel and starts the clock and the resync.
+     *
+     * @param taskTable Physical name of the runtime task table
+     * @return Number of tasks registered
+     */
+    public long recover(String taskTable) {
+        this.taskTable = taskTable;
+        long start = System.nanoTime();
+        long registered = resync();
+
+        long tickMillis = properties.getTick().toMillis();
+        ticker.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        long resyncMillis = properties.getResyncInterval().toMillis();
+        ticker.scheduleWithFixedDelay(() -> {
+            try {
+                resync();
+            } catch (Exception e) {
+                log.warn("Could not resync SLA due dates: {}", e.getMessage());
+            }
+        }, resyncMillis, resyncMillis, TimeUnit.MILLISECONDS);
+        log.info("SLA monitor watching {} open tasks with due dates, loaded in {} ms",
+                registered, (System.nanoTime() - start) / 1_000_000);
+        return registered;
+    }
+
+    /**
+     * Schedules every open task with a due date that has no breach recorded yet, in one
+     * streaming pass. Timers of tasks completed meanwhile are dropped when they fire.
+     *
+     * @return Number of tasks registered
+     */
+    long resync() {
+        AtomicLong registered = new AtomicLong();
+        readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement("select t.ID_, t.NAME_, t.TASK_DEF_KEY_, "
+                    + "t.PROC_DEF_ID_, t.PROC_INST_ID_, t.DUE_DATE_ from " + taskTable + " t "
+                    + "where t.DUE_DATE_ is not null "
+                    + "and not exists (select 1 from sla_breaches b where b.task_id = t.ID_)");
+            statement.setFetchSize(FETCH_SIZE);
+            return statement;
+        }, rs -> {
+            wheel.schedule(rs.getString("ID_"), rs.getTimestamp("DUE_DATE_").getTime(), new TaskDeadline(
+                    rs.getString("ID_"),
+                    rs.getString("NAME_"),
+                    rs.getString("TASK_DEF_KEY_"),
+                    definitionKey(rs.getString("PROC_DEF_ID_")),
+                    rs.getString("PROC_INST_ID_")));
+            registered.incrementAndGet();
+        }));
+        return registered.get();
+    }
+
+    /**
+     * Starts, moves or stops watching a task's due date once the current transaction commits.
+     */
+    public void watchAfterCommit(Task task) {
+        String taskId = task.getId();
+        if (task.getDueDate() == null) {
+            afterCommit(() -> wheel.cancel(taskId));
+            return;
+        }
+        long dueMillis = task.getDueDate().getTime();
+        TaskDeadline deadline = deadline(task);
+        afterCommit(() -> wheel.schedule(taskId, dueMillis, deadline));
+    }
+
+    public void unwatchAfterCommit(String taskId) {
+        afterCommit(() -> wheel.cancel(taskId));
+    }
+
+    /**
+     * Counts a completed task towards compliance, inside the completing transaction.
+     */
+    public void taskCompleted(Task task) {
+        unwatchAfterCommit(task.getId());
+        if (task.getDueDate() == null || task.getTaskDefinitionKey() == null) {
+            return;
+        }
+        String definitionKey = definitionKey(task.getProcessDefinitionId());
+        if (definitionKey == null) {
+            return;
+        }
+        LocalDateTime completedAt = LocalDateTime.now();
+        boolean late = System.currentTimeMillis() > task.getDueDate().getTime();
+        complianceRepository.increment(definitionKey, task.getTaskDefinitionKey(), late ? 0 : 1, late ? 1 : 0);
+        if (late) {
+            breachRepository.markCompleted(task.getId(), completedAt);
+        }
+    }
+
+    public SlaMetricsResponse getMetrics(String processDefinitionKey) {
+        long onTime = 0;
+        long total = 0;
+        Map<String, Double> complianceByTask = new LinkedHashMap<>();
+        for (SlaCompliance compliance : complianceRepository.findByKeyProcessDefinitionKey(processDefinitionKey)) {
+            long count = compliance.getOnTime() + compliance.getLate();
+            if (count > 0) {
+                complianceByTask.put(compliance.getKey().getTaskDefinitionKey(), 100.0 * compliance.getOnTime() / count);
+                onTime += compliance.getOnTime();
+                total += count;
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<SlaMetricsResponse.Breach> breaches = breachRepository
+                .findByProcessDefinitionKeyOrderByBreachTimeDesc(processDefinitionKey,
+                        PageRequest.of(0, properties.getRecentBreaches()))
+                .stream()
+                .map(breach -> SlaMetricsResponse.Breach.builder()
+                        .taskId(breach.getTaskId())
+                        .taskName(breach.getTaskName())
+                        .taskDefinitionKey(breach.getTaskDefinitionKey())
+                        .processInstanceId(breach.getProcessInstanceId())
+                        .dueDate(breach.getDueDate())
+                        .breachTime(breach.getBreachTime())
+                        .completedAt(breach.getCompletedAt())
+                        .overdueSeconds(Duration.between(breach.getDueDate(),
+                                breach.getCompletedAt() != null ? breach.getCompletedAt() : now).getSeconds())
+                        .build())
+                .toList();
+
+        return SlaMetricsResponse.builder()
+                .processDefinitionKey(processDefinitionKey)
+                .overallCompliance(total > 0 ? 100.0 * onTime / total : null)
+                .complianceByTask(complianceByTask)
+                .recentBreaches(breaches)
+                .build();
+    }
+
+    public int watchedTasks() {
+        return wheel.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdownNow();
+    }
+
+    private void tick() {
+        tick(System.currentTimeMillis());
+    }
+
+    void tick(long nowMillis) {
+        try {
+            for (HierarchicalTimerWheel.Timer<TaskDeadline> timer : wheel.advance(nowMillis)) {
+                try {
+                    expired(timer.payload(), timer.deadlineMillis());
+                } catch (Exception e) {
+                    log.warn("Could not record SLA breach of task {}: {}", timer.id(), e.getMessage());
+                }
+            }
+        } catch (Exception e) {
+            // An exception would cancel the periodic task and stop all detection
+            log.error("SLA monitor tick failed", e);
+        }
+    }
+
+    private void expired(TaskDeadline deadline, long dueMillis) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "select DUE_DATE_, ASSIGNEE_ from " + taskTable + " where ID_ = ?", deadline.taskId());
+        if (rows.isEmpty()) {
+            return;
+        }
+        Object currentDue = rows.get(0).get("DUE_DATE_");
+        if (!(currentDue instanceof Timestamp dueDate)) {
+            return;
+        }
+        if (dueDate.getTime() > dueMillis) {
+            // Moved to a later date on another node
+            wheel.schedule(deadline.taskId(), dueDate.getTime(), deadline);
+            return;
+        }
+
+        LocalDateTime breachTime = LocalDateTime.now();
+        SlaBreachEvent event = SlaBreachEvent.builder()
+                .taskId(deadline.taskId())
+                .taskName(deadline.taskName())
+                .taskDefinitionKey(deadline.taskDefinitionKey())
+                .processDefinitionKey(deadline.processDefinitionKey())
+                .processInstanceId(deadline.processInstanceId())
+                .assignee((String) rows.get(0).get("ASSIGNEE_"))
+                .dueDate(LocalDateTime.ofInstant(Instant.ofEpochMilli(dueDate.getTime()), ZoneId.systemDefault()))
+                .breachTime(breachTime)
+                .build();
+        Integer inserted = breachTransaction.execute(status -> breachRepository.insertIfAbsent(
+                UUID.randomUUID().toString(), event.getTaskId(), event.getTaskName(), event.getTaskDefinitionKey(),
+                event.getProcessDefinitionKey(), event.getProcessInstanceId(), event.getAssignee(),
+                event.getDueDate(), breachTime));
+        if (inserted != null && inserted > 0) {
+            log.info("Task {} ({}) breached its due date {}", event.getTaskId(), event.getTaskName(),
+                    event.getDueDate());
+            streamBridge.send(BINDING, event);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static TaskDeadline deadline(Task task) {
+        return new TaskDeadline(task.getId(), task.getName(), task.getTaskDefinitionKey(),
+                definitionKey(task.getProcessDefinitionId()), task.getProcessInstanceId());
+    }
+
+    /**
+     * Activiti definition IDs are "key:version:id".
+     */
+    private static String definitionKey(String processDefinitionId) {
+        if (processDefinitionId == null) {
+            return null;
+        }
+        int separator = processDefinitionId.indexOf(':');
+        return separator > 0 ? processDefinitionId.substring(0, separator) : processDefinitionId;
+    }
+
+    record TaskDeadline(String taskId, String taskName, String taskDefinitionKey,
+            String processDefinitionKey, String processInstanceId) {
+    }
+}
@@ -0,0 +1,43 @@
+package com.enterprise.workflow.task.service.sla;
+
+import org.activiti.engine.delegate.event.ActivitiEntityEvent;
+import org.activiti.engine.delegate.event.ActivitiEvent;
+import org.activiti.engine.delegate.event.ActivitiEventListener;
+import org.activiti.engine.task.Task;
+
+/**
+ * Keeps the {@link SlaMonitor} in step with task creation, due date changes and completion.
+ * Wheel updates wait for the engine transaction to commit; compliance is counted inside it.
+ */
+public class SlaTaskListener implements ActivitiEventListener {
+
+    private final SlaMonitor monitor;
+
+    public SlaTaskListener(SlaMonitor monitor) {
+        this.monitor = monitor;
+    }
+
+    @Override
+    public void onEvent(ActivitiEvent event) {
+        if (!(event instanceof ActivitiEntityEvent entityEvent) || !(entityEvent.getEntity() instanceof Task task)) {
+            return;
+        }
+        switch (event.getType()) {
+            case TASK_CREATED -> {
+                if (task.getDueDate() != null) {
+                    monitor.watchAfterCommit(task);
+                }
+            }
+            case ENTITY_UPDATED -> monitor.watchAfterCommit(task);
+            case TASK_COMPLETED -> monitor.taskCompleted(task);
+            case ENTITY_DELETED -> monitor.unwatchAfterCommit(task.getId());
+            default -> {
+            }
+        }
+    }
+
+    @Override
+    public boolean isFailOnException() {
+        return false;
+    }
+}
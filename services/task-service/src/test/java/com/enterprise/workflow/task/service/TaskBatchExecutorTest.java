@@ -0,0 +1,115 @@
+package com.enterprise.workflow.task.service;
+
+import com.enterprise.workflow.task.config.TaskBatchProperties;
+import com.enterprise.workflow.task.dto.BatchOperationResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class TaskBatchExecutorTest {
+
+    private PlatformTransactionManager transactionManager;
+    private TaskBatchProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private TaskBatchExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        transactionManager = mock(PlatformTransactionManager.class);
+        properties = new TaskBatchProperties();
+        properties.setPartitionSize(2);
+        properties.setMaxConcurrency(2);
+        meterRegistry = new SimpleMeterRegistry();
+        executor = new TaskBatchExecutor(transactionManager, properties, meterRegistry);
+    }
+
+    @Test
+    void testPartitionsDistinctTasksBySize() {
+        List<String> applied = Collections.synchronizedList(new ArrayList<>());
+
+        BatchOperationResponse response = executor.execute("claim", List.of("a", "b", "a", "c", "d", "e"), applied::add);
+
+        assertEquals(5, response.getTotal());
+        assertEquals(5, response.getSucceeded());
+        assertEquals(List.of("a", "b", "c", "d", "e"), taskIds(response));
+        assertEquals(List.of("a", "b", "c", "d", "e"), applied.stream().sorted().toList());
+        // One transaction per partition of two: [a, b], [c, d], [e]
+        verify(transactionManager, times(3)).getTransaction(any());
+        verify(transactionManager, times(3)).commit(any());
+        assertEquals(3, meterRegistry.timer("task.batch.partition", "operation", "claim").count());
+    }
+
+    @Test
+    void testFailedPartitionIsReplayedTaskByTask() {
+        properties.setPartitionSize(3);
+        List<String> applied = Collections.synchronizedList(new ArrayList<>());
+
+        BatchOperationResponse response = executor.execute("complete", List.of("a", "bad", "c"),
+                failingOn(Set.of("bad"), applied));
+
+        assertEquals(2, response.getSucceeded());
+        assertEquals(1, response.getFailed());
+        assertEquals(List.of("a", "bad", "c"), taskIds(response));
+        assertTrue(response.getResults().get(0).isSuccess());
+        assertFalse(response.getResults().get(1).isSuccess());
+        assertEquals("bad failed", response.getResults().get(1).getError());
+        assertTrue(response.getResults().get(2).isSuccess());
+        // The partition and the bad task's own transaction roll back; a and c commit on replay
+        verify(transactionManager, times(4)).getTransaction(any());
+        verify(transactionManager, times(2)).rollback(any());
+        verify(transactionManager, times(2)).commit(any());
+        assertEquals(List.of("a", "a", "c"), applied);
+    }
+
+    @Test
+    void testItemTimerCountsEachTaskOnce() {
+        properties.setPartitionSize(3);
+
+        executor.execute("complete", List.of("a", "bad", "c", "d"), failingOn(Set.of("bad"), new ArrayList<>()));
+
+        // [a, bad, c] is replayed after rolling back, [d] commits as a partition
+        assertEquals(3, meterRegistry.timer("task.batch.item", "operation", "complete", "outcome", "success").count());
+        assertEquals(1, meterRegistry.timer("task.batch.item", "operation", "complete", "outcome", "failure").count());
+        assertEquals(2, meterRegistry.timer("task.batch.partition", "operation", "complete").count());
+    }
+
+    @Test
+    void testEveryTaskFailingIsReportedPerTask() {
+        BatchOperationResponse response = executor.execute("claim", List.of("a", "b"),
+                failingOn(Set.of("a", "b"), new ArrayList<>()));
+
+        assertEquals(2, response.getTotal());
+        assertEquals(0, response.getSucceeded());
+        assertEquals(2, response.getFailed());
+        assertEquals(2, meterRegistry.timer("task.batch.item", "operation", "claim", "outcome", "failure").count());
+        assertEquals(0, meterRegistry.timer("task.batch.item", "operation", "claim", "outcome", "success").count());
+    }
+
+    private static Consumer<String> failingOn(Set<String> failing, List<String> applied) {
+        return taskId -> {
+            if (failing.contains(taskId)) {
+                throw new IllegalStateException(taskId + " failed");
+            }
+            applied.add(taskId);
+        };
+    }
+
+    private static List<String> taskIds(BatchOperationResponse response) {
+        return response.getResults().stream().map(BatchOperationResponse.ItemResult::getTaskId).toList();
+    }
+}
@@ -0,0 +1,175 @@
+package com.enterprise.workflow.task.service;
+
+import com.enterprise.workflow.task.config.TaskQueryIndexConfig;
+import com.enterprise.workflow.task.dto.TaskQueryRequest;
+import org.activiti.engine.ProcessEngine;
+import org.activiti.engine.ProcessEngineConfiguration;
+import org.activiti.engine.TaskService;
+import org.activiti.engine.impl.persistence.entity.IdentityLinkEntity;
+import org.activiti.engine.impl.persistence.entity.TaskEntity;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures inbox page latency (count plus first page) as the number of open tasks grows
+ * while the inbox itself stays the same size. With the filters pushed into indexed SQL,
+ * p99 must stay flat; a planner that scans or filters in memory grows with the table.
+ *
+ * Needs Docker. Run with:
+ *   gradle :services:task-service:test --tests '*TaskQueryPlannerBenchmarkTest' -Pbenchmark=true
+ * Sizes can be changed with -Pbenchmark.sizes=10000,100000,500000.
+ */
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TaskQueryPlannerBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskQueryPlannerBenchmarkTest.class);
+
+    private static final int INBOX_TASKS = 200;
+    private static final int WARM_UP = 50;
+    private static final int ITERATIONS = 500;
+    private static final int PAGE_SIZE = 20;
+
+    private static PostgreSQLContainer<?> postgres;
+    private static ProcessEngine engine;
+    private static JdbcTemplate jdbcTemplate;
+    private static TaskQueryPlanner planner;
+
+    @BeforeAll
+    static void startEngine() throws Exception {
+        postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+        postgres.start();
+
+        engine = ProcessEngineConfiguration.createStandaloneProcessEngineConfiguration()
+                .setJdbcUrl(postgres.getJdbcUrl())
+                .setJdbcDriver(postgres.getDriverClassName())
+                .setJdbcUsername(postgres.getUsername())
+                .setJdbcPassword(postgres.getPassword())
+                .setDatabaseSchemaUpdate(ProcessEngineConfiguration.DB_SCHEMA_UPDATE_TRUE)
+                .setAsyncExecutorActivate(false)
+                .buildProcessEngine();
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword()));
+        new TaskQueryIndexConfig().taskQueryIndexes(jdbcTemplate, engine.getManagementService()).run(null);
+        planner = new TaskQueryPlanner(engine.getManagementService());
+    }
+
+    @AfterAll
+    static void stopEngine() {
+        if (engine != null) {
+            engine.close();
+        }
+        if (postgres != null) {
+            postgres.stop();
+        }
+    }
+
+    @Test
+    void testInboxPageLatencyStaysFlatAsOpenTasksGrow() {
+        int[] sizes = Arrays.stream(System.getProperty("benchmark.sizes", "10000,100000,500000").split(","))
+                .mapToInt(size -> Integer.parseInt(size.trim()))
+                .sorted()
+                .toArray();
+        Map<Integer, Map<String, Long>> p99 = new LinkedHashMap<>();
+
+        seedInbox();
+        int seeded = 0;
+        for (int size : sizes) {
+            seedBackground(seeded, size);
+            seeded = size;
+            jdbcTemplate.execute("analyze");
+
+            Map<String, Long> bySize = new LinkedHashMap<>();
+            // The queries of getTasks, getClaimableTasks and getMyTasks for the benchmark user
+            bySize.put("visible", p99Micros(new TaskQueryRequest(), "bench-user", List.of("bench-group")));
+            bySize.put("claimable", p99Micros(TaskQueryRequest.builder().unassignedOnly(true).build(),
+                    "bench-user", List.of("bench-group")));
+            bySize.put("my-tasks", p99Micros(TaskQueryRequest.builder().assignee("bench-user").build(), null, null));
+            p99.put(size, bySize);
+        }
+
+        log.info("p99 page latency (us) by open tasks: {}", p99);
+
+        Map<String, Long> smallest = p99.get(sizes[0]);
+        Map<String, Long> largest = p99.get(sizes[sizes.length - 1]);
+        smallest.forEach((shape, baseline) -> {
+            long bound = Math.max(baseline * 3, baseline + 20_000);
+            assertTrue(largest.get(shape) <= bound, shape + " p99 grew from " + baseline + "us to "
+                    + largest.get(shape) + "us between " + sizes[0] + " and " + sizes[sizes.length - 1]
+                    + " tasks; p99 by size: " + p99);
+        });
+    }
+
+    /**
+     * Count plus first page for the query, as the inbox endpoints issue them.
+     */
+    private long p99Micros(TaskQueryRequest request, String visibleTo, List<String> groups) {
+        TaskService taskService = engine.getTaskService();
+        Sort sort = Sort.by(Sort.Order.desc("createTime"));
+        List<Long> samples = new ArrayList<>(ITERATIONS);
+        for (int i = 0; i < WARM_UP + ITERATIONS; i++) {
+            long start = System.nanoTime();
+            TaskQueryPlanner.Plan plan = planner.plan(request, visibleTo, groups, sort);
+            long total = plan.count(taskService);
+            int page = plan.listPage(taskService, 0, PAGE_SIZE).size();
+            long elapsed = (System.nanoTime() - start) / 1_000;
+            assertEquals(Math.min(total, PAGE_SIZE), page);
+            if (i >= WARM_UP) {
+                samples.add(elapsed);
+            }
+        }
+        samples.sort(Long::compare);
+        return samples.get((int) Math.ceil(samples.size() * 0.99) - 1);
+    }
+
+    /**
+     * The benchmark user's inbox: tasks assigned to them and unassigned tasks offered to
+     * their group, the same at every table size.
+     */
+    private void seedInbox() {
+        String taskTable = engine.getManagementService().getTableName(TaskEntity.class);
+        String linkTable = engine.getManagementService().getTableName(IdentityLinkEntity.class);
+        jdbcTemplate.update("insert into " + taskTable
+                + " (ID_, REV_, NAME_, PRIORITY_, CREATE_TIME_, ASSIGNEE_, SUSPENSION_STATE_)"
+                + " select 'inbox-' || g, 1, 'Inbox ' || g, 50, now() - g * interval '1 minute',"
+                + " case when g % 2 = 0 then 'bench-user' end, 1 from generate_series(1, ?) g", INBOX_TASKS);
+        jdbcTemplate.update("insert into " + linkTable + " (ID_, REV_, GROUP_ID_, TYPE_, TASK_ID_)"
+                + " select 'inbox-link-' || g, 1, 'bench-group', 'candidate', 'inbox-' || g"
+                + " from generate_series(1, ?) g where g % 2 = 1", INBOX_TASKS);
+    }
+
+    /**
+     * Other users' tasks, numbered {@code from + 1} to {@code to}: one in ten assigned,
+     * the rest offered to one of 500 other groups.
+     */
+    private void seedBackground(int from, int to) {
+        String taskTable = engine.getManagementService().getTableName(TaskEntity.class);
+        String linkTable = engine.getManagementService().getTableName(IdentityLinkEntity.class);
+        jdbcTemplate.update("insert into " + taskTable
+                + " (ID_, REV_, NAME_, PRIORITY_, CREATE_TIME_, ASSIGNEE_, SUSPENSION_STATE_)"
+                + " select 'bg-' || g, 1, 'Task ' || g, g % 100, now() - g * interval '1 second',"
+                + " case when g % 10 = 0 then 'user-' || (g % 5000) end, 1"
+                + " from generate_series(?, ?) g", from + 1, to);
+        jdbcTemplate.update("insert into " + linkTable + " (ID_, REV_, GROUP_ID_, TYPE_, TASK_ID_)"
+                + " select 'bg-link-' || g, 1, 'group-' || (g % 500), 'candidate', 'bg-' || g"
+                + " from generate_series(?, ?) g where g % 10 <> 0", from + 1, to);
+    }
+}
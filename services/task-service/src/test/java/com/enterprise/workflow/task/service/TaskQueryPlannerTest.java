@@ -0,0 +1,164 @@
+package com.enterprise.workflow.task.service;
+
+import com.enterprise.workflow.task.dto.TaskQueryRequest;
+import org.activiti.engine.ManagementService;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.impl.persistence.entity.IdentityLinkEntity;
+import org.activiti.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.activiti.engine.impl.persistence.entity.TaskEntity;
+import org.activiti.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.activiti.engine.TaskService;
+import org.activiti.engine.task.NativeTaskQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TaskQueryPlannerTest {
+
+    private TaskQueryPlanner planner;
+
+    @BeforeEach
+    void setUp() {
+        ManagementService managementService = mock(ManagementService.class);
+        when(managementService.getTableName(TaskEntity.class)).thenReturn("ACT_RU_TASK");
+        when(managementService.getTableName(IdentityLinkEntity.class)).thenReturn("ACT_RU_IDENTITYLINK");
+        when(managementService.getTableName(ExecutionEntity.class)).thenReturn("ACT_RU_EXECUTION");
+        when(managementService.getTableName(ProcessDefinitionEntity.class)).thenReturn("ACT_RE_PROCDEF");
+        when(managementService.getTableName(VariableInstanceEntity.class)).thenReturn("ACT_RU_VARIABLE");
+        planner = new TaskQueryPlanner(managementService);
+    }
+
+    @Test
+    void testEmptyRequestHasNoConditions() {
+        TaskQueryPlanner.Plan plan = planner.plan(null, null, null, Sort.unsorted());
+
+        assertEquals("", plan.whereClause());
+        assertTrue(plan.getParameters().isEmpty());
+    }
+
+    @Test
+    void testVisibilityCoversAssigneeOwnerAndCandidates() {
+        TaskQueryPlanner.Plan plan = planner.plan(new TaskQueryRequest(), "alice", List.of("hr", "finance"),
+                Sort.unsorted());
+
+        assertEquals(" where (RES.ASSIGNEE_ = #{p0} or RES.OWNER_ = #{p0}"
+                + " or (RES.ASSIGNEE_ is null and exists (select 1 from ACT_RU_IDENTITYLINK L"
+                + " where L.TASK_ID_ = RES.ID_ and L.TYPE_ = 'candidate'"
+                + " and (L.USER_ID_ = #{p0} or L.GROUP_ID_ in (#{p1}, #{p2})))))", plan.whereClause());
+        assertEquals(List.of("alice", "hr", "finance"), List.copyOf(plan.getParameters().values()));
+    }
+
+    @Test
+    void testVisibilityWithoutGroupsOnlyMatchesCandidateUser() {
+        TaskQueryPlanner.Plan plan = planner.plan(new TaskQueryRequest(), "alice", List.of(), Sort.unsorted());
+
+        assertTrue(plan.whereClause().contains("(L.USER_ID_ = #{p0})"));
+        assertEquals(1, plan.getParameters().size());
+    }
+
+    @Test
+    void testFiltersAreCombinedWithAnd() {
+        TaskQueryRequest request = TaskQueryRequest.builder()
+                .assignee("bob")
+                .priorityGreaterThan(10)
+                .priorityLessThan(90)
+                .dueDateBefore(LocalDateTime.of(2024, 1, 31, 0, 0))
+                .processDefinitionKey("invoice")
+                .businessKey("INV-1")
+                .taskIds(List.of("t1", "t2"))
+                .build();
+
+        TaskQueryPlanner.Plan plan = planner.plan(request, null, null, Sort.unsorted());
+
+        assertEquals(" where RES.ID_ in (#{p0}, #{p1})"
+                + " and RES.ASSIGNEE_ = #{p2}"
+                + " and RES.PRIORITY_ > #{p3}"
+                + " and RES.PRIORITY_ < #{p4}"
+                + " and RES.DUE_DATE_ < #{p5}"
+                + " and exists (select 1 from ACT_RE_PROCDEF D where D.ID_ = RES.PROC_DEF_ID_ and D.KEY_ = #{p6})"
+                + " and exists (select 1 from ACT_RU_EXECUTION E where E.ID_ = RES.PROC_INST_ID_"
+                + " and E.BUSINESS_KEY_ = #{p7})", plan.whereClause());
+        assertEquals(8, plan.getParameters().size());
+    }
+
+    @Test
+    void testNameLikeAddsWildcardsUnlessGiven() {
+        assertEquals("%review%", planner.plan(TaskQueryRequest.builder().nameLike("review").build(),
+                null, null, Sort.unsorted()).getParameters().get("p0"));
+        assertEquals("Review%", planner.plan(TaskQueryRequest.builder().nameLike("Review%").build(),
+                null, null, Sort.unsorted()).getParameters().get("p0"));
+    }
+
+    @Test
+    void testVariableEqualsUsesTheColumnOfTheValueType() {
+        Map<String, Object> variables = new LinkedHashMap<>();
+        variables.put("approved", true);
+        variables.put("amount", 500);
+        variables.put("rate", 1.5);
+        variables.put("region", "EU");
+        variables.put("note", null);
+
+        TaskQueryPlanner.Plan plan = planner.plan(TaskQueryRequest.builder().variableEquals(variables).build(),
+                null, null, Sort.unsorted());
+        String where = plan.whereClause();
+
+        assertTrue(where.contains("V.NAME_ = #{p0} and V.TYPE_ = 'boolean' and V.LONG_ = #{p1}"));
+        assertTrue(where.contains("V.NAME_ = #{p2} and V.TYPE_ in ('integer', 'long', 'short') and V.LONG_ = #{p3}"));
+        assertTrue(where.contains("V.NAME_ = #{p4} and V.TYPE_ = 'double' and V.DOUBLE_ = #{p5}"));
+        assertTrue(where.contains("V.NAME_ = #{p6} and V.TEXT_ = #{p7}"));
+        assertTrue(where.contains("V.NAME_ = #{p8} and V.TYPE_ = 'null'"));
+        assertEquals(1L, plan.getParameters().get("p1"));
+        assertEquals(500L, plan.getParameters().get("p3"));
+        assertEquals(1.5, plan.getParameters().get("p5"));
+    }
+
+    @Test
+    void testSortMapsKnownPropertiesAndKeepsIdTieBreaker() {
+        NativeTaskQuery query = mock(NativeTaskQuery.class, RETURNS_SELF);
+        TaskService taskService = mock(TaskService.class);
+        when(taskService.createNativeTaskQuery()).thenReturn(query);
+        when(query.listPage(anyInt(), anyInt())).thenReturn(List.of());
+
+        planner.plan(new TaskQueryRequest(), null, null,
+                Sort.by(Sort.Order.asc("dueDate"), Sort.Order.desc("unknown"), Sort.Order.desc("priority")))
+                .listPage(taskService, 0, 20);
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(query).sql(sql.capture());
+        assertEquals("select RES.* from ACT_RU_TASK RES order by RES.DUE_DATE_ asc, RES.PRIORITY_ desc, RES.ID_ asc",
+                sql.getValue());
+    }
+
+    @Test
+    void testCountSharesTheWhereClauseAndParameters() {
+        NativeTaskQuery query = mock(NativeTaskQuery.class, RETURNS_SELF);
+        TaskService taskService = mock(TaskService.class);
+        when(taskService.createNativeTaskQuery()).thenReturn(query);
+        when(query.count()).thenReturn(3L);
+
+        long count = planner.plan(TaskQueryRequest.builder().unassignedOnly(true).candidateGroup("hr").build(),
+                null, null, Sort.unsorted()).count(taskService);
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(query).sql(sql.capture());
+        verify(query).parameter("p0", "hr");
+        assertEquals(3L, count);
+        assertEquals("select count(RES.ID_) from ACT_RU_TASK RES where RES.ASSIGNEE_ is null"
+                + " and exists (select 1 from ACT_RU_IDENTITYLINK L where L.TASK_ID_ = RES.ID_"
+                + " and L.TYPE_ = 'candidate' and L.GROUP_ID_ = #{p0})", sql.getValue());
+    }
+}
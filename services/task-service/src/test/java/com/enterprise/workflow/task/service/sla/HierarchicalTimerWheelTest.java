@@ -0,0 +1,110 @@
+package com.enterprise.workflow.task.service.sla;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HierarchicalTimerWheelTest {
+
+    @Test
+    void testFiresOnDeadlineTickNeverEarlier() {
+        HierarchicalTimerWheel<String> wheel = new HierarchicalTimerWheel<>(100, 4, 3, 0);
+        wheel.schedule("t", 250, "payload");
+
+        assertEquals(List.of(), wheel.advance(299));
+        List<HierarchicalTimerWheel.Timer<String>> expired = wheel.advance(300);
+
+        assertEquals(1, expired.size());
+        assertEquals("t", expired.get(0).id());
+        assertEquals(250, expired.get(0).deadlineMillis());
+        assertEquals("payload", expired.get(0).payload());
+        assertEquals(0, wheel.size());
+        assertEquals(List.of(), wheel.advance(10_000));
+    }
+
+    @Test
+    void testPassedDeadlineFiresOnNextAdvance() {
+        HierarchicalTimerWheel<String> wheel = new HierarchicalTimerWheel<>(100, 4, 3, 1_000);
+        wheel.schedule("late", 500, null);
+
+        assertEquals(List.of("late"), ids(wheel.advance(1_000)));
+    }
+
+    @Test
+    void testCancelAndReschedule() {
+        HierarchicalTimerWheel<String> wheel = new HierarchicalTimerWheel<>(10, 3, 2, 0);
+        wheel.schedule("cancelled", 50, null);
+        wheel.schedule("moved", 50, null);
+        wheel.schedule("moved", 5_000, null);
+
+        assertTrue(wheel.cancel("cancelled"));
+        assertFalse(wheel.cancel("cancelled"));
+        assertEquals(1, wheel.size());
+        assertEquals(List.of(), wheel.advance(4_990));
+        assertEquals(List.of("moved"), ids(wheel.advance(5_000)));
+    }
+
+    @Test
+    void testExpiredTimersAreOrderedByDeadline() {
+        HierarchicalTimerWheel<String> wheel = new HierarchicalTimerWheel<>(10, 3, 2, 0);
+        wheel.schedule("c", 900, null);
+        wheel.schedule("a", 15, null);
+        wheel.schedule("b", 300, null);
+
+        assertEquals(List.of("a", "b", "c"), ids(wheel.advance(1_000)));
+    }
+
+    @Test
+    void testMatchesReferenceAcrossLevelsAndOverflow() {
+        long tick = 10;
+        // 8 slots over 2 levels span 64 ticks; later deadlines go through the overflow list
+        HierarchicalTimerWheel<Long> wheel = new HierarchicalTimerWheel<>(tick, 3, 2, 0);
+        Random random = new Random(7);
+        Map<String, Long> pending = new HashMap<>();
+        for (int i = 0; i < 2_000; i++) {
+            long deadline = random.nextInt(20_000);
+            wheel.schedule("t" + i, deadline, deadline);
+            pending.put("t" + i, deadline);
+        }
+        for (int i = 0; i < 2_000; i += 7) {
+            wheel.cancel("t" + i);
+            pending.remove("t" + i);
+        }
+
+        long now = 0;
+        while (!pending.isEmpty()) {
+            now += 1 + random.nextInt(60);
+            long nowTick = now / tick;
+            Set<String> expected = new HashSet<>();
+            pending.forEach((id, deadline) -> {
+                if ((deadline + tick - 1) / tick <= nowTick) {
+                    expected.add(id);
+                }
+            });
+
+            List<HierarchicalTimerWheel.Timer<Long>> expired = wheel.advance(now);
+            assertEquals(expected, new HashSet<>(ids(expired)), "At " + now);
+            for (int i = 1; i < expired.size(); i++) {
+                assertTrue(expired.get(i - 1).deadlineMillis() <= expired.get(i).deadlineMillis());
+            }
+            expected.forEach(pending::remove);
+            assertEquals(pending.size(), wheel.size());
+        }
+    }
+
+    private static <T> List<String> ids(List<HierarchicalTimerWheel.Timer<T>> timers) {
+        List<String> ids = new ArrayList<>(timers.size());
+        timers.forEach(timer -> ids.add(timer.id()));
+        return ids;
+    }
+}
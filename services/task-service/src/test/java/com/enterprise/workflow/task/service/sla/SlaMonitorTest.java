@@ -0,0 +1,241 @@
+package com.enterprise.workflow.task.service.sla;
+
+import com.enterprise.workflow.task.config.SlaProperties;
+import com.enterprise.workflow.task.dto.SlaBreachEvent;
+import com.enterprise.workflow.task.dto.SlaMetricsResponse;
+import com.enterprise.workflow.task.entity.SlaCompliance;
+import com.enterprise.workflow.task.repository.SlaBreachRepository;
+import com.enterprise.workflow.task.repository.SlaComplianceRepository;
+import org.activiti.engine.task.Task;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SlaMonitorTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private SlaBreachRepository breachRepository;
+    private SlaComplianceRepository complianceRepository;
+    private StreamBridge streamBridge;
+    private SlaMonitor monitor;
+    private final List<Map<String, Object>> openTasks = new ArrayList<>();
+    private final List<String> queries = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        breachRepository = mock(SlaBreachRepository.class);
+        complianceRepository = mock(SlaComplianceRepository.class);
+        streamBridge = mock(StreamBridge.class);
+        SlaProperties properties = new SlaProperties();
+        // Long enough that the background clock never turns during a test; tick(now) drives it
+        properties.setTick(Duration.ofMinutes(1));
+        monitor = new SlaMonitor(properties, jdbcTemplate, mock(PlatformTransactionManager.class),
+                breachRepository, complianceRepository, streamBridge);
+
+        doAnswer(invocation -> {
+            Connection connection = mock(Connection.class);
+            when(connection.prepareStatement(anyString())).thenAnswer(prepare -> {
+                queries.add(prepare.getArgument(0));
+                return mock(PreparedStatement.class);
+            });
+            invocation.<PreparedStatementCreator>getArgument(0).createPreparedStatement(connection);
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (Map<String, Object> row : openTasks) {
+                handler.processRow(resultSet(row));
+            }
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        monitor.shutdown();
+    }
+
+    @Test
+    void testRecoverWatchesOpenTasksWithoutRecordedBreach() {
+        long now = System.currentTimeMillis();
+        openTasks.add(row("t-1", "order:3:42", now + 60_000));
+        openTasks.add(row("t-2", "order:3:42", now - 60_000));
+
+        assertEquals(2, monitor.recover("ACT_RU_TASK"));
+
+        assertEquals(2, monitor.watchedTasks());
+        assertTrue(queries.get(0).contains("from ACT_RU_TASK t"));
+        assertTrue(queries.get(0).contains("not exists (select 1 from sla_breaches b where b.task_id = t.ID_)"));
+    }
+
+    @Test
+    void testResyncPicksUpDueDatesSetOnOtherNodes() {
+        long now = System.currentTimeMillis();
+        openTasks.add(row("t-1", "order:3:42", now + 60_000));
+        monitor.recover("ACT_RU_TASK");
+
+        // Created on another node, never seen as an engine event here
+        openTasks.add(row("t-2", "order:3:42", now - 1_000));
+        assertEquals(2, monitor.resync());
+        assertEquals(2, monitor.watchedTasks());
+
+        currentRow("t-2", now - 1_000, "alice");
+        when(breachRepository.insertIfAbsent(anyString(), eq("t-2"), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(1);
+        monitor.tick(now);
+
+        verify(streamBridge).send(eq(SlaMonitor.BINDING), any(SlaBreachEvent.class));
+        assertEquals(1, monitor.watchedTasks());
+    }
+
+    @Test
+    void testExpiredTaskIsRecordedAndPublishedOnce() {
+        long now = System.currentTimeMillis();
+        long due = now - 1_000;
+        monitor.watchAfterCommit(task("t-1", due));
+        currentRow("t-1", due, "alice");
+        when(breachRepository.insertIfAbsent(anyString(), eq("t-1"), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(1, 0);
+
+        monitor.tick(now);
+        // Detected again, e.g. by a resync racing another node: the unique key keeps it to one breach
+        monitor.watchAfterCommit(task("t-1", due));
+        monitor.tick(now);
+
+        ArgumentCaptor<SlaBreachEvent> event = ArgumentCaptor.forClass(SlaBreachEvent.class);
+        verify(streamBridge, times(1)).send(eq(SlaMonitor.BINDING), event.capture());
+        assertEquals("t-1", event.getValue().getTaskId());
+        assertEquals("order", event.getValue().getProcessDefinitionKey());
+        assertEquals("review", event.getValue().getTaskDefinitionKey());
+        assertEquals("alice", event.getValue().getAssignee());
+        assertEquals(0, monitor.watchedTasks());
+    }
+
+    @Test
+    void testExpiredTaskMovedLaterIsRescheduled() {
+        long now = System.currentTimeMillis();
+        monitor.watchAfterCommit(task("t-1", now - 1_000));
+        // Another node moved the due date an hour out
+        currentRow("t-1", now + 3_600_000, null);
+
+        monitor.tick(now);
+
+        assertEquals(1, monitor.watchedTasks());
+        verify(breachRepository, never()).insertIfAbsent(any(), any(), any(), any(), any(), any(), any(), any(), any());
+        monitor.tick(now + 60_000);
+        verify(jdbcTemplate, times(1)).queryForList(anyString(), eq("t-1"));
+    }
+
+    @Test
+    void testExpiredTaskGoneOrWithoutDueDateIsDropped() {
+        long now = System.currentTimeMillis();
+        monitor.watchAfterCommit(task("t-1", now - 1_000));
+        monitor.watchAfterCommit(task("t-2", now - 1_000));
+        when(jdbcTemplate.queryForList(anyString(), eq("t-1"))).thenReturn(List.of());
+        Map<String, Object> cleared = new HashMap<>();
+        cleared.put("DUE_DATE_", null);
+        cleared.put("ASSIGNEE_", null);
+        when(jdbcTemplate.queryForList(anyString(), eq("t-2"))).thenReturn(List.of(cleared));
+
+        monitor.tick(now);
+
+        assertEquals(0, monitor.watchedTasks());
+        verify(breachRepository, never()).insertIfAbsent(any(), any(), any(), any(), any(), any(), any(), any(), any());
+        verify(streamBridge, never()).send(anyString(), any());
+    }
+
+    @Test
+    void testCompletionCountsTowardsCompliance() {
+        long now = System.currentTimeMillis();
+        monitor.watchAfterCommit(task("on-time", now + 60_000));
+        monitor.watchAfterCommit(task("late", now - 60_000));
+
+        monitor.taskCompleted(task("on-time", now + 60_000));
+        monitor.taskCompleted(task("late", now - 60_000));
+        monitor.taskCompleted(task("no-due-date", null));
+
+        verify(complianceRepository).increment("order", "review", 1, 0);
+        verify(complianceRepository).increment("order", "review", 0, 1);
+        verify(breachRepository).markCompleted(eq("late"), any());
+        verify(breachRepository, never()).markCompleted(eq("on-time"), any());
+        verify(complianceRepository, times(2)).increment(anyString(), anyString(), anyLong(), anyLong());
+        assertEquals(0, monitor.watchedTasks());
+    }
+
+    @Test
+    void testMetricsComputeComplianceFromCounters() {
+        when(complianceRepository.findByKeyProcessDefinitionKey("order")).thenReturn(List.of(
+                new SlaCompliance(new SlaCompliance.Key("order", "review"), 3, 1),
+                new SlaCompliance(new SlaCompliance.Key("order", "approve"), 1, 1),
+                new SlaCompliance(new SlaCompliance.Key("order", "unused"), 0, 0)));
+        when(breachRepository.findByProcessDefinitionKeyOrderByBreachTimeDesc(eq("order"), any()))
+                .thenReturn(List.of());
+
+        SlaMetricsResponse metrics = monitor.getMetrics("order");
+
+        assertEquals(Map.of("review", 75.0, "approve", 50.0), metrics.getComplianceByTask());
+        assertEquals(100.0 * 4 / 6, metrics.getOverallCompliance(), 1e-9);
+        when(complianceRepository.findByKeyProcessDefinitionKey("none")).thenReturn(List.of());
+        assertNull(monitor.getMetrics("none").getOverallCompliance());
+    }
+
+    private void currentRow(String taskId, long dueMillis, String assignee) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("DUE_DATE_", new Timestamp(dueMillis));
+        row.put("ASSIGNEE_", assignee);
+        when(jdbcTemplate.queryForList(anyString(), eq(taskId))).thenReturn(List.of(row));
+    }
+
+    private static Task task(String id, Long dueMillis) {
+        Task task = mock(Task.class);
+        when(task.getId()).thenReturn(id);
+        when(task.getName()).thenReturn("Review " + id);
+        when(task.getTaskDefinitionKey()).thenReturn("review");
+        when(task.getProcessDefinitionId()).thenReturn("order:3:42");
+        when(task.getProcessInstanceId()).thenReturn("pi-" + id);
+        when(task.getDueDate()).thenReturn(dueMillis != null ? new Date(dueMillis) : null);
+        return task;
+    }
+
+    private static Map<String, Object> row(String id, String processDefinitionId, long dueMillis) {
+        return Map.of("ID_", id, "NAME_", "Review " + id, "TASK_DEF_KEY_", "review",
+                "PROC_DEF_ID_", processDefinitionId, "PROC_INST_ID_", "pi-" + id,
+                "DUE_DATE_", new Timestamp(dueMillis));
+    }
+
+    private static ResultSet resultSet(Map<String, Object> row) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString(anyString())).thenAnswer(invocation -> row.get(invocation.<String>getArgument(0)));
+        when(rs.getTimestamp(anyString())).thenAnswer(invocation -> row.get(invocation.<String>getArgument(0)));
+        return rs;
+    }
+}
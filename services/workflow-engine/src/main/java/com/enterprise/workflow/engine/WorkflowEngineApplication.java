@@ -3,6 +3,7 @@ package com.enterprise.workflow.engine;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Workflow Engine Application
@@ -15,6 +16,7 @@ import org.springframework.scheduling.annotation.EnableAsync;
         "com.enterprise.workflow.common"
 })
 @EnableAsync
+@EnableScheduling
 public class WorkflowEngineApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,89 @@
+package com.enterprise.workflow.engine.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Batch execution settings for bulk process operations.
+ *
+ * Usage:
+ *   workflow.batch.start-chunk-size=500
+ *   workflow.batch.stream-timeout=30m
+ *   workflow.batch.jobs.chunk-size=500
+ *   workflow.batch.jobs.max-concurrent-chunks=4
+ *   workflow.batch.jobs.targets-per-second=200
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "workflow.batch")
+public class BatchProperties {
+
+    /**
+     * Number of process starts committed together in one engine transaction.
+     */
+    private int startChunkSize = 500;
+
+    /**
+     * Maximum rows per multi-row INSERT when the engine flushes a transaction;
+     * Activiti's own default is also 100.
+     */
+    private int maxStatementsInBulkInsert = 100;
+
+    /**
+     * Time limit of the streamed NDJSON batch endpoints (bulk start, message correlation).
+     */
+    private Duration streamTimeout = Duration.ofMinutes(30);
+
+    private Jobs jobs = new Jobs();
+
+    /**
+     * Background batch jobs such as signal broadcasts and bulk instance operations.
+     */
+    @Data
+    public static class Jobs {
+
+        /**
+         * Targets (executions or process instances) handled in one engine transaction.
+         */
+        private int chunkSize = 500;
+
+        /**
+         * Chunks running at once across all jobs on this node.
+         */
+        private int maxConcurrentChunks = 4;
+
+        /**
+         * Chunks of one job running at once unless the request sets its own;
+         * never more than max-concurrent-chunks.
+         */
+        private int parallelism = 2;
+
+        /**
+         * Targets per second a job may process unless the request sets its own; 0 for no limit.
+         */
+        private int targetsPerSecond = 0;
+
+        /**
+         * Attempts of a failed chunk before its targets are retried one by one.
+         */
+        private int chunkRetries = 3;
+
+        /**
+         * Wait before the first chunk retry; doubled on each further attempt.
+         */
+        private Duration retryBackoff = Duration.ofMillis(500);
+
+        /**
+         * Target failures kept per job for inspection; all failures are counted.
+         */
+        private int maxRecordedFailures = 100;
+
+        /**
+         * Finished jobs are forgotten after this long.
+         */
+        private Duration retention = Duration.ofHours(24);
+    }
+}
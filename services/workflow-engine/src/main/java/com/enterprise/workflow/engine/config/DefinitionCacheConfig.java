@@ -0,0 +1,31 @@
+package com.enterprise.workflow.engine.config;
+
+import com.enterprise.workflow.engine.service.ProcessDefinitionCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Fills the process definition cache before the node reports ready, so the first
+ * modeler and form-service lookups after a restart do not all go to the repository.
+ */
+@Configuration
+@Slf4j
+public class DefinitionCacheConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "workflow.definition-cache", name = "warm-up", havingValue = "true", matchIfMissing = true)
+    public ApplicationRunner definitionCacheWarmUp(ProcessDefinitionCache cache, DefinitionCacheProperties properties) {
+        return args -> {
+            long start = System.nanoTime();
+            try {
+                int loaded = cache.warmUp((int) Math.min(Integer.MAX_VALUE, properties.getMaxDefinitions()));
+                log.info("Preloaded {} process definitions in {} ms", loaded, (System.nanoTime() - start) / 1_000_000);
+            } catch (Exception e) {
+                log.warn("Could not preload process definitions: {}", e.getMessage());
+            }
+        };
+    }
+}
@@ -0,0 +1,51 @@
+package com.enterprise.workflow.engine.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * In-process cache settings for deployed process definitions and their BPMN XML.
+ *
+ * Usage:
+ *   workflow.definition-cache.max-definitions=1000
+ *   workflow.definition-cache.max-xml-size=64MB
+ *   workflow.definition-cache.latest-version-ttl=30s
+ *   workflow.definition-cache.definition-ttl=2m
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "workflow.definition-cache")
+public class DefinitionCacheProperties {
+
+    /**
+     * Maximum number of definition versions kept in memory.
+     */
+    private long maxDefinitions = 1000;
+
+    /**
+     * Upper bound on the BPMN XML held in memory across all cached versions.
+     */
+    private DataSize maxXmlSize = DataSize.ofMegabytes(64);
+
+    /**
+     * How long a key keeps resolving to the same latest version. Deployments through this
+     * node invalidate immediately; this bounds staleness for deployments made elsewhere.
+     */
+    private Duration latestVersionTtl = Duration.ofSeconds(30);
+
+    /**
+     * How long a version stays cached after it was loaded; bounds how long a deployment
+     * deleted on another node is still served here. Reloading a hot version costs one
+     * query per TTL, so this can stay short.
+     */
+    private Duration definitionTtl = Duration.ofMinutes(2);
+
+    /**
+     * Load the latest version of every process, with its XML, before the node takes traffic.
+     */
+    private boolean warmUp = true;
+}
@@ -0,0 +1,64 @@
+package com.enterprise.workflow.engine.config;
+
+import com.enterprise.workflow.engine.events.MessageSubscriptionListener;
+import com.enterprise.workflow.engine.service.MessageSubscriptionIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.activiti.engine.delegate.event.ActivitiEventListener;
+import org.activiti.engine.delegate.event.ActivitiEventType;
+import org.activiti.spring.boot.ProcessEngineConfigurationConfigurer;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Wires the message subscription index into the engine, fills it at startup
+ * and periodically rebuilds it from the subscription table.
+ */
+@Configuration
+@Slf4j
+public class MessageCorrelationConfig {
+
+    private final MessageSubscriptionIndex subscriptionIndex;
+
+    public MessageCorrelationConfig(MessageSubscriptionIndex subscriptionIndex) {
+        this.subscriptionIndex = subscriptionIndex;
+    }
+
+    @Bean
+    public ProcessEngineConfigurationConfigurer messageSubscriptionConfigurer() {
+        return configuration -> {
+            Map<String, List<ActivitiEventListener>> listeners = configuration.getTypedEventListeners() != null
+                    ? new HashMap<>(configuration.getTypedEventListeners())
+                    : new HashMap<>();
+            ActivitiEventListener listener = new MessageSubscriptionListener(subscriptionIndex);
+            for (ActivitiEventType type : List.of(ActivitiEventType.ENTITY_CREATED, ActivitiEventType.ENTITY_DELETED)) {
+                listeners.computeIfAbsent(type.name(), name -> new ArrayList<>()).add(listener);
+            }
+            configuration.setTypedEventListeners(listeners);
+        };
+    }
+
+    @Bean
+    public ApplicationRunner messageSubscriptionIndexLoader() {
+        return args -> {
+            subscriptionIndex.rebuild();
+            log.info("Message subscription index holds {} open subscriptions", subscriptionIndex.size());
+        };
+    }
+
+    @Scheduled(fixedDelayString = "${workflow.messages.resync-interval:PT10M}",
+            initialDelayString = "${workflow.messages.resync-interval:PT10M}")
+    public void resyncSubscriptionIndex() {
+        try {
+            subscriptionIndex.rebuild();
+        } catch (Exception e) {
+            log.warn("Could not rebuild message subscription index: {}", e.getMessage());
+        }
+    }
+}
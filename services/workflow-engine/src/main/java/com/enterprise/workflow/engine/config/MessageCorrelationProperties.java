@@ -0,0 +1,43 @@
+package com.enterprise.workflow.engine.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Message correlation settings.
+ *
+ * Usage:
+ *   workflow.messages.idempotency-window=10m
+ *   workflow.messages.batch-parallelism=8
+ *   workflow.messages.resync-interval=10m
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "workflow.messages")
+public class MessageCorrelationProperties {
+
+    /**
+     * How long a delivered message ID is remembered; redeliveries within the window are
+     * acknowledged as duplicates without touching the engine.
+     */
+    private Duration idempotencyWindow = Duration.ofMinutes(10);
+
+    /**
+     * Maximum number of remembered message IDs.
+     */
+    private long idempotencyMaxEntries = 1_000_000;
+
+    /**
+     * Messages of a batch correlated concurrently, each in its own engine transaction.
+     */
+    private int batchParallelism = 8;
+
+    /**
+     * Interval at which the subscription index is rebuilt from the subscription table, picking
+     * up subscriptions created and consumed on other nodes.
+     */
+    private Duration resyncInterval = Duration.ofMinutes(10);
+}
@@ -0,0 +1,58 @@
+package com.enterprise.workflow.engine.config;
+
+import com.enterprise.workflow.engine.events.ProcessLifecycleEventPublisher;
+import org.activiti.engine.delegate.event.ActivitiEventListener;
+import org.activiti.engine.delegate.event.ActivitiEventType;
+import org.activiti.spring.boot.ProcessEngineConfigurationConfigurer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Engine-level tuning applied on top of the Activiti Spring Boot defaults.
+ */
+@Configuration
+public class ProcessEngineTuningConfig {
+
+    /**
+     * Sets how many rows the engine puts into one multi-row INSERT when it flushes a
+     * transaction. Bulk insert itself is on by default in Activiti; the engine issues
+     * these statements one at a time, not as a JDBC batch, so the driver's batch
+     * rewriting (e.g. PostgreSQL reWriteBatchedInserts) has no effect on them.
+     */
+    @Bean
+    public ProcessEngineConfigurationConfigurer bulkInsertConfigurer(BatchProperties batchProperties) {
+        return configuration ->
+                configuration.setMaxNrOfStatementsInBulkInsert(batchProperties.getMaxStatementsInBulkInsert());
+    }
+
+    /**
+     * Publishes lifecycle events for the reporting analytics; history is disabled
+     * in this engine, so the event stream is the only record of completed work.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "workflow.events", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public ProcessEngineConfigurationConfigurer lifecycleEventConfigurer(StreamBridge streamBridge) {
+        return configuration -> {
+            Map<String, List<ActivitiEventListener>> listeners = configuration.getTypedEventListeners() != null
+                    ? new HashMap<>(configuration.getTypedEventListeners())
+                    : new HashMap<>();
+            ActivitiEventListener publisher = new ProcessLifecycleEventPublisher(streamBridge);
+            for (ActivitiEventType type : List.of(
+                    ActivitiEventType.PROCESS_STARTED, ActivitiEventType.PROCESS_COMPLETED,
+                    ActivitiEventType.PROCESS_CANCELLED, ActivitiEventType.ACTIVITY_STARTED,
+                    ActivitiEventType.ACTIVITY_COMPLETED, ActivitiEventType.TASK_CREATED,
+                    ActivitiEventType.TASK_ASSIGNED, ActivitiEventType.TASK_COMPLETED,
+                    ActivitiEventType.JOB_EXECUTION_FAILURE)) {
+                listeners.computeIfAbsent(type.name(), name -> new ArrayList<>()).add(publisher);
+            }
+            configuration.setTypedEventListeners(listeners);
+        };
+    }
+}
@@ -0,0 +1,43 @@
+package com.enterprise.workflow.engine.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.activiti.engine.ManagementService;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * Creates the secondary indexes backing the keyset process instance listing.
+ *
+ * The seek predicate orders by (START_TIME_, ID_), optionally narrowed by
+ * definition, which Activiti's default schema does not index.
+ */
+@Configuration
+@Slf4j
+public class ProcessQueryIndexConfig {
+
+    @Bean
+    public ApplicationRunner processQueryIndexes(JdbcTemplate jdbcTemplate, ManagementService managementService) {
+        return args -> {
+            String executionTable = managementService.getTableName(ExecutionEntity.class);
+
+            List<String> statements = List.of(
+                    "create index if not exists ewf_idx_exec_start on " + executionTable
+                            + " (START_TIME_, ID_)",
+                    "create index if not exists ewf_idx_exec_procdef_start on " + executionTable
+                            + " (PROC_DEF_ID_, START_TIME_, ID_)");
+
+            for (String statement : statements) {
+                try {
+                    jdbcTemplate.execute(statement);
+                } catch (Exception e) {
+                    log.warn("Could not create process query index: {}", e.getMessage());
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,31 @@
+package com.enterprise.workflow.engine.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Limits for process variable reads.
+ *
+ * Usage:
+ *   workflow.variables.max-inline-size=32KB
+ *   workflow.variables.max-requested-inline-size=1MB
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "workflow.variables")
+public class VariableProperties {
+
+    /**
+     * Byte-array backed variables (documents, long strings, large JSON, serialized objects)
+     * up to this size are returned inline; larger ones are returned as a reference to
+     * their content endpoint.
+     */
+    private DataSize maxInlineSize = DataSize.ofKilobytes(32);
+
+    /**
+     * Upper bound for the {@code maxInlineBytes} a caller may ask for.
+     */
+    private DataSize maxRequestedInlineSize = DataSize.ofMegabytes(1);
+}
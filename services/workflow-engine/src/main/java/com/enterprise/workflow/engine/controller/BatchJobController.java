@@ -0,0 +1,47 @@
+package com.enterprise.workflow.engine.controller;
+
+import com.enterprise.workflow.engine.dto.BatchJobResponse;
+import com.enterprise.workflow.engine.service.BatchJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST Controller for background batch jobs
+ */
+@RestController
+@RequestMapping("/api/v1/batch-jobs")
+@Tag(name = "Batch Jobs", description = "Progress and control of background batch jobs")
+public class BatchJobController {
+
+    private final BatchJobService batchJobService;
+
+    public BatchJobController(BatchJobService batchJobService) {
+        this.batchJobService = batchJobService;
+    }
+
+    @GetMapping
+    @Operation(summary = "List batch jobs on this node, newest first")
+    public ResponseEntity<List<BatchJobResponse>> listJobs() {
+        return ResponseEntity.ok(batchJobService.listJobs());
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get the progress of a batch job")
+    public ResponseEntity<BatchJobResponse> getJob(@PathVariable String id) {
+        return batchJobService.getJob(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Cancel a batch job; chunks already committed stay applied")
+    public ResponseEntity<BatchJobResponse> cancelJob(@PathVariable String id) {
+        return batchJobService.cancel(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
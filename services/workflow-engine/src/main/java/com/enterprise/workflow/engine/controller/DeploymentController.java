@@ -1,5 +1,6 @@
 package com.enterprise.workflow.engine.controller;
 
+import com.enterprise.workflow.engine.service.ProcessDefinitionCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.activiti.engine.RepositoryService;
@@ -23,9 +24,11 @@ import java.util.stream.Collectors;
 public class DeploymentController {
 
     private final RepositoryService repositoryService;
+    private final ProcessDefinitionCache definitionCache;
 
-    public DeploymentController(RepositoryService repositoryService) {
+    public DeploymentController(RepositoryService repositoryService, ProcessDefinitionCache definitionCache) {
         this.repositoryService = repositoryService;
+        this.definitionCache = definitionCache;
     }
 
     @GetMapping
@@ -60,6 +63,7 @@ public class DeploymentController {
                             request.bpmnXml);
 
             Deployment deployment = builder.deploy();
+            definitionCache.deploymentChanged();
 
             Map<String, Object> result = toDto(deployment);
             result.put("message", "Deployment successful");
@@ -78,6 +82,7 @@ public class DeploymentController {
             @RequestParam(defaultValue = "false") boolean cascade) {
 
         repositoryService.deleteDeployment(id, cascade);
+        definitionCache.deploymentDeleted(id);
         return ResponseEntity.noContent().build();
     }
 
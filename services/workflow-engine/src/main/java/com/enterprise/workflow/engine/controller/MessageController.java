@@ -0,0 +1,59 @@
+package com.enterprise.workflow.engine.controller;
+
+import com.enterprise.workflow.common.web.TimedStreamingResponse;
+import com.enterprise.workflow.engine.config.BatchProperties;
+import com.enterprise.workflow.engine.dto.MessageCorrelationRequest;
+import com.enterprise.workflow.engine.dto.MessageCorrelationResult;
+import com.enterprise.workflow.engine.service.MessageCorrelationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * REST Controller for message correlation
+ */
+@RestController
+@RequestMapping("/api/v1/messages")
+@Tag(name = "Messages", description = "Deliver BPMN messages to waiting process instances")
+public class MessageController {
+
+    private final MessageCorrelationService correlationService;
+    private final BatchProperties batchProperties;
+
+    public MessageController(MessageCorrelationService correlationService, BatchProperties batchProperties) {
+        this.correlationService = correlationService;
+        this.batchProperties = batchProperties;
+    }
+
+    @PostMapping("/correlate")
+    @Operation(summary = "Correlate a message by process instance ID or business key")
+    public ResponseEntity<MessageCorrelationResult> correlate(@RequestBody MessageCorrelationRequest request) {
+        MessageCorrelationResult result = correlationService.correlate(request);
+        HttpStatus status = switch (result.getStatus()) {
+            case "NO_SUBSCRIPTION" -> HttpStatus.NOT_FOUND;
+            case "FAILED" -> HttpStatus.UNPROCESSABLE_ENTITY;
+            default -> HttpStatus.OK;
+        };
+        return ResponseEntity.status(status).body(result);
+    }
+
+    @PostMapping(value = "/correlate/batch",
+            consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Correlate many messages from an NDJSON stream of correlation requests")
+    public WebAsyncTask<Void> correlateBatch(HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        InputStream requests = request.getInputStream();
+        return TimedStreamingResponse.of(response, MediaType.APPLICATION_NDJSON, batchProperties.getStreamTimeout(),
+                output -> correlationService.correlateAll(requests, output));
+    }
+}
@@ -14,6 +14,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -45,8 +46,12 @@ public class ProcessController {
             @RequestParam(required = false) String processDefinitionKey,
             @RequestParam(required = false) String status,
             Pageable pageable) {
-        return ResponseEntity.ok(processService.getProcessInstances(
-                processDefinitionKey, status, pageable));
+        try {
+            return ResponseEntity.ok(processService.getProcessInstances(
+                    processDefinitionKey, status, pageable));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping("/{processInstanceId}")
@@ -83,8 +88,16 @@ public class ProcessController {
     @GetMapping("/{processInstanceId}/variables")
     @Operation(summary = "Get process variables")
     public ResponseEntity<Map<String, Object>> getVariables(
-            @PathVariable String processInstanceId) {
-        return ResponseEntity.ok(processService.getVariables(processInstanceId));
+            @PathVariable String processInstanceId,
+            @RequestParam(required = false) List<String> names,
+            @RequestParam(required = false) Integer maxInlineBytes) {
+        try {
+            return processService.getVariables(processInstanceId, names, maxInlineBytes)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @PutMapping("/{processInstanceId}/variables")
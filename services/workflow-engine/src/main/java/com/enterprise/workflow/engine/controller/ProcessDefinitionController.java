@@ -1,14 +1,19 @@
 package com.enterprise.workflow.engine.controller;
 
+import com.enterprise.workflow.common.web.EntityTags;
+import com.enterprise.workflow.engine.service.ProcessDefinitionCache;
+import com.enterprise.workflow.engine.service.ProcessDefinitionCache.CachedDefinition;
+import com.enterprise.workflow.engine.service.ProcessDefinitionCache.DefinitionXml;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.activiti.engine.RepositoryService;
 import org.activiti.engine.repository.ProcessDefinition;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.http.MediaType;
-import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -23,9 +28,11 @@ import java.util.stream.Collectors;
 public class ProcessDefinitionController {
 
     private final RepositoryService repositoryService;
+    private final ProcessDefinitionCache definitionCache;
 
-    public ProcessDefinitionController(RepositoryService repositoryService) {
+    public ProcessDefinitionController(RepositoryService repositoryService, ProcessDefinitionCache definitionCache) {
         this.repositoryService = repositoryService;
+        this.definitionCache = definitionCache;
     }
 
     @GetMapping
@@ -39,6 +46,7 @@ public class ProcessDefinitionController {
                 .listPage(page * size, size);
 
         List<Map<String, Object>> result = definitions.stream()
+                .map(CachedDefinition::of)
                 .map(this::toDto)
                 .collect(Collectors.toList());
 
@@ -48,53 +56,43 @@ public class ProcessDefinitionController {
     @GetMapping("/{id}")
     @Operation(summary = "Get process definition by ID")
     public ResponseEntity<Map<String, Object>> getDefinition(@PathVariable String id) {
-        ProcessDefinition definition = repositoryService.createProcessDefinitionQuery()
-                .processDefinitionId(id)
-                .singleResult();
-
-        if (definition == null) {
-            return ResponseEntity.notFound().build();
-        }
-
-        return ResponseEntity.ok(toDto(definition));
+        return definitionCache.get(id)
+                .map(definition -> ResponseEntity.ok(toDto(definition)))
+                .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping(value = "/{id}/xml", produces = MediaType.APPLICATION_XML_VALUE)
     @Operation(summary = "Get process definition XML")
-    public ResponseEntity<String> getDefinitionXml(@PathVariable String id) {
+    public ResponseEntity<String> getDefinitionXml(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        DefinitionXml xml;
         try {
-            ProcessDefinition definition = repositoryService.createProcessDefinitionQuery()
-                    .processDefinitionId(id)
-                    .singleResult();
-
-            if (definition == null) {
-                return ResponseEntity.notFound().build();
-            }
-
-            try (InputStream resourceStream = repositoryService.getResourceAsStream(
-                    definition.getDeploymentId(), 
-                    definition.getResourceName())) {
-                String xml = new String(resourceStream.readAllBytes(), StandardCharsets.UTF_8);
-                return ResponseEntity.ok(xml);
-            }
+            xml = definitionCache.getXml(id).orElse(null);
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
+        if (xml == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!EntityTags.noneMatch(ifNoneMatch, xml.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(xml.etag())
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(xml.etag())
+                .cacheControl(CacheControl.noCache())
+                .body(xml.text());
     }
 
     @GetMapping("/key/{key}")
     @Operation(summary = "Get latest process definition by key")
     public ResponseEntity<Map<String, Object>> getDefinitionByKey(@PathVariable String key) {
-        ProcessDefinition definition = repositoryService.createProcessDefinitionQuery()
-                .processDefinitionKey(key)
-                .latestVersion()
-                .singleResult();
-
-        if (definition == null) {
-            return ResponseEntity.notFound().build();
-        }
-
-        return ResponseEntity.ok(toDto(definition));
+        return definitionCache.getLatest(key)
+                .map(definition -> ResponseEntity.ok(toDto(definition)))
+                .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/count")
@@ -106,15 +104,15 @@ public class ProcessDefinitionController {
         return ResponseEntity.ok(result);
     }
 
-    private Map<String, Object> toDto(ProcessDefinition definition) {
+    private Map<String, Object> toDto(CachedDefinition definition) {
         Map<String, Object> dto = new HashMap<>();
-        dto.put("id", definition.getId());
-        dto.put("key", definition.getKey());
-        dto.put("name", definition.getName());
-        dto.put("version", definition.getVersion());
-        dto.put("deploymentId", definition.getDeploymentId());
-        dto.put("description", definition.getDescription());
-        dto.put("category", definition.getCategory());
+        dto.put("id", definition.id());
+        dto.put("key", definition.key());
+        dto.put("name", definition.name());
+        dto.put("version", definition.version());
+        dto.put("deploymentId", definition.deploymentId());
+        dto.put("description", definition.description());
+        dto.put("category", definition.category());
         return dto;
     }
 }
@@ -1,15 +1,37 @@
 package com.enterprise.workflow.engine.controller;
 
+import com.enterprise.workflow.common.web.TimedStreamingResponse;
+import com.enterprise.workflow.engine.config.BatchProperties;
+import com.enterprise.workflow.engine.dto.BatchJobResponse;
+import com.enterprise.workflow.engine.dto.ProcessInstanceBulkRequest;
+import com.enterprise.workflow.engine.dto.ProcessInstanceSlice;
+import com.enterprise.workflow.engine.service.ProcessBatchService;
+import com.enterprise.workflow.engine.service.ProcessService;
+import com.enterprise.workflow.engine.service.ProcessVariableReader;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.activiti.engine.ActivitiObjectNotFoundException;
 import org.activiti.engine.RuntimeService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
 import org.activiti.engine.runtime.ProcessInstance;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 /**
@@ -21,9 +43,19 @@ import java.util.stream.Collectors;
 public class ProcessInstanceController {
 
     private final RuntimeService runtimeService;
+    private final ProcessService processService;
+    private final ProcessBatchService processBatchService;
+    private final ProcessVariableReader variableReader;
+    private final BatchProperties batchProperties;
 
-    public ProcessInstanceController(RuntimeService runtimeService) {
+    public ProcessInstanceController(RuntimeService runtimeService, ProcessService processService,
+            ProcessBatchService processBatchService, ProcessVariableReader variableReader,
+            BatchProperties batchProperties) {
         this.runtimeService = runtimeService;
+        this.processService = processService;
+        this.processBatchService = processBatchService;
+        this.variableReader = variableReader;
+        this.batchProperties = batchProperties;
     }
 
     @GetMapping
@@ -42,6 +74,21 @@ public class ProcessInstanceController {
         return ResponseEntity.ok(result);
     }
 
+    @GetMapping("/scroll")
+    @Operation(summary = "List running process instances with cursor pagination, newest first")
+    public ResponseEntity<ProcessInstanceSlice> scrollInstances(
+            @RequestParam(required = false) String processDefinitionKey,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(processService.getProcessInstanceSlice(
+                    processDefinitionKey, status, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get process instance by ID")
     public ResponseEntity<Map<String, Object>> getInstance(@PathVariable String id) {
@@ -69,6 +116,43 @@ public class ProcessInstanceController {
         return ResponseEntity.ok(toDto(instance));
     }
 
+    @PostMapping(value = "/batch",
+            consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Start many process instances from an NDJSON stream of start requests")
+    public WebAsyncTask<Void> startProcessBatch(HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        InputStream requests = request.getInputStream();
+        return TimedStreamingResponse.of(response, MediaType.APPLICATION_NDJSON, batchProperties.getStreamTimeout(),
+                output -> processBatchService.startProcesses(requests, output));
+    }
+
+    @PostMapping("/signals/{signalName}/broadcast")
+    @Operation(summary = "Broadcast a signal to all waiting executions and signal start events"
+            + " as a background batch job")
+    public ResponseEntity<BatchJobResponse> broadcastSignal(
+            @PathVariable String signalName,
+            @RequestBody(required = false) Map<String, Object> variables) {
+        BatchJobResponse job = processBatchService.broadcastSignal(signalName, variables);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/batch-jobs/" + job.getId()))
+                .body(job);
+    }
+
+    @PostMapping("/bulk")
+    @Operation(summary = "Suspend, activate or cancel all instances matching a query as a background batch job")
+    public ResponseEntity<BatchJobResponse> updateInstances(@Valid @RequestBody ProcessInstanceBulkRequest request) {
+        BatchJobResponse job;
+        try {
+            job = processBatchService.updateProcesses(request);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/batch-jobs/" + job.getId()))
+                .body(job);
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete (terminate) a process instance")
     public ResponseEntity<Void> deleteInstance(
@@ -81,21 +165,72 @@ public class ProcessInstanceController {
 
     @GetMapping("/count")
     @Operation(summary = "Get count of running process instances")
-    public ResponseEntity<Map<String, Long>> countInstances() {
-        long count = runtimeService.createProcessInstanceQuery().count();
-        Map<String, Long> result = new HashMap<>();
-        result.put("count", count);
-        return ResponseEntity.ok(result);
+    public CompletableFuture<ResponseEntity<Map<String, Long>>> countInstances(
+            @RequestParam(required = false) String processDefinitionKey,
+            @RequestParam(required = false) String status) {
+        return processService.countProcessInstances(processDefinitionKey, status)
+                .<ResponseEntity<Map<String, Long>>>handle((count, error) -> {
+                    if (error != null) {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                                ? error.getCause() : error;
+                        if (cause instanceof IllegalArgumentException) {
+                            return ResponseEntity.badRequest().build();
+                        }
+                        throw error instanceof CompletionException completion
+                                ? completion : new CompletionException(error);
+                    }
+                    Map<String, Long> result = new HashMap<>();
+                    result.put("count", count);
+                    return ResponseEntity.ok(result);
+                });
     }
 
     @GetMapping("/{id}/variables")
-    @Operation(summary = "Get variables for a process instance")
-    public ResponseEntity<Map<String, Object>> getVariables(@PathVariable String id) {
-        if (runtimeService.createProcessInstanceQuery().processInstanceId(id).singleResult() == null) {
+    @Operation(summary = "Get variables for a process instance; large values are returned as references")
+    public ResponseEntity<Map<String, Object>> getVariables(
+            @PathVariable String id,
+            @RequestParam(required = false) List<String> names,
+            @RequestParam(required = false) Integer maxInlineBytes) {
+        try {
+            return processService.getVariables(id, names, maxInlineBytes)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/{id}/variables/{name}")
+    @Operation(summary = "Get the full value of one process variable")
+    public ResponseEntity<Object> getVariable(@PathVariable String id, @PathVariable String name) {
+        try {
+            Map<String, Object> variables = runtimeService.getVariables(id, List.of(name));
+            if (!variables.containsKey(name)) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok(variables.get(name));
+        } catch (ActivitiObjectNotFoundException e) {
             return ResponseEntity.notFound().build();
         }
-        Map<String, Object> variables = runtimeService.getVariables(id);
-        return ResponseEntity.ok(variables);
+    }
+
+    @GetMapping("/{id}/variables/{name}/content")
+    @Operation(summary = "Stream the stored content of a document, long text or large JSON variable")
+    public ResponseEntity<StreamingResponseBody> getVariableContent(@PathVariable String id,
+            @PathVariable String name) {
+        return variableReader.describe(id, name)
+                .map(content -> {
+                    StreamingResponseBody body = output -> variableReader.writeContent(id, name, output);
+                    return ResponseEntity.ok()
+                            .contentType(switch (content.type()) {
+                                case "longString" -> new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+                                case "longJson" -> MediaType.APPLICATION_JSON;
+                                default -> MediaType.APPLICATION_OCTET_STREAM;
+                            })
+                            .contentLength(content.size())
+                            .body(body);
+                })
+                .orElse(ResponseEntity.notFound().build());
     }
 
     @PostMapping("/{id}/suspend")
@@ -0,0 +1,51 @@
+package com.enterprise.workflow.engine.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Progress of a background batch job.
+ * Status is QUEUED, RUNNING, COMPLETED, COMPLETED_WITH_ERRORS, CANCELLED or FAILED.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchJobResponse {
+
+    private String id;
+    private String type;
+    private String description;
+    private String status;
+    private long total;
+    private long processed;
+    private long succeeded;
+    /** Targets the operation no longer applied to when their chunk ran. */
+    private long skipped;
+    private long failed;
+    private long retries;
+    private int totalChunks;
+    private int completedChunks;
+    private int parallelism;
+    /** Throttle of the job; 0 when unthrottled. */
+    private int targetsPerSecond;
+    private List<Failure> failures;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Failure {
+        private String target;
+        private String error;
+    }
+}
@@ -0,0 +1,26 @@
+package com.enterprise.workflow.engine.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * A message to deliver to the process instance waiting for it.
+ * The instance is identified by {@code processInstanceId} or, failing that, {@code businessKey}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MessageCorrelationRequest {
+
+    /** Sender's ID of the message; deliveries repeating an ID are dropped as duplicates. */
+    private String messageId;
+    private String messageName;
+    private String processInstanceId;
+    private String businessKey;
+    private Map<String, Object> variables;
+}
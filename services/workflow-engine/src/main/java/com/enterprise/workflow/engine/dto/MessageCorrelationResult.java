@@ -0,0 +1,25 @@
+package com.enterprise.workflow.engine.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of correlating one message.
+ * Status is CORRELATED, DUPLICATE, NO_SUBSCRIPTION or FAILED.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MessageCorrelationResult {
+
+    /** Zero-based position of the request line in a batch. */
+    private long index;
+    private String messageId;
+    private String status;
+    private String processInstanceId;
+    private String executionId;
+    private String error;
+}
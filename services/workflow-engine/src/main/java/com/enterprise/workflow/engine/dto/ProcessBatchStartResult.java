@@ -0,0 +1,24 @@
+package com.enterprise.workflow.engine.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one line of a bulk process start request.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProcessBatchStartResult {
+
+    /** Zero-based position of the request line in the submitted stream. */
+    private long index;
+    private String status;
+    private String processInstanceId;
+    private String processDefinitionKey;
+    private String businessKey;
+    private String error;
+}
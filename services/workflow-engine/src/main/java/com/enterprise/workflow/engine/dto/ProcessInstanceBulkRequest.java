@@ -0,0 +1,46 @@
+package com.enterprise.workflow.engine.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Request DTO for suspending, activating or cancelling all running process instances
+ * matching a query. At least a definition key or a business key prefix is required.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProcessInstanceBulkRequest {
+
+    /** SUSPEND, ACTIVATE or CANCEL. */
+    @NotBlank(message = "Operation is required")
+    private String operation;
+
+    private String processDefinitionKey;
+
+    /** Only instances of this version of the definition; requires the key. */
+    private Integer processDefinitionVersion;
+
+    private String businessKeyPrefix;
+
+    /** Inclusive lower bound of the instance start time. */
+    private LocalDateTime startedAfter;
+
+    /** Exclusive upper bound of the instance start time. */
+    private LocalDateTime startedBefore;
+
+    /** Delete reason recorded for cancelled instances. */
+    private String reason;
+
+    /** Chunks running at once; defaults to workflow.batch.jobs.parallelism. */
+    private Integer parallelism;
+
+    /** Throttle, 0 for none; defaults to workflow.batch.jobs.targets-per-second. */
+    private Integer targetsPerSecond;
+}
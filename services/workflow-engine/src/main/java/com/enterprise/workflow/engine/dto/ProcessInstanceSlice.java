@@ -0,0 +1,24 @@
+package com.enterprise.workflow.engine.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One keyset-paginated page of process instances.
+ * Pass {@code nextCursor} back to fetch the following page.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProcessInstanceSlice {
+
+    private List<ProcessInstanceResponse> content;
+    private int size;
+    private boolean hasMore;
+    private String nextCursor;
+}
@@ -0,0 +1,22 @@
+package com.enterprise.workflow.engine.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Stands in for a variable value too large to return inline.
+ * Fetch the value itself from {@code href}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VariableReference {
+
+    private final boolean lazy = true;
+    private String type;
+    private long size;
+    private String href;
+}
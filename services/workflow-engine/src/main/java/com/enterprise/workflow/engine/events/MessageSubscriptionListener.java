@@ -0,0 +1,64 @@
+package com.enterprise.workflow.engine.events;
+
+import com.enterprise.workflow.engine.service.MessageSubscriptionIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.activiti.engine.delegate.event.ActivitiEntityEvent;
+import org.activiti.engine.delegate.event.ActivitiEvent;
+import org.activiti.engine.delegate.event.ActivitiEventListener;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.impl.persistence.entity.MessageEventSubscriptionEntity;
+
+/**
+ * Keeps the {@link MessageSubscriptionIndex} in step with message subscriptions
+ * created and deleted by this node's engine.
+ */
+@Slf4j
+public class MessageSubscriptionListener implements ActivitiEventListener {
+
+    private final MessageSubscriptionIndex index;
+
+    public MessageSubscriptionListener(MessageSubscriptionIndex index) {
+        this.index = index;
+    }
+
+    @Override
+    public void onEvent(ActivitiEvent event) {
+        if (!(event instanceof ActivitiEntityEvent entityEvent)
+                || !(entityEvent.getEntity() instanceof MessageEventSubscriptionEntity subscription)) {
+            return;
+        }
+        switch (event.getType()) {
+            case ENTITY_CREATED -> {
+                if (subscription.getExecutionId() != null) {
+                    index.addAfterCommit(new MessageSubscriptionIndex.Subscription(
+                            subscription.getId(),
+                            subscription.getEventName(),
+                            subscription.getExecutionId(),
+                            subscription.getProcessInstanceId(),
+                            businessKey(subscription),
+                            subscription.getCreated() != null ? subscription.getCreated().getTime() : 0));
+                }
+            }
+            case ENTITY_DELETED -> index.removeAfterCommit(subscription.getId());
+            default -> {
+            }
+        }
+    }
+
+    @Override
+    public boolean isFailOnException() {
+        return false;
+    }
+
+    private String businessKey(MessageEventSubscriptionEntity subscription) {
+        try {
+            ExecutionEntity execution = subscription.getExecution();
+            ExecutionEntity processInstance = execution != null ? execution.getProcessInstance() : null;
+            return processInstance != null ? processInstance.getBusinessKey() : null;
+        } catch (RuntimeException e) {
+            // Indexed by instance only; business key lookups fall back to the table
+            log.debug("No business key for message subscription {}: {}", subscription.getId(), e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.enterprise.workflow.engine.events;
+
+import com.enterprise.workflow.engine.dto.ProcessLifecycleEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.activiti.engine.delegate.event.ActivitiActivityEvent;
+import org.activiti.engine.delegate.event.ActivitiEntityEvent;
+import org.activiti.engine.delegate.event.ActivitiEvent;
+import org.activiti.engine.delegate.event.ActivitiEventListener;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.runtime.Job;
+import org.activiti.engine.task.Task;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Publishes process, activity and task lifecycle events for the reporting service.
+ *
+ * Events raised inside an engine transaction are collected and sent once it
+ * commits, so consumers never see work that was rolled back. Publishing never
+ * fails the engine operation.
+ */
+@Slf4j
+public class ProcessLifecycleEventPublisher implements ActivitiEventListener {
+
+    public static final String BINDING = "processLifecycleEvents-out-0";
+
+    private final StreamBridge streamBridge;
+
+    public ProcessLifecycleEventPublisher(StreamBridge streamBridge) {
+        this.streamBridge = streamBridge;
+    }
+
+    @Override
+    public void onEvent(ActivitiEvent event) {
+        ProcessLifecycleEvent lifecycleEvent = switch (event.getType()) {
+            case PROCESS_STARTED -> processEvent("PROCESS_STARTED", event);
+            case PROCESS_COMPLETED -> processEvent("PROCESS_COMPLETED", event);
+            case PROCESS_CANCELLED -> processEvent("PROCESS_CANCELLED", event);
+            case ACTIVITY_STARTED -> activityEvent("ACTIVITY_STARTED", (ActivitiActivityEvent) event);
+            case ACTIVITY_COMPLETED -> activityEvent("ACTIVITY_COMPLETED", (ActivitiActivityEvent) event);
+            case TASK_CREATED -> taskEvent("TASK_CREATED", event);
+            case TASK_ASSIGNED -> taskEvent("TASK_ASSIGNED", event);
+            case TASK_COMPLETED -> taskEvent("TASK_COMPLETED", event);
+            case JOB_EXECUTION_FAILURE -> failureEvent(event);
+            default -> null;
+        };
+        if (lifecycleEvent != null) {
+            publishAfterCommit(lifecycleEvent);
+        }
+    }
+
+    @Override
+    public boolean isFailOnException() {
+        return false;
+    }
+
+    private ProcessLifecycleEvent processEvent(String type, ActivitiEvent event) {
+        ProcessLifecycleEvent lifecycleEvent = base(type, event);
+        if (event instanceof ActivitiEntityEvent entityEvent
+                && entityEvent.getEntity() instanceof ExecutionEntity execution
+                && execution.getStartTime() != null
+                && !type.equals("PROCESS_STARTED")) {
+            lifecycleEvent.setDurationMillis(lifecycleEvent.getTimestamp() - execution.getStartTime().getTime());
+        }
+        return lifecycleEvent;
+    }
+
+    private ProcessLifecycleEvent activityEvent(String type, ActivitiActivityEvent event) {
+        ProcessLifecycleEvent lifecycleEvent = base(type, event);
+        lifecycleEvent.setActivityId(event.getActivityId());
+        lifecycleEvent.setActivityName(event.getActivityName());
+        lifecycleEvent.setActivityType(event.getActivityType());
+        return lifecycleEvent;
+    }
+
+    private ProcessLifecycleEvent taskEvent(String type, ActivitiEvent event) {
+        if (!(event instanceof ActivitiEntityEvent entityEvent) || !(entityEvent.getEntity() instanceof Task task)) {
+            return null;
+        }
+        ProcessLifecycleEvent lifecycleEvent = base(type, event);
+        lifecycleEvent.setTaskId(task.getId());
+        lifecycleEvent.setActivityId(task.getTaskDefinitionKey());
+        lifecycleEvent.setActivityName(task.getName());
+        lifecycleEvent.setAssignee(task.getAssignee());
+        if (type.equals("TASK_COMPLETED") && task.getCreateTime() != null) {
+            lifecycleEvent.setDurationMillis(lifecycleEvent.getTimestamp() - task.getCreateTime().getTime());
+        }
+        return lifecycleEvent;
+    }
+
+    /**
+     * A job that failed its last retry leaves the instance stuck in an incident.
+     */
+    private ProcessLifecycleEvent failureEvent(ActivitiEvent event) {
+        if (event instanceof ActivitiEntityEvent entityEvent
+                && entityEvent.getEntity() instanceof Job job
+                && job.getRetries() <= 1) {
+            return base("PROCESS_FAILED", event);
+        }
+        return null;
+    }
+
+    private ProcessLifecycleEvent base(String type, ActivitiEvent event) {
+        ProcessLifecycleEvent lifecycleEvent = ProcessLifecycleEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .type(type)
+                .timestamp(System.currentTimeMillis())
+                .processDefinitionId(event.getProcessDefinitionId())
+                .processInstanceId(event.getProcessInstanceId())
+                .executionId(event.getExecutionId())
+                .build();
+
+        // Activiti definition IDs are "key:version:id"; parsing avoids a repository lookup per event
+        String definitionId = event.getProcessDefinitionId();
+        if (definitionId != null) {
+            String[] parts = definitionId.split(":");
+            lifecycleEvent.setProcessDefinitionKey(parts[0]);
+            if (parts.length == 3) {
+                try {
+                    lifecycleEvent.setProcessDefinitionVersion(Integer.parseInt(parts[1]));
+                } catch (NumberFormatException ignored) {
+                    // not a versioned ID
+                }
+            }
+        }
+        return lifecycleEvent;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void publishAfterCommit(ProcessLifecycleEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            send(List.of(event));
+            return;
+        }
+        List<ProcessLifecycleEvent> pending = (List<ProcessLifecycleEvent>) TransactionSynchronizationManager
+                .getResource(this);
+        if (pending == null) {
+            List<ProcessLifecycleEvent> collected = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, collected);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ProcessLifecycleEventPublisher.this);
+                    if (status == STATUS_COMMITTED) {
+                        send(collected);
+                    }
+                }
+            });
+            pending = collected;
+        }
+        pending.add(event);
+    }
+
+    private void send(List<ProcessLifecycleEvent> events) {
+        for (ProcessLifecycleEvent event : events) {
+            try {
+                streamBridge.send(BINDING, event);
+            } catch (Exception e) {
+                log.warn("Could not publish {} for process instance {}: {}",
+                        event.getType(), event.getProcessInstanceId(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package com.enterprise.workflow.engine.service;
+
+import com.enterprise.workflow.engine.config.BatchProperties;
+import com.enterprise.workflow.engine.dto.BatchJobResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.activiti.engine.ManagementService;
+import org.activiti.engine.impl.interceptor.Command;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs {@link BatchOperation}s over large target snapshots in the background.
+ *
+ * The snapshot is split into chunks of {@code workflow.batch.jobs.chunk-size}; each chunk
+ * runs as one engine command, so it commits or rolls back as a whole and only holds the
+ * locks of its own targets. A job runs up to its {@code parallelism} chunks at once, and no
+ * faster than its {@code targets-per-second} throttle; at most {@code max-concurrent-chunks}
+ * chunks run at once across all jobs. A failed chunk is retried with exponential backoff
+ * (optimistic locking conflicts with running instances are the usual cause); if it keeps
+ * failing, its targets are applied one by one so that a single bad target only fails
+ * itself. Jobs can be cancelled between chunks. Job status is held in memory on the node
+ * that accepted the job and expires after {@code retention}.
+ */
+@Service
+@Slf4j
+public class BatchJobService {
+
+    private final ManagementService managementService;
+    private final BatchProperties.Jobs properties;
+    private final Semaphore chunkPermits;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    public BatchJobService(ManagementService managementService, BatchProperties batchProperties) {
+        this.managementService = managementService;
+        this.properties = batchProperties.getJobs();
+        this.chunkPermits = new Semaphore(Math.max(1, properties.getMaxConcurrentChunks()));
+    }
+
+    /**
+     * Queues a job applying {@code operation} to every target of the snapshot, with the
+     * configured parallelism and throttle.
+     */
+    public BatchJobResponse submit(BatchOperation operation, String description, List<String> targets) {
+        return submit(operation, description, targets, null, null);
+    }
+
+    /**
+     * Queues a job applying {@code operation} to every target of the snapshot.
+     *
+     * @param parallelism Chunks of this job running at once; null for the configured default
+     * @param targetsPerSecond Throttle for this job, 0 for none; null for the configured default
+     */
+    public BatchJobResponse submit(BatchOperation operation, String description, List<String> targets,
+            Integer parallelism, Integer targetsPerSecond) {
+        if ((parallelism != null && parallelism < 1) || (targetsPerSecond != null && targetsPerSecond < 0)) {
+            throw new IllegalArgumentException("parallelism must be positive and targetsPerSecond not negative");
+        }
+        int chunksAtOnce = Math.min(parallelism != null ? parallelism : Math.max(1, properties.getParallelism()),
+                Math.max(1, properties.getMaxConcurrentChunks()));
+        int throttle = targetsPerSecond != null ? targetsPerSecond : Math.max(0, properties.getTargetsPerSecond());
+        Job job = new Job(UUID.randomUUID().toString(), operation, description, List.copyOf(targets),
+                chunksAtOnce, throttle);
+        jobs.put(job.id, job);
+        executor.submit(() -> run(job));
+        log.info("Queued {} job {} ({}) over {} targets", operation.type(), job.id, description, targets.size());
+        return job.toDto();
+    }
+
+    public Optional<BatchJobResponse> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(Job::toDto);
+    }
+
+    public List<BatchJobResponse> listJobs() {
+        return jobs.values().stream()
+                .sorted(Comparator.comparing((Job job) -> job.createdAt).reversed())
+                .map(Job::toDto)
+                .toList();
+    }
+
+    /**
+     * Stops a job after the chunks already running; committed chunks stay applied.
+     */
+    public Optional<BatchJobResponse> cancel(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(job -> {
+            job.cancelled = true;
+            return job.toDto();
+        });
+    }
+
+    @Scheduled(fixedDelayString = "PT10M", initialDelayString = "PT10M")
+    public void purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getRetention());
+        jobs.values().removeIf(job -> job.completedAt != null && job.completedAt.isBefore(cutoff));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(Job job) {
+        job.startedAt = LocalDateTime.now();
+        job.status = "RUNNING";
+        int chunkSize = Math.max(1, properties.getChunkSize());
+        List<Future<?>> chunks = new ArrayList<>(job.totalChunks);
+        Semaphore jobPermits = new Semaphore(job.parallelism);
+        long started = System.nanoTime();
+        try {
+            for (int from = 0; from < job.targets.size() && !job.cancelled; from += chunkSize) {
+                List<String> chunk = job.targets.subList(from, Math.min(from + chunkSize, job.targets.size()));
+                throttle(job, started, from);
+                jobPermits.acquire();
+                chunkPermits.acquire();
+                if (job.cancelled) {
+                    chunkPermits.release();
+                    jobPermits.release();
+                    break;
+                }
+                chunks.add(executor.submit(() -> {
+                    try {
+                        runChunk(job, chunk);
+                    } finally {
+                        chunkPermits.release();
+                        jobPermits.release();
+                    }
+                }));
+            }
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+            job.status = job.cancelled ? "CANCELLED"
+                    : job.failed.get() > 0 ? "COMPLETED_WITH_ERRORS" : "COMPLETED";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.fail("Interrupted");
+        } catch (Exception e) {
+            log.error("{} job {} failed", job.operation.type(), job.id, e);
+            job.fail(e.getMessage());
+        } finally {
+            job.completedAt = LocalDateTime.now();
+            log.info("{} job {} {}: {} succeeded, {} skipped, {} failed of {}", job.operation.type(), job.id,
+                    job.status, job.succeeded.get(), job.skipped.get(), job.failed.get(), job.targets.size());
+        }
+    }
+
+    /**
+     * Holds back the chunk starting at target {@code dispatched} until the job's throttle
+     * allows it.
+     */
+    private static void throttle(Job job, long startedNanos, int dispatched) throws InterruptedException {
+        if (job.targetsPerSecond <= 0) {
+            return;
+        }
+        long due = startedNanos + dispatched * 1_000_000_000L / job.targetsPerSecond;
+        long wait = due - System.nanoTime();
+        if (wait > 0) {
+            Thread.sleep(wait / 1_000_000, (int) (wait % 1_000_000));
+        }
+    }
+
+    private void runChunk(Job job, List<String> chunk) throws InterruptedException {
+        List<String> applicable = job.operation.applicable(chunk);
+        job.skipped.addAndGet(chunk.size() - applicable.size());
+
+        if (!applicable.isEmpty() && !applyChunk(job, applicable)) {
+            for (String target : applicable) {
+                applyOne(job, target);
+            }
+        }
+        job.completedChunks.incrementAndGet();
+    }
+
+    private boolean applyChunk(Job job, List<String> targets) throws InterruptedException {
+        long backoff = properties.getRetryBackoff().toMillis();
+        for (int attempt = 0; attempt <= properties.getChunkRetries(); attempt++) {
+            if (attempt > 0) {
+                job.retries.incrementAndGet();
+                Thread.sleep(backoff << (attempt - 1));
+            }
+            try {
+                managementService.executeCommand((Command<Void>) commandContext -> {
+                    targets.forEach(job.operation::apply);
+                    return null;
+                });
+                job.succeeded.addAndGet(targets.size());
+                return true;
+            } catch (Exception e) {
+                log.debug("Chunk of {} job {} failed (attempt {}): {}", job.operation.type(), job.id,
+                        attempt + 1, e.getMessage());
+            }
+        }
+        return false;
+    }
+
+    private void applyOne(Job job, String target) {
+        try {
+            managementService.executeCommand((Command<Void>) commandContext -> {
+                job.operation.apply(target);
+                return null;
+            });
+            job.succeeded.incrementAndGet();
+        } catch (Exception e) {
+            if (job.operation.applicable(List.of(target)).isEmpty()) {
+                job.skipped.incrementAndGet();
+                return;
+            }
+            job.failed.incrementAndGet();
+            if (job.failures.size() < properties.getMaxRecordedFailures()) {
+                job.failures.add(new BatchJobResponse.Failure(target, e.getMessage()));
+            }
+        }
+    }
+
+    private class Job {
+        private final String id;
+        private final BatchOperation operation;
+        private final String description;
+        private final List<String> targets;
+        private final int totalChunks;
+        private final int parallelism;
+        private final int targetsPerSecond;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private final AtomicLong succeeded = new AtomicLong();
+        private final AtomicLong skipped = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong retries = new AtomicLong();
+        private final AtomicInteger completedChunks = new AtomicInteger();
+        private final ConcurrentLinkedQueue<BatchJobResponse.Failure> failures = new ConcurrentLinkedQueue<>();
+        private volatile boolean cancelled;
+        private volatile String status = "QUEUED";
+        private volatile String error;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime completedAt;
+
+        Job(String id, BatchOperation operation, String description, List<String> targets,
+                int parallelism, int targetsPerSecond) {
+            this.id = id;
+            this.operation = operation;
+            this.description = description;
+            this.targets = targets;
+            this.parallelism = parallelism;
+            this.targetsPerSecond = targetsPerSecond;
+            int chunkSize = Math.max(1, properties.getChunkSize());
+            this.totalChunks = (targets.size() + chunkSize - 1) / chunkSize;
+        }
+
+        void fail(String message) {
+            error = message;
+            status = "FAILED";
+        }
+
+        BatchJobResponse toDto() {
+            long done = succeeded.get() + skipped.get() + failed.get();
+            return BatchJobResponse.builder()
+                    .id(id)
+                    .type(operation.type())
+                    .description(description)
+                    .status(cancelled && completedAt == null ? "CANCELLING" : status)
+                    .total(targets.size())
+                    .processed(done)
+                    .succeeded(succeeded.get())
+                    .skipped(skipped.get())
+                    .failed(failed.get())
+                    .retries(retries.get())
+                    .totalChunks(totalChunks)
+                    .completedChunks(completedChunks.get())
+                    .parallelism(parallelism)
+                    .targetsPerSecond(targetsPerSecond)
+                    .failures(List.copyOf(failures))
+                    .error(error)
+                    .createdAt(createdAt)
+                    .startedAt(startedAt)
+                    .completedAt(completedAt)
+                    .build();
+        }
+    }
+}
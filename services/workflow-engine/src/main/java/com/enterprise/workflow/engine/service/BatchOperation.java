@@ -0,0 +1,26 @@
+package com.enterprise.workflow.engine.service;
+
+import java.util.List;
+
+/**
+ * An operation applied by a batch job to each of a snapshot of targets
+ * (event subscription or process instance IDs), a chunk per engine transaction.
+ */
+public interface BatchOperation {
+
+    /**
+     * Job type shown in job listings, e.g. SIGNAL_BROADCAST.
+     */
+    String type();
+
+    /**
+     * Of the given targets, those the operation still applies to. The snapshot was taken
+     * when the job was submitted, so targets may have moved on since; they are skipped.
+     */
+    List<String> applicable(List<String> targets);
+
+    /**
+     * Applies the operation to one target, inside the current engine transaction.
+     */
+    void apply(String target);
+}
@@ -0,0 +1,25 @@
+package com.enterprise.workflow.engine.service;
+
+import com.enterprise.workflow.engine.dto.MessageCorrelationRequest;
+import com.enterprise.workflow.engine.dto.MessageCorrelationResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Service interface for delivering messages to waiting process instances.
+ */
+public interface MessageCorrelationService {
+
+    /**
+     * Deliver one message to the oldest matching subscription of its process instance.
+     */
+    MessageCorrelationResult correlate(MessageCorrelationRequest request);
+
+    /**
+     * Correlate one message per NDJSON line of {@code requests}, writing one NDJSON
+     * result line per request to {@code results}.
+     */
+    void correlateAll(InputStream requests, OutputStream results) throws IOException;
+}
@@ -0,0 +1,244 @@
+package com.enterprise.workflow.engine.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.activiti.engine.ManagementService;
+import org.activiti.engine.impl.persistence.entity.EventSubscriptionEntity;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of the open message subscriptions of running process instances,
+ * keyed by message name plus process instance ID and by message name plus business key.
+ *
+ * Subscriptions created and deleted through this node's engine are applied as their
+ * transaction commits; the whole index is rebuilt from the subscription table at startup
+ * and every {@code workflow.messages.resync-interval}. It is a hint, not the truth: a miss
+ * is answered from the table (and the result remembered), and a hit whose subscription
+ * turns out to be gone, typically consumed on another node, is dropped by the caller.
+ * Message start events are not indexed; they have no execution to correlate with.
+ */
+@Component
+@Slf4j
+public class MessageSubscriptionIndex {
+
+    private static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectProvider<ManagementService> managementService;
+    private volatile Index index = new Index();
+    private volatile Index rebuilding;
+
+    public MessageSubscriptionIndex(JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ObjectProvider<ManagementService> managementService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.managementService = managementService;
+    }
+
+    /**
+     * Open subscriptions to a message, oldest first, of the instance with the given ID or,
+     * if {@code processInstanceId} is null, with the given business key.
+     */
+    public List<Subscription> find(String messageName, String processInstanceId, String businessKey) {
+        List<Subscription> found = index.find(messageName, processInstanceId, businessKey);
+        if (!found.isEmpty()) {
+            return found;
+        }
+        List<Subscription> loaded = load(messageName, processInstanceId, businessKey);
+        loaded.forEach(this::add);
+        return loaded;
+    }
+
+    private void add(Subscription subscription) {
+        index.add(subscription);
+        Index next = rebuilding;
+        if (next != null) {
+            next.add(subscription);
+        }
+    }
+
+    public void addAfterCommit(Subscription subscription) {
+        afterCommit(() -> add(subscription));
+    }
+
+    public void removeAfterCommit(String subscriptionId) {
+        afterCommit(() -> remove(subscriptionId));
+    }
+
+    public void remove(String subscriptionId) {
+        index.remove(subscriptionId);
+        Index next = rebuilding;
+        if (next != null) {
+            next.remove(subscriptionId);
+        }
+    }
+
+    /**
+     * Whether a subscription still exists in the table, regardless of what the index holds.
+     */
+    public boolean isOpen(String subscriptionId) {
+        Integer count = jdbcTemplate.queryForObject("select count(*) from "
+                + managementService.getObject().getTableName(EventSubscriptionEntity.class) + " where ID_ = ?",
+                Integer.class, subscriptionId);
+        return count != null && count > 0;
+    }
+
+    public int size() {
+        return index.subscriptions.size();
+    }
+
+    /**
+     * Rebuilds the index from the subscription table in one streaming pass and swaps it in.
+     * Changes committed during the pass are applied to both the old and the new index.
+     */
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        Index rebuilt = new Index();
+        rebuilding = rebuilt;
+        String sql = selectSubscriptions() + " and s.EXECUTION_ID_ is not null";
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(sql);
+                statement.setFetchSize(FETCH_SIZE);
+                return statement;
+            }, rs -> {
+                rebuilt.add(SUBSCRIPTION.mapRow(rs, 0));
+            }));
+            index = rebuilt;
+        } finally {
+            rebuilding = null;
+        }
+        log.debug("Indexed {} open message subscriptions in {} ms",
+                rebuilt.subscriptions.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private List<Subscription> load(String messageName, String processInstanceId, String businessKey) {
+        if (processInstanceId == null && businessKey == null) {
+            return List.of();
+        }
+        String sql = selectSubscriptions() + " and s.EVENT_NAME_ = ? and s.EXECUTION_ID_ is not null and "
+                + (processInstanceId != null ? "s.PROC_INST_ID_ = ?" : "p.BUSINESS_KEY_ = ?")
+                + " order by s.CREATED_, s.ID_";
+        return jdbcTemplate.query(sql, SUBSCRIPTION, messageName,
+                processInstanceId != null ? processInstanceId : businessKey);
+    }
+
+    /**
+     * Table names are resolved on use: the engine listener holds this index, so it must not
+     * depend on engine services while the engine is being configured.
+     */
+    private String selectSubscriptions() {
+        ManagementService engine = managementService.getObject();
+        return "select s.ID_, s.EVENT_NAME_, s.EXECUTION_ID_, s.PROC_INST_ID_, s.CREATED_, p.BUSINESS_KEY_"
+                + " from " + engine.getTableName(EventSubscriptionEntity.class) + " s"
+                + " join " + engine.getTableName(ExecutionEntity.class) + " p on p.ID_ = s.PROC_INST_ID_"
+                + " where s.EVENT_TYPE_ = 'message'";
+    }
+
+    private static final RowMapper<Subscription> SUBSCRIPTION = (rs, rowNum) -> new Subscription(
+            rs.getString("ID_"),
+            rs.getString("EVENT_NAME_"),
+            rs.getString("EXECUTION_ID_"),
+            rs.getString("PROC_INST_ID_"),
+            rs.getString("BUSINESS_KEY_"),
+            rs.getTimestamp("CREATED_") != null ? rs.getTimestamp("CREATED_").getTime() : 0);
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * An open message subscription of an execution.
+     */
+    public record Subscription(String id, String messageName, String executionId, String processInstanceId,
+            String businessKey, long createdMillis) {
+    }
+
+    private record Key(String messageName, String value) {
+    }
+
+    private static final class Index {
+
+        private final Map<String, Subscription> subscriptions = new ConcurrentHashMap<>();
+        private final Map<Key, Set<String>> byInstance = new ConcurrentHashMap<>();
+        private final Map<Key, Set<String>> byBusinessKey = new ConcurrentHashMap<>();
+
+        void add(Subscription subscription) {
+            if (subscription.messageName() == null || subscription.executionId() == null) {
+                return;
+            }
+            subscriptions.put(subscription.id(), subscription);
+            link(byInstance, new Key(subscription.messageName(), subscription.processInstanceId()), subscription.id());
+            if (subscription.businessKey() != null) {
+                link(byBusinessKey, new Key(subscription.messageName(), subscription.businessKey()), subscription.id());
+            }
+        }
+
+        void remove(String subscriptionId) {
+            Subscription subscription = subscriptions.remove(subscriptionId);
+            if (subscription == null) {
+                return;
+            }
+            unlink(byInstance, new Key(subscription.messageName(), subscription.processInstanceId()), subscriptionId);
+            if (subscription.businessKey() != null) {
+                unlink(byBusinessKey, new Key(subscription.messageName(), subscription.businessKey()), subscriptionId);
+            }
+        }
+
+        List<Subscription> find(String messageName, String processInstanceId, String businessKey) {
+            Set<String> ids = processInstanceId != null
+                    ? byInstance.get(new Key(messageName, processInstanceId))
+                    : businessKey != null ? byBusinessKey.get(new Key(messageName, businessKey)) : null;
+            if (ids == null) {
+                return List.of();
+            }
+            return ids.stream()
+                    .map(subscriptions::get)
+                    .filter(Objects::nonNull)
+                    .sorted(Comparator.comparingLong(Subscription::createdMillis).thenComparing(Subscription::id))
+                    .toList();
+        }
+
+        private static void link(Map<Key, Set<String>> map, Key key, String subscriptionId) {
+            map.compute(key, (k, ids) -> {
+                Set<String> linked = ids != null ? ids : ConcurrentHashMap.<String>newKeySet();
+                linked.add(subscriptionId);
+                return linked;
+            });
+        }
+
+        private static void unlink(Map<Key, Set<String>> map, Key key, String subscriptionId) {
+            map.computeIfPresent(key, (k, ids) -> {
+                ids.remove(subscriptionId);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+}
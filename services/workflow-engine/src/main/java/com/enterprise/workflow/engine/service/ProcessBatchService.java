@@ -0,0 +1,36 @@
+package com.enterprise.workflow.engine.service;
+
+import com.enterprise.workflow.engine.dto.BatchJobResponse;
+import com.enterprise.workflow.engine.dto.ProcessInstanceBulkRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+
+/**
+ * Service interface for bulk process instance operations.
+ */
+public interface ProcessBatchService {
+
+    /**
+     * Start one process instance per NDJSON line of {@code requests}, committing
+     * them in chunks and writing one NDJSON result line per request to {@code results},
+     * in input order.
+     */
+    void startProcesses(InputStream requests, OutputStream results) throws IOException;
+
+    /**
+     * Deliver a signal to every execution currently waiting for it and start every process
+     * with a matching signal start event, as a background batch job; see {@link BatchJobService}.
+     */
+    BatchJobResponse broadcastSignal(String signalName, Map<String, Object> variables);
+
+    /**
+     * Suspend, activate or cancel every running process instance matching the query of
+     * {@code request}, as a background batch job.
+     *
+     * @throws IllegalArgumentException if the operation is unknown or the query is unbounded
+     */
+    BatchJobResponse updateProcesses(ProcessInstanceBulkRequest request);
+}
@@ -0,0 +1,180 @@
+package com.enterprise.workflow.engine.service;
+
+import com.enterprise.workflow.engine.config.DefinitionCacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.activiti.engine.RepositoryService;
+import org.activiti.engine.repository.ProcessDefinition;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Serves process definitions and their BPMN XML without a repository query per request.
+ *
+ * A definition version never changes once deployed, so versions and their XML are cached
+ * by definition ID and only leave the cache when their deployment is deleted, when they
+ * are evicted, or after {@code definition-ttl}. The key-to-latest-version mapping is the
+ * only thing a deployment changes; it is dropped by {@link #deploymentChanged()} and
+ * otherwise expires after {@code latest-version-ttl}. Each XML carries a strong ETag
+ * computed from its bytes, so clients can revalidate with {@code If-None-Match}.
+ *
+ * Invalidation is node-local: only deployments made through this node's API reach
+ * {@link #deploymentChanged()} and {@link #deploymentDeleted(String)}. A deployment made
+ * elsewhere is picked up once {@code latest-version-ttl} expires, and a deleted one is
+ * served until {@code definition-ttl} expires. Both TTLs count from the write, so they
+ * are hard upper bounds on that staleness.
+ */
+@Component
+@Slf4j
+public class ProcessDefinitionCache {
+
+    private final RepositoryService repositoryService;
+    private final Cache<String, String> latestIds;
+    private final Cache<String, CachedDefinition> definitions;
+    private final Cache<String, DefinitionXml> xml;
+
+    public ProcessDefinitionCache(RepositoryService repositoryService,
+            DefinitionCacheProperties properties,
+            MeterRegistry meterRegistry) {
+        this.repositoryService = repositoryService;
+        this.latestIds = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxDefinitions())
+                .expireAfterWrite(properties.getLatestVersionTtl())
+                .build();
+        this.definitions = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxDefinitions())
+                .expireAfterWrite(properties.getDefinitionTtl())
+                .recordStats()
+                .build();
+        this.xml = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxXmlSize().toBytes())
+                .weigher((String id, DefinitionXml value) -> value.bytes().length)
+                .expireAfterWrite(properties.getDefinitionTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, definitions, "process.definitions");
+        CaffeineCacheMetrics.monitor(meterRegistry, xml, "process.definition.xml");
+    }
+
+    public Optional<CachedDefinition> get(String processDefinitionId) {
+        return Optional.ofNullable(definitions.get(processDefinitionId, id -> {
+            ProcessDefinition definition = repositoryService.createProcessDefinitionQuery()
+                    .processDefinitionId(id)
+                    .singleResult();
+            return definition != null ? CachedDefinition.of(definition) : null;
+        }));
+    }
+
+    /**
+     * Returns the latest version deployed under a key; unknown keys are not cached.
+     */
+    public Optional<CachedDefinition> getLatest(String processDefinitionKey) {
+        String id = latestIds.get(processDefinitionKey, key -> {
+            ProcessDefinition definition = repositoryService.createProcessDefinitionQuery()
+                    .processDefinitionKey(key)
+                    .latestVersion()
+                    .singleResult();
+            if (definition == null) {
+                return null;
+            }
+            definitions.put(definition.getId(), CachedDefinition.of(definition));
+            return definition.getId();
+        });
+        return id != null ? get(id) : Optional.empty();
+    }
+
+    public Optional<DefinitionXml> getXml(String processDefinitionId) {
+        return get(processDefinitionId).map(definition -> xml.get(definition.id(), id -> load(definition)));
+    }
+
+    /**
+     * Loads the latest version of every process key, with its XML.
+     *
+     * @return Number of definitions loaded
+     */
+    public int warmUp(int limit) {
+        List<ProcessDefinition> latest = repositoryService.createProcessDefinitionQuery()
+                .latestVersion()
+                .listPage(0, limit);
+        for (ProcessDefinition definition : latest) {
+            CachedDefinition cached = CachedDefinition.of(definition);
+            definitions.put(cached.id(), cached);
+            latestIds.put(cached.key(), cached.id());
+            try {
+                xml.put(cached.id(), load(cached));
+            } catch (RuntimeException e) {
+                log.warn("Could not preload XML of process definition {}: {}", cached.id(), e.getMessage());
+            }
+        }
+        return latest.size();
+    }
+
+    /**
+     * A deployment was added: any key may now resolve to a newer version.
+     */
+    public void deploymentChanged() {
+        latestIds.invalidateAll();
+    }
+
+    /**
+     * A deployment was deleted: its versions are gone and keys may fall back to older ones.
+     */
+    public void deploymentDeleted(String deploymentId) {
+        latestIds.invalidateAll();
+        definitions.asMap().values().removeIf(definition -> {
+            if (deploymentId.equals(definition.deploymentId())) {
+                xml.invalidate(definition.id());
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private DefinitionXml load(CachedDefinition definition) {
+        try (InputStream resource = repositoryService.getResourceAsStream(
+                definition.deploymentId(), definition.resourceName())) {
+            byte[] bytes = resource.readAllBytes();
+            return new DefinitionXml(bytes, "\"" + HexFormat.of().formatHex(
+                    MessageDigest.getInstance("SHA-256").digest(bytes), 0, 16) + "\"");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read XML of process definition " + definition.id(), e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Immutable copy of a deployed definition version, detached from the engine entity.
+     */
+    public record CachedDefinition(String id, String key, String name, int version, String deploymentId,
+            String resourceName, String description, String category) {
+
+        public static CachedDefinition of(ProcessDefinition definition) {
+            return new CachedDefinition(definition.getId(), definition.getKey(), definition.getName(),
+                    definition.getVersion(), definition.getDeploymentId(), definition.getResourceName(),
+                    definition.getDescription(), definition.getCategory());
+        }
+    }
+
+    /**
+     * BPMN XML of a definition version with its strong ETag (quoted).
+     */
+    public record DefinitionXml(byte[] bytes, String etag) {
+
+        public String text() {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
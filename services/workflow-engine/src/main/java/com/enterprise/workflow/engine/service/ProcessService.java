@@ -2,10 +2,14 @@ package com.enterprise.workflow.engine.service;
 
 import com.enterprise.workflow.engine.dto.ProcessStartRequest;
 import com.enterprise.workflow.engine.dto.ProcessInstanceResponse;
+import com.enterprise.workflow.engine.dto.ProcessInstanceSlice;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Service interface for Process Instance management.
@@ -25,6 +29,21 @@ public interface ProcessService {
             String status, 
             Pageable pageable);
 
+    /**
+     * Get running process instances with keyset pagination, newest first.
+     * The cursor is the opaque {@code nextCursor} of the previous slice, or null for the first page.
+     */
+    ProcessInstanceSlice getProcessInstanceSlice(
+            String processDefinitionKey,
+            String status,
+            String cursor,
+            int size);
+
+    /**
+     * Count running process instances matching the filters, off the request thread.
+     */
+    CompletableFuture<Long> countProcessInstances(String processDefinitionKey, String status);
+
     /**
      * Get a process instance by ID.
      */
@@ -46,9 +65,14 @@ public interface ProcessService {
     ProcessInstanceResponse activateProcess(String processInstanceId);
 
     /**
-     * Get process variables.
+     * Get process variables, optionally only the named ones. Byte-array backed values larger
+     * than {@code maxInlineBytes} (null for the configured default) are returned as a
+     * {@link com.enterprise.workflow.engine.dto.VariableReference}.
+     *
+     * @return Empty if the process instance is not running
      */
-    Map<String, Object> getVariables(String processInstanceId);
+    Optional<Map<String, Object>> getVariables(String processInstanceId, Collection<String> names,
+            Integer maxInlineBytes);
 
     /**
      * Set process variables.
@@ -0,0 +1,247 @@
+package com.enterprise.workflow.engine.service;
+
+import com.enterprise.workflow.engine.config.VariableProperties;
+import com.enterprise.workflow.engine.dto.VariableReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.activiti.engine.ManagementService;
+import org.activiti.engine.RuntimeService;
+import org.activiti.engine.impl.persistence.entity.ByteArrayEntity;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.util.UriUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Reads process instance variables straight from the variable table.
+ *
+ * {@code RuntimeService.getVariables} materialises every variable of the instance,
+ * including the byte arrays behind documents, long strings and serialized objects. Here
+ * one query checks that the instance exists, selects only the requested names, decodes
+ * scalar columns directly and ships byte-array content only when it fits the inline limit.
+ * Larger values come back as a {@link VariableReference}: documents, long strings and large
+ * JSON to their content endpoint, which streams the stored bytes, anything else to the
+ * variable endpoint, which decodes it through the engine. Serialized Java objects are never
+ * streamed raw. Only variables whose type needs the engine to decode them
+ * (serialized Java objects, custom types) go through {@code RuntimeService}, in one batch.
+ */
+@Component
+@Slf4j
+public class ProcessVariableReader {
+
+    private static final String BASE_PATH = "/api/v1/process-instances/";
+    private static final Object UNDECODED = new Object();
+    /**
+     * Types whose stored bytes are the value itself and may be streamed by {@link #writeContent}.
+     */
+    private static final List<String> CONTENT_TYPES = List.of("bytes", "longString", "longJson");
+    private static final String CONTENT_TYPE_FILTER = CONTENT_TYPES.stream()
+            .collect(Collectors.joining("', '", " and v.TYPE_ in ('", "')"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final RuntimeService runtimeService;
+    private final ObjectMapper objectMapper;
+    private final VariableProperties properties;
+    private final String executionTable;
+    private final String variableTable;
+    private final String byteArrayTable;
+
+    public ProcessVariableReader(JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ManagementService managementService,
+            RuntimeService runtimeService,
+            ObjectMapper objectMapper,
+            VariableProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.runtimeService = runtimeService;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.executionTable = managementService.getTableName(ExecutionEntity.class);
+        this.variableTable = managementService.getTableName(VariableInstanceEntity.class);
+        this.byteArrayTable = managementService.getTableName(ByteArrayEntity.class);
+    }
+
+    /**
+     * Reads the variables of a process instance.
+     *
+     * @param names Variables to return; null or empty for all
+     * @param maxInlineBytes Inline limit for byte-array backed values; null for the configured default
+     * @return Empty if no such process instance is running
+     */
+    public Optional<Map<String, Object>> read(String processInstanceId, Collection<String> names,
+            Integer maxInlineBytes) {
+        long limit = inlineLimit(maxInlineBytes);
+        List<String> projection = names != null ? names.stream().distinct().toList() : List.of();
+
+        StringBuilder sql = new StringBuilder("select v.NAME_, v.TYPE_, v.TEXT_, v.LONG_, v.DOUBLE_, ")
+                .append("v.BYTEARRAY_ID_, octet_length(b.BYTES_) as SIZE_, ")
+                .append("case when octet_length(b.BYTES_) <= ? then b.BYTES_ end as INLINE_ ")
+                .append("from ").append(executionTable).append(" e ")
+                .append("left join ").append(variableTable).append(" v on v.EXECUTION_ID_ = e.ID_ ")
+                .append("and v.TASK_ID_ is null");
+        List<Object> args = new ArrayList<>();
+        args.add(limit);
+        if (!projection.isEmpty()) {
+            sql.append(" and v.NAME_ in (").append(String.join(",", Collections.nCopies(projection.size(), "?")))
+                    .append(")");
+            args.addAll(projection);
+        }
+        sql.append(" left join ").append(byteArrayTable).append(" b on b.ID_ = v.BYTEARRAY_ID_")
+                .append(" where e.ID_ = ? and e.PROC_INST_ID_ = e.ID_");
+        args.add(processInstanceId);
+
+        List<Row> rows = readOnlyTransaction.execute(status ->
+                jdbcTemplate.query(sql.toString(), (rs, rowNum) -> Row.of(rs), args.toArray()));
+        if (rows == null || rows.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Map<String, Object> variables = new LinkedHashMap<>();
+        List<String> engineDecoded = new ArrayList<>();
+        for (Row row : rows) {
+            if (row.name() == null) {
+                continue;
+            }
+            if (row.byteArrayId() != null && row.inline() == null) {
+                variables.put(row.name(), reference(processInstanceId, row));
+                continue;
+            }
+            Object value = decode(row);
+            if (value == UNDECODED) {
+                engineDecoded.add(row.name());
+            }
+            variables.put(row.name(), value == UNDECODED ? null : value);
+        }
+        if (!engineDecoded.isEmpty()) {
+            variables.putAll(runtimeService.getVariables(processInstanceId, engineDecoded));
+        }
+        return Optional.of(variables);
+    }
+
+    /**
+     * Type and size of a document, long string or large JSON variable, without reading its
+     * content; empty for any other type.
+     */
+    public Optional<StoredContent> describe(String processInstanceId, String name) {
+        List<StoredContent> found = readOnlyTransaction.execute(status -> jdbcTemplate.query(
+                "select v.TYPE_, octet_length(b.BYTES_) as SIZE_ from " + variableTable + " v"
+                        + " join " + byteArrayTable + " b on b.ID_ = v.BYTEARRAY_ID_"
+                        + " where v.EXECUTION_ID_ = ? and v.TASK_ID_ is null and v.NAME_ = ?"
+                        + CONTENT_TYPE_FILTER,
+                (rs, rowNum) -> new StoredContent(rs.getString("TYPE_"), rs.getLong("SIZE_")),
+                processInstanceId, name));
+        return found == null || found.isEmpty() ? Optional.empty() : Optional.of(found.get(0));
+    }
+
+    /**
+     * Copies the stored bytes of a variable to {@code output}; see {@link #describe}.
+     */
+    public void writeContent(String processInstanceId, String name, OutputStream output) {
+        readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(
+                "select b.BYTES_ from " + variableTable + " v"
+                        + " join " + byteArrayTable + " b on b.ID_ = v.BYTEARRAY_ID_"
+                        + " where v.EXECUTION_ID_ = ? and v.TASK_ID_ is null and v.NAME_ = ?"
+                        + CONTENT_TYPE_FILTER,
+                rs -> {
+                    try (InputStream content = rs.getBinaryStream("BYTES_")) {
+                        if (content != null) {
+                            content.transferTo(output);
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                },
+                processInstanceId, name));
+    }
+
+    private long inlineLimit(Integer requested) {
+        if (requested == null) {
+            return properties.getMaxInlineSize().toBytes();
+        }
+        if (requested < 0) {
+            throw new IllegalArgumentException("maxInlineBytes must not be negative");
+        }
+        return Math.min(requested, properties.getMaxRequestedInlineSize().toBytes());
+    }
+
+    /**
+     * Decodes the column layout of Activiti's built-in variable types; {@link #UNDECODED}
+     * when the engine has to do it.
+     */
+    private Object decode(Row row) {
+        try {
+            return switch (row.type()) {
+                case "null" -> null;
+                case "string", "uuid" -> row.text();
+                case "boolean" -> row.longValue() != null ? row.longValue() == 1 : null;
+                case "short" -> row.longValue() != null ? row.longValue().shortValue() : null;
+                case "integer" -> row.longValue() != null ? row.longValue().intValue() : null;
+                case "long" -> row.longValue();
+                case "double" -> row.doubleValue();
+                case "date" -> row.longValue() != null ? new Date(row.longValue()) : null;
+                case "json" -> row.text() != null ? objectMapper.readTree(row.text()) : null;
+                case "longString" -> new String(row.inline(), StandardCharsets.UTF_8);
+                case "longJson" -> objectMapper.readTree(row.inline());
+                case "bytes" -> row.inline();
+                default -> UNDECODED;
+            };
+        } catch (IOException | RuntimeException e) {
+            log.debug("Leaving variable {} of type {} to the engine: {}", row.name(), row.type(), e.getMessage());
+            return UNDECODED;
+        }
+    }
+
+    private VariableReference reference(String processInstanceId, Row row) {
+        String path = BASE_PATH + UriUtils.encodePathSegment(processInstanceId, StandardCharsets.UTF_8)
+                + "/variables/" + UriUtils.encodePathSegment(row.name(), StandardCharsets.UTF_8);
+        return VariableReference.builder()
+                .type(row.type())
+                .size(row.size() != null ? row.size() : 0)
+                .href(CONTENT_TYPES.contains(row.type()) ? path + "/content" : path)
+                .build();
+    }
+
+    private record Row(String name, String type, String text, Long longValue, Double doubleValue,
+            String byteArrayId, Long size, byte[] inline) {
+
+        static Row of(ResultSet rs) throws SQLException {
+            long longValue = rs.getLong("LONG_");
+            Long longOrNull = rs.wasNull() ? null : longValue;
+            double doubleValue = rs.getDouble("DOUBLE_");
+            Double doubleOrNull = rs.wasNull() ? null : doubleValue;
+            long size = rs.getLong("SIZE_");
+            Long sizeOrNull = rs.wasNull() ? null : size;
+            return new Row(rs.getString("NAME_"), rs.getString("TYPE_"), rs.getString("TEXT_"), longOrNull,
+                    doubleOrNull, rs.getString("BYTEARRAY_ID_"), sizeOrNull, rs.getBytes("INLINE_"));
+        }
+    }
+
+    /**
+     * Variable type and stored size of byte-array content.
+     */
+    public record StoredContent(String type, long size) {
+    }
+}
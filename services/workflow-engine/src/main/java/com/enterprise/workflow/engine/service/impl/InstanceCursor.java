@@ -0,0 +1,41 @@
+package com.enterprise.workflow.engine.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Keyset position of a process instance slice: the start time and ID of the last
+ * instance returned, encoded as an opaque URL-safe token.
+ */
+record InstanceCursor(long startTimeMillis, String id) {
+
+    static InstanceCursor of(Date startTime, String id) {
+        return new InstanceCursor(startTime != null ? startTime.getTime() : 0L, id);
+    }
+
+    String encode() {
+        String raw = startTimeMillis + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code cursor} was not produced by {@link #encode()}
+     */
+    static InstanceCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] position = raw.split(":", 2);
+            if (position.length != 2 || position[1].isEmpty()) {
+                throw new IllegalArgumentException("Malformed cursor position");
+            }
+            return new InstanceCursor(Long.parseLong(position[0]), position[1]);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    Date startTime() {
+        return new Date(startTimeMillis);
+    }
+}
@@ -0,0 +1,238 @@
+package com.enterprise.workflow.engine.service.impl;
+
+import com.enterprise.workflow.engine.config.MessageCorrelationProperties;
+import com.enterprise.workflow.engine.dto.MessageCorrelationRequest;
+import com.enterprise.workflow.engine.dto.MessageCorrelationResult;
+import com.enterprise.workflow.engine.service.MessageCorrelationService;
+import com.enterprise.workflow.engine.service.MessageSubscriptionIndex;
+import com.enterprise.workflow.engine.service.MessageSubscriptionIndex.Subscription;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.RuntimeService;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Implementation of MessageCorrelationService.
+ *
+ * The waiting execution is looked up in the {@link MessageSubscriptionIndex} rather than
+ * with an execution query per message, so correlating by business key costs no more than
+ * by instance ID. If the engine rejects an indexed subscription because it no longer
+ * exists, the entry is dropped and the next candidate, or the table, is tried.
+ *
+ * Message IDs of delivered messages are remembered for {@code workflow.messages.idempotency-window};
+ * a redelivery within the window, including one racing the original, is answered as DUPLICATE.
+ * Messages that found no subscription or failed are forgotten, so they can be retried.
+ * The window is kept per node.
+ */
+@Service
+@Slf4j
+public class MessageCorrelationServiceImpl implements MessageCorrelationService {
+
+    private static final String CORRELATED = "CORRELATED";
+    private static final String DUPLICATE = "DUPLICATE";
+    private static final String NO_SUBSCRIPTION = "NO_SUBSCRIPTION";
+    private static final String FAILED = "FAILED";
+    private static final int MAX_ATTEMPTS = 3;
+    private static final int LINES_PER_WORKER = 32;
+
+    /** Placeholder for a message ID whose delivery is in progress. */
+    private static final MessageCorrelationResult PENDING = new MessageCorrelationResult();
+
+    private final RuntimeService runtimeService;
+    private final MessageSubscriptionIndex subscriptionIndex;
+    private final ObjectMapper objectMapper;
+    private final MessageCorrelationProperties properties;
+    private final Cache<String, MessageCorrelationResult> delivered;
+
+    public MessageCorrelationServiceImpl(RuntimeService runtimeService,
+            MessageSubscriptionIndex subscriptionIndex,
+            ObjectMapper objectMapper,
+            MessageCorrelationProperties properties) {
+        this.runtimeService = runtimeService;
+        this.subscriptionIndex = subscriptionIndex;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.delivered = Caffeine.newBuilder()
+                .maximumSize(properties.getIdempotencyMaxEntries())
+                .expireAfterWrite(properties.getIdempotencyWindow())
+                .build();
+    }
+
+    @Override
+    public MessageCorrelationResult correlate(MessageCorrelationRequest request) {
+        String messageId = request.getMessageId();
+        if (request.getMessageName() == null || request.getMessageName().isBlank()) {
+            return failed(request, "Message name is required");
+        }
+        if (request.getProcessInstanceId() == null && request.getBusinessKey() == null) {
+            return failed(request, "Process instance ID or business key is required");
+        }
+
+        if (messageId != null) {
+            MessageCorrelationResult previous = delivered.asMap().putIfAbsent(messageId, PENDING);
+            if (previous != null) {
+                return MessageCorrelationResult.builder()
+                        .messageId(messageId)
+                        .status(DUPLICATE)
+                        .processInstanceId(previous.getProcessInstanceId())
+                        .executionId(previous.getExecutionId())
+                        .build();
+            }
+        }
+
+        MessageCorrelationResult result;
+        try {
+            result = deliver(request);
+        } catch (RuntimeException e) {
+            log.warn("Message {} could not be correlated: {}", request.getMessageName(), e.getMessage());
+            result = failed(request, e.getMessage());
+        }
+
+        if (messageId != null) {
+            if (CORRELATED.equals(result.getStatus())) {
+                delivered.put(messageId, result);
+            } else {
+                delivered.invalidate(messageId);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void correlateAll(InputStream requests, OutputStream results) throws IOException {
+        int parallelism = Math.max(1, properties.getBatchParallelism());
+        int chunkSize = parallelism * LINES_PER_WORKER;
+        BufferedReader reader = new BufferedReader(new InputStreamReader(requests, StandardCharsets.UTF_8));
+        List<IndexedRequest> chunk = new ArrayList<>(chunkSize);
+        long index = 0;
+        long correlated = 0;
+        String line;
+
+        try (ExecutorService workers = Executors.newFixedThreadPool(parallelism, Thread.ofVirtual()
+                .name("message-correlation-", 0).factory())) {
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                long position = index++;
+                try {
+                    chunk.add(new IndexedRequest(position,
+                            objectMapper.readValue(line, MessageCorrelationRequest.class), null));
+                } catch (JsonProcessingException e) {
+                    // Reported with the chunk, so results keep the input order
+                    chunk.add(new IndexedRequest(position, null, "Invalid request JSON: " + e.getOriginalMessage()));
+                }
+                if (chunk.size() >= chunkSize) {
+                    correlated += correlateChunk(chunk, workers, results);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                correlated += correlateChunk(chunk, workers, results);
+            }
+        }
+
+        log.info("Batch correlation finished: {} of {} messages correlated", correlated, index);
+    }
+
+    private long correlateChunk(List<IndexedRequest> chunk, ExecutorService workers, OutputStream results)
+            throws IOException {
+        List<Future<MessageCorrelationResult>> pending = new ArrayList<>(chunk.size());
+        for (IndexedRequest item : chunk) {
+            pending.add(item.error() != null ? null : workers.submit(() -> correlate(item.request())));
+        }
+
+        long correlated = 0;
+        for (int i = 0; i < chunk.size(); i++) {
+            MessageCorrelationResult result;
+            try {
+                result = pending.get(i) == null
+                        ? failed(null, chunk.get(i).error())
+                        : pending.get(i).get();
+            } catch (ExecutionException e) {
+                result = failed(chunk.get(i).request(), e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Batch correlation interrupted", e);
+            }
+            result.setIndex(chunk.get(i).index());
+            if (CORRELATED.equals(result.getStatus())) {
+                correlated++;
+            }
+            write(results, result);
+        }
+        results.flush();
+        return correlated;
+    }
+
+    private MessageCorrelationResult deliver(MessageCorrelationRequest request) {
+        String messageName = request.getMessageName();
+        List<Subscription> candidates = subscriptionIndex.find(
+                messageName, request.getProcessInstanceId(), request.getBusinessKey());
+
+        for (int attempt = 0; attempt < MAX_ATTEMPTS && !candidates.isEmpty(); attempt++) {
+            Subscription subscription = candidates.get(0);
+            try {
+                if (request.getVariables() != null) {
+                    runtimeService.messageEventReceived(messageName, subscription.executionId(), request.getVariables());
+                } else {
+                    runtimeService.messageEventReceived(messageName, subscription.executionId());
+                }
+                return MessageCorrelationResult.builder()
+                        .messageId(request.getMessageId())
+                        .status(CORRELATED)
+                        .processInstanceId(subscription.processInstanceId())
+                        .executionId(subscription.executionId())
+                        .build();
+            } catch (ActivitiException e) {
+                if (subscriptionIndex.isOpen(subscription.id())) {
+                    // The subscription exists, so the process itself failed
+                    throw e;
+                }
+                subscriptionIndex.remove(subscription.id());
+                candidates = subscriptionIndex.find(
+                        messageName, request.getProcessInstanceId(), request.getBusinessKey());
+            }
+        }
+
+        return MessageCorrelationResult.builder()
+                .messageId(request.getMessageId())
+                .status(NO_SUBSCRIPTION)
+                .processInstanceId(request.getProcessInstanceId())
+                .build();
+    }
+
+    private MessageCorrelationResult failed(MessageCorrelationRequest request, String error) {
+        return MessageCorrelationResult.builder()
+                .messageId(request != null ? request.getMessageId() : null)
+                .status(FAILED)
+                .processInstanceId(request != null ? request.getProcessInstanceId() : null)
+                .error(error)
+                .build();
+    }
+
+    private void write(OutputStream results, MessageCorrelationResult result) throws IOException {
+        results.write(objectMapper.writeValueAsBytes(result));
+        results.write('\n');
+    }
+
+    private record IndexedRequest(long index, MessageCorrelationRequest request, String error) {
+    }
+}
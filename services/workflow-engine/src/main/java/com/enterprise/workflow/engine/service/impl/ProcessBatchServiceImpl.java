@@ -0,0 +1,419 @@
+package com.enterprise.workflow.engine.service.impl;
+
+import com.enterprise.workflow.engine.config.BatchProperties;
+import com.enterprise.workflow.engine.dto.BatchJobResponse;
+import com.enterprise.workflow.engine.dto.ProcessBatchStartResult;
+import com.enterprise.workflow.engine.dto.ProcessInstanceBulkRequest;
+import com.enterprise.workflow.engine.dto.ProcessStartRequest;
+import com.enterprise.workflow.engine.service.BatchJobService;
+import com.enterprise.workflow.engine.service.BatchOperation;
+import com.enterprise.workflow.engine.service.ProcessBatchService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.ManagementService;
+import org.activiti.engine.RepositoryService;
+import org.activiti.engine.RuntimeService;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.persistence.entity.EventSubscriptionEntity;
+import org.activiti.engine.impl.persistence.entity.EventSubscriptionEntityManager;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.activiti.engine.impl.persistence.entity.SignalEventSubscriptionEntity;
+import org.activiti.engine.impl.util.ProcessDefinitionUtil;
+import org.activiti.engine.repository.ProcessDefinition;
+import org.activiti.engine.runtime.ProcessInstance;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of ProcessBatchService.
+ *
+ * Each chunk of starts runs inside a single engine command, so the engine
+ * flushes all new executions and variables of the chunk in one transaction
+ * using bulk INSERT statements. If a chunk fails, its requests are retried
+ * one by one so that a single bad request does not fail its neighbours.
+ *
+ * Signal broadcasts snapshot the signal's subscriptions with one streaming query and
+ * hand them to the {@link BatchJobService}, instead of signalling them all in the
+ * caller's transaction. Waiting executions are signalled and signal start events
+ * start their process, each chunk in one engine command. Bulk suspend, activate and cancel work the same way on the
+ * process instances matching a query.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProcessBatchServiceImpl implements ProcessBatchService {
+
+    private static final String STARTED = "STARTED";
+    private static final String FAILED = "FAILED";
+    private static final int FETCH_SIZE = 1000;
+    private static final int ACTIVE = 1;
+    private static final int SUSPENDED = 2;
+
+    private final RuntimeService runtimeService;
+    private final RepositoryService repositoryService;
+    private final ManagementService managementService;
+    private final ObjectMapper objectMapper;
+    private final BatchProperties batchProperties;
+    private final BatchJobService batchJobService;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    @Override
+    public void startProcesses(InputStream requests, OutputStream results) throws IOException {
+        int chunkSize = Math.max(1, batchProperties.getStartChunkSize());
+        BufferedReader reader = new BufferedReader(new InputStreamReader(requests, StandardCharsets.UTF_8));
+        List<IndexedRequest> chunk = new ArrayList<>(chunkSize);
+        long index = 0;
+        long started = 0;
+        String line;
+
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            long position = index++;
+            try {
+                chunk.add(new IndexedRequest(position, objectMapper.readValue(line, ProcessStartRequest.class), null));
+            } catch (JsonProcessingException e) {
+                // Reported with the chunk, so results keep the input order
+                chunk.add(new IndexedRequest(position, null, "Invalid request JSON: " + e.getOriginalMessage()));
+            }
+            if (chunk.size() >= chunkSize) {
+                started += startChunk(chunk, results);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            started += startChunk(chunk, results);
+        }
+
+        log.info("Batch start finished: {} of {} requests started", started, index);
+    }
+
+    @Override
+    public BatchJobResponse broadcastSignal(String signalName, Map<String, Object> variables) {
+        // Same subscriptions as RuntimeService.signalEventReceived(signalName): waiting executions
+        // that are not suspended, and signal start events (no execution) of tenant-less definitions
+        String receivers = " from " + managementService.getTableName(EventSubscriptionEntity.class) + " s"
+                + " left join " + managementService.getTableName(ExecutionEntity.class) + " e"
+                + " on e.ID_ = s.EXECUTION_ID_"
+                + " where s.EVENT_TYPE_ = 'signal' and s.EVENT_NAME_ = ?"
+                + " and (s.EXECUTION_ID_ is null or e.SUSPENSION_STATE_ = " + ACTIVE + ")"
+                + " and (s.TENANT_ID_ is null or s.TENANT_ID_ = '')";
+
+        List<String> subscriptionIds = snapshot("select s.ID_" + receivers, List.of(signalName));
+
+        BatchOperation signal = new BatchOperation() {
+            @Override
+            public String type() {
+                return "SIGNAL_BROADCAST";
+            }
+
+            @Override
+            public List<String> applicable(List<String> targets) {
+                return jdbcTemplate.queryForList("select s.ID_" + receivers + " and s.ID_ in ("
+                                + String.join(",", Collections.nCopies(targets.size(), "?")) + ")",
+                        String.class, signalArgs(signalName, targets));
+            }
+
+            @Override
+            public void apply(String subscriptionId) {
+                // Joins the chunk's command, so the instances started by a chunk are flushed together
+                managementService.executeCommand((Command<Void>) commandContext -> {
+                    EventSubscriptionEntityManager subscriptions = commandContext.getEventSubscriptionEntityManager();
+                    if (subscriptions.findById(subscriptionId) instanceof SignalEventSubscriptionEntity subscription
+                            && subscription.isGlobalScoped()) {
+                        if (subscription.getExecutionId() == null && ProcessDefinitionUtil
+                                .isProcessDefinitionSuspended(subscription.getProcessDefinitionId())) {
+                            throw new ActivitiException("Process definition "
+                                    + subscription.getProcessDefinitionId() + " is suspended");
+                        }
+                        subscriptions.eventReceived(subscription, variables, false);
+                    }
+                    return null;
+                });
+            }
+        };
+        return batchJobService.submit(signal, "Signal " + signalName, subscriptionIds);
+    }
+
+    @Override
+    public BatchJobResponse updateProcesses(ProcessInstanceBulkRequest request) {
+        String operation = request.getOperation().trim().toUpperCase();
+        Integer requiredState = switch (operation) {
+            case "SUSPEND" -> ACTIVE;
+            case "ACTIVATE" -> SUSPENDED;
+            case "CANCEL" -> null;
+            default -> throw new IllegalArgumentException("Unknown operation: " + request.getOperation()
+                    + " (expected SUSPEND, ACTIVATE or CANCEL)");
+        };
+        boolean byKey = request.getProcessDefinitionKey() != null && !request.getProcessDefinitionKey().isBlank();
+        boolean byBusinessKey = request.getBusinessKeyPrefix() != null && !request.getBusinessKeyPrefix().isBlank();
+        if (!byKey && !byBusinessKey) {
+            throw new IllegalArgumentException("A process definition key or business key prefix is required");
+        }
+        if (request.getProcessDefinitionVersion() != null && !byKey) {
+            throw new IllegalArgumentException("A process definition version requires the process definition key");
+        }
+
+        String executionTable = managementService.getTableName(ExecutionEntity.class);
+        StringBuilder sql = new StringBuilder("select e.ID_ from ").append(executionTable).append(" e");
+        List<Object> args = new ArrayList<>();
+        if (byKey) {
+            sql.append(" join ").append(managementService.getTableName(ProcessDefinitionEntity.class))
+                    .append(" d on d.ID_ = e.PROC_DEF_ID_");
+        }
+        sql.append(" where e.PROC_INST_ID_ = e.ID_");
+        if (requiredState != null) {
+            sql.append(" and e.SUSPENSION_STATE_ = ?");
+            args.add(requiredState);
+        }
+        if (byKey) {
+            sql.append(" and d.KEY_ = ?");
+            args.add(request.getProcessDefinitionKey());
+            if (request.getProcessDefinitionVersion() != null) {
+                sql.append(" and d.VERSION_ = ?");
+                args.add(request.getProcessDefinitionVersion());
+            }
+        }
+        if (byBusinessKey) {
+            sql.append(" and e.BUSINESS_KEY_ like ? escape '!'");
+            args.add(request.getBusinessKeyPrefix().replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%");
+        }
+        if (request.getStartedAfter() != null) {
+            sql.append(" and e.START_TIME_ >= ?");
+            args.add(Timestamp.valueOf(request.getStartedAfter()));
+        }
+        if (request.getStartedBefore() != null) {
+            sql.append(" and e.START_TIME_ < ?");
+            args.add(Timestamp.valueOf(request.getStartedBefore()));
+        }
+        List<String> processInstanceIds = snapshot(sql.toString(), args);
+
+        String reason = request.getReason() != null ? request.getReason() : "Cancelled by bulk operation";
+        BatchOperation update = new BatchOperation() {
+            @Override
+            public String type() {
+                return "PROCESS_" + operation;
+            }
+
+            @Override
+            public List<String> applicable(List<String> targets) {
+                List<Object> applicableArgs = new ArrayList<>(targets);
+                String stateFilter = "";
+                if (requiredState != null) {
+                    stateFilter = " and SUSPENSION_STATE_ = ?";
+                    applicableArgs.add(requiredState);
+                }
+                return jdbcTemplate.queryForList("select ID_ from " + executionTable + " where ID_ in ("
+                                + String.join(",", Collections.nCopies(targets.size(), "?")) + ")"
+                                + " and PROC_INST_ID_ = ID_" + stateFilter,
+                        String.class, applicableArgs.toArray());
+            }
+
+            @Override
+            public void apply(String processInstanceId) {
+                switch (operation) {
+                    case "SUSPEND" -> runtimeService.suspendProcessInstanceById(processInstanceId);
+                    case "ACTIVATE" -> runtimeService.activateProcessInstanceById(processInstanceId);
+                    default -> runtimeService.deleteProcessInstance(processInstanceId, reason);
+                }
+            }
+        };
+        return batchJobService.submit(update, describe(operation, request), processInstanceIds,
+                request.getParallelism(), request.getTargetsPerSecond());
+    }
+
+    /**
+     * Reads the IDs selected by {@code sql} in one streaming pass.
+     */
+    private List<String> snapshot(String sql, List<Object> args) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        List<String> ids = new ArrayList<>();
+        readOnly.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setFetchSize(FETCH_SIZE);
+            for (int i = 0; i < args.size(); i++) {
+                statement.setObject(i + 1, args.get(i));
+            }
+            return statement;
+        }, rs -> {
+            ids.add(rs.getString(1));
+        }));
+        return ids;
+    }
+
+    private static String describe(String operation, ProcessInstanceBulkRequest request) {
+        StringBuilder description = new StringBuilder(operation.charAt(0) + operation.substring(1).toLowerCase())
+                .append(" process instances");
+        if (request.getProcessDefinitionKey() != null && !request.getProcessDefinitionKey().isBlank()) {
+            description.append(" of ").append(request.getProcessDefinitionKey());
+            if (request.getProcessDefinitionVersion() != null) {
+                description.append(" v").append(request.getProcessDefinitionVersion());
+            }
+        }
+        if (request.getBusinessKeyPrefix() != null && !request.getBusinessKeyPrefix().isBlank()) {
+            description.append(" with business key ").append(request.getBusinessKeyPrefix()).append("*");
+        }
+        if (request.getStartedAfter() != null) {
+            description.append(" started from ").append(request.getStartedAfter());
+        }
+        if (request.getStartedBefore() != null) {
+            description.append(" started before ").append(request.getStartedBefore());
+        }
+        return description.toString();
+    }
+
+    private static Object[] signalArgs(String signalName, List<String> subscriptionIds) {
+        List<Object> args = new ArrayList<>(subscriptionIds.size() + 1);
+        args.add(signalName);
+        args.addAll(subscriptionIds);
+        return args.toArray();
+    }
+
+    private long startChunk(List<IndexedRequest> chunk, OutputStream results) throws IOException {
+        Map<String, String> definitionIds = resolveDefinitions(chunk);
+        List<IndexedRequest> startable = new ArrayList<>(chunk.size());
+        List<ProcessBatchStartResult> outcome = new ArrayList<>(chunk.size());
+
+        for (IndexedRequest item : chunk) {
+            if (item.error() != null) {
+                outcome.add(failed(item.index(), null, item.error()));
+                continue;
+            }
+            String key = item.request().getProcessDefinitionKey();
+            if (key == null || key.isBlank()) {
+                outcome.add(failed(item.index(), item.request(), "Process definition key is required"));
+            } else if (definitionIds.get(key) == null) {
+                outcome.add(failed(item.index(), item.request(), "No process definition found for key: " + key));
+            } else {
+                startable.add(item);
+            }
+        }
+
+        if (!startable.isEmpty()) {
+            try {
+                outcome.addAll(managementService.executeCommand(
+                        (Command<List<ProcessBatchStartResult>>) commandContext -> {
+                            List<ProcessBatchStartResult> started = new ArrayList<>(startable.size());
+                            for (IndexedRequest item : startable) {
+                                started.add(start(item, definitionIds));
+                            }
+                            return started;
+                        }));
+            } catch (Exception e) {
+                log.warn("Chunk of {} process starts failed, retrying individually: {}",
+                        startable.size(), e.getMessage());
+                for (IndexedRequest item : startable) {
+                    outcome.add(startIsolated(item, definitionIds));
+                }
+            }
+        }
+
+        outcome.sort(Comparator.comparingLong(ProcessBatchStartResult::getIndex));
+        long started = 0;
+        for (ProcessBatchStartResult result : outcome) {
+            if (STARTED.equals(result.getStatus())) {
+                started++;
+            }
+            write(results, result);
+        }
+        results.flush();
+        return started;
+    }
+
+    private ProcessBatchStartResult startIsolated(IndexedRequest item, Map<String, String> definitionIds) {
+        try {
+            return managementService.executeCommand(
+                    (Command<ProcessBatchStartResult>) commandContext -> start(item, definitionIds));
+        } catch (Exception e) {
+            return failed(item.index(), item.request(), e.getMessage());
+        }
+    }
+
+    private ProcessBatchStartResult start(IndexedRequest item, Map<String, String> definitionIds) {
+        ProcessStartRequest request = item.request();
+        var builder = runtimeService.createProcessInstanceBuilder()
+                .processDefinitionId(definitionIds.get(request.getProcessDefinitionKey()));
+        if (request.getBusinessKey() != null) {
+            builder.businessKey(request.getBusinessKey());
+        }
+        if (request.getName() != null) {
+            builder.name(request.getName());
+        }
+        if (request.getVariables() != null) {
+            builder.variables(request.getVariables());
+        }
+
+        ProcessInstance instance = builder.start();
+        return ProcessBatchStartResult.builder()
+                .index(item.index())
+                .status(STARTED)
+                .processInstanceId(instance.getId())
+                .processDefinitionKey(request.getProcessDefinitionKey())
+                .businessKey(request.getBusinessKey())
+                .build();
+    }
+
+    /**
+     * Resolves each distinct key in the chunk to its latest definition once,
+     * instead of once per started instance.
+     */
+    private Map<String, String> resolveDefinitions(List<IndexedRequest> chunk) {
+        Map<String, String> definitionIds = new HashMap<>();
+        for (IndexedRequest item : chunk) {
+            String key = item.request() != null ? item.request().getProcessDefinitionKey() : null;
+            if (key != null && !key.isBlank() && !definitionIds.containsKey(key)) {
+                ProcessDefinition definition = repositoryService.createProcessDefinitionQuery()
+                        .processDefinitionKey(key)
+                        .latestVersion()
+                        .singleResult();
+                definitionIds.put(key, definition != null ? definition.getId() : null);
+            }
+        }
+        return definitionIds;
+    }
+
+    private ProcessBatchStartResult failed(long index, ProcessStartRequest request, String error) {
+        return ProcessBatchStartResult.builder()
+                .index(index)
+                .status(FAILED)
+                .processDefinitionKey(request != null ? request.getProcessDefinitionKey() : null)
+                .businessKey(request != null ? request.getBusinessKey() : null)
+                .error(error)
+                .build();
+    }
+
+    private void write(OutputStream results, ProcessBatchStartResult result) throws IOException {
+        results.write(objectMapper.writeValueAsBytes(result));
+        results.write('\n');
+    }
+
+    /**
+     * One input line; {@code error} is set instead of {@code request} when the line is not valid JSON.
+     */
+    private record IndexedRequest(long index, ProcessStartRequest request, String error) {
+    }
+}
@@ -2,21 +2,38 @@ package com.enterprise.workflow.engine.service.impl;
 
 import com.enterprise.workflow.engine.dto.ProcessStartRequest;
 import com.enterprise.workflow.engine.dto.ProcessInstanceResponse;
+import com.enterprise.workflow.engine.dto.ProcessInstanceSlice;
+import com.enterprise.workflow.engine.dto.MessageCorrelationRequest;
+import com.enterprise.workflow.engine.dto.MessageCorrelationResult;
+import com.enterprise.workflow.engine.service.MessageCorrelationService;
 import com.enterprise.workflow.engine.service.ProcessService;
+import com.enterprise.workflow.engine.service.ProcessVariableReader;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.activiti.api.process.model.ProcessInstance;
 import org.activiti.api.process.model.builders.ProcessPayloadBuilder;
 import org.activiti.api.process.runtime.ProcessRuntime;
 import org.activiti.api.runtime.shared.query.Pageable;
+import org.activiti.engine.ManagementService;
+import org.activiti.engine.RepositoryService;
 import org.activiti.engine.RuntimeService;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.activiti.engine.runtime.NativeProcessInstanceQuery;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 /**
@@ -28,8 +45,16 @@ import java.util.stream.Collectors;
 @Transactional
 public class ProcessServiceImpl implements ProcessService {
 
+    private static final int MAX_SLICE_SIZE = 500;
+    private static final int ACTIVE = 1;
+    private static final int SUSPENDED = 2;
+
     private final ProcessRuntime processRuntime;
     private final RuntimeService runtimeService;
+    private final RepositoryService repositoryService;
+    private final ManagementService managementService;
+    private final ProcessVariableReader variableReader;
+    private final MessageCorrelationService messageCorrelationService;
 
     @Override
     public ProcessInstanceResponse startProcess(ProcessStartRequest request) {
@@ -59,18 +84,92 @@ public class ProcessServiceImpl implements ProcessService {
             String status, 
             org.springframework.data.domain.Pageable pageable) {
         
+        var payload = ProcessPayloadBuilder.processInstances();
+        if (processDefinitionKey != null) {
+            payload.withProcessDefinitionKey(processDefinitionKey);
+        }
+        if (status != null) {
+            if (suspensionState(status) == SUSPENDED) {
+                payload.suspended();
+            } else {
+                payload.active();
+            }
+        }
+
         var page = processRuntime.processInstances(
-                Pageable.of(pageable.getPageNumber(), pageable.getPageSize()));
+                Pageable.of((int) pageable.getOffset(), pageable.getPageSize()), payload.build());
         
         List<ProcessInstanceResponse> responses = page.getContent().stream()
-                .filter(pi -> processDefinitionKey == null || 
-                        pi.getProcessDefinitionKey().equals(processDefinitionKey))
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
         
         return new PageImpl<>(responses, pageable, page.getTotalItems());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public ProcessInstanceSlice getProcessInstanceSlice(
+            String processDefinitionKey,
+            String status,
+            String cursor,
+            int size) {
+
+        int limit = Math.max(1, Math.min(size, MAX_SLICE_SIZE));
+        InstanceCriteria criteria = instanceCriteria(processDefinitionKey, status);
+        if (criteria == null) {
+            return ProcessInstanceSlice.builder().content(List.of()).size(0).build();
+        }
+
+        if (cursor != null && !cursor.isBlank()) {
+            InstanceCursor position = InstanceCursor.decode(cursor);
+            String startTime = criteria.param(position.startTime());
+            String id = criteria.param(position.id());
+            criteria.where("(RES.START_TIME_ < #{" + startTime + "} or (RES.START_TIME_ = #{" + startTime
+                    + "} and RES.ID_ < #{" + id + "}))");
+        }
+
+        String definitionTable = managementService.getTableName(ProcessDefinitionEntity.class);
+        List<org.activiti.engine.runtime.ProcessInstance> rows = criteria.bind(
+                runtimeService.createNativeProcessInstanceQuery().sql(
+                        "select RES.*, P.KEY_ as ProcessDefinitionKey, P.ID_ as ProcessDefinitionId,"
+                                + " P.NAME_ as ProcessDefinitionName, P.VERSION_ as ProcessDefinitionVersion,"
+                                + " P.DEPLOYMENT_ID_ as DeploymentId"
+                                + " from " + criteria.executionTable + " RES"
+                                + " inner join " + definitionTable + " P on RES.PROC_DEF_ID_ = P.ID_"
+                                + criteria.whereClause()
+                                + " order by RES.START_TIME_ desc, RES.ID_ desc"))
+                .listPage(0, limit + 1);
+
+        boolean hasMore = rows.size() > limit;
+        List<org.activiti.engine.runtime.ProcessInstance> content = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            var last = content.get(content.size() - 1);
+            nextCursor = InstanceCursor.of(last.getStartTime(), last.getId()).encode();
+        }
+
+        return ProcessInstanceSlice.builder()
+                .content(content.stream().map(this::mapToResponse).collect(Collectors.toList()))
+                .size(content.size())
+                .hasMore(hasMore)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    @Override
+    @Async
+    @Transactional(readOnly = true)
+    public CompletableFuture<Long> countProcessInstances(String processDefinitionKey, String status) {
+        InstanceCriteria criteria = instanceCriteria(processDefinitionKey, status);
+        if (criteria == null) {
+            return CompletableFuture.completedFuture(0L);
+        }
+        long count = criteria.bind(runtimeService.createNativeProcessInstanceQuery().sql(
+                        "select count(RES.ID_) from " + criteria.executionTable + " RES" + criteria.whereClause()))
+                .count();
+        return CompletableFuture.completedFuture(count);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public ProcessInstanceResponse getProcessInstance(String processInstanceId) {
@@ -109,8 +208,9 @@ public class ProcessServiceImpl implements ProcessService {
 
     @Override
     @Transactional(readOnly = true)
-    public Map<String, Object> getVariables(String processInstanceId) {
-        return runtimeService.getVariables(processInstanceId);
+    public Optional<Map<String, Object>> getVariables(String processInstanceId, Collection<String> names,
+            Integer maxInlineBytes) {
+        return variableReader.read(processInstanceId, names, maxInlineBytes);
     }
 
     @Override
@@ -129,19 +229,105 @@ public class ProcessServiceImpl implements ProcessService {
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void sendMessage(String processInstanceId, String messageName, Map<String, Object> variables) {
         log.debug("Sending message {} to process {}", messageName, processInstanceId);
-        var execution = runtimeService.createExecutionQuery()
+        MessageCorrelationResult result = messageCorrelationService.correlate(MessageCorrelationRequest.builder()
+                .messageName(messageName)
                 .processInstanceId(processInstanceId)
-                .messageEventSubscriptionName(messageName)
-                .singleResult();
-        
-        if (execution != null) {
-            if (variables != null) {
-                runtimeService.messageEventReceived(messageName, execution.getId(), variables);
-            } else {
-                runtimeService.messageEventReceived(messageName, execution.getId());
+                .variables(variables)
+                .build());
+        if ("FAILED".equals(result.getStatus())) {
+            throw new RuntimeException("Message " + messageName + " could not be delivered to process "
+                    + processInstanceId + ": " + result.getError());
+        }
+    }
+
+    /**
+     * Builds the SQL filters shared by the slice and count queries.
+     * Returns null when the definition key matches no deployed definition.
+     */
+    private InstanceCriteria instanceCriteria(String processDefinitionKey, String status) {
+        InstanceCriteria criteria = new InstanceCriteria(managementService.getTableName(ExecutionEntity.class));
+        criteria.where("RES.PARENT_ID_ is null");
+
+        if (processDefinitionKey != null) {
+            // Resolve to definition IDs so the filter hits the PROC_DEF_ID_ index instead of joining
+            List<String> definitionIds = repositoryService.createProcessDefinitionQuery()
+                    .processDefinitionKey(processDefinitionKey)
+                    .list().stream()
+                    .map(org.activiti.engine.repository.ProcessDefinition::getId)
+                    .collect(Collectors.toList());
+            if (definitionIds.isEmpty()) {
+                return null;
             }
+            criteria.where("RES.PROC_DEF_ID_ in (" + definitionIds.stream()
+                    .map(id -> "#{" + criteria.param(id) + "}")
+                    .collect(Collectors.joining(", ")) + ")");
+        }
+        if (status != null) {
+            criteria.where("RES.SUSPENSION_STATE_ = #{" + criteria.param(suspensionState(status)) + "}");
+        }
+        return criteria;
+    }
+
+    private int suspensionState(String status) {
+        return switch (status.toUpperCase()) {
+            case "RUNNING", "ACTIVE" -> ACTIVE;
+            case "SUSPENDED" -> SUSPENDED;
+            default -> throw new IllegalArgumentException("Unsupported process instance status: " + status);
+        };
+    }
+
+    private ProcessInstanceResponse mapToResponse(org.activiti.engine.runtime.ProcessInstance instance) {
+        return ProcessInstanceResponse.builder()
+                .id(instance.getId())
+                .processDefinitionId(instance.getProcessDefinitionId())
+                .processDefinitionKey(instance.getProcessDefinitionKey())
+                .processDefinitionName(instance.getProcessDefinitionName())
+                .processDefinitionVersion(instance.getProcessDefinitionVersion())
+                .businessKey(instance.getBusinessKey())
+                .name(instance.getName())
+                .status(instance.isSuspended() ? "SUSPENDED" : "RUNNING")
+                .startUserId(instance.getStartUserId())
+                .tenantId(instance.getTenantId())
+                .startTime(instance.getStartTime() != null ?
+                        instance.getStartTime().toInstant()
+                                .atZone(java.time.ZoneId.systemDefault())
+                                .toLocalDateTime() : null)
+                .build();
+    }
+
+    /**
+     * Native SQL WHERE clause with its named parameters.
+     */
+    private static class InstanceCriteria {
+
+        private final String executionTable;
+        private final List<String> conditions = new ArrayList<>();
+        private final Map<String, Object> parameters = new LinkedHashMap<>();
+
+        InstanceCriteria(String executionTable) {
+            this.executionTable = executionTable;
+        }
+
+        void where(String condition) {
+            conditions.add(condition);
+        }
+
+        String param(Object value) {
+            String name = "p" + parameters.size();
+            parameters.put(name, value);
+            return name;
+        }
+
+        String whereClause() {
+            return conditions.isEmpty() ? "" : " where " + String.join(" and ", conditions);
+        }
+
+        NativeProcessInstanceQuery bind(NativeProcessInstanceQuery query) {
+            parameters.forEach(query::parameter);
+            return query;
         }
     }
 
@@ -0,0 +1,42 @@
+package com.enterprise.workflow.engine.controller;
+
+import com.enterprise.workflow.engine.service.ProcessService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProcessControllerTest {
+
+    private ProcessService processService;
+    private ProcessController controller;
+
+    @BeforeEach
+    void setUp() {
+        processService = mock(ProcessService.class);
+        controller = new ProcessController(processService);
+    }
+
+    @Test
+    void testUnknownStatusIsBadRequest() {
+        when(processService.getProcessInstances(null, "foo", PageRequest.of(0, 20)))
+                .thenThrow(new IllegalArgumentException("Unsupported process instance status: foo"));
+
+        assertEquals(HttpStatus.BAD_REQUEST,
+                controller.getProcessInstances(null, "foo", PageRequest.of(0, 20)).getStatusCode());
+    }
+
+    @Test
+    void testKnownStatusIsListed() {
+        when(processService.getProcessInstances("order", "suspended", PageRequest.of(0, 20)))
+                .thenReturn(Page.empty());
+
+        assertEquals(HttpStatus.OK,
+                controller.getProcessInstances("order", "suspended", PageRequest.of(0, 20)).getStatusCode());
+    }
+}
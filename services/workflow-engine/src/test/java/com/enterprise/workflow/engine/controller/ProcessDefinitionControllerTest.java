@@ -1,13 +1,27 @@
 package com.enterprise.workflow.engine.controller;
 
+import com.enterprise.workflow.engine.service.ProcessDefinitionCache;
+import com.enterprise.workflow.engine.service.ProcessDefinitionCache.DefinitionXml;
+import org.activiti.engine.RepositoryService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -18,22 +32,11 @@ class ProcessDefinitionControllerTest {
     private MockMvc mockMvc;
 
     @Autowired
-    private org.activiti.engine.RepositoryService repositoryService;
+    private RepositoryService repositoryService;
 
     @Test
     void testGetDefinitionXml_ContentNegotiation() throws Exception {
-        // Ensure deployed
-        if (repositoryService.createProcessDefinitionQuery().processDefinitionKey("InvoiceProcess_1").count() == 0) {
-            repositoryService.createDeployment()
-                    .addClasspathResource("processes/invoice-process.bpmn20.xml")
-                    .deploy();
-        }
-
-        String id = repositoryService.createProcessDefinitionQuery()
-                .processDefinitionKey("InvoiceProcess_1")
-                .latestVersion()
-                .singleResult()
-                .getId();
+        String id = deployedInvoiceProcess();
 
         // 1. Request with Accept: application/json (Simulate Frontend default)
         // Expecting 406 because controller produces application/xml
@@ -46,4 +49,67 @@ class ProcessDefinitionControllerTest {
                 .accept(MediaType.APPLICATION_XML))
                 .andExpect(status().isOk());
     }
+
+    @Test
+    void testGetDefinitionXml_RevalidatesWithEtag() throws Exception {
+        String id = deployedInvoiceProcess();
+        String etag = mockMvc.perform(get("/api/v1/process-definitions/" + id + "/xml")
+                        .accept(MediaType.APPLICATION_XML))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/v1/process-definitions/" + id + "/xml")
+                        .accept(MediaType.APPLICATION_XML)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+        mockMvc.perform(get("/api/v1/process-definitions/" + id + "/xml")
+                        .accept(MediaType.APPLICATION_XML)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"stale\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testGetDefinitionXml_IfNoneMatchIsParsedAsTagList() {
+        ProcessDefinitionCache cache = mock(ProcessDefinitionCache.class);
+        when(cache.getXml("order:1:10")).thenReturn(Optional.of(
+                new DefinitionXml("<definitions/>".getBytes(StandardCharsets.UTF_8), "\"abc\"")));
+        ProcessDefinitionController controller = new ProcessDefinitionController(mock(RepositoryService.class), cache);
+
+        for (String matching : new String[] {"\"abc\"", "W/\"abc\"", "\"x\", \"abc\"", "\"x\",W/\"abc\"", "*", " * "}) {
+            ResponseEntity<String> response = controller.getDefinitionXml("order:1:10", matching);
+            assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode(), matching);
+            assertEquals("\"abc\"", response.getHeaders().getETag(), matching);
+            assertNull(response.getBody(), matching);
+        }
+        for (String other : new String[] {null, "", "\"ab\"", "\"abcd\"", "W/\"x\", \"abc-gzip\"", "\"\"abc\"\""}) {
+            ResponseEntity<String> response = controller.getDefinitionXml("order:1:10", other);
+            assertEquals(HttpStatus.OK, response.getStatusCode(), other);
+            assertEquals("<definitions/>", response.getBody(), other);
+        }
+    }
+
+    @Test
+    void testGetDefinitionXml_UnknownDefinitionIsNotFound() {
+        ProcessDefinitionCache cache = mock(ProcessDefinitionCache.class);
+        when(cache.getXml("missing")).thenReturn(Optional.empty());
+        ProcessDefinitionController controller = new ProcessDefinitionController(mock(RepositoryService.class), cache);
+
+        assertEquals(HttpStatus.NOT_FOUND, controller.getDefinitionXml("missing", "*").getStatusCode());
+    }
+
+    private String deployedInvoiceProcess() {
+        // Ensure deployed
+        if (repositoryService.createProcessDefinitionQuery().processDefinitionKey("InvoiceProcess_1").count() == 0) {
+            repositoryService.createDeployment()
+                    .addClasspathResource("processes/invoice-process.bpmn20.xml")
+                    .deploy();
+        }
+
+        return repositoryService.createProcessDefinitionQuery()
+                .processDefinitionKey("InvoiceProcess_1")
+                .latestVersion()
+                .singleResult()
+                .getId();
+    }
 }
@@ -0,0 +1,91 @@
+package com.enterprise.workflow.engine.controller;
+
+import com.enterprise.workflow.engine.config.BatchProperties;
+import com.enterprise.workflow.engine.service.ProcessBatchService;
+import com.enterprise.workflow.engine.service.ProcessService;
+import com.enterprise.workflow.engine.service.ProcessVariableReader;
+import org.activiti.engine.RuntimeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProcessInstanceControllerTest {
+
+    private ProcessService processService;
+    private ProcessVariableReader variableReader;
+    private ProcessInstanceController controller;
+
+    @BeforeEach
+    void setUp() {
+        processService = mock(ProcessService.class);
+        variableReader = mock(ProcessVariableReader.class);
+        controller = new ProcessInstanceController(mock(RuntimeService.class), processService,
+                mock(ProcessBatchService.class), variableReader, new BatchProperties());
+    }
+
+    @Test
+    void testCountAnswersCount() {
+        when(processService.countProcessInstances("order", "active")).thenReturn(CompletableFuture.completedFuture(7L));
+
+        ResponseEntity<Map<String, Long>> response = controller.countInstances("order", "active").join();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(Map.of("count", 7L), response.getBody());
+    }
+
+    @Test
+    void testCountWithUnknownStatusIsBadRequest() {
+        when(processService.countProcessInstances(null, "foo")).thenReturn(CompletableFuture.supplyAsync(() -> {
+            throw new IllegalArgumentException("Unsupported process instance status: foo");
+        }));
+
+        assertEquals(HttpStatus.BAD_REQUEST, controller.countInstances(null, "foo").join().getStatusCode());
+    }
+
+    @Test
+    void testCountFailuresOtherThanBadInputPropagate() {
+        when(processService.countProcessInstances(null, null))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("database down")));
+
+        CompletionException error = assertThrows(CompletionException.class,
+                () -> controller.countInstances(null, null).join());
+        assertEquals("database down", error.getCause().getMessage());
+    }
+
+    @Test
+    void testVariablesOfMissingInstanceAreNotFound() {
+        when(processService.getVariables("pi-unknown", null, null)).thenReturn(Optional.empty());
+        when(processService.getVariables("pi-1", null, -1)).thenThrow(new IllegalArgumentException("negative"));
+
+        assertEquals(HttpStatus.NOT_FOUND, controller.getVariables("pi-unknown", null, null).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, controller.getVariables("pi-1", null, -1).getStatusCode());
+    }
+
+    @Test
+    void testContentOfOtherVariableTypesIsNotFound() {
+        // describe() only finds documents, long strings and large JSON
+        when(variableReader.describe("pi-1", "order")).thenReturn(Optional.empty());
+        when(variableReader.describe("pi-1", "note"))
+                .thenReturn(Optional.of(new ProcessVariableReader.StoredContent("longString", 9)));
+
+        assertEquals(HttpStatus.NOT_FOUND, controller.getVariableContent("pi-1", "order").getStatusCode());
+        ResponseEntity<StreamingResponseBody> note = controller.getVariableContent("pi-1", "note");
+        assertEquals(HttpStatus.OK, note.getStatusCode());
+        assertEquals(9, note.getHeaders().getContentLength());
+        assertEquals(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8), note.getHeaders().getContentType());
+    }
+}
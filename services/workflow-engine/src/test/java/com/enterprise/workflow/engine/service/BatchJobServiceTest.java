@@ -0,0 +1,273 @@
+package com.enterprise.workflow.engine.service;
+
+import com.enterprise.workflow.engine.config.BatchProperties;
+import com.enterprise.workflow.engine.dto.BatchJobResponse;
+import org.activiti.engine.ManagementService;
+import org.activiti.engine.impl.interceptor.Command;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BatchJobServiceTest {
+
+    private static final Set<String> FINISHED = Set.of("COMPLETED", "COMPLETED_WITH_ERRORS", "CANCELLED", "FAILED");
+
+    private ManagementService managementService;
+    private BatchProperties properties;
+    private BatchJobService service;
+
+    @BeforeEach
+    void setUp() {
+        managementService = mock(ManagementService.class);
+        // Commands run in place; rollback of a failed chunk is the engine's concern, not the job's
+        when(managementService.executeCommand(any())).thenAnswer(invocation ->
+                invocation.getArgument(0, Command.class).execute(null));
+        properties = new BatchProperties();
+        properties.getJobs().setChunkSize(2);
+        properties.getJobs().setChunkRetries(1);
+        properties.getJobs().setRetryBackoff(Duration.ofMillis(1));
+        service = new BatchJobService(managementService, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void testAppliesEveryTargetOneCommandPerChunk() throws Exception {
+        RecordingOperation operation = new RecordingOperation();
+
+        BatchJobResponse job = await(service.submit(operation, "all", List.of("a", "b", "c", "d", "e")));
+
+        assertEquals("COMPLETED", job.getStatus());
+        assertEquals(5, job.getSucceeded());
+        assertEquals(5, job.getProcessed());
+        assertEquals(3, job.getTotalChunks());
+        assertEquals(3, job.getCompletedChunks());
+        assertEquals(List.of("a", "b", "c", "d", "e"), operation.sortedApplied());
+        verify(managementService, times(3)).executeCommand(any());
+    }
+
+    @Test
+    void testTargetsNoLongerApplicableAreSkipped() throws Exception {
+        RecordingOperation operation = new RecordingOperation();
+        operation.gone.add("b");
+
+        BatchJobResponse job = await(service.submit(operation, "some gone", List.of("a", "b", "c")));
+
+        assertEquals("COMPLETED", job.getStatus());
+        assertEquals(2, job.getSucceeded());
+        assertEquals(1, job.getSkipped());
+        assertEquals(List.of("a", "c"), operation.sortedApplied());
+    }
+
+    @Test
+    void testFailingChunkIsRetriedThenAppliedOneByOne() throws Exception {
+        RecordingOperation operation = new RecordingOperation();
+        operation.failing.add("bad");
+
+        BatchJobResponse job = await(service.submit(operation, "one bad", List.of("bad", "good")));
+
+        assertEquals("COMPLETED_WITH_ERRORS", job.getStatus());
+        assertEquals(1, job.getSucceeded());
+        assertEquals(1, job.getFailed());
+        assertEquals(1, job.getRetries());
+        assertEquals(1, job.getFailures().size());
+        assertEquals("bad", job.getFailures().get(0).getTarget());
+        assertEquals("bad failed", job.getFailures().get(0).getError());
+        assertTrue(operation.applied.contains("good"));
+    }
+
+    @Test
+    void testTransientChunkFailureIsRetriedAsAChunk() throws Exception {
+        RecordingOperation operation = new RecordingOperation() {
+            private final AtomicBoolean conflicted = new AtomicBoolean();
+
+            @Override
+            public void apply(String target) {
+                // An optimistic locking conflict on the first attempt only
+                if (conflicted.compareAndSet(false, true)) {
+                    throw new IllegalStateException("conflict");
+                }
+                super.apply(target);
+            }
+        };
+
+        BatchJobResponse job = await(service.submit(operation, "conflict", List.of("a", "b")));
+
+        assertEquals("COMPLETED", job.getStatus());
+        assertEquals(2, job.getSucceeded());
+        assertEquals(1, job.getRetries());
+        assertTrue(job.getFailures().isEmpty());
+        verify(managementService, times(2)).executeCommand(any());
+    }
+
+    @Test
+    void testProgressIsQueryableWhileRunning() throws Exception {
+        properties.getJobs().setChunkSize(1);
+        CountDownLatch secondRunning = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingOperation operation = new RecordingOperation() {
+            @Override
+            public void apply(String target) {
+                if (target.equals("b")) {
+                    secondRunning.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                super.apply(target);
+            }
+        };
+
+        BatchJobResponse submitted = service.submit(operation, "progress", List.of("a", "b"), 1, null);
+        assertTrue(secondRunning.await(5, TimeUnit.SECONDS));
+        BatchJobResponse running = service.getJob(submitted.getId()).orElseThrow();
+        release.countDown();
+
+        assertEquals("RUNNING", running.getStatus());
+        assertEquals(2, running.getTotalChunks());
+        assertEquals(1, running.getCompletedChunks());
+        assertEquals(1, running.getProcessed());
+        assertTrue(running.getStartedAt() != null && running.getCompletedAt() == null);
+        assertEquals("COMPLETED", await(submitted).getStatus());
+    }
+
+    @Test
+    void testFailureOfTargetThatMovedOnCountsAsSkipped() throws Exception {
+        RecordingOperation operation = new RecordingOperation() {
+            @Override
+            public void apply(String target) {
+                // Another transaction finished the target after the chunk was checked
+                gone.add(target);
+                throw new IllegalStateException(target + " moved on");
+            }
+        };
+
+        BatchJobResponse job = await(service.submit(operation, "moved on", List.of("a")));
+
+        assertEquals("COMPLETED", job.getStatus());
+        assertEquals(1, job.getSkipped());
+        assertEquals(0, job.getFailed());
+    }
+
+    @Test
+    void testCancelStopsBeforeNextChunk() throws Exception {
+        properties.getJobs().setChunkSize(1);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingOperation operation = new RecordingOperation() {
+            @Override
+            public void apply(String target) {
+                running.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.apply(target);
+            }
+        };
+
+        BatchJobResponse submitted = service.submit(operation, "cancelled", List.of("a", "b", "c"), 1, null);
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        assertEquals("CANCELLING", service.cancel(submitted.getId()).orElseThrow().getStatus());
+        release.countDown();
+        BatchJobResponse job = await(submitted);
+
+        assertEquals("CANCELLED", job.getStatus());
+        assertEquals(1, job.getSucceeded());
+        assertEquals(List.of("a"), operation.sortedApplied());
+    }
+
+    @Test
+    void testParallelismAndThrottleDefaultsAndLimits() {
+        properties.getJobs().setMaxConcurrentChunks(4);
+        properties.getJobs().setTargetsPerSecond(100);
+        RecordingOperation operation = new RecordingOperation();
+
+        assertEquals(4, service.submit(operation, "capped", List.of(), 10, null).getParallelism());
+        assertEquals(100, service.submit(operation, "default throttle", List.of()).getTargetsPerSecond());
+        assertEquals(0, service.submit(operation, "unthrottled", List.of(), null, 0).getTargetsPerSecond());
+        assertThrows(IllegalArgumentException.class, () -> service.submit(operation, "x", List.of(), 0, null));
+        assertThrows(IllegalArgumentException.class, () -> service.submit(operation, "x", List.of(), null, -1));
+    }
+
+    @Test
+    void testJobsAreListedNewestFirst() throws Exception {
+        RecordingOperation operation = new RecordingOperation();
+        BatchJobResponse first = await(service.submit(operation, "first", List.of("a")));
+        Thread.sleep(5);
+        BatchJobResponse second = await(service.submit(operation, "second", List.of("b")));
+
+        assertEquals(List.of(second.getId(), first.getId()),
+                service.listJobs().stream().map(BatchJobResponse::getId).toList());
+        assertTrue(service.getJob("unknown").isEmpty());
+        assertTrue(service.cancel("unknown").isEmpty());
+    }
+
+    private BatchJobResponse await(BatchJobResponse submitted) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            BatchJobResponse job = service.getJob(submitted.getId()).orElseThrow();
+            if (FINISHED.contains(job.getStatus()) && job.getCompletedAt() != null) {
+                return job;
+            }
+            Thread.sleep(5);
+        }
+        throw new AssertionError("Job " + submitted.getId() + " did not finish");
+    }
+
+    private static class RecordingOperation implements BatchOperation {
+
+        final List<String> applied = Collections.synchronizedList(new ArrayList<>());
+        final Set<String> gone = Collections.synchronizedSet(new HashSet<>());
+        final Set<String> failing = Collections.synchronizedSet(new HashSet<>());
+
+        @Override
+        public String type() {
+            return "TEST";
+        }
+
+        @Override
+        public List<String> applicable(List<String> targets) {
+            return targets.stream().filter(target -> !gone.contains(target)).toList();
+        }
+
+        @Override
+        public void apply(String target) {
+            if (failing.contains(target)) {
+                throw new IllegalStateException(target + " failed");
+            }
+            applied.add(target);
+        }
+
+        List<String> sortedApplied() {
+            synchronized (applied) {
+                return applied.stream().sorted().toList();
+            }
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.enterprise.workflow.engine.service;
+
+import com.enterprise.workflow.engine.service.MessageSubscriptionIndex.Subscription;
+import org.activiti.engine.ManagementService;
+import org.activiti.engine.impl.persistence.entity.EventSubscriptionEntity;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MessageSubscriptionIndexTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private MessageSubscriptionIndex index;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        ManagementService managementService = mock(ManagementService.class);
+        when(managementService.getTableName(EventSubscriptionEntity.class)).thenReturn("ACT_RU_EVENT_SUBSCR");
+        when(managementService.getTableName(ExecutionEntity.class)).thenReturn("ACT_RU_EXECUTION");
+        ObjectProvider<ManagementService> provider = mock(ObjectProvider.class);
+        when(provider.getObject()).thenReturn(managementService);
+        index = new MessageSubscriptionIndex(jdbcTemplate, mock(PlatformTransactionManager.class), provider);
+    }
+
+    @Test
+    void testFindsByInstanceAndBusinessKeyOldestFirst() {
+        index.addAfterCommit(subscription("s2", "order", "pi-1", "bk-1", 200));
+        index.addAfterCommit(subscription("s1", "order", "pi-1", "bk-1", 100));
+        index.addAfterCommit(subscription("s3", "payment", "pi-1", "bk-1", 50));
+
+        assertEquals(List.of("s1", "s2"), ids(index.find("order", "pi-1", null)));
+        assertEquals(List.of("s1", "s2"), ids(index.find("order", null, "bk-1")));
+        assertEquals(List.of("s3"), ids(index.find("payment", "pi-1", "ignored")));
+        assertEquals(3, index.size());
+        verifyNoTableQueries();
+    }
+
+    @Test
+    void testSubscriptionsWithoutExecutionAreNotIndexed() {
+        index.addAfterCommit(new Subscription("start", "order", null, null, null, 0));
+
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void testRemoveUnlinksBothKeys() {
+        index.addAfterCommit(subscription("s1", "order", "pi-1", "bk-1", 100));
+        index.addAfterCommit(subscription("s2", "order", "pi-1", "bk-1", 200));
+
+        index.remove("s1");
+
+        assertEquals(List.of("s2"), ids(index.find("order", "pi-1", null)));
+        assertEquals(List.of("s2"), ids(index.find("order", null, "bk-1")));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void testChangesApplyOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.addAfterCommit(subscription("s1", "order", "pi-1", null, 100));
+            assertEquals(0, index.size());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertEquals(1, index.size());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testMissIsLoadedFromTableAndRemembered() {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq("order"), eq("pi-1")))
+                .thenReturn(List.of(subscription("s1", "order", "pi-1", "bk-1", 100)));
+
+        assertEquals(List.of("s1"), ids(index.find("order", "pi-1", null)));
+        assertEquals(List.of("s1"), ids(index.find("order", "pi-1", null)));
+        assertEquals(List.of("s1"), ids(index.find("order", null, "bk-1")));
+        verify(jdbcTemplate, times(1)).query(anyString(), any(RowMapper.class), eq("order"), eq("pi-1"));
+    }
+
+    @Test
+    void testFindWithoutInstanceOrBusinessKeyDoesNotQuery() {
+        assertTrue(index.find("order", null, null).isEmpty());
+
+        verifyNoTableQueries();
+    }
+
+    @Test
+    void testRebuildReplacesIndexAndKeepsChangesMadeDuringScan() throws Exception {
+        index.addAfterCommit(subscription("stale", "order", "pi-9", null, 1));
+        ResultSet row = mock(ResultSet.class);
+        when(row.getString("ID_")).thenReturn("s1");
+        when(row.getString("EVENT_NAME_")).thenReturn("order");
+        when(row.getString("EXECUTION_ID_")).thenReturn("exec-s1");
+        when(row.getString("PROC_INST_ID_")).thenReturn("pi-1");
+        when(row.getString("BUSINESS_KEY_")).thenReturn("bk-1");
+        when(row.getTimestamp("CREATED_")).thenReturn(new Timestamp(100));
+        doAnswer(invocation -> {
+            invocation.getArgument(1, RowCallbackHandler.class).processRow(row);
+            // Committed by another transaction while the table is being read
+            index.addAfterCommit(subscription("s2", "order", "pi-2", null, 200));
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        index.rebuild();
+
+        assertEquals(2, index.size());
+        assertEquals(List.of("s1"), ids(index.find("order", null, "bk-1")));
+        assertEquals(List.of("s2"), ids(index.find("order", "pi-2", null)));
+        assertTrue(index.find("order", "pi-9", null).isEmpty());
+    }
+
+    private void verifyNoTableQueries() {
+        verify(jdbcTemplate, never()).query(anyString(), any(RowMapper.class), any(Object[].class));
+    }
+
+    private static Subscription subscription(String id, String messageName, String processInstanceId,
+            String businessKey, long createdMillis) {
+        return new Subscription(id, messageName, "exec-" + id, processInstanceId, businessKey, createdMillis);
+    }
+
+    private static List<String> ids(List<Subscription> subscriptions) {
+        return subscriptions.stream().map(Subscription::id).toList();
+    }
+}
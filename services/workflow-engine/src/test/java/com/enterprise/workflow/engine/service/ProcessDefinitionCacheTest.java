@@ -0,0 +1,176 @@
+package com.enterprise.workflow.engine.service;
+
+import com.enterprise.workflow.engine.config.DefinitionCacheProperties;
+import com.enterprise.workflow.engine.service.ProcessDefinitionCache.DefinitionXml;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.activiti.engine.RepositoryService;
+import org.activiti.engine.repository.ProcessDefinition;
+import org.activiti.engine.repository.ProcessDefinitionQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProcessDefinitionCacheTest {
+
+    private static final String XML = "<definitions id=\"order\"/>";
+
+    private RepositoryService repositoryService;
+    private final AtomicInteger lookups = new AtomicInteger();
+    private final Map<String, ProcessDefinition> byId = new HashMap<>();
+    private final Map<String, ProcessDefinition> latestByKey = new HashMap<>();
+    private ProcessDefinitionCache cache;
+
+    @BeforeEach
+    void setUp() {
+        repositoryService = mock(RepositoryService.class);
+        when(repositoryService.createProcessDefinitionQuery()).thenAnswer(invocation -> {
+            // A fresh query per call, resolving whichever criterion was set
+            ProcessDefinitionQuery fresh = mock(ProcessDefinitionQuery.class);
+            String[] criterion = new String[2];
+            when(fresh.processDefinitionId(anyString())).thenAnswer(set -> {
+                criterion[0] = set.getArgument(0);
+                return fresh;
+            });
+            when(fresh.processDefinitionKey(anyString())).thenAnswer(set -> {
+                criterion[1] = set.getArgument(0);
+                return fresh;
+            });
+            when(fresh.latestVersion()).thenReturn(fresh);
+            when(fresh.singleResult()).thenAnswer(result -> {
+                lookups.incrementAndGet();
+                return criterion[0] != null ? byId.get(criterion[0]) : latestByKey.get(criterion[1]);
+            });
+            when(fresh.listPage(anyInt(), anyInt())).thenAnswer(result -> List.copyOf(latestByKey.values()));
+            return fresh;
+        });
+        when(repositoryService.getResourceAsStream(anyString(), anyString())).thenAnswer(invocation ->
+                new ByteArrayInputStream(XML.getBytes(StandardCharsets.UTF_8)));
+        cache = newCache();
+    }
+
+    @Test
+    void testXmlIsReadOnceAndCarriesQuotedEtag() {
+        deploy("order:1:10", "order", 1, "dep-1");
+
+        DefinitionXml first = cache.getXml("order:1:10").orElseThrow();
+        DefinitionXml second = cache.getXml("order:1:10").orElseThrow();
+
+        assertEquals(XML, second.text());
+        assertEquals(first.etag(), second.etag());
+        assertTrue(first.etag().matches("\"[0-9a-f]{32}\""), first.etag());
+        verify(repositoryService, times(1)).getResourceAsStream("dep-1", "order.bpmn20.xml");
+        assertEquals(1, lookups.get());
+    }
+
+    @Test
+    void testEtagIsStableAcrossReloadsAndNodes() {
+        deploy("order:1:10", "order", 1, "dep-1");
+        String etag = cache.getXml("order:1:10").orElseThrow().etag();
+
+        cache.deploymentDeleted("dep-1");
+        String reloaded = cache.getXml("order:1:10").orElseThrow().etag();
+        String otherNode = newCache().getXml("order:1:10").orElseThrow().etag();
+
+        assertEquals(etag, reloaded);
+        assertEquals(etag, otherNode);
+        verify(repositoryService, times(3)).getResourceAsStream("dep-1", "order.bpmn20.xml");
+    }
+
+    @Test
+    void testEtagDiffersForDifferentXml() {
+        deploy("order:1:10", "order", 1, "dep-1");
+        deploy("order:2:20", "order", 2, "dep-2");
+        when(repositoryService.getResourceAsStream("dep-2", "order.bpmn20.xml")).thenAnswer(invocation ->
+                new ByteArrayInputStream("<definitions id=\"order\" version=\"2\"/>".getBytes(StandardCharsets.UTF_8)));
+
+        assertNotEquals(cache.getXml("order:1:10").orElseThrow().etag(),
+                cache.getXml("order:2:20").orElseThrow().etag());
+    }
+
+    @Test
+    void testDeploymentChangedResolvesLatestVersionAgain() {
+        deploy("order:1:10", "order", 1, "dep-1");
+        assertEquals(1, cache.getLatest("order").orElseThrow().version());
+
+        deploy("order:2:20", "order", 2, "dep-2");
+        assertEquals(1, cache.getLatest("order").orElseThrow().version());
+
+        cache.deploymentChanged();
+        assertEquals(2, cache.getLatest("order").orElseThrow().version());
+        // The older version stays cached by ID
+        assertEquals(1, cache.get("order:1:10").orElseThrow().version());
+    }
+
+    @Test
+    void testDeploymentDeletedDropsOnlyItsVersions() {
+        deploy("order:1:10", "order", 1, "dep-1");
+        deploy("invoice:1:11", "invoice", 1, "dep-2");
+        cache.getXml("order:1:10");
+        cache.getXml("invoice:1:11");
+        cache.getLatest("order");
+
+        byId.remove("order:1:10");
+        latestByKey.remove("order");
+        cache.deploymentDeleted("dep-1");
+
+        assertTrue(cache.get("order:1:10").isEmpty());
+        assertTrue(cache.getXml("order:1:10").isEmpty());
+        assertTrue(cache.getLatest("order").isEmpty());
+        assertEquals(XML, cache.getXml("invoice:1:11").orElseThrow().text());
+        verify(repositoryService, times(1)).getResourceAsStream("dep-2", "order.bpmn20.xml");
+    }
+
+    @Test
+    void testUnknownDefinitionIsNotCached() {
+        assertTrue(cache.get("missing:1:1").isEmpty());
+
+        deploy("missing:1:1", "missing", 1, "dep-1");
+        assertTrue(cache.get("missing:1:1").isPresent());
+    }
+
+    @Test
+    void testWarmUpLoadsLatestVersionsWithXml() {
+        deploy("order:1:10", "order", 1, "dep-1");
+        deploy("invoice:1:11", "invoice", 1, "dep-2");
+
+        assertEquals(2, cache.warmUp(100));
+        cache.getLatest("order");
+        cache.getXml("invoice:1:11");
+
+        assertEquals(0, lookups.get());
+        verify(repositoryService, times(1)).getResourceAsStream("dep-2", "order.bpmn20.xml");
+    }
+
+    private ProcessDefinitionCache newCache() {
+        return new ProcessDefinitionCache(repositoryService, new DefinitionCacheProperties(),
+                new SimpleMeterRegistry());
+    }
+
+    private void deploy(String id, String key, int version, String deploymentId) {
+        ProcessDefinition definition = mock(ProcessDefinition.class);
+        when(definition.getId()).thenReturn(id);
+        when(definition.getKey()).thenReturn(key);
+        when(definition.getVersion()).thenReturn(version);
+        when(definition.getDeploymentId()).thenReturn(deploymentId);
+        // Same resource name in every deployment, so only the deployment ID tells them apart
+        when(definition.getResourceName()).thenReturn("order.bpmn20.xml");
+        byId.put(id, definition);
+        latestByKey.put(key, definition);
+    }
+}
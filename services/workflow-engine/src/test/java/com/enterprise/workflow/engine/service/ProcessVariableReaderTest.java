@@ -0,0 +1,294 @@
+package com.enterprise.workflow.engine.service;
+
+import com.enterprise.workflow.engine.config.VariableProperties;
+import com.enterprise.workflow.engine.dto.VariableReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.activiti.engine.ManagementService;
+import org.activiti.engine.RuntimeService;
+import org.activiti.engine.impl.persistence.entity.ByteArrayEntity;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProcessVariableReaderTest {
+
+    private static final String INSTANCE = "pi-1";
+
+    private JdbcTemplate jdbcTemplate;
+    private RuntimeService runtimeService;
+    private VariableProperties properties;
+    private ProcessVariableReader reader;
+    private final List<String> statements = new ArrayList<>();
+    /**
+     * Variable rows of {@link #INSTANCE}, as the variable table join would return them.
+     */
+    private final List<Map<String, Object>> variables = new ArrayList<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        runtimeService = mock(RuntimeService.class);
+        ManagementService managementService = mock(ManagementService.class);
+        when(managementService.getTableName(ExecutionEntity.class)).thenReturn("ACT_RU_EXECUTION");
+        when(managementService.getTableName(VariableInstanceEntity.class)).thenReturn("ACT_RU_VARIABLE");
+        when(managementService.getTableName(ByteArrayEntity.class)).thenReturn("ACT_GE_BYTEARRAY");
+        properties = new VariableProperties();
+        properties.setMaxInlineSize(DataSize.ofBytes(8));
+        properties.setMaxRequestedInlineSize(DataSize.ofBytes(64));
+        reader = new ProcessVariableReader(jdbcTemplate, mock(PlatformTransactionManager.class), managementService,
+                runtimeService, new ObjectMapper(), properties);
+
+        // Arguments are: inline limit, projected names..., process instance ID
+        doAnswer(invocation -> {
+            String sql = invocation.getArgument(0);
+            statements.add(sql);
+            Object[] args = Arrays.copyOfRange(invocation.getArguments(), 2, invocation.getArguments().length);
+            if (!INSTANCE.equals(args[args.length - 1])) {
+                return List.of();
+            }
+            long limit = (Long) args[0];
+            Set<Object> names = Set.of(Arrays.copyOfRange(args, 1, args.length - 1));
+            RowMapper<Object> mapper = invocation.getArgument(1);
+            List<Object> rows = new ArrayList<>();
+            for (Map<String, Object> variable : variables) {
+                if (names.isEmpty() || names.contains(variable.get("NAME_"))) {
+                    rows.add(mapper.mapRow(resultSet(variable, limit), rows.size()));
+                }
+            }
+            if (rows.isEmpty()) {
+                // The instance exists: the left join yields one row without a variable
+                rows.add(mapper.mapRow(resultSet(Map.of(), limit), 0));
+            }
+            return rows;
+        }).when(jdbcTemplate).query(anyString(), any(RowMapper.class), any(Object[].class));
+    }
+
+    @Test
+    void testDecodesBuiltInTypesFromColumns() {
+        long now = System.currentTimeMillis();
+        variables.add(scalar("nothing", "null", null, null, null));
+        variables.add(scalar("customer", "string", "ACME", null, null));
+        variables.add(scalar("ref", "uuid", "0f8c", null, null));
+        variables.add(scalar("approved", "boolean", null, 1L, null));
+        variables.add(scalar("rejected", "boolean", null, 0L, null));
+        variables.add(scalar("items", "short", null, 3L, null));
+        variables.add(scalar("count", "integer", null, 42L, null));
+        variables.add(scalar("total", "long", null, 10_000_000_000L, null));
+        variables.add(scalar("rate", "double", null, null, 0.25));
+        variables.add(scalar("due", "date", null, now, null));
+        variables.add(scalar("missingDate", "date", null, null, null));
+        variables.add(scalar("meta", "json", "{\"a\":1}", null, null));
+        variables.add(stored("note", "longString", "hello"));
+        variables.add(stored("doc", "longJson", "[1,2]"));
+        variables.add(stored("blob", "bytes", "raw"));
+
+        Map<String, Object> values = reader.read(INSTANCE, null, null).orElseThrow();
+
+        assertNull(values.get("nothing"));
+        assertTrue(values.containsKey("nothing"));
+        assertEquals("ACME", values.get("customer"));
+        assertEquals("0f8c", values.get("ref"));
+        assertEquals(true, values.get("approved"));
+        assertEquals(false, values.get("rejected"));
+        assertEquals((short) 3, values.get("items"));
+        assertEquals(42, values.get("count"));
+        assertEquals(10_000_000_000L, values.get("total"));
+        assertEquals(0.25, values.get("rate"));
+        assertEquals(new Date(now), values.get("due"));
+        assertNull(values.get("missingDate"));
+        assertEquals(1, ((JsonNode) values.get("meta")).get("a").asInt());
+        assertEquals("hello", values.get("note"));
+        assertEquals(2, ((JsonNode) values.get("doc")).size());
+        assertArrayEquals(bytes("raw"), (byte[]) values.get("blob"));
+        verify(runtimeService, never()).getVariables(anyString(), anyCollection());
+    }
+
+    @Test
+    void testEngineDecodesSerializedAndCustomTypesInOneCall() {
+        variables.add(scalar("customer", "string", "ACME", null, null));
+        variables.add(stored("order", "serializable", "obj"));
+        variables.add(scalar("custom", "myType", "x", null, null));
+        variables.add(scalar("badJson", "json", "{", null, null));
+        when(runtimeService.getVariables(INSTANCE, List.of("order", "custom", "badJson")))
+                .thenReturn(Map.of("order", "Order#1", "custom", "decoded", "badJson", "{"));
+
+        Map<String, Object> values = reader.read(INSTANCE, null, null).orElseThrow();
+
+        assertEquals(List.of("customer", "order", "custom", "badJson"), List.copyOf(values.keySet()));
+        assertEquals("Order#1", values.get("order"));
+        assertEquals("decoded", values.get("custom"));
+        assertEquals("{", values.get("badJson"));
+        verify(runtimeService).getVariables(INSTANCE, List.of("order", "custom", "badJson"));
+    }
+
+    @Test
+    void testValuesOverInlineLimitComeBackAsReferences() {
+        variables.add(stored("short", "longString", "12345678"));
+        variables.add(stored("long", "longString", "123456789"));
+        variables.add(stored("document", "bytes", "0123456789"));
+        variables.add(stored("payload", "longJson", "[1,2,3,4,5]"));
+        variables.add(stored("order", "serializable", "0123456789"));
+        variables.add(stored("my var", "customBytes", "0123456789"));
+
+        Map<String, Object> values = reader.read(INSTANCE, null, null).orElseThrow();
+
+        assertEquals("12345678", values.get("short"));
+        assertReference(values.get("long"), "longString", 9, "/api/v1/process-instances/pi-1/variables/long/content");
+        assertReference(values.get("document"), "bytes", 10,
+                "/api/v1/process-instances/pi-1/variables/document/content");
+        assertReference(values.get("payload"), "longJson", 11,
+                "/api/v1/process-instances/pi-1/variables/payload/content");
+        // Only raw content types are streamed; the rest is decoded by the engine on the variable endpoint
+        assertReference(values.get("order"), "serializable", 10, "/api/v1/process-instances/pi-1/variables/order");
+        assertReference(values.get("my var"), "customBytes", 10,
+                "/api/v1/process-instances/pi-1/variables/my%20var");
+        verify(runtimeService, never()).getVariables(anyString(), anyCollection());
+    }
+
+    @Test
+    void testRequestedInlineLimitIsCappedAndValidated() {
+        variables.add(stored("long", "longString", "123456789"));
+
+        assertEquals("123456789", reader.read(INSTANCE, null, 16).orElseThrow().get("long"));
+        assertInstanceOf(VariableReference.class, reader.read(INSTANCE, null, 4).orElseThrow().get("long"));
+        variables.add(stored("huge", "longString", "x".repeat(65)));
+        assertInstanceOf(VariableReference.class, reader.read(INSTANCE, null, 1_000_000).orElseThrow().get("huge"));
+
+        assertThrows(IllegalArgumentException.class, () -> reader.read(INSTANCE, null, -1));
+    }
+
+    @Test
+    void testNamesProjectTheQuery() {
+        variables.add(scalar("a", "string", "1", null, null));
+        variables.add(scalar("b", "string", "2", null, null));
+        variables.add(scalar("c", "string", "3", null, null));
+
+        Map<String, Object> values = reader.read(INSTANCE, List.of("c", "a", "c", "unknown"), null).orElseThrow();
+
+        assertEquals(Map.of("a", "1", "c", "3"), values);
+        assertTrue(statements.get(0).contains("v.NAME_ in (?,?,?)"));
+        verify(jdbcTemplate).query(anyString(), any(RowMapper.class), eq(8L), eq("c"), eq("a"), eq("unknown"),
+                eq(INSTANCE));
+    }
+
+    @Test
+    void testRunningInstanceWithoutMatchingVariablesIsEmpty() {
+        variables.add(scalar("a", "string", "1", null, null));
+
+        assertEquals(Map.of(), reader.read(INSTANCE, List.of("missing"), null).orElseThrow());
+    }
+
+    @Test
+    void testMissingInstanceIsEmpty() {
+        assertFalse(reader.read("pi-unknown", null, null).isPresent());
+        assertFalse(reader.read("pi-unknown", List.of("a"), null).isPresent());
+    }
+
+    @Test
+    void testContentQueriesOnlyMatchRawContentTypes() {
+        assertTrue(reader.describe(INSTANCE, "order").isEmpty());
+        reader.writeContent(INSTANCE, "order", new ByteArrayOutputStream());
+
+        ArgumentCaptor<String> content = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate).query(content.capture(), any(RowCallbackHandler.class), eq(INSTANCE), eq("order"));
+        // Serialized Java objects and custom types are never streamed raw
+        String filter = " and v.TYPE_ in ('bytes', 'longString', 'longJson')";
+        assertTrue(statements.get(0).startsWith("select v.TYPE_") && statements.get(0).endsWith(filter));
+        assertTrue(content.getValue().startsWith("select b.BYTES_") && content.getValue().endsWith(filter));
+    }
+
+    private static void assertReference(Object value, String type, long size, String href) {
+        VariableReference reference = assertInstanceOf(VariableReference.class, value);
+        assertEquals(type, reference.getType());
+        assertEquals(size, reference.getSize());
+        assertEquals(href, reference.getHref());
+        assertTrue(reference.isLazy());
+    }
+
+    private static Map<String, Object> scalar(String name, String type, String text, Long longValue,
+            Double doubleValue) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("NAME_", name);
+        row.put("TYPE_", type);
+        row.put("TEXT_", text);
+        row.put("LONG_", longValue);
+        row.put("DOUBLE_", doubleValue);
+        return row;
+    }
+
+    private static Map<String, Object> stored(String name, String type, String content) {
+        Map<String, Object> row = scalar(name, type, null, null, null);
+        row.put("BYTEARRAY_ID_", "ba-" + name);
+        row.put("BYTES", bytes(content));
+        return row;
+    }
+
+    /**
+     * A row as the reader's query returns it, with the inline column cut at {@code limit}.
+     */
+    private static ResultSet resultSet(Map<String, Object> row, long limit) throws Exception {
+        byte[] content = (byte[]) row.get("BYTES");
+        Map<String, Object> columns = new HashMap<>(row);
+        columns.put("SIZE_", content != null ? (long) content.length : null);
+        columns.put("INLINE_", content != null && content.length <= limit ? content : null);
+
+        ResultSet rs = mock(ResultSet.class);
+        AtomicBoolean wasNull = new AtomicBoolean();
+        when(rs.getString(anyString())).thenAnswer(invocation -> (String) columns.get(invocation.getArgument(0)));
+        when(rs.getBytes(anyString())).thenAnswer(invocation -> (byte[]) columns.get(invocation.getArgument(0)));
+        when(rs.getLong(anyString())).thenAnswer(invocation -> {
+            Object value = columns.get(invocation.<String>getArgument(0));
+            wasNull.set(value == null);
+            return value != null ? (Long) value : 0L;
+        });
+        when(rs.getDouble(anyString())).thenAnswer(invocation -> {
+            Object value = columns.get(invocation.<String>getArgument(0));
+            wasNull.set(value == null);
+            return value != null ? (Double) value : 0.0;
+        });
+        when(rs.wasNull()).thenAnswer(invocation -> wasNull.get());
+        return rs;
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}
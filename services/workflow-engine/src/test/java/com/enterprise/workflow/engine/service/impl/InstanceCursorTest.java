@@ -0,0 +1,55 @@
+package com.enterprise.workflow.engine.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class InstanceCursorTest {
+
+    @Test
+    void testRoundTrip() {
+        InstanceCursor cursor = InstanceCursor.of(new Date(1_700_000_000_123L), "12345");
+
+        InstanceCursor decoded = InstanceCursor.decode(cursor.encode());
+
+        assertEquals(cursor, decoded);
+        assertEquals(new Date(1_700_000_000_123L), decoded.startTime());
+    }
+
+    @Test
+    void testIdMayContainSeparator() {
+        InstanceCursor cursor = new InstanceCursor(42L, "tenant:a:17");
+
+        assertEquals("tenant:a:17", InstanceCursor.decode(cursor.encode()).id());
+    }
+
+    @Test
+    void testMissingStartTimeEncodesAsEpoch() {
+        assertEquals(0L, InstanceCursor.decode(InstanceCursor.of(null, "1").encode()).startTimeMillis());
+    }
+
+    @Test
+    void testEncodingIsUrlSafe() {
+        String encoded = new InstanceCursor(Long.MAX_VALUE, "??>>~~").encode();
+
+        assertFalse(encoded.contains("+") || encoded.contains("/") || encoded.contains("="), encoded);
+    }
+
+    @Test
+    void testRejectsMalformedCursors() {
+        assertThrows(IllegalArgumentException.class, () -> InstanceCursor.decode("not base64!"));
+        assertThrows(IllegalArgumentException.class, () -> InstanceCursor.decode(encode("12345")));
+        assertThrows(IllegalArgumentException.class, () -> InstanceCursor.decode(encode("12345:")));
+        assertThrows(IllegalArgumentException.class, () -> InstanceCursor.decode(encode("yesterday:42")));
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
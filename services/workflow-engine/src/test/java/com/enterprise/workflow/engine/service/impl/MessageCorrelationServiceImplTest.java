@@ -0,0 +1,163 @@
+package com.enterprise.workflow.engine.service.impl;
+
+import com.enterprise.workflow.engine.config.MessageCorrelationProperties;
+import com.enterprise.workflow.engine.dto.MessageCorrelationRequest;
+import com.enterprise.workflow.engine.dto.MessageCorrelationResult;
+import com.enterprise.workflow.engine.service.MessageSubscriptionIndex;
+import com.enterprise.workflow.engine.service.MessageSubscriptionIndex.Subscription;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.RuntimeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MessageCorrelationServiceImplTest {
+
+    private RuntimeService runtimeService;
+    private MessageSubscriptionIndex subscriptionIndex;
+    private ObjectMapper objectMapper;
+    private MessageCorrelationProperties properties;
+    private MessageCorrelationServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        runtimeService = mock(RuntimeService.class);
+        subscriptionIndex = mock(MessageSubscriptionIndex.class);
+        objectMapper = new ObjectMapper();
+        properties = new MessageCorrelationProperties();
+        properties.setBatchParallelism(2);
+        service = new MessageCorrelationServiceImpl(runtimeService, subscriptionIndex, objectMapper, properties);
+        when(subscriptionIndex.find(eq("order"), anyString(), any())).thenAnswer(invocation -> List.of(
+                new Subscription("sub-" + invocation.getArgument(1), "order",
+                        "exec-" + invocation.getArgument(1), invocation.getArgument(1), null, 0)));
+    }
+
+    @Test
+    void testRedeliveryIsDuplicateOfOriginal() {
+        MessageCorrelationResult first = service.correlate(request("m-1", "pi-1"));
+        MessageCorrelationResult second = service.correlate(request("m-1", "pi-1"));
+
+        assertEquals("CORRELATED", first.getStatus());
+        assertEquals("DUPLICATE", second.getStatus());
+        assertEquals("pi-1", second.getProcessInstanceId());
+        assertEquals("exec-pi-1", second.getExecutionId());
+        verify(runtimeService, times(1)).messageEventReceived("order", "exec-pi-1");
+    }
+
+    @Test
+    void testRedeliveryWhileInFlightIsDuplicate() throws Exception {
+        CountDownLatch delivering = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            delivering.countDown();
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+            return null;
+        }).when(runtimeService).messageEventReceived("order", "exec-pi-1");
+
+        CompletableFuture<MessageCorrelationResult> original =
+                CompletableFuture.supplyAsync(() -> service.correlate(request("m-1", "pi-1")));
+        assertTrue(delivering.await(5, TimeUnit.SECONDS));
+
+        // Answered from the PENDING placeholder, which knows no instance yet
+        MessageCorrelationResult racing = service.correlate(request("m-1", "pi-1"));
+        release.countDown();
+
+        assertEquals("DUPLICATE", racing.getStatus());
+        assertNull(racing.getProcessInstanceId());
+        assertEquals("CORRELATED", original.get(5, TimeUnit.SECONDS).getStatus());
+        assertEquals("pi-1", service.correlate(request("m-1", "pi-1")).getProcessInstanceId());
+        verify(runtimeService, times(1)).messageEventReceived("order", "exec-pi-1");
+    }
+
+    @Test
+    void testFailedMessageCanBeRetried() {
+        when(subscriptionIndex.isOpen("sub-pi-1")).thenReturn(true);
+        doThrow(new ActivitiException("boom")).doNothing()
+                .when(runtimeService).messageEventReceived("order", "exec-pi-1");
+
+        assertEquals("FAILED", service.correlate(request("m-1", "pi-1")).getStatus());
+        assertEquals("CORRELATED", service.correlate(request("m-1", "pi-1")).getStatus());
+    }
+
+    @Test
+    void testStaleSubscriptionIsDroppedAndMessageUnmatched() {
+        List<Subscription> stale = List.of(new Subscription("gone", "order", "exec-gone", "pi-1", null, 0));
+        when(subscriptionIndex.find("order", "pi-1", null)).thenReturn(stale, List.of(), stale, List.of());
+        doThrow(new ActivitiException("no subscription")).when(runtimeService)
+                .messageEventReceived("order", "exec-gone");
+
+        MessageCorrelationResult result = service.correlate(request("m-1", "pi-1"));
+
+        assertEquals("NO_SUBSCRIPTION", result.getStatus());
+        verify(subscriptionIndex).remove("gone");
+        // Not remembered, so a later delivery is tried again
+        service.correlate(request("m-1", "pi-1"));
+        verify(runtimeService, times(2)).messageEventReceived("order", "exec-gone");
+    }
+
+    @Test
+    void testBatchResultsFollowInputOrder() throws Exception {
+        StringBuilder input = new StringBuilder();
+        List<String> expected = new ArrayList<>();
+        // Several chunks of 64, with invalid lines and redeliveries of a message from the first chunk
+        for (int i = 0; i < 150; i++) {
+            if (i % 7 == 3) {
+                input.append("{not json\n");
+                expected.add("FAILED");
+            } else if (i >= 64 && i % 10 == 0) {
+                input.append(line("m-1", "pi-1")).append('\n');
+                expected.add("DUPLICATE");
+            } else {
+                input.append(line("m-" + i, "pi-" + i)).append("\n\n");
+                expected.add("CORRELATED");
+            }
+        }
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        service.correlateAll(new ByteArrayInputStream(input.toString().getBytes(StandardCharsets.UTF_8)), output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(expected.size(), lines.length);
+        for (int i = 0; i < lines.length; i++) {
+            MessageCorrelationResult result = objectMapper.readValue(lines[i], MessageCorrelationResult.class);
+            assertEquals(i, result.getIndex());
+            assertEquals(expected.get(i), result.getStatus());
+        }
+        assertTrue(objectMapper.readValue(lines[3], MessageCorrelationResult.class)
+                .getError().startsWith("Invalid request JSON"));
+    }
+
+    private static MessageCorrelationRequest request(String messageId, String processInstanceId) {
+        return MessageCorrelationRequest.builder()
+                .messageId(messageId)
+                .messageName("order")
+                .processInstanceId(processInstanceId)
+                .build();
+    }
+
+    private String line(String messageId, String processInstanceId) throws Exception {
+        return objectMapper.writeValueAsString(request(messageId, processInstanceId));
+    }
+}
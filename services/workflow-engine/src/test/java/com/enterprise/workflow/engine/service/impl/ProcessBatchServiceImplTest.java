@@ -0,0 +1,376 @@
+package com.enterprise.workflow.engine.service.impl;
+
+import com.enterprise.workflow.engine.config.BatchProperties;
+import com.enterprise.workflow.engine.dto.ProcessBatchStartResult;
+import com.enterprise.workflow.engine.dto.ProcessInstanceBulkRequest;
+import com.enterprise.workflow.engine.service.BatchJobService;
+import com.enterprise.workflow.engine.service.BatchOperation;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.ManagementService;
+import org.activiti.engine.RepositoryService;
+import org.activiti.engine.RuntimeService;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.EventSubscriptionEntity;
+import org.activiti.engine.impl.persistence.entity.EventSubscriptionEntityManager;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.activiti.engine.impl.persistence.entity.SignalEventSubscriptionEntity;
+import org.activiti.engine.impl.util.ProcessDefinitionUtil;
+import org.activiti.engine.repository.ProcessDefinition;
+import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.engine.runtime.ProcessInstanceBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.MockedStatic;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ProcessBatchServiceImplTest {
+
+    private static final String INSTANCES = "select e.ID_ from ACT_RU_EXECUTION e";
+    private static final String BY_KEY = " join ACT_RE_PROCDEF d on d.ID_ = e.PROC_DEF_ID_";
+    private static final String SIGNAL_RECEIVERS = "select s.ID_ from ACT_RU_EVENT_SUBSCR s"
+            + " left join ACT_RU_EXECUTION e on e.ID_ = s.EXECUTION_ID_"
+            + " where s.EVENT_TYPE_ = 'signal' and s.EVENT_NAME_ = ?"
+            + " and (s.EXECUTION_ID_ is null or e.SUSPENSION_STATE_ = 1)"
+            + " and (s.TENANT_ID_ is null or s.TENANT_ID_ = '')";
+
+    private RuntimeService runtimeService;
+    private RepositoryService repositoryService;
+    private ManagementService managementService;
+    private BatchJobService batchJobService;
+    private JdbcTemplate jdbcTemplate;
+    private Connection connection;
+    private PreparedStatement statement;
+    private ProcessBatchServiceImpl service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        runtimeService = mock(RuntimeService.class);
+        batchJobService = mock(BatchJobService.class);
+        jdbcTemplate = mock(JdbcTemplate.class);
+        connection = mock(Connection.class);
+        statement = mock(PreparedStatement.class);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        repositoryService = mock(RepositoryService.class, RETURNS_DEEP_STUBS);
+        managementService = mock(ManagementService.class);
+        when(managementService.getTableName(ExecutionEntity.class)).thenReturn("ACT_RU_EXECUTION");
+        when(managementService.getTableName(ProcessDefinitionEntity.class)).thenReturn("ACT_RE_PROCDEF");
+        when(managementService.getTableName(EventSubscriptionEntity.class)).thenReturn("ACT_RU_EVENT_SUBSCR");
+        service = new ProcessBatchServiceImpl(runtimeService, repositoryService, managementService,
+                new ObjectMapper(), new BatchProperties(), batchJobService, jdbcTemplate,
+                mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    void testStartResultsFollowInputOrder() throws Exception {
+        ProcessDefinition definition = mock(ProcessDefinition.class);
+        when(definition.getId()).thenReturn("order:1");
+        when(repositoryService.createProcessDefinitionQuery().processDefinitionKey("order").latestVersion()
+                .singleResult()).thenReturn(definition);
+        when(managementService.executeCommand(any())).thenAnswer(invocation ->
+                invocation.getArgument(0, Command.class).execute(null));
+        ProcessInstanceBuilder builder = mock(ProcessInstanceBuilder.class, RETURNS_SELF);
+        ProcessInstance first = mock(ProcessInstance.class);
+        when(first.getId()).thenReturn("pi-1");
+        ProcessInstance second = mock(ProcessInstance.class);
+        when(second.getId()).thenReturn("pi-2");
+        when(builder.start()).thenReturn(first, second);
+        when(runtimeService.createProcessInstanceBuilder()).thenReturn(builder);
+        String requests = String.join("\n",
+                "{\"processDefinitionKey\":\"order\"}",
+                "not json",
+                "{\"processDefinitionKey\":\"\"}",
+                "",
+                "{\"processDefinitionKey\":\"order\",\"businessKey\":\"b-1\"}");
+        ByteArrayOutputStream results = new ByteArrayOutputStream();
+
+        service.startProcesses(new ByteArrayInputStream(requests.getBytes(StandardCharsets.UTF_8)), results);
+
+        ObjectMapper mapper = new ObjectMapper();
+        List<ProcessBatchStartResult> lines = results.toString(StandardCharsets.UTF_8).lines()
+                .map(line -> {
+                    try {
+                        return mapper.readValue(line, ProcessBatchStartResult.class);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                })
+                .toList();
+        assertEquals(List.of(0L, 1L, 2L, 3L), lines.stream().map(ProcessBatchStartResult::getIndex).toList());
+        assertEquals(List.of("STARTED", "FAILED", "FAILED", "STARTED"),
+                lines.stream().map(ProcessBatchStartResult::getStatus).toList());
+        assertEquals("pi-1", lines.get(0).getProcessInstanceId());
+        assertTrue(lines.get(1).getError().startsWith("Invalid request JSON"));
+        assertEquals("Process definition key is required", lines.get(2).getError());
+        assertEquals("pi-2", lines.get(3).getProcessInstanceId());
+        assertEquals("b-1", lines.get(3).getBusinessKey());
+    }
+
+    @Test
+    void testSuspendSnapshotsActiveInstancesOfDefinitionVersion() throws Exception {
+        snapshotReturns("pi-1", "pi-2");
+
+        service.updateProcesses(ProcessInstanceBulkRequest.builder()
+                .operation(" suspend ")
+                .processDefinitionKey("order")
+                .processDefinitionVersion(3)
+                .parallelism(2)
+                .targetsPerSecond(50)
+                .build());
+
+        verify(connection).prepareStatement(INSTANCES + BY_KEY
+                + " where e.PROC_INST_ID_ = e.ID_ and e.SUSPENSION_STATE_ = ? and d.KEY_ = ? and d.VERSION_ = ?");
+        verify(statement).setObject(1, 1);
+        verify(statement).setObject(2, "order");
+        verify(statement).setObject(3, 3);
+        BatchOperation operation = submitted("Suspend process instances of order v3", List.of("pi-1", "pi-2"), 2, 50);
+        assertEquals("PROCESS_SUSPEND", operation.type());
+
+        operation.apply("pi-1");
+        verify(runtimeService).suspendProcessInstanceById("pi-1");
+    }
+
+    @Test
+    void testActivateSnapshotsSuspendedInstances() throws Exception {
+        snapshotReturns("pi-1");
+
+        service.updateProcesses(ProcessInstanceBulkRequest.builder()
+                .operation("ACTIVATE")
+                .processDefinitionKey("order")
+                .build());
+
+        verify(connection).prepareStatement(INSTANCES + BY_KEY
+                + " where e.PROC_INST_ID_ = e.ID_ and e.SUSPENSION_STATE_ = ? and d.KEY_ = ?");
+        verify(statement).setObject(1, 2);
+        BatchOperation operation = submitted("Activate process instances of order", List.of("pi-1"), null, null);
+
+        operation.apply("pi-1");
+        verify(runtimeService).activateProcessInstanceById("pi-1");
+    }
+
+    @Test
+    void testCancelMatchesEscapedBusinessKeyPrefixAndStartWindow() throws Exception {
+        snapshotReturns("pi-1");
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 2, 1, 0, 0);
+
+        service.updateProcesses(ProcessInstanceBulkRequest.builder()
+                .operation("CANCEL")
+                .businessKeyPrefix("50%_off!")
+                .startedAfter(from)
+                .startedBefore(to)
+                .build());
+
+        verify(connection).prepareStatement(INSTANCES + " where e.PROC_INST_ID_ = e.ID_"
+                + " and e.BUSINESS_KEY_ like ? escape '!' and e.START_TIME_ >= ? and e.START_TIME_ < ?");
+        verify(statement).setObject(1, "50!%!_off!!%");
+        verify(statement).setObject(2, Timestamp.valueOf(from));
+        verify(statement).setObject(3, Timestamp.valueOf(to));
+        BatchOperation operation = submitted("Cancel process instances with business key 50%_off!*"
+                + " started from " + from + " started before " + to, List.of("pi-1"), null, null);
+
+        operation.apply("pi-1");
+        verify(runtimeService).deleteProcessInstance("pi-1", "Cancelled by bulk operation");
+    }
+
+    @Test
+    void testApplicableRechecksInstanceAndState() throws Exception {
+        snapshotReturns("pi-1", "pi-2");
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), any(Object[].class)))
+                .thenReturn(List.of("pi-2"));
+
+        service.updateProcesses(ProcessInstanceBulkRequest.builder()
+                .operation("SUSPEND")
+                .businessKeyPrefix("b")
+                .build());
+        BatchOperation operation = submitted("Suspend process instances with business key b*",
+                List.of("pi-1", "pi-2"), null, null);
+
+        assertEquals(List.of("pi-2"), operation.applicable(List.of("pi-1", "pi-2")));
+        verify(jdbcTemplate).queryForList("select ID_ from ACT_RU_EXECUTION where ID_ in (?,?)"
+                + " and PROC_INST_ID_ = ID_ and SUSPENSION_STATE_ = ?", String.class, "pi-1", "pi-2", 1);
+    }
+
+    @Test
+    void testCancelReasonIsRecorded() throws Exception {
+        snapshotReturns("pi-1");
+
+        service.updateProcesses(ProcessInstanceBulkRequest.builder()
+                .operation("cancel")
+                .processDefinitionKey("order")
+                .reason("Superseded")
+                .build());
+
+        submitted("Cancel process instances of order", List.of("pi-1"), null, null).apply("pi-1");
+        verify(runtimeService).deleteProcessInstance("pi-1", "Superseded");
+    }
+
+    @Test
+    void testInvalidRequestsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> service.updateProcesses(ProcessInstanceBulkRequest
+                .builder().operation("RESTART").processDefinitionKey("order").build()));
+        assertThrows(IllegalArgumentException.class, () -> service.updateProcesses(ProcessInstanceBulkRequest
+                .builder().operation("SUSPEND").processDefinitionKey(" ").businessKeyPrefix("").build()));
+        assertThrows(IllegalArgumentException.class, () -> service.updateProcesses(ProcessInstanceBulkRequest
+                .builder().operation("SUSPEND").businessKeyPrefix("b").processDefinitionVersion(1).build()));
+
+        verifyNoInteractions(jdbcTemplate, batchJobService);
+        verify(runtimeService, never()).suspendProcessInstanceById(anyString());
+    }
+
+    @Test
+    void testSignalSnapshotsActiveAndStartEventSubscriptionsWithoutTenant() throws Exception {
+        snapshotReturns("s-1", "s-2");
+
+        service.broadcastSignal("alert", Map.of("level", 3));
+
+        verify(connection).prepareStatement(SIGNAL_RECEIVERS);
+        verify(statement).setObject(1, "alert");
+        BatchOperation operation = submittedSignal("Signal alert", List.of("s-1", "s-2"));
+        assertEquals("SIGNAL_BROADCAST", operation.type());
+    }
+
+    @Test
+    void testSignalApplicableRechecksSubscriptions() throws Exception {
+        snapshotReturns("s-1", "s-2");
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), any(Object[].class)))
+                .thenReturn(List.of("s-2"));
+
+        service.broadcastSignal("alert", null);
+        BatchOperation operation = submittedSignal("Signal alert", List.of("s-1", "s-2"));
+
+        assertEquals(List.of("s-2"), operation.applicable(List.of("s-1", "s-2")));
+        // Same receivers as the snapshot, so suspended executions and tenant subscriptions stay excluded
+        verify(jdbcTemplate).queryForList(SIGNAL_RECEIVERS + " and s.ID_ in (?,?)",
+                String.class, "alert", "s-1", "s-2");
+    }
+
+    @Test
+    void testSignalIsDeliveredToExecutionAndStartEventSubscriptions() throws Exception {
+        EventSubscriptionEntityManager subscriptions = signalCommandsUse();
+        SignalEventSubscriptionEntity waiting = signalSubscription(subscriptions, "s-1", "exec-1", true);
+        SignalEventSubscriptionEntity start = signalSubscription(subscriptions, "s-2", null, true);
+        SignalEventSubscriptionEntity local = signalSubscription(subscriptions, "s-3", "exec-3", false);
+        snapshotReturns("s-1", "s-2", "s-3");
+        Map<String, Object> variables = Map.of("level", 3);
+
+        service.broadcastSignal("alert", variables);
+        BatchOperation operation = submittedSignal("Signal alert", List.of("s-1", "s-2", "s-3"));
+        try (MockedStatic<ProcessDefinitionUtil> definitions = mockStatic(ProcessDefinitionUtil.class)) {
+            definitions.when(() -> ProcessDefinitionUtil.isProcessDefinitionSuspended("order:1")).thenReturn(false);
+            operation.apply("s-1");
+            operation.apply("s-2");
+            operation.apply("s-3");
+        }
+
+        verify(subscriptions).eventReceived(waiting, variables, false);
+        verify(subscriptions).eventReceived(start, variables, false);
+        // Process-instance scoped signals are not part of a broadcast
+        verify(subscriptions, never()).eventReceived(eq(local), any(), anyBoolean());
+    }
+
+    @Test
+    void testSignalToStartEventOfSuspendedDefinitionFails() throws Exception {
+        EventSubscriptionEntityManager subscriptions = signalCommandsUse();
+        signalSubscription(subscriptions, "s-1", null, true);
+        snapshotReturns("s-1");
+
+        service.broadcastSignal("alert", null);
+        BatchOperation operation = submittedSignal("Signal alert", List.of("s-1"));
+        try (MockedStatic<ProcessDefinitionUtil> definitions = mockStatic(ProcessDefinitionUtil.class)) {
+            definitions.when(() -> ProcessDefinitionUtil.isProcessDefinitionSuspended("order:1")).thenReturn(true);
+            ActivitiException error = assertThrows(ActivitiException.class, () -> operation.apply("s-1"));
+            assertEquals("Process definition order:1 is suspended", error.getMessage());
+        }
+
+        verify(subscriptions, never()).eventReceived(any(), any(), anyBoolean());
+    }
+
+    /**
+     * Runs the snapshot statement against the mocked connection and feeds it the given IDs.
+     */
+    private void snapshotReturns(String... ids) throws Exception {
+        ResultSet row = mock(ResultSet.class);
+        when(row.getString(1)).thenReturn(ids[0], Arrays.copyOfRange(ids, 1, ids.length));
+        doAnswer(invocation -> {
+            invocation.getArgument(0, PreparedStatementCreator.class).createPreparedStatement(connection);
+            for (int i = 0; i < ids.length; i++) {
+                invocation.getArgument(1, RowCallbackHandler.class).processRow(row);
+            }
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    /**
+     * Runs signal commands in place against a mocked subscription manager.
+     */
+    private EventSubscriptionEntityManager signalCommandsUse() {
+        EventSubscriptionEntityManager subscriptions = mock(EventSubscriptionEntityManager.class);
+        CommandContext commandContext = mock(CommandContext.class);
+        when(commandContext.getEventSubscriptionEntityManager()).thenReturn(subscriptions);
+        when(managementService.executeCommand(any())).thenAnswer(invocation ->
+                invocation.getArgument(0, Command.class).execute(commandContext));
+        return subscriptions;
+    }
+
+    private static SignalEventSubscriptionEntity signalSubscription(EventSubscriptionEntityManager subscriptions,
+            String id, String executionId, boolean global) {
+        SignalEventSubscriptionEntity subscription = mock(SignalEventSubscriptionEntity.class);
+        when(subscription.getExecutionId()).thenReturn(executionId);
+        when(subscription.getProcessDefinitionId()).thenReturn("order:1");
+        when(subscription.isGlobalScoped()).thenReturn(global);
+        when(subscriptions.findById(id)).thenReturn(subscription);
+        return subscription;
+    }
+
+    private BatchOperation submittedSignal(String description, List<String> targets) {
+        ArgumentCaptor<BatchOperation> operation = ArgumentCaptor.forClass(BatchOperation.class);
+        verify(batchJobService).submit(operation.capture(), eq(description), eq(targets));
+        return operation.getValue();
+    }
+
+    private BatchOperation submitted(String description, List<String> targets, Integer parallelism,
+            Integer targetsPerSecond) {
+        ArgumentCaptor<BatchOperation> operation = ArgumentCaptor.forClass(BatchOperation.class);
+        verify(batchJobService).submit(operation.capture(), eq(description), eq(targets), eq(parallelism),
+                eq(targetsPerSecond));
+        return operation.getValue();
+    }
+}
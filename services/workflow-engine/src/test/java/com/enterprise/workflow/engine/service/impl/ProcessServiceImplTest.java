@@ -0,0 +1,47 @@
+package com.enterprise.workflow.engine.service.impl;
+
+import com.enterprise.workflow.engine.service.MessageCorrelationService;
+import com.enterprise.workflow.engine.service.ProcessVariableReader;
+import org.activiti.api.process.runtime.ProcessRuntime;
+import org.activiti.engine.ManagementService;
+import org.activiti.engine.RepositoryService;
+import org.activiti.engine.RuntimeService;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProcessServiceImplTest {
+
+    private ProcessRuntime processRuntime;
+    private RuntimeService runtimeService;
+    private ProcessServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        processRuntime = mock(ProcessRuntime.class);
+        runtimeService = mock(RuntimeService.class);
+        ManagementService managementService = mock(ManagementService.class);
+        when(managementService.getTableName(ExecutionEntity.class)).thenReturn("ACT_RU_EXECUTION");
+        service = new ProcessServiceImpl(processRuntime, runtimeService, mock(RepositoryService.class),
+                managementService, mock(ProcessVariableReader.class), mock(MessageCorrelationService.class));
+    }
+
+    @Test
+    void testUnknownStatusIsRejectedBeforeQuerying() {
+        assertThrows(IllegalArgumentException.class,
+                () -> service.getProcessInstances(null, "foo", PageRequest.of(0, 20)));
+        assertThrows(IllegalArgumentException.class, () -> service.countProcessInstances(null, "foo"));
+        assertThrows(IllegalArgumentException.class, () -> service.getProcessInstanceSlice(null, "foo", null, 20));
+
+        verify(processRuntime, never()).processInstances(any(), any());
+        verify(runtimeService, never()).createNativeProcessInstanceQuery();
+    }
+}